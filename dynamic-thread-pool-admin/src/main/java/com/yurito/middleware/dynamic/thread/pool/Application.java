@@ -1,9 +1,9 @@
 package com.yurito.middleware.dynamic.thread.pool;
 
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.redis.ThreadPoolConfigEntityCodec;
 import lombok.Data;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
-import org.redisson.codec.JsonJacksonCodec;
 import org.redisson.config.Config;
 import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.boot.SpringApplication;
@@ -13,6 +13,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * @author Yurito
@@ -21,6 +22,7 @@ import org.springframework.context.annotation.Configuration;
  */
 @SpringBootApplication
 @Configurable
+@EnableScheduling
 public class Application {
     public static void main(String[] args) {
         SpringApplication.run(Application.class);
@@ -34,7 +36,8 @@ public class Application {
         public RedissonClient redissonClient(ConfigurableApplicationContext applicationContext, RedisClientConfigProperties properties) {
             Config config = new Config();
             // 根据需要可以设定编解码器；https://github.com/redisson/redisson/wiki/4.-%E6%95%B0%E6%8D%AE%E5%BA%8F%E5%88%97%E5%8C%96
-            config.setCodec(JsonJacksonCodec.INSTANCE);
+            // 与 starter 保持一致，线程池配置实体使用紧凑二进制编码，其余类型与历史数据沿用 JSON
+            config.setCodec(new ThreadPoolConfigEntityCodec(!"json".equalsIgnoreCase(properties.getCodec())));
 
             config.useSingleServer()
                     .setAddress("redis://" + properties.getHost() + ":" + properties.getPort())
@@ -101,5 +104,9 @@ public class Application {
          * 设置是否保持长连接，默认为true
          */
         private boolean keepAlive = true;
+        /**
+         * 编解码格式；binary = 紧凑二进制、json = JSON，两种格式的数据均可读取，默认为binary
+         */
+        private String codec = "binary";
     }
 }
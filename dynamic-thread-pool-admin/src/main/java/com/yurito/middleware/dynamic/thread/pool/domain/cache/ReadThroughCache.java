@@ -0,0 +1,196 @@
+package com.yurito.middleware.dynamic.thread.pool.domain.cache;
+
+import com.yurito.middleware.dynamic.thread.pool.domain.cache.model.entity.CacheStatsEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.LatencyRecorder;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * @author Yurito
+ * @description 读穿透缓存，有界（LRU 淘汰）且带过期时间
+ * <p>
+ * 未命中或已过期时调用加载函数回源，加载在锁外进行；同一个键同时只有一次加载，并发未命中的调用方等待这次加载的结果，不重复回源。
+ * 加载期间该键被失效时，加载结果只返回给调用方而不写入缓存，避免把失效前读到的旧数据放回去；其他键的失效不影响本次加载。
+ * 加载结果为 null 时不缓存。命中与回源的耗时分别记录，便于确认流量是否由内存承担。
+ * @create 2025/9/8 10:20
+ */
+public class ReadThroughCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    /** 正在加载的键，由 this 锁保护 */
+    private final Map<K, Load<V>> loads = new HashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder invalidateCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LatencyRecorder hitLatency = new LatencyRecorder();
+    private final LatencyRecorder missLatency = new LatencyRecorder();
+
+    public ReadThroughCache(String name, int maxSize, long ttlMillis) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize: " + maxSize);
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= ReadThroughCache.this.maxSize) return false;
+                evictionCount.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 读取缓存，未命中时调用加载函数并写入缓存
+     *
+     * @param key    键
+     * @param loader 加载函数
+     */
+    public V get(K key, Supplier<V> loader) {
+        long start = System.nanoTime();
+        Load<V> load;
+        boolean owner = false;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (null != entry) {
+                if (start - entry.loadTime < ttlNanos) {
+                    long now = System.nanoTime();
+                    hitCount.increment();
+                    hitLatency.record(now, now - start);
+                    return entry.value;
+                }
+                entries.remove(key);
+            }
+            load = loads.get(key);
+            if (null == load) {
+                load = new Load<>();
+                loads.put(key, load);
+                owner = true;
+            }
+        }
+
+        V value = owner ? load(key, load, loader) : load.await();
+
+        long now = System.nanoTime();
+        missCount.increment();
+        missLatency.record(now, now - start);
+        return value;
+    }
+
+    private V load(K key, Load<V> load, Supplier<V> loader) {
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                loads.remove(key, load);
+            }
+            load.future.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            loads.remove(key, load);
+            if (null != value && !load.stale) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+            }
+        }
+        load.future.complete(value);
+        return value;
+    }
+
+    /**
+     * 使满足条件的条目失效；正在加载的键以 null 值参与判断，满足条件时本次加载结果不写入缓存
+     */
+    public synchronized void invalidateIf(BiPredicate<K, V> predicate) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            if (predicate.test(entry.getKey(), entry.getValue().value)) {
+                iterator.remove();
+                invalidateCount.increment();
+            }
+        }
+        for (Map.Entry<K, Load<V>> entry : loads.entrySet()) {
+            if (predicate.test(entry.getKey(), null)) {
+                entry.getValue().stale = true;
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        invalidateIf((key, value) -> true);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public CacheStatsEntity stats() {
+        CacheStatsEntity stats = new CacheStatsEntity();
+        stats.setName(name);
+        stats.setSize(size());
+        stats.setMaxSize(maxSize);
+        stats.setTtl(TimeUnit.NANOSECONDS.toMillis(ttlNanos));
+        long hits = hitCount.sum();
+        long misses = missCount.sum();
+        stats.setHitCount(hits);
+        stats.setMissCount(misses);
+        stats.setInvalidateCount(invalidateCount.sum());
+        stats.setEvictionCount(evictionCount.sum());
+        stats.setHitRate(hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+        stats.setHitLatency(hitLatency.percentiles());
+        stats.setMissLatency(missLatency.percentiles());
+        return stats;
+    }
+
+    /**
+     * 一次进行中的加载，stale 由 this 锁保护
+     */
+    private static final class Load<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+
+        private boolean stale;
+
+        private V await() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw e;
+            }
+        }
+
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long loadTime;
+
+        private Entry(V value, long loadTime) {
+            this.value = value;
+            this.loadTime = loadTime;
+        }
+
+    }
+
+}
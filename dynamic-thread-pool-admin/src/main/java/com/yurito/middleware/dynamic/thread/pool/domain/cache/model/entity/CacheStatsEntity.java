@@ -0,0 +1,68 @@
+package com.yurito.middleware.dynamic.thread.pool.domain.cache.model.entity;
+
+import lombok.Data;
+
+/**
+ * @author Yurito
+ * @description 缓存统计
+ * @create 2025/9/8 10:40
+ */
+@Data
+public class CacheStatsEntity {
+
+    /**
+     * 缓存名称
+     */
+    private String name;
+
+    /**
+     * 当前条目数
+     */
+    private int size;
+
+    /**
+     * 最大条目数
+     */
+    private int maxSize;
+
+    /**
+     * 过期时间（单位：毫秒）
+     */
+    private long ttl;
+
+    /**
+     * 命中次数
+     */
+    private long hitCount;
+
+    /**
+     * 未命中（回源）次数
+     */
+    private long missCount;
+
+    /**
+     * 失效次数（收到上报通知）
+     */
+    private long invalidateCount;
+
+    /**
+     * 淘汰次数（超过最大条目数）
+     */
+    private long evictionCount;
+
+    /**
+     * 命中率
+     */
+    private double hitRate;
+
+    /**
+     * 命中耗时 p50、p90、p99、max（单位：微秒，最近 1~2 分钟）
+     */
+    private long[] hitLatency;
+
+    /**
+     * 回源耗时 p50、p90、p99、max（单位：微秒，最近 1~2 分钟）
+     */
+    private long[] missLatency;
+
+}
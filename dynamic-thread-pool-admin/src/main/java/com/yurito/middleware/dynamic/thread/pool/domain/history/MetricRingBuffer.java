@@ -0,0 +1,104 @@
+package com.yurito.middleware.dynamic.thread.pool.domain.history;
+
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.entity.MetricPointEntity;
+
+import java.util.List;
+
+/**
+ * @author Yurito
+ * @description 固定精度的指标环形缓冲区
+ * <p>
+ * 一个槽位对应一个时间窗口，同一窗口内的采样合并为 最小值/最大值/总和/次数，多项指标共用同一组槽位。
+ * 数组在创建时一次分配，新窗口覆盖最旧的槽位，占用内存与运行时长无关：
+ * 每个槽位 4 + 12 × 指标数 字节。取值按 float 保存，2^24 以内的整数精确，更大的值（如累计任务数）有约 1e-7 的相对误差，
+ * 对展示趋势足够。非线程安全，由调用方加锁。
+ * @create 2025/9/7 15:20
+ */
+public class MetricRingBuffer {
+
+    private final long intervalMillis;
+    private final int capacity;
+    private final int metricCount;
+
+    private final int[] counts;
+    private final float[] sums;
+    private final float[] mins;
+    private final float[] maxs;
+
+    /** 最新写入的窗口序号（时间 / 精度），尚未写入时为 Long.MIN_VALUE */
+    private long latestBucket = Long.MIN_VALUE;
+
+    public MetricRingBuffer(long intervalMillis, int capacity, int metricCount) {
+        this.intervalMillis = intervalMillis;
+        this.capacity = capacity;
+        this.metricCount = metricCount;
+        this.counts = new int[capacity];
+        this.sums = new float[capacity * metricCount];
+        this.mins = new float[capacity * metricCount];
+        this.maxs = new float[capacity * metricCount];
+    }
+
+    /**
+     * 记录一次采样
+     *
+     * @param time   采样时间（单位：毫秒）
+     * @param values 各项指标的值，顺序与创建时约定的一致
+     */
+    public void record(long time, long[] values) {
+        long bucket = Math.floorDiv(time, intervalMillis);
+        if (latestBucket == Long.MIN_VALUE || bucket > latestBucket) {
+            // 推进到新窗口，跳过的窗口对应的槽位一并清空
+            long from = latestBucket == Long.MIN_VALUE ? bucket : Math.max(latestBucket + 1, bucket - capacity + 1);
+            for (long b = from; b <= bucket; b++) {
+                counts[slot(b)] = 0;
+            }
+            latestBucket = bucket;
+        } else if (bucket <= latestBucket - capacity) {
+            // 早于保留范围的采样直接丢弃
+            return;
+        }
+
+        int slot = slot(bucket);
+        int base = slot * metricCount;
+        if (counts[slot] == 0) {
+            for (int i = 0; i < metricCount; i++) {
+                sums[base + i] = values[i];
+                mins[base + i] = values[i];
+                maxs[base + i] = values[i];
+            }
+        } else {
+            for (int i = 0; i < metricCount; i++) {
+                sums[base + i] += values[i];
+                mins[base + i] = Math.min(mins[base + i], values[i]);
+                maxs[base + i] = Math.max(maxs[base + i], values[i]);
+            }
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * 按时间升序取出 [start, end] 内有采样的窗口
+     *
+     * @param metricIndex 指标下标
+     * @param start       起始时间（单位：毫秒）
+     * @param end         结束时间（单位：毫秒）
+     * @param points      输出
+     */
+    public void query(int metricIndex, long start, long end, List<MetricPointEntity> points) {
+        if (latestBucket == Long.MIN_VALUE) return;
+        long from = Math.max(Math.floorDiv(start, intervalMillis), latestBucket - capacity + 1);
+        long to = Math.min(Math.floorDiv(end, intervalMillis), latestBucket);
+        for (long b = from; b <= to; b++) {
+            int slot = slot(b);
+            int count = counts[slot];
+            if (count == 0) continue;
+            int index = slot * metricCount + metricIndex;
+            points.add(new MetricPointEntity(b * intervalMillis, Math.round((double) mins[index]), Math.round((double) maxs[index]), (double) sums[index] / count, count));
+        }
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) capacity);
+    }
+
+}
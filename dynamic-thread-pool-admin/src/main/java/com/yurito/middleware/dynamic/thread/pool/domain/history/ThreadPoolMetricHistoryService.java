@@ -0,0 +1,145 @@
+package com.yurito.middleware.dynamic.thread.pool.domain.history;
+
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.entity.MetricHistoryEntity;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.valobj.MetricResolutionEnumVO;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.valobj.ThreadPoolMetricEnumVO;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolReportEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Yurito
+ * @description 线程池指标历史（内存时序存储）
+ * <p>
+ * 每个 应用/实例/线程池 一条序列，按 10秒/1分钟/10分钟 三种精度降采样，分别保留 1小时/12小时/7天。
+ * 每条序列约占 230KB 且不随运行时长增长；序列总数受 max-series 限制（默认 200，约 46MB），超过保留时长未再上报的序列（如已下线的实例）会被清理。
+ * @create 2025/9/7 15:40
+ */
+@Slf4j
+@Service
+public class ThreadPoolMetricHistoryService {
+
+    /** 序列数达到上限时的告警间隔（单位：毫秒） */
+    private static final long OVERFLOW_WARN_INTERVAL_MILLIS = 60_000L;
+
+    private final Map<String, ThreadPoolMetricSeries> seriesMap = new ConcurrentHashMap<>();
+
+    /** 上次打印序列数达到上限告警的时间 */
+    private final AtomicLong lastOverflowWarnTime = new AtomicLong();
+
+    /** 序列数上限 */
+    private final int maxSeries;
+
+    public ThreadPoolMetricHistoryService(@Value("${dynamic.thread.pool.admin.history.max-series:200}") int maxSeries) {
+        this.maxSeries = maxSeries;
+    }
+
+    /**
+     * 记录一次上报
+     *
+     * @param threadPoolConfigEntity 线程池数据
+     * @param time                   上报时间（实例心跳时间）
+     * @return 是否记录
+     */
+    public boolean record(ThreadPoolConfigEntity threadPoolConfigEntity, long time) {
+        String key = seriesKey(threadPoolConfigEntity.getAppName(), threadPoolConfigEntity.getInstanceId(), threadPoolConfigEntity.getThreadPoolName());
+        ThreadPoolMetricSeries series = seriesMap.get(key);
+        if (null == series) {
+            if (seriesMap.size() >= maxSeries) {
+                warnOverflow(key);
+                return false;
+            }
+            series = seriesMap.computeIfAbsent(key, k -> new ThreadPoolMetricSeries(threadPoolConfigEntity.getAppName(), threadPoolConfigEntity.getThreadPoolName(), threadPoolConfigEntity.getInstanceId()));
+        }
+        return series.record(threadPoolConfigEntity, time);
+    }
+
+    /**
+     * 记录实例推送的一次上报：有变化的线程池按新数据记录，其余线程池按上次采样的数据记录
+     *
+     * @param report 上报通知
+     * @return 记录的线程池数
+     */
+    public int record(ThreadPoolReportEntity report) {
+        int recorded = 0;
+        Set<String> changed = new HashSet<>();
+        for (ThreadPoolConfigEntity threadPoolConfigEntity : report.getChangedThreadPools()) {
+            changed.add(threadPoolConfigEntity.getThreadPoolName());
+            if (record(threadPoolConfigEntity, report.getReportTime())) recorded++;
+        }
+        for (String threadPoolName : report.getThreadPoolNames()) {
+            if (changed.contains(threadPoolName)) continue;
+            // 尚无序列时（如管理端重启后）等待兜底轮询或下一次变化补齐
+            ThreadPoolMetricSeries series = seriesMap.get(seriesKey(report.getAppName(), report.getInstanceId(), threadPoolName));
+            if (null != series && series.repeat(report.getReportTime())) recorded++;
+        }
+        return recorded;
+    }
+
+    /**
+     * 查询指标历史，每个实例一条
+     *
+     * @param appName        应用名称
+     * @param threadPoolName 线程池名称
+     * @param instanceId     实例标识，为空时返回全部实例
+     * @param metric         指标
+     * @param resolution     精度
+     * @param start          起始时间（单位：毫秒）
+     * @param end            结束时间（单位：毫秒）
+     */
+    public List<MetricHistoryEntity> query(String appName, String threadPoolName, String instanceId, ThreadPoolMetricEnumVO metric,
+                                           MetricResolutionEnumVO resolution, long start, long end) {
+        List<MetricHistoryEntity> histories = new ArrayList<>();
+        for (ThreadPoolMetricSeries series : seriesMap.values()) {
+            if (!series.getAppName().equals(appName) || !series.getThreadPoolName().equals(threadPoolName)) continue;
+            if (null != instanceId && !instanceId.equals(series.getInstanceId())) continue;
+            histories.add(new MetricHistoryEntity(appName, threadPoolName, series.getInstanceId(), metric.getCode(), resolution.getCode(),
+                    series.query(metric, resolution, start, end)));
+        }
+        histories.sort(Comparator.comparing(MetricHistoryEntity::getInstanceId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return histories;
+    }
+
+    /**
+     * 清理超过最长保留时长未再上报的序列
+     *
+     * @param now 当前时间
+     * @return 清理的序列数
+     */
+    public int evictExpired(long now) {
+        long retention = MetricResolutionEnumVO.TEN_MINUTES.getRetentionMillis();
+        int before = seriesMap.size();
+        seriesMap.values().removeIf(series -> now - series.getLastSampleTime() > retention);
+        return before - seriesMap.size();
+    }
+
+    public int seriesCount() {
+        return seriesMap.size();
+    }
+
+    /**
+     * 每次上报都会命中上限，告警按间隔限流，避免刷屏
+     */
+    private void warnOverflow(String key) {
+        long now = System.currentTimeMillis();
+        long last = lastOverflowWarnTime.get();
+        if (now - last < OVERFLOW_WARN_INTERVAL_MILLIS || !lastOverflowWarnTime.compareAndSet(last, now)) return;
+        log.warn("线程池指标历史序列数已达上限 {}，忽略 {} 等新序列，每分钟最多提示一次", maxSeries, key);
+    }
+
+    private static String seriesKey(String appName, String instanceId, String threadPoolName) {
+        return appName + "_" + instanceId + "_" + threadPoolName;
+    }
+
+}
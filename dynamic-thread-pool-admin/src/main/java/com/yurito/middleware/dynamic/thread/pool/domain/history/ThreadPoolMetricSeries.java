@@ -0,0 +1,96 @@
+package com.yurito.middleware.dynamic.thread.pool.domain.history;
+
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.entity.MetricPointEntity;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.valobj.MetricResolutionEnumVO;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.valobj.ThreadPoolMetricEnumVO;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Yurito
+ * @description 某个实例的某个线程池的全部指标历史，每种精度一个环形缓冲区，同一次采样同时写入所有精度
+ * @create 2025/9/7 15:30
+ */
+public class ThreadPoolMetricSeries {
+
+    private static final ThreadPoolMetricEnumVO[] METRICS = ThreadPoolMetricEnumVO.values();
+    private static final MetricResolutionEnumVO[] RESOLUTIONS = MetricResolutionEnumVO.values();
+
+    private final String appName;
+    private final String threadPoolName;
+    private final String instanceId;
+
+    private final MetricRingBuffer[] buffers = new MetricRingBuffer[RESOLUTIONS.length];
+    private final long[] values = new long[METRICS.length];
+
+    /** 最近一次采样时间，同一次上报只记录一次 */
+    private volatile long lastSampleTime = Long.MIN_VALUE;
+
+    public ThreadPoolMetricSeries(String appName, String threadPoolName, String instanceId) {
+        this.appName = appName;
+        this.threadPoolName = threadPoolName;
+        this.instanceId = instanceId;
+        for (MetricResolutionEnumVO resolution : RESOLUTIONS) {
+            buffers[resolution.ordinal()] = new MetricRingBuffer(resolution.getIntervalMillis(), resolution.getCapacity(), METRICS.length);
+        }
+    }
+
+    /**
+     * 记录一次上报
+     *
+     * @param threadPoolConfigEntity 线程池数据
+     * @param time                   上报时间
+     * @return 是否记录；不晚于上次采样时间的数据视为重复，不记录
+     */
+    public synchronized boolean record(ThreadPoolConfigEntity threadPoolConfigEntity, long time) {
+        if (time <= lastSampleTime) return false;
+        for (ThreadPoolMetricEnumVO metric : METRICS) {
+            values[metric.ordinal()] = metric.extract(threadPoolConfigEntity);
+        }
+        for (MetricRingBuffer buffer : buffers) {
+            buffer.record(time, values);
+        }
+        lastSampleTime = time;
+        return true;
+    }
+
+    /**
+     * 以上次采样的数据记录一次上报，用于线程池数据未变化、只通知了上报时间的情况
+     *
+     * @param time 上报时间
+     * @return 是否记录；尚无采样或不晚于上次采样时间时不记录
+     */
+    public synchronized boolean repeat(long time) {
+        if (lastSampleTime == Long.MIN_VALUE || time <= lastSampleTime) return false;
+        for (MetricRingBuffer buffer : buffers) {
+            buffer.record(time, values);
+        }
+        lastSampleTime = time;
+        return true;
+    }
+
+    public synchronized List<MetricPointEntity> query(ThreadPoolMetricEnumVO metric, MetricResolutionEnumVO resolution, long start, long end) {
+        List<MetricPointEntity> points = new ArrayList<>();
+        buffers[resolution.ordinal()].query(metric.ordinal(), start, end, points);
+        return points;
+    }
+
+    public String getAppName() {
+        return appName;
+    }
+
+    public String getThreadPoolName() {
+        return threadPoolName;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public long getLastSampleTime() {
+        return lastSampleTime;
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.yurito.middleware.dynamic.thread.pool.domain.history.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author Yurito
+ * @description 某个实例的某个线程池的一项指标在一段时间内的历史
+ * @create 2025/9/7 15:16
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricHistoryEntity {
+
+    /**
+     * 应用名称
+     */
+    private String appName;
+
+    /**
+     * 线程池名称
+     */
+    private String threadPoolName;
+
+    /**
+     * 实例标识
+     */
+    private String instanceId;
+
+    /**
+     * 指标名称
+     */
+    private String metric;
+
+    /**
+     * 降采样精度
+     */
+    private String resolution;
+
+    /**
+     * 按时间升序的数据点
+     */
+    private List<MetricPointEntity> points;
+
+}
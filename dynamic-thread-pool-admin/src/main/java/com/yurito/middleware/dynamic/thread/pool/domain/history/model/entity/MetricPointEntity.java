@@ -0,0 +1,42 @@
+package com.yurito.middleware.dynamic.thread.pool.domain.history.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Yurito
+ * @description 降采样后的一个时间点
+ * @create 2025/9/7 15:15
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricPointEntity {
+
+    /**
+     * 时间窗口起点（单位：毫秒）
+     */
+    private long time;
+
+    /**
+     * 窗口内最小值
+     */
+    private long min;
+
+    /**
+     * 窗口内最大值
+     */
+    private long max;
+
+    /**
+     * 窗口内平均值
+     */
+    private double avg;
+
+    /**
+     * 窗口内采样次数
+     */
+    private int count;
+
+}
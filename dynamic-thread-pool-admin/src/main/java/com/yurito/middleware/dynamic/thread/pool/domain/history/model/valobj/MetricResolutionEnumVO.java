@@ -0,0 +1,64 @@
+package com.yurito.middleware.dynamic.thread.pool.domain.history.model.valobj;
+
+/**
+ * @author Yurito
+ * @description 历史记录的降采样精度，每种精度按固定的槽位数保留最近一段时间
+ * @create 2025/9/7 15:12
+ */
+public enum MetricResolutionEnumVO {
+    TEN_SECONDS("10s", 10_000L, 360, "10秒一个点，保留1小时"),
+    ONE_MINUTE("1m", 60_000L, 720, "1分钟一个点，保留12小时"),
+    TEN_MINUTES("10m", 600_000L, 1008, "10分钟一个点，保留7天");
+
+    private final String code;
+    private final long intervalMillis;
+    private final int capacity;
+    private final String desc;
+
+    MetricResolutionEnumVO(String code, long intervalMillis, int capacity, String desc) {
+        this.code = code;
+        this.intervalMillis = intervalMillis;
+        this.capacity = capacity;
+        this.desc = desc;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getRetentionMillis() {
+        return intervalMillis * capacity;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    public static MetricResolutionEnumVO of(String code) {
+        for (MetricResolutionEnumVO resolution : values()) {
+            if (resolution.code.equals(code)) return resolution;
+        }
+        return null;
+    }
+
+    /**
+     * 选择能覆盖查询起点的最细精度
+     *
+     * @param now   当前时间
+     * @param start 查询起点
+     */
+    public static MetricResolutionEnumVO finestCovering(long now, long start) {
+        for (MetricResolutionEnumVO resolution : values()) {
+            if (now - start <= resolution.getRetentionMillis()) return resolution;
+        }
+        return TEN_MINUTES;
+    }
+}
@@ -0,0 +1,51 @@
+package com.yurito.middleware.dynamic.thread.pool.domain.history.model.valobj;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * @author Yurito
+ * @description 历史记录的线程池指标
+ * @create 2025/9/7 15:10
+ */
+public enum ThreadPoolMetricEnumVO {
+    CORE_POOL_SIZE("corePoolSize", "核心线程数", ThreadPoolConfigEntity::getCorePoolSize),
+    MAXIMUM_POOL_SIZE("maximumPoolSize", "最大线程数", ThreadPoolConfigEntity::getMaximumPoolSize),
+    ACTIVE_COUNT("activeCount", "活跃线程数", ThreadPoolConfigEntity::getActiveCount),
+    POOL_SIZE("poolSize", "当前池中线程数", ThreadPoolConfigEntity::getPoolSize),
+    QUEUE_SIZE("queueSize", "队列中任务数", ThreadPoolConfigEntity::getQueueSize),
+    COMPLETED_TASK_COUNT("completedTaskCount", "已完成任务数（累计值）", ThreadPoolConfigEntity::getCompletedTaskCount),
+    REJECTED_TASK_COUNT("rejectedTaskCount", "被拒绝任务数（累计值）", ThreadPoolConfigEntity::getRejectedTaskCount),
+    QUEUE_WAIT_TIME_P99("queueWaitTimeP99", "排队耗时P99（单位：微秒）", ThreadPoolConfigEntity::getQueueWaitTimeP99),
+    EXECUTE_TIME_P99("executeTimeP99", "执行耗时P99（单位：微秒）", ThreadPoolConfigEntity::getExecuteTimeP99);
+
+    private final String code;
+    private final String desc;
+    private final ToLongFunction<ThreadPoolConfigEntity> extractor;
+
+    ThreadPoolMetricEnumVO(String code, String desc, ToLongFunction<ThreadPoolConfigEntity> extractor) {
+        this.code = code;
+        this.desc = desc;
+        this.extractor = extractor;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    public long extract(ThreadPoolConfigEntity threadPoolConfigEntity) {
+        return extractor.applyAsLong(threadPoolConfigEntity);
+    }
+
+    public static ThreadPoolMetricEnumVO of(String code) {
+        for (ThreadPoolMetricEnumVO metric : values()) {
+            if (metric.code.equals(code)) return metric;
+        }
+        return null;
+    }
+}
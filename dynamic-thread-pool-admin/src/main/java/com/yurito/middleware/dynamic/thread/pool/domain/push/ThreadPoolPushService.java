@@ -0,0 +1,279 @@
+package com.yurito.middleware.dynamic.thread.pool.domain.push;
+
+import com.alibaba.fastjson.JSON;
+import com.yurito.middleware.dynamic.thread.pool.domain.threadpool.ThreadPoolDataService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @author Yurito
+ * @description 线程池数据推送服务（Server-Sent Events）
+ * <p>
+ * 服务端只有一个读取循环：有订阅者时按推送间隔从 Redis 读取一次线程池数据，与上次结果比对后，
+ * 只把有变化的线程池（update）和已下线的线程池（remove）广播给所有订阅者；新订阅者先收到一份完整数据（snapshot）。
+ * Redis 读取次数与打开的管理页面数量无关，没有订阅者时不读取。
+ * 每个订阅者有一个有界的待发送队列，事件在锁内入队，由发送线程池在锁外逐个发送，阻塞的 {@link SseEmitter#send} 不占用锁；
+ * 同一个订阅者同时只有一个发送任务，保证先收到 snapshot，之后的 update/remove 不乱序。
+ * 待发送队列已满或单次发送超过 {@link #SEND_TIMEOUT_MILLIS} 的订阅者视为慢连接，直接结束连接，浏览器重连后重新拿到完整数据，
+ * 不会在内存中无限堆积事件，也不会拖住其他订阅者。
+ * @create 2025/9/7 18:20
+ */
+@Slf4j
+@Service
+public class ThreadPoolPushService {
+
+    /** 每个订阅者最多堆积的待发送事件数 */
+    private static final int MAX_PENDING_EVENTS = 16;
+
+    /** 单次发送的最长时间（单位：毫秒），超过后结束该连接 */
+    private static final long SEND_TIMEOUT_MILLIS = 10_000;
+
+    /** 发送线程数，每个线程同一时刻只服务一个订阅者 */
+    private static final int SENDER_THREADS = 4;
+
+    @Resource
+    private ThreadPoolDataService threadPoolDataService;
+
+    /** 推送间隔（单位：毫秒） */
+    @Value("${dynamic.thread.pool.admin.push.interval:2000}")
+    private long pushInterval;
+
+    /** 订阅连接超时时间（单位：毫秒），超时后浏览器 EventSource 会自动重连 */
+    @Value("${dynamic.thread.pool.admin.push.timeout:1800000}")
+    private long subscribeTimeout;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /** 发送线程池，排队的任务数不超过订阅者数 */
+    private final ThreadPoolExecutor sender = new ThreadPoolExecutor(SENDER_THREADS, SENDER_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new SenderThreadFactory());
+
+    /** 上次读取的线程池数据（JSON），键为 {应用名}_{实例标识}_{线程池名称}，保持排序 */
+    private Map<String, String> current = new LinkedHashMap<>();
+
+    private long lastRefreshTime;
+
+    /**
+     * 订阅线程池数据
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(subscribeTimeout);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        synchronized (this) {
+            // 缓存过期时（此前没有订阅者）先读取一次，保证新订阅者拿到的是最新数据
+            if (System.currentTimeMillis() - lastRefreshTime > pushInterval) {
+                refresh();
+            }
+            String snapshot = toJsonArray(current.values());
+            // 在锁内入队 snapshot 并加入订阅列表，之后广播的事件一定排在 snapshot 之后
+            subscriber.offer(() -> SseEmitter.event().name("snapshot").data(snapshot));
+            subscribers.add(subscriber);
+        }
+        log.info("线程池数据推送，新增订阅，当前订阅数 {}", subscribers.size());
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${dynamic.thread.pool.admin.push.interval:2000}")
+    public synchronized void execPush() {
+        if (subscribers.isEmpty()) return;
+        try {
+            Map<String, String> previous = current;
+            refresh();
+
+            List<String> changed = new ArrayList<>();
+            for (Map.Entry<String, String> entry : current.entrySet()) {
+                if (!entry.getValue().equals(previous.get(entry.getKey()))) {
+                    changed.add(entry.getValue());
+                }
+            }
+            List<String> removed = new ArrayList<>();
+            for (String key : previous.keySet()) {
+                if (!current.containsKey(key)) removed.add(key);
+            }
+
+            if (changed.isEmpty() && removed.isEmpty()) {
+                // 没有变化时发送注释保活，顺便清理已断开的连接；仍有待发送事件的订阅者不需要保活
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.idle()) subscriber.offer(() -> SseEmitter.event().comment("keepalive"));
+                }
+                return;
+            }
+            if (!changed.isEmpty()) {
+                String data = toJsonArray(changed);
+                broadcast(() -> SseEmitter.event().name("update").data(data));
+            }
+            if (!removed.isEmpty()) {
+                String data = JSON.toJSONString(removed);
+                broadcast(() -> SseEmitter.event().name("remove").data(data));
+            }
+            log.debug("线程池数据推送，变化 {} 条，下线 {} 条，订阅数 {}", changed.size(), removed.size(), subscribers.size());
+        } catch (Exception e) {
+            log.error("线程池数据推送异常", e);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        sender.shutdownNow();
+    }
+
+    private void refresh() {
+        List<ThreadPoolConfigEntity> threadPoolConfigEntities = threadPoolDataService.queryThreadPoolList();
+        Map<String, String> latest = new LinkedHashMap<>(threadPoolConfigEntities.size() * 2);
+        for (ThreadPoolConfigEntity threadPoolConfigEntity : threadPoolConfigEntities) {
+            latest.put(ThreadPoolDataService.threadPoolKey(threadPoolConfigEntity), JSON.toJSONString(threadPoolConfigEntity));
+        }
+        current = latest;
+        lastRefreshTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 事件入队给全部订阅者；SseEventBuilder 在 build 时会修改自身，每次发送都重新构建
+     */
+    private void broadcast(Supplier<SseEmitter.SseEventBuilder> event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    private static String toJsonArray(Iterable<String> jsons) {
+        StringBuilder builder = new StringBuilder("[");
+        for (String json : jsons) {
+            if (builder.length() > 1) builder.append(',');
+            builder.append(json);
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * 一个订阅连接与它的待发送队列，队列由自身加锁保护
+     */
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> outbox = new ArrayDeque<>();
+
+        /** 是否已有发送任务在运行或排队 */
+        private boolean draining;
+
+        /** 正在进行的发送的开始时间，0 表示没有在发送 */
+        private volatile long sendStartTime;
+
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private synchronized boolean idle() {
+            return outbox.isEmpty() && !draining;
+        }
+
+        private void offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed) return;
+            long sendStart = sendStartTime;
+            if (sendStart > 0 && System.currentTimeMillis() - sendStart > SEND_TIMEOUT_MILLIS) {
+                close(null, "发送超时");
+                return;
+            }
+            boolean full = false;
+            boolean submit = false;
+            synchronized (this) {
+                if (outbox.size() >= MAX_PENDING_EVENTS) {
+                    full = true;
+                } else {
+                    outbox.add(event);
+                    submit = !draining;
+                    draining = true;
+                }
+            }
+            if (full) {
+                close(null, "待发送事件堆积");
+            } else if (submit) {
+                sender.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!closed) {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                synchronized (this) {
+                    event = outbox.poll();
+                    if (null == event) {
+                        draining = false;
+                        return;
+                    }
+                }
+                sendStartTime = System.currentTimeMillis();
+                try {
+                    emitter.send(event.get());
+                } catch (IOException | IllegalStateException e) {
+                    // 浏览器已关闭页面
+                    close(e, null);
+                    return;
+                } finally {
+                    sendStartTime = 0;
+                }
+            }
+        }
+
+        private void close(Exception error, String reason) {
+            if (closed) return;
+            closed = true;
+            subscribers.remove(this);
+            synchronized (this) {
+                outbox.clear();
+            }
+            if (null != error) {
+                emitter.completeWithError(error);
+                return;
+            }
+            log.warn("线程池数据推送，订阅者{}，结束连接，当前订阅数 {}", reason, subscribers.size());
+            emitter.complete();
+        }
+
+    }
+
+    private static final class SenderThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "thread-pool-push-sender-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
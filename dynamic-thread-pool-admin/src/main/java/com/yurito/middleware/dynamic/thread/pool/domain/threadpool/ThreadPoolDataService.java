@@ -0,0 +1,205 @@
+package com.yurito.middleware.dynamic.thread.pool.domain.threadpool;
+
+import com.yurito.middleware.dynamic.thread.pool.domain.cache.ReadThroughCache;
+import com.yurito.middleware.dynamic.thread.pool.domain.cache.model.entity.CacheStatsEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.AutoTuneDecisionEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackRequestEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RMap;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author Yurito
+ * @description 线程池数据查询服务，从注册中心读取各应用在线实例的线程池数据
+ * <p>
+ * 线程池列表与单个线程池的配置参数都经过读穿透缓存：实例上报有变化时会向 THREAD_POOL_REPORT_TOPIC 发布应用名，
+ * 收到通知后失效该应用的配置参数；线程池列表包含全部应用，只标记为有变化，查询时距上次失效超过最短刷新间隔才失效，
+ * 上报频繁时多次通知合并为一次回源，不会因加载期间不断失效而始终无法缓存；过期时间兜底实例下线（不再上报）与通知丢失的情况。
+ * 热点调用栈不缓存，每次查询都向应用发布带请求标识的采集请求，等待各实例写回本次请求的结果。
+ * @create 2025/9/7 18:10
+ */
+@Slf4j
+@Service
+public class ThreadPoolDataService {
+
+    private static final String THREAD_POOL_LIST_KEY = "THREAD_POOL_LIST";
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    /** 实例心跳超时时间（单位：毫秒），超时的实例不再展示 */
+    @Value("${dynamic.thread.pool.admin.heartbeat-timeout:180000}")
+    private long heartbeatTimeout;
+
+    /** 线程池列表缓存过期时间（单位：毫秒） */
+    @Value("${dynamic.thread.pool.admin.cache.list-ttl:5000}")
+    private long listTtl;
+
+    /** 线程池列表最短刷新间隔（单位：毫秒），期间收到的变化通知合并为一次失效 */
+    @Value("${dynamic.thread.pool.admin.cache.list-min-refresh:1000}")
+    private long listMinRefresh;
+
+    /** 线程池配置参数缓存过期时间（单位：毫秒） */
+    @Value("${dynamic.thread.pool.admin.cache.config-ttl:60000}")
+    private long configTtl;
+
+    /** 线程池配置参数缓存最大条目数 */
+    @Value("${dynamic.thread.pool.admin.cache.max-size:1000}")
+    private int maxSize;
+
+    /** 等待各实例回复热点调用栈的最长时间（单位：毫秒） */
+    @Value("${dynamic.thread.pool.admin.hot-stack-timeout:3000}")
+    private long hotStackTimeout;
+
+    private ReadThroughCache<String, List<ThreadPoolConfigEntity>> threadPoolListCache;
+
+    private ReadThroughCache<String, ThreadPoolConfigEntity> threadPoolConfigCache;
+
+    private int reportListenerId;
+
+    /** 上次失效线程池列表后是否收到过变化通知 */
+    private final AtomicBoolean listChanged = new AtomicBoolean();
+
+    private volatile long lastListInvalidateTime;
+
+    @PostConstruct
+    public void init() {
+        threadPoolListCache = new ReadThroughCache<>("threadPoolList", 1, listTtl);
+        threadPoolConfigCache = new ReadThroughCache<>("threadPoolConfig", maxSize, configTtl);
+        RTopic topic = redissonClient.getTopic("THREAD_POOL_REPORT_TOPIC");
+        reportListenerId = topic.addListener(String.class, (channel, appName) -> {
+            listChanged.set(true);
+            String keyPrefix = "THREAD_POOL_CONFIG_PARAMETER_LIST_KEY" + "_" + appName + "_";
+            // 正在加载的键没有值，按键前缀判断，应用名互为前缀时多失效一次也无妨
+            threadPoolConfigCache.invalidateIf((key, threadPoolConfigEntity) -> null == threadPoolConfigEntity
+                    ? key.startsWith(keyPrefix) : appName.equals(threadPoolConfigEntity.getAppName()));
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        redissonClient.getTopic("THREAD_POOL_REPORT_TOPIC").removeListener(reportListenerId);
+    }
+
+    /**
+     * 查询线程池数据，每个在线实例的每个线程池一条，按 应用/线程池/实例 排序
+     */
+    public List<ThreadPoolConfigEntity> queryThreadPoolList() {
+        long now = System.currentTimeMillis();
+        if (now - lastListInvalidateTime >= listMinRefresh && listChanged.compareAndSet(true, false)) {
+            lastListInvalidateTime = now;
+            threadPoolListCache.invalidateAll();
+        }
+        return threadPoolListCache.get(THREAD_POOL_LIST_KEY, this::loadThreadPoolList);
+    }
+
+    /**
+     * 查询线程池配置参数
+     *
+     * @return 未找到时返回 null
+     */
+    public ThreadPoolConfigEntity queryThreadPoolConfig(String appName, String threadPoolName) {
+        String cacheKey = "THREAD_POOL_CONFIG_PARAMETER_LIST_KEY" + "_" + appName + "_" + threadPoolName;
+        return threadPoolConfigCache.get(cacheKey, () -> loadThreadPoolConfig(cacheKey));
+    }
+
+    /**
+     * 请求应用的各实例采集线程池的热点调用栈，等待订阅了采集主题的实例全部回复或超时
+     * <p>
+     * 每次查询使用新的请求标识，结果写入该请求独有的哈希，并发的查询互不覆盖；没有该线程池的实例只计入回复数，不出现在结果中
+     *
+     * @return 实例标识 -> 按线程数降序排列的热点调用栈
+     */
+    public Map<String, List<HotStackEntity>> queryHotStacks(String appName, String threadPoolName) throws InterruptedException {
+        HotStackRequestEntity request = new HotStackRequestEntity(UUID.randomUUID().toString(), threadPoolName);
+        String hotStackKey = "THREAD_POOL_HOT_STACK_KEY" + "_" + appName + "_" + threadPoolName + "_" + request.getRequestId();
+        RMap<String, List<HotStackEntity>> hotStackMap = redissonClient.getMap(hotStackKey);
+        RAtomicLong replied = redissonClient.getAtomicLong(hotStackKey + "_REPLIED");
+        long receivers = redissonClient.getTopic("THREAD_POOL_HOT_STACK_TOPIC" + "_" + appName).publish(request);
+        long deadline = System.currentTimeMillis() + hotStackTimeout;
+        while (replied.get() < receivers && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        Map<String, List<HotStackEntity>> hotStacks = new TreeMap<>(hotStackMap.readAllMap());
+        // 结果只属于本次请求，读取后即可删除，超时后才回复的实例写入的结果由过期时间清理
+        redissonClient.getKeys().deleteAsync(hotStackKey, replied.getName());
+        return hotStacks;
+    }
+
+    /**
+     * 查询应用最近的自动调参决策记录，最新的在前
+     *
+     * @param limit 最多返回的条数
+     */
+    public List<AutoTuneDecisionEntity> queryAutoTuneDecisions(String appName, int limit) {
+        if (limit <= 0) return Collections.emptyList();
+        return redissonClient.<AutoTuneDecisionEntity>getList("THREAD_POOL_AUTO_TUNE_DECISION_KEY" + "_" + appName).range(0, limit - 1);
+    }
+
+    public List<CacheStatsEntity> queryCacheStats() {
+        return Arrays.asList(threadPoolListCache.stats(), threadPoolConfigCache.stats());
+    }
+
+    private List<ThreadPoolConfigEntity> loadThreadPoolList() {
+        long now = System.currentTimeMillis();
+        List<ThreadPoolConfigEntity> threadPoolConfigEntities = new ArrayList<>();
+        Set<String> appNames = redissonClient.<String>getSet("THREAD_POOL_APP_SET_KEY").readAll();
+        for (String appName : appNames) {
+            // 按应用读取实例心跳与线程池数据，过滤掉心跳超时的实例
+            Map<String, Long> heartbeats = redissonClient.<String, Long>getMap("THREAD_POOL_HEARTBEAT_KEY" + "_" + appName).readAllMap();
+            RMap<String, ThreadPoolConfigEntity> threadPoolMap = redissonClient.getMap("THREAD_POOL_CONFIG_HASH_KEY" + "_" + appName);
+            for (ThreadPoolConfigEntity threadPoolConfigEntity : threadPoolMap.readAllValues()) {
+                Long heartbeat = heartbeats.get(threadPoolConfigEntity.getInstanceId());
+                if (null == heartbeat || now - heartbeat > heartbeatTimeout) continue;
+                threadPoolConfigEntities.add(threadPoolConfigEntity);
+            }
+        }
+        threadPoolConfigEntities.sort(Comparator.comparing(ThreadPoolConfigEntity::getAppName)
+                .thenComparing(ThreadPoolConfigEntity::getThreadPoolName)
+                .thenComparing(ThreadPoolConfigEntity::getInstanceId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        // 缓存中的列表会被多个请求共享，禁止修改
+        return Collections.unmodifiableList(threadPoolConfigEntities);
+    }
+
+    private ThreadPoolConfigEntity loadThreadPoolConfig(String cacheKey) {
+        try {
+            // 当前版本以字符串结构写入，一次往返即可读取
+            return redissonClient.<ThreadPoolConfigEntity>getBucket(cacheKey).get();
+        } catch (RedisException e) {
+            // 兼容旧版本以列表结构写入的数据（WRONGTYPE）
+            log.debug("无法从bucket中获取数据，尝试从列表中获取 {}", cacheKey);
+            List<ThreadPoolConfigEntity> cacheList = redissonClient.<ThreadPoolConfigEntity>getList(cacheKey).range(0, 0);
+            return cacheList.isEmpty() ? null : cacheList.get(0);
+        }
+    }
+
+    /**
+     * 线程池数据的唯一标识：{应用名}_{实例标识}_{线程池名称}
+     */
+    public static String threadPoolKey(ThreadPoolConfigEntity threadPoolConfigEntity) {
+        return threadPoolConfigEntity.getAppName() + "_" + threadPoolConfigEntity.getInstanceId() + "_" + threadPoolConfigEntity.getThreadPoolName();
+    }
+
+}
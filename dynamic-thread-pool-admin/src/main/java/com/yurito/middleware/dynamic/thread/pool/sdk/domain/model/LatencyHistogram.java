@@ -0,0 +1,100 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @author Yurito
+ * @description 无锁、定长内存的耗时直方图（单位：微秒）
+ * <p>
+ * 采用对数-线性分桶：小于 16 的值每个值一个桶，之后每个 2 的幂区间再均分为 16 个子桶，相对误差不超过 6.25%。
+ * 桶数组在构造时一次性分配，记录时只做一次原子自增，不产生任何对象。
+ * @create 2025/9/3 10:12
+ */
+public class LatencyHistogram {
+
+    /** 子桶位数，每个 2 的幂区间划分为 2^SUB_BUCKET_BITS 个子桶 */
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /** 可区分的最大指数，超过 2^40 微秒（约 12 天）的值统一落入最后一个桶 */
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long micros) {
+        if (micros < 0) micros = 0;
+        buckets.incrementAndGet(indexOf(micros));
+        long current = max.get();
+        while (micros > current && !max.compareAndSet(current, micros)) {
+            current = max.get();
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        max.set(0);
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 将当前各桶计数累加到目标数组，用于多个窗口合并后计算分位值
+     */
+    void addTo(long[] counts) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += buckets.get(i);
+        }
+    }
+
+    static long[] newCounts() {
+        return new long[BUCKET_COUNT];
+    }
+
+    /**
+     * 根据累加后的计数计算分位值，返回所在桶的上界（不超过 max）
+     *
+     * @param counts   各桶计数
+     * @param total    总计数
+     * @param quantile 分位，如 0.99
+     * @param max      观测到的最大值
+     * @return 分位值，无数据时返回 0
+     */
+    static long valueAtQuantile(long[] counts, long total, double quantile, long max) {
+        if (total <= 0) return 0;
+        long rank = (long) Math.ceil(quantile * total);
+        if (rank < 1) rank = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) return BUCKET_COUNT - 1;
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int exponent = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowerBound = ((long) (SUB_BUCKET_COUNT + subBucket)) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity;
+
+/**
+ * @author Yurito
+ * @description 自动调参决策记录：一次调整的线程池、调整前后的参数与原因，上报注册中心供管理端查看
+ * @create 2025/9/4 10:40
+ */
+public class AutoTuneDecisionEntity {
+
+    /**
+     * 应用名称
+     */
+    private String appName;
+
+    /**
+     * 实例标识
+     */
+    private String instanceId;
+
+    /**
+     * 线程池名称
+     */
+    private String threadPoolName;
+
+    /**
+     * 调整前核心线程数
+     */
+    private int oldCorePoolSize;
+
+    /**
+     * 调整后核心线程数
+     */
+    private int newCorePoolSize;
+
+    /**
+     * 调整前最大线程数
+     */
+    private int oldMaximumPoolSize;
+
+    /**
+     * 调整后最大线程数
+     */
+    private int newMaximumPoolSize;
+
+    /**
+     * 调整前队列容量，队列不支持动态容量时为 0
+     */
+    private int oldQueueCapacity;
+
+    /**
+     * 调整后队列容量，队列不支持动态容量时为 0
+     */
+    private int newQueueCapacity;
+
+    /**
+     * 调整原因，含触发调整的采样值
+     */
+    private String reason;
+
+    /**
+     * 调整时间（单位：毫秒）
+     */
+    private long decideTime;
+
+    public AutoTuneDecisionEntity() {
+    }
+
+    public String getAppName() {
+        return appName;
+    }
+
+    public void setAppName(String appName) {
+        this.appName = appName;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public String getThreadPoolName() {
+        return threadPoolName;
+    }
+
+    public void setThreadPoolName(String threadPoolName) {
+        this.threadPoolName = threadPoolName;
+    }
+
+    public int getOldCorePoolSize() {
+        return oldCorePoolSize;
+    }
+
+    public void setOldCorePoolSize(int oldCorePoolSize) {
+        this.oldCorePoolSize = oldCorePoolSize;
+    }
+
+    public int getNewCorePoolSize() {
+        return newCorePoolSize;
+    }
+
+    public void setNewCorePoolSize(int newCorePoolSize) {
+        this.newCorePoolSize = newCorePoolSize;
+    }
+
+    public int getOldMaximumPoolSize() {
+        return oldMaximumPoolSize;
+    }
+
+    public void setOldMaximumPoolSize(int oldMaximumPoolSize) {
+        this.oldMaximumPoolSize = oldMaximumPoolSize;
+    }
+
+    public int getNewMaximumPoolSize() {
+        return newMaximumPoolSize;
+    }
+
+    public void setNewMaximumPoolSize(int newMaximumPoolSize) {
+        this.newMaximumPoolSize = newMaximumPoolSize;
+    }
+
+    public int getOldQueueCapacity() {
+        return oldQueueCapacity;
+    }
+
+    public void setOldQueueCapacity(int oldQueueCapacity) {
+        this.oldQueueCapacity = oldQueueCapacity;
+    }
+
+    public int getNewQueueCapacity() {
+        return newQueueCapacity;
+    }
+
+    public void setNewQueueCapacity(int newQueueCapacity) {
+        this.newQueueCapacity = newQueueCapacity;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public long getDecideTime() {
+        return decideTime;
+    }
+
+    public void setDecideTime(long decideTime) {
+        this.decideTime = decideTime;
+    }
+
+}
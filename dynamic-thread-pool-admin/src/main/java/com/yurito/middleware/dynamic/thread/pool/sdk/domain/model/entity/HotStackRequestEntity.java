@@ -0,0 +1,44 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity;
+
+/**
+ * @author Yurito
+ * @description 热点调用栈采集请求，发布到 THREAD_POOL_HOT_STACK_TOPIC_{应用名}，各实例按请求标识写回结果，并发的请求互不覆盖
+ * @create 2025/9/14 14:10
+ */
+public class HotStackRequestEntity {
+
+    /**
+     * 请求标识，每次查询生成一个
+     */
+    private String requestId;
+
+    /**
+     * 线程池名称
+     */
+    private String threadPoolName;
+
+    public HotStackRequestEntity() {
+    }
+
+    public HotStackRequestEntity(String requestId, String threadPoolName) {
+        this.requestId = requestId;
+        this.threadPoolName = threadPoolName;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public String getThreadPoolName() {
+        return threadPoolName;
+    }
+
+    public void setThreadPoolName(String threadPoolName) {
+        this.threadPoolName = threadPoolName;
+    }
+
+}
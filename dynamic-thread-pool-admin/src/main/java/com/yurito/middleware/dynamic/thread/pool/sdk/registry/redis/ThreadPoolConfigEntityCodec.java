@@ -0,0 +1,434 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.registry.redis;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.TenantQueueEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.redisson.codec.JsonJacksonCodec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * @author Yurito
+ * @description 线程池配置实体编解码器
+ * <p>
+ * {@link ThreadPoolConfigEntity} 编码为紧凑的二进制格式：魔数 + 版本号 + 若干字段，
+ * 每个字段为 标签（字段编号 << 3 | 类型）+ 值，整数使用 ZigZag 变长编码，字符串为 长度 + UTF-8，默认值（0、null）不写入。
+ * 列表字段的每个元素编码为一个 长度 + 嵌套字段 的子消息，重复写入同一字段编号。
+ * 读取时跳过不认识的字段编号，新增字段只需追加编号，不需要升级版本，新旧版本可以混合部署。
+ * 其余类型的值以及 JSON 格式的历史数据交给 {@link JsonJacksonCodec}，迁移期间两种格式均可读取。
+ * <p>
+ * 与 starter 中同包同名的编解码器保持一致，字段编号必须相同。
+ * @create 2025/9/5 17:40
+ */
+public class ThreadPoolConfigEntityCodec extends BaseCodec {
+
+    /** 魔数，JSON 文本不会以该字节开头 */
+    static final byte MAGIC = (byte) 0xD7;
+
+    /** 格式版本，仅在出现不兼容修改时升级 */
+    static final byte VERSION = 1;
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+    private static final int WIRE_FIXED32 = 5;
+
+    /** 字段编号一经发布不得修改或复用 */
+    private static final FieldCodec[] FIELDS = {
+            stringField(1, ThreadPoolConfigEntity::getAppName, ThreadPoolConfigEntity::setAppName),
+            stringField(2, ThreadPoolConfigEntity::getThreadPoolName, ThreadPoolConfigEntity::setThreadPoolName),
+            intField(3, ThreadPoolConfigEntity::getCorePoolSize, ThreadPoolConfigEntity::setCorePoolSize),
+            intField(4, ThreadPoolConfigEntity::getMaximumPoolSize, ThreadPoolConfigEntity::setMaximumPoolSize),
+            intField(5, ThreadPoolConfigEntity::getActiveCount, ThreadPoolConfigEntity::setActiveCount),
+            intField(6, ThreadPoolConfigEntity::getPoolSize, ThreadPoolConfigEntity::setPoolSize),
+            stringField(7, ThreadPoolConfigEntity::getQueueType, ThreadPoolConfigEntity::setQueueType),
+            intField(8, ThreadPoolConfigEntity::getQueueSize, ThreadPoolConfigEntity::setQueueSize),
+            intField(9, ThreadPoolConfigEntity::getRemainingCapacity, ThreadPoolConfigEntity::setRemainingCapacity),
+            intField(10, ThreadPoolConfigEntity::getQueueCapacity, ThreadPoolConfigEntity::setQueueCapacity),
+            stringField(11, ThreadPoolConfigEntity::getRejectPolicy, ThreadPoolConfigEntity::setRejectPolicy),
+            longField(12, ThreadPoolConfigEntity::getCompletedTaskCount, ThreadPoolConfigEntity::setCompletedTaskCount),
+            longField(13, ThreadPoolConfigEntity::getRejectedTaskCount, ThreadPoolConfigEntity::setRejectedTaskCount),
+            longField(14, ThreadPoolConfigEntity::getQueueWaitTimeP50, ThreadPoolConfigEntity::setQueueWaitTimeP50),
+            longField(15, ThreadPoolConfigEntity::getQueueWaitTimeP90, ThreadPoolConfigEntity::setQueueWaitTimeP90),
+            longField(16, ThreadPoolConfigEntity::getQueueWaitTimeP99, ThreadPoolConfigEntity::setQueueWaitTimeP99),
+            longField(17, ThreadPoolConfigEntity::getQueueWaitTimeMax, ThreadPoolConfigEntity::setQueueWaitTimeMax),
+            longField(18, ThreadPoolConfigEntity::getExecuteTimeP50, ThreadPoolConfigEntity::setExecuteTimeP50),
+            longField(19, ThreadPoolConfigEntity::getExecuteTimeP90, ThreadPoolConfigEntity::setExecuteTimeP90),
+            longField(20, ThreadPoolConfigEntity::getExecuteTimeP99, ThreadPoolConfigEntity::setExecuteTimeP99),
+            longField(21, ThreadPoolConfigEntity::getExecuteTimeMax, ThreadPoolConfigEntity::setExecuteTimeMax),
+            stringField(22, ThreadPoolConfigEntity::getInstanceId, ThreadPoolConfigEntity::setInstanceId),
+            stringField(23, ThreadPoolConfigEntity::getPoolType, ThreadPoolConfigEntity::setPoolType),
+            intField(24, ThreadPoolConfigEntity::getParallelism, ThreadPoolConfigEntity::setParallelism),
+            intField(25, ThreadPoolConfigEntity::getRunningThreadCount, ThreadPoolConfigEntity::setRunningThreadCount),
+            longField(26, ThreadPoolConfigEntity::getStealCount, ThreadPoolConfigEntity::setStealCount),
+            longField(27, ThreadPoolConfigEntity::getQueuedTaskCount, ThreadPoolConfigEntity::setQueuedTaskCount),
+            longField(28, ThreadPoolConfigEntity::getQueuedSubmissionCount, ThreadPoolConfigEntity::setQueuedSubmissionCount),
+            longField(29, ThreadPoolConfigEntity::getLateTimeP50, ThreadPoolConfigEntity::setLateTimeP50),
+            longField(30, ThreadPoolConfigEntity::getLateTimeP90, ThreadPoolConfigEntity::setLateTimeP90),
+            longField(31, ThreadPoolConfigEntity::getLateTimeP99, ThreadPoolConfigEntity::setLateTimeP99),
+            longField(32, ThreadPoolConfigEntity::getLateTimeMax, ThreadPoolConfigEntity::setLateTimeMax),
+            longField(33, ThreadPoolConfigEntity::getOverrunCount, ThreadPoolConfigEntity::setOverrunCount),
+            longField(34, ThreadPoolConfigEntity::getSpillTaskCount, ThreadPoolConfigEntity::setSpillTaskCount),
+            longField(35, ThreadPoolConfigEntity::getSpillBytes, ThreadPoolConfigEntity::setSpillBytes),
+            longField(36, ThreadPoolConfigEntity::getSpillReplayLag, ThreadPoolConfigEntity::setSpillReplayLag),
+            longField(37, ThreadPoolConfigEntity::getShedTaskCount, ThreadPoolConfigEntity::setShedTaskCount),
+            longField(38, ThreadPoolConfigEntity::getExpiredTaskCount, ThreadPoolConfigEntity::setExpiredTaskCount),
+            longField(39, ThreadPoolConfigEntity::getRejectedCount1s, ThreadPoolConfigEntity::setRejectedCount1s),
+            longField(40, ThreadPoolConfigEntity::getRejectedCount10s, ThreadPoolConfigEntity::setRejectedCount10s),
+            longField(41, ThreadPoolConfigEntity::getRejectedCount60s, ThreadPoolConfigEntity::setRejectedCount60s),
+            longField(42, ThreadPoolConfigEntity::getLastRejectTime, ThreadPoolConfigEntity::setLastRejectTime),
+            tenantQueuesField(43),
+            intField(44, ThreadPoolConfigEntity::getBatchSize, ThreadPoolConfigEntity::setBatchSize),
+            longField(45, ThreadPoolConfigEntity::getBatchLingerTime, ThreadPoolConfigEntity::setBatchLingerTime),
+            longField(46, ThreadPoolConfigEntity::getBatchFlushCount, ThreadPoolConfigEntity::setBatchFlushCount),
+            intField(47, ThreadPoolConfigEntity::getBatchFillRatio, ThreadPoolConfigEntity::setBatchFillRatio),
+            longField(48, ThreadPoolConfigEntity::getBatchFlushLatencyP50, ThreadPoolConfigEntity::setBatchFlushLatencyP50),
+            longField(49, ThreadPoolConfigEntity::getBatchFlushLatencyP99, ThreadPoolConfigEntity::setBatchFlushLatencyP99),
+            longField(50, ThreadPoolConfigEntity::getCpuMilliCores, ThreadPoolConfigEntity::setCpuMilliCores),
+            longField(51, ThreadPoolConfigEntity::getAllocationRate, ThreadPoolConfigEntity::setAllocationRate),
+            intField(52, ThreadPoolConfigEntity::getSampledThreadCount, ThreadPoolConfigEntity::setSampledThreadCount),
+            longField(53, ThreadPoolConfigEntity::getStuckTaskThreshold, ThreadPoolConfigEntity::setStuckTaskThreshold),
+            intField(54, ThreadPoolConfigEntity::getStuckTaskCount, ThreadPoolConfigEntity::setStuckTaskCount),
+            longField(55, ThreadPoolConfigEntity::getLongestRunningTime, ThreadPoolConfigEntity::setLongestRunningTime),
+    };
+
+    private static final FieldCodec[] FIELDS_BY_NUMBER = indexByNumber(FIELDS);
+
+    /** 写入时是否使用二进制格式，false 时仍写 JSON，用于管理端尚未升级时过渡 */
+    private final boolean binary;
+
+    private final Codec jsonCodec;
+
+    private final Encoder encoder = new Encoder() {
+        @Override
+        public ByteBuf encode(Object in) throws IOException {
+            if (!binary || !(in instanceof ThreadPoolConfigEntity)) {
+                return jsonCodec.getValueEncoder().encode(in);
+            }
+            ByteBuf out = ByteBufAllocator.DEFAULT.buffer(128);
+            try {
+                encodeEntity((ThreadPoolConfigEntity) in, out);
+                return out;
+            } catch (RuntimeException e) {
+                out.release();
+                throw e;
+            }
+        }
+    };
+
+    private final Decoder<Object> decoder = new Decoder<Object>() {
+        @Override
+        public Object decode(ByteBuf buf, State state) throws IOException {
+            if (buf.isReadable() && buf.getByte(buf.readerIndex()) == MAGIC) {
+                return decodeEntity(buf);
+            }
+            return jsonCodec.getValueDecoder().decode(buf, state);
+        }
+    };
+
+    public ThreadPoolConfigEntityCodec() {
+        this(true);
+    }
+
+    public ThreadPoolConfigEntityCodec(boolean binary) {
+        this(binary, JsonJacksonCodec.INSTANCE);
+    }
+
+    /**
+     * Redisson 按类加载器复制编解码器时使用
+     */
+    public ThreadPoolConfigEntityCodec(ClassLoader classLoader, ThreadPoolConfigEntityCodec codec) {
+        this(codec.binary, new JsonJacksonCodec(classLoader));
+    }
+
+    private ThreadPoolConfigEntityCodec(boolean binary, Codec jsonCodec) {
+        this.binary = binary;
+        this.jsonCodec = jsonCodec;
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return jsonCodec.getClassLoader();
+    }
+
+    static void encodeEntity(ThreadPoolConfigEntity entity, ByteBuf out) {
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        for (FieldCodec field : FIELDS) {
+            field.write(entity, out);
+        }
+    }
+
+    static ThreadPoolConfigEntity decodeEntity(ByteBuf in) throws IOException {
+        in.skipBytes(1);
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("不支持的线程池配置编码版本：" + version);
+        }
+        ThreadPoolConfigEntity entity = new ThreadPoolConfigEntity();
+        while (in.isReadable()) {
+            long tag = readVarint(in);
+            int number = (int) (tag >>> 3);
+            int wireType = (int) (tag & 0x7);
+            FieldCodec field = number < FIELDS_BY_NUMBER.length ? FIELDS_BY_NUMBER[number] : null;
+            if (null != field && field.wireType == wireType) {
+                field.read(entity, in);
+            } else {
+                skip(in, wireType);
+            }
+        }
+        return entity;
+    }
+
+    private static void skip(ByteBuf in, int wireType) throws IOException {
+        switch (wireType) {
+            case WIRE_VARINT:
+                readVarint(in);
+                break;
+            case WIRE_FIXED64:
+                in.skipBytes(8);
+                break;
+            case WIRE_LENGTH_DELIMITED:
+                in.skipBytes((int) readVarint(in));
+                break;
+            case WIRE_FIXED32:
+                in.skipBytes(4);
+                break;
+            default:
+                throw new IOException("未知的字段类型：" + wireType);
+        }
+    }
+
+    private static void writeTag(ByteBuf out, int number, int wireType) {
+        writeVarint(out, (long) number << 3 | wireType);
+    }
+
+    private static void writeVarint(ByteBuf out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(ByteBuf in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("变长整数格式错误");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static FieldCodec[] indexByNumber(FieldCodec[] fields) {
+        int max = 0;
+        for (FieldCodec field : fields) {
+            max = Math.max(max, field.number);
+        }
+        FieldCodec[] byNumber = new FieldCodec[max + 1];
+        for (FieldCodec field : fields) {
+            if (null != byNumber[field.number]) {
+                throw new IllegalStateException("字段编号重复：" + field.number);
+            }
+            byNumber[field.number] = field;
+        }
+        return byNumber;
+    }
+
+    private static FieldCodec intField(int number, ToIntFunction<ThreadPoolConfigEntity> getter, ObjIntConsumer<ThreadPoolConfigEntity> setter) {
+        return new FieldCodec(number, WIRE_VARINT) {
+            @Override
+            void write(ThreadPoolConfigEntity entity, ByteBuf out) {
+                int value = getter.applyAsInt(entity);
+                if (value == 0) return;
+                writeTag(out, number, WIRE_VARINT);
+                writeVarint(out, zigZag(value));
+            }
+
+            @Override
+            void read(ThreadPoolConfigEntity entity, ByteBuf in) throws IOException {
+                setter.accept(entity, (int) unZigZag(readVarint(in)));
+            }
+        };
+    }
+
+    private static FieldCodec longField(int number, ToLongFunction<ThreadPoolConfigEntity> getter, ObjLongConsumer<ThreadPoolConfigEntity> setter) {
+        return new FieldCodec(number, WIRE_VARINT) {
+            @Override
+            void write(ThreadPoolConfigEntity entity, ByteBuf out) {
+                long value = getter.applyAsLong(entity);
+                if (value == 0) return;
+                writeTag(out, number, WIRE_VARINT);
+                writeVarint(out, zigZag(value));
+            }
+
+            @Override
+            void read(ThreadPoolConfigEntity entity, ByteBuf in) throws IOException {
+                setter.accept(entity, unZigZag(readVarint(in)));
+            }
+        };
+    }
+
+    private static FieldCodec stringField(int number, Function<ThreadPoolConfigEntity, String> getter, BiConsumer<ThreadPoolConfigEntity, String> setter) {
+        return new FieldCodec(number, WIRE_LENGTH_DELIMITED) {
+            @Override
+            void write(ThreadPoolConfigEntity entity, ByteBuf out) {
+                String value = getter.apply(entity);
+                if (null == value) return;
+                writeTag(out, number, WIRE_LENGTH_DELIMITED);
+                writeVarint(out, ByteBufUtil.utf8Bytes(value));
+                out.writeCharSequence(value, StandardCharsets.UTF_8);
+            }
+
+            @Override
+            void read(ThreadPoolConfigEntity entity, ByteBuf in) throws IOException {
+                int length = (int) readVarint(in);
+                setter.accept(entity, in.readCharSequence(length, StandardCharsets.UTF_8).toString());
+            }
+        };
+    }
+
+    /**
+     * 租户子队列列表，每个 {@link TenantQueueEntity} 为一个子消息：1 租户、2 权重、3 容量、4 任务数、5 队首等待时长、6 是否单独配置
+     */
+    private static FieldCodec tenantQueuesField(int number) {
+        return new FieldCodec(number, WIRE_LENGTH_DELIMITED) {
+            @Override
+            void write(ThreadPoolConfigEntity entity, ByteBuf out) {
+                List<TenantQueueEntity> tenantQueues = entity.getTenantQueues();
+                if (null == tenantQueues) return;
+                for (TenantQueueEntity tenantQueue : tenantQueues) {
+                    writeTag(out, number, WIRE_LENGTH_DELIMITED);
+                    // 先占位写入长度，子消息写完后回填，长度不超过 4 字节变长整数
+                    int lengthIndex = out.writerIndex();
+                    out.writeMedium(0);
+                    out.writeByte(0);
+                    int start = out.writerIndex();
+                    if (null != tenantQueue.getTenant()) {
+                        writeTag(out, 1, WIRE_LENGTH_DELIMITED);
+                        writeVarint(out, ByteBufUtil.utf8Bytes(tenantQueue.getTenant()));
+                        out.writeCharSequence(tenantQueue.getTenant(), StandardCharsets.UTF_8);
+                    }
+                    writeVarintField(out, 2, tenantQueue.getWeight());
+                    writeVarintField(out, 3, tenantQueue.getCapacity());
+                    writeVarintField(out, 4, tenantQueue.getQueueSize());
+                    writeVarintField(out, 5, tenantQueue.getWaitTime());
+                    writeVarintField(out, 6, tenantQueue.isConfigured() ? 1 : 0);
+                    int length = out.writerIndex() - start;
+                    // 固定 4 字节的变长整数：前 3 字节带延续位
+                    out.setByte(lengthIndex, (length & 0x7F) | 0x80);
+                    out.setByte(lengthIndex + 1, ((length >>> 7) & 0x7F) | 0x80);
+                    out.setByte(lengthIndex + 2, ((length >>> 14) & 0x7F) | 0x80);
+                    out.setByte(lengthIndex + 3, (length >>> 21) & 0x7F);
+                }
+            }
+
+            @Override
+            void read(ThreadPoolConfigEntity entity, ByteBuf in) throws IOException {
+                int length = (int) readVarint(in);
+                ByteBuf message = in.readSlice(length);
+                TenantQueueEntity tenantQueue = new TenantQueueEntity();
+                while (message.isReadable()) {
+                    long tag = readVarint(message);
+                    int wireType = (int) (tag & 0x7);
+                    switch ((int) (tag >>> 3)) {
+                        case 1:
+                            if (wireType != WIRE_LENGTH_DELIMITED) {
+                                skip(message, wireType);
+                                break;
+                            }
+                            tenantQueue.setTenant(message.readCharSequence((int) readVarint(message), StandardCharsets.UTF_8).toString());
+                            break;
+                        case 2:
+                            if (wireType == WIRE_VARINT) tenantQueue.setWeight((int) unZigZag(readVarint(message)));
+                            else skip(message, wireType);
+                            break;
+                        case 3:
+                            if (wireType == WIRE_VARINT) tenantQueue.setCapacity((int) unZigZag(readVarint(message)));
+                            else skip(message, wireType);
+                            break;
+                        case 4:
+                            if (wireType == WIRE_VARINT) tenantQueue.setQueueSize((int) unZigZag(readVarint(message)));
+                            else skip(message, wireType);
+                            break;
+                        case 5:
+                            if (wireType == WIRE_VARINT) tenantQueue.setWaitTime(unZigZag(readVarint(message)));
+                            else skip(message, wireType);
+                            break;
+                        case 6:
+                            if (wireType == WIRE_VARINT) tenantQueue.setConfigured(unZigZag(readVarint(message)) != 0);
+                            else skip(message, wireType);
+                            break;
+                        default:
+                            skip(message, wireType);
+                    }
+                }
+                List<TenantQueueEntity> tenantQueues = entity.getTenantQueues();
+                if (null == tenantQueues) {
+                    tenantQueues = new ArrayList<>();
+                    entity.setTenantQueues(tenantQueues);
+                }
+                tenantQueues.add(tenantQueue);
+            }
+        };
+    }
+
+    private static void writeVarintField(ByteBuf out, int number, long value) {
+        if (value == 0) return;
+        writeTag(out, number, WIRE_VARINT);
+        writeVarint(out, zigZag(value));
+    }
+
+    private abstract static class FieldCodec {
+
+        final int number;
+
+        final int wireType;
+
+        FieldCodec(int number, int wireType) {
+            this.number = number;
+            this.wireType = wireType;
+        }
+
+        abstract void write(ThreadPoolConfigEntity entity, ByteBuf out);
+
+        abstract void read(ThreadPoolConfigEntity entity, ByteBuf in) throws IOException;
+
+    }
+
+}
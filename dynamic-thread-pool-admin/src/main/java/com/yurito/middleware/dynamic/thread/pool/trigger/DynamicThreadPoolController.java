@@ -1,16 +1,27 @@
 package com.yurito.middleware.dynamic.thread.pool.trigger;
 
 import com.alibaba.fastjson.JSON;
+import com.yurito.middleware.dynamic.thread.pool.domain.cache.model.entity.CacheStatsEntity;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.ThreadPoolMetricHistoryService;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.entity.MetricHistoryEntity;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.valobj.MetricResolutionEnumVO;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.valobj.ThreadPoolMetricEnumVO;
+import com.yurito.middleware.dynamic.thread.pool.domain.push.ThreadPoolPushService;
+import com.yurito.middleware.dynamic.thread.pool.domain.threadpool.ThreadPoolDataService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.AutoTuneDecisionEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackEntity;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
 import com.yurito.middleware.dynamic.thread.pool.types.Response;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RList;
 import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.annotation.Resource;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Yurito
@@ -26,19 +37,28 @@ public class DynamicThreadPoolController {
     @Resource
     public RedissonClient redissonClient;
 
+    @Resource
+    private ThreadPoolMetricHistoryService threadPoolMetricHistoryService;
+
+    @Resource
+    private ThreadPoolDataService threadPoolDataService;
+
+    @Resource
+    private ThreadPoolPushService threadPoolPushService;
+
     /**
-     * 查询线程池数据
+     * 查询线程池数据，每个实例的每个线程池一条
      * curl --request GET \
      * --url 'http://localhost:8089/api/v1/dynamic/thread/pool/query_thread_pool_list'
      */
     @RequestMapping(value = "query_thread_pool_list", method = RequestMethod.GET)
     public Response<List<ThreadPoolConfigEntity>> queryThreadPoolList() {
         try {
-            RList<ThreadPoolConfigEntity> cacheList = redissonClient.getList("THREAD_POOL_CONFIG_LIST_KEY");
+            List<ThreadPoolConfigEntity> threadPoolConfigEntities = threadPoolDataService.queryThreadPoolList();
             return Response.<List<ThreadPoolConfigEntity>>builder()
                     .code(Response.Code.SUCCESS.getCode())
                     .info(Response.Code.SUCCESS.getInfo())
-                    .data(cacheList.readAll())
+                    .data(threadPoolConfigEntities)
                     .build();
         } catch (Exception e) {
             log.error("查询线程池数据异常", e);
@@ -49,6 +69,61 @@ public class DynamicThreadPoolController {
         }
     }
 
+    /**
+     * 订阅线程池数据（Server-Sent Events），先推送一份完整数据（snapshot），之后只推送有变化（update）和已下线（remove）的线程池
+     * curl --request GET \
+     * --url 'http://localhost:8089/api/v1/dynamic/thread/pool/subscribe_thread_pool_list'
+     */
+    @RequestMapping(value = "subscribe_thread_pool_list", method = RequestMethod.GET, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeThreadPoolList() {
+        return threadPoolPushService.subscribe();
+    }
+
+    /**
+     * 查询线程池指标历史，每个实例一条
+     * curl --request GET \
+     * --url 'http://localhost:8089/api/v1/dynamic/thread/pool/query_thread_pool_history?appName=dynamic-thread-pool-test-app&threadPoolName=threadPoolExecutor01&metric=activeCount&start=1757232000000'
+     *
+     * @param metric     指标名称，见 {@link ThreadPoolMetricEnumVO}
+     * @param start      起始时间（单位：毫秒），默认为一小时前
+     * @param end        结束时间（单位：毫秒），默认为当前时间
+     * @param resolution 精度 10s/1m/10m，默认选择能覆盖起始时间的最细精度
+     */
+    @RequestMapping(value = "query_thread_pool_history", method = RequestMethod.GET)
+    public Response<List<MetricHistoryEntity>> queryThreadPoolHistory(@RequestParam String appName,
+                                                                      @RequestParam String threadPoolName,
+                                                                      @RequestParam String metric,
+                                                                      @RequestParam(required = false) String instanceId,
+                                                                      @RequestParam(required = false) Long start,
+                                                                      @RequestParam(required = false) Long end,
+                                                                      @RequestParam(required = false) String resolution) {
+        try {
+            long now = System.currentTimeMillis();
+            long endTime = null == end ? now : end;
+            long startTime = null == start ? endTime - 3600_000L : start;
+            ThreadPoolMetricEnumVO metricVO = ThreadPoolMetricEnumVO.of(metric);
+            MetricResolutionEnumVO resolutionVO = null == resolution ? MetricResolutionEnumVO.finestCovering(now, startTime) : MetricResolutionEnumVO.of(resolution);
+            if (null == metricVO || null == resolutionVO || startTime > endTime) {
+                return Response.<List<MetricHistoryEntity>>builder()
+                        .code(Response.Code.ILLEGAL_PARAMETER.getCode())
+                        .info(Response.Code.ILLEGAL_PARAMETER.getInfo())
+                        .build();
+            }
+            List<MetricHistoryEntity> histories = threadPoolMetricHistoryService.query(appName, threadPoolName, instanceId, metricVO, resolutionVO, startTime, endTime);
+            return Response.<List<MetricHistoryEntity>>builder()
+                    .code(Response.Code.SUCCESS.getCode())
+                    .info(Response.Code.SUCCESS.getInfo())
+                    .data(histories)
+                    .build();
+        } catch (Exception e) {
+            log.error("查询线程池指标历史异常 {} {} {}", appName, threadPoolName, metric, e);
+            return Response.<List<MetricHistoryEntity>>builder()
+                    .code(Response.Code.UN_ERROR.getCode())
+                    .info(Response.Code.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
     /**
      * 查询线程池配置
      * curl --request GET \
@@ -57,25 +132,7 @@ public class DynamicThreadPoolController {
     @RequestMapping(value = "query_thread_pool_config", method = RequestMethod.GET)
     public Response<ThreadPoolConfigEntity> queryThreadPoolConfig(@RequestParam String appName, @RequestParam String threadPoolName) {
         try {
-            String cacheKey = "THREAD_POOL_CONFIG_PARAMETER_LIST_KEY" + "_" + appName + "_" + threadPoolName;
-            
-            // 首先尝试从列表中获取数据
-            try {
-                RList<ThreadPoolConfigEntity> cacheList = redissonClient.getList(cacheKey);
-                if (cacheList.size() > 0) {
-                    ThreadPoolConfigEntity threadPoolConfigEntity = cacheList.get(0);
-                    return Response.<ThreadPoolConfigEntity>builder()
-                            .code(Response.Code.SUCCESS.getCode())
-                            .info(Response.Code.SUCCESS.getInfo())
-                            .data(threadPoolConfigEntity)
-                            .build();
-                }
-            } catch (Exception listException) {
-                log.debug("无法从列表中获取数据，尝试从bucket中获取");
-            }
-            
-            // 如果从列表获取失败，则尝试从bucket中获取数据
-            ThreadPoolConfigEntity threadPoolConfigEntity = redissonClient.<ThreadPoolConfigEntity>getBucket(cacheKey).get();
+            ThreadPoolConfigEntity threadPoolConfigEntity = threadPoolDataService.queryThreadPoolConfig(appName, threadPoolName);
             if (threadPoolConfigEntity != null) {
                 return Response.<ThreadPoolConfigEntity>builder()
                         .code(Response.Code.SUCCESS.getCode())
@@ -83,8 +140,7 @@ public class DynamicThreadPoolController {
                         .data(threadPoolConfigEntity)
                         .build();
             }
-            
-            // 如果都获取不到数据，返回错误
+
             return Response.<ThreadPoolConfigEntity>builder()
                     .code(Response.Code.UN_ERROR.getCode())
                     .info("未找到线程池配置数据")
@@ -98,6 +154,69 @@ public class DynamicThreadPoolController {
         }
     }
 
+    /**
+     * 查询线程池热点调用栈：各实例采集正在执行任务的工作线程调用栈并按栈顶帧归并，用于定位占住线程池的慢依赖
+     * curl --request GET \
+     * --url 'http://localhost:8089/api/v1/dynamic/thread/pool/query_hot_stacks?appName=dynamic-thread-pool-test-app&threadPoolName=threadPoolExecutor01'
+     *
+     * @return 实例标识 -> 热点调用栈
+     */
+    @RequestMapping(value = "query_hot_stacks", method = RequestMethod.GET)
+    public Response<Map<String, List<HotStackEntity>>> queryHotStacks(@RequestParam String appName, @RequestParam String threadPoolName) {
+        try {
+            Map<String, List<HotStackEntity>> hotStacks = threadPoolDataService.queryHotStacks(appName, threadPoolName);
+            log.info("查询线程池热点调用栈完成 {} {} 回复实例数:{}", appName, threadPoolName, hotStacks.size());
+            return Response.<Map<String, List<HotStackEntity>>>builder()
+                    .code(Response.Code.SUCCESS.getCode())
+                    .info(Response.Code.SUCCESS.getInfo())
+                    .data(hotStacks)
+                    .build();
+        } catch (Exception e) {
+            log.error("查询线程池热点调用栈异常 {} {}", appName, threadPoolName, e);
+            return Response.<Map<String, List<HotStackEntity>>>builder()
+                    .code(Response.Code.UN_ERROR.getCode())
+                    .info(Response.Code.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+    /**
+     * 查询应用最近的自动调参决策记录（线程池、调整前后的参数与原因），最新的在前
+     * curl --request GET \
+     * --url 'http://localhost:8089/api/v1/dynamic/thread/pool/query_auto_tune_decisions?appName=dynamic-thread-pool-test-app&limit=20'
+     */
+    @RequestMapping(value = "query_auto_tune_decisions", method = RequestMethod.GET)
+    public Response<List<AutoTuneDecisionEntity>> queryAutoTuneDecisions(@RequestParam String appName, @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<AutoTuneDecisionEntity> decisions = threadPoolDataService.queryAutoTuneDecisions(appName, limit);
+            return Response.<List<AutoTuneDecisionEntity>>builder()
+                    .code(Response.Code.SUCCESS.getCode())
+                    .info(Response.Code.SUCCESS.getInfo())
+                    .data(decisions)
+                    .build();
+        } catch (Exception e) {
+            log.error("查询自动调参决策记录异常 {}", appName, e);
+            return Response.<List<AutoTuneDecisionEntity>>builder()
+                    .code(Response.Code.UN_ERROR.getCode())
+                    .info(Response.Code.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+    /**
+     * 查询管理端缓存统计（命中率、命中与回源耗时分位值）
+     * curl --request GET \
+     * --url 'http://localhost:8089/api/v1/dynamic/thread/pool/query_cache_stats'
+     */
+    @RequestMapping(value = "query_cache_stats", method = RequestMethod.GET)
+    public Response<List<CacheStatsEntity>> queryCacheStats() {
+        return Response.<List<CacheStatsEntity>>builder()
+                .code(Response.Code.SUCCESS.getCode())
+                .info(Response.Code.SUCCESS.getInfo())
+                .data(threadPoolDataService.queryCacheStats())
+                .build();
+    }
+
     /**
      * 修改线程池配置
      * curl --request POST \
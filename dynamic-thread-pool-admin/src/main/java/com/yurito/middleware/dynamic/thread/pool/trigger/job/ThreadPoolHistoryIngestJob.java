@@ -0,0 +1,84 @@
+package com.yurito.middleware.dynamic.thread.pool.trigger.job;
+
+import com.yurito.middleware.dynamic.thread.pool.domain.history.ThreadPoolMetricHistoryService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolReportEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Yurito
+ * @description 线程池指标历史采集任务
+ * <p>
+ * 订阅 THREAD_POOL_REPORT_DATA_TOPIC，实例每次上报都推送上报时间与有变化的线程池数据，按上报时间写入指标历史，
+ * 数据未变化的线程池沿用上次采样的数据，每一次上报都有记录；
+ * 另以较长的间隔读取各应用的线程池数据与实例心跳作为兜底，补齐管理端重启、订阅断开期间遗漏的上报，
+ * 心跳未前进（已按推送记录过）的实例不重复记录。
+ * @create 2025/9/7 16:00
+ */
+@Slf4j
+@Component
+public class ThreadPoolHistoryIngestJob {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private ThreadPoolMetricHistoryService threadPoolMetricHistoryService;
+
+    private int reportListenerId;
+
+    @PostConstruct
+    public void init() {
+        RTopic topic = redissonClient.getTopic("THREAD_POOL_REPORT_DATA_TOPIC");
+        reportListenerId = topic.addListener(ThreadPoolReportEntity.class, (channel, report) -> {
+            try {
+                int recorded = threadPoolMetricHistoryService.record(report);
+                log.debug("线程池指标历史记录上报 {} {} 记录 {} 条", report.getAppName(), report.getInstanceId(), recorded);
+            } catch (Exception e) {
+                log.error("线程池指标历史记录上报异常 {} {}", report.getAppName(), report.getInstanceId(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        redissonClient.getTopic("THREAD_POOL_REPORT_DATA_TOPIC").removeListener(reportListenerId);
+    }
+
+    /**
+     * 兜底轮询，同时清理过期序列
+     */
+    @Scheduled(fixedDelayString = "${dynamic.thread.pool.admin.history.ingest-interval:60000}")
+    public void execIngest() {
+        try {
+            int recorded = 0;
+            Set<String> appNames = redissonClient.<String>getSet("THREAD_POOL_APP_SET_KEY").readAll();
+            for (String appName : appNames) {
+                Map<String, Long> heartbeats = redissonClient.<String, Long>getMap("THREAD_POOL_HEARTBEAT_KEY" + "_" + appName).readAllMap();
+                if (heartbeats.isEmpty()) continue;
+                Collection<ThreadPoolConfigEntity> threadPoolConfigEntities = redissonClient.<String, ThreadPoolConfigEntity>getMap("THREAD_POOL_CONFIG_HASH_KEY" + "_" + appName).readAllValues();
+                for (ThreadPoolConfigEntity threadPoolConfigEntity : threadPoolConfigEntities) {
+                    Long heartbeat = heartbeats.get(threadPoolConfigEntity.getInstanceId());
+                    if (null == heartbeat) continue;
+                    if (threadPoolMetricHistoryService.record(threadPoolConfigEntity, heartbeat)) recorded++;
+                }
+            }
+            int evicted = threadPoolMetricHistoryService.evictExpired(System.currentTimeMillis());
+            log.debug("线程池指标历史兜底采集完成，记录 {} 条，清理序列 {} 条，当前序列 {} 条", recorded, evicted, threadPoolMetricHistoryService.seriesCount());
+        } catch (Exception e) {
+            log.error("线程池指标历史采集异常", e);
+        }
+    }
+
+}
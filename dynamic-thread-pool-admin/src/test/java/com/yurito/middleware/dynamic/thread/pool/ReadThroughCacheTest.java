@@ -0,0 +1,105 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.domain.cache.ReadThroughCache;
+import com.yurito.middleware.dynamic.thread.pool.domain.cache.model.entity.CacheStatsEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Yurito
+ * @description 读穿透缓存单元测试
+ * @create 2025/9/8 11:20
+ */
+public class ReadThroughCacheTest {
+
+    @Test
+    public void test_lruAndInvalidate() {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 2, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assert.assertEquals("a1", cache.get("a", () -> "a" + loads.incrementAndGet()));
+        Assert.assertEquals("a1", cache.get("a", () -> "a" + loads.incrementAndGet()));
+        cache.get("b", () -> "b" + loads.incrementAndGet());
+        // 访问 a 后 b 成为最久未使用，写入 c 时淘汰 b
+        cache.get("a", () -> "a" + loads.incrementAndGet());
+        cache.get("c", () -> "c" + loads.incrementAndGet());
+        Assert.assertEquals("a1", cache.get("a", () -> "a" + loads.incrementAndGet()));
+        Assert.assertEquals("b4", cache.get("b", () -> "b" + loads.incrementAndGet()));
+
+        // 失效后回源；加载期间发生的失效使加载结果不写入缓存
+        cache.invalidateIf((key, value) -> key.equals("b"));
+        Assert.assertEquals("b6", cache.get("b", () -> {
+            cache.invalidateAll();
+            return "b" + (loads.incrementAndGet() + 1);
+        }));
+        Assert.assertEquals(0, cache.size());
+        // 加载结果为 null 时不缓存
+        Assert.assertNull(cache.get("d", () -> null));
+        Assert.assertEquals(0, cache.size());
+
+        CacheStatsEntity stats = cache.stats();
+        Assert.assertEquals(3, stats.getHitCount());
+        Assert.assertEquals(6, stats.getMissCount());
+        Assert.assertEquals(2, stats.getEvictionCount());
+        Assert.assertEquals(4, stats.getMissLatency().length);
+    }
+
+    @Test
+    public void test_singleFlight() throws Exception {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 10, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> cache.get("a", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                awaitQuietly(release);
+                return "a1";
+            }));
+            Assert.assertTrue(loading.await(1, TimeUnit.SECONDS));
+            // 并发未命中等待同一次加载
+            Future<String> second = executor.submit(() -> cache.get("a", () -> "a" + loads.incrementAndGet()));
+            Future<String> third = executor.submit(() -> cache.get("a", () -> "a" + loads.incrementAndGet()));
+            // 其他键的失效不影响本次加载写入缓存
+            cache.invalidateIf((key, value) -> key.equals("b"));
+            TimeUnit.MILLISECONDS.sleep(50);
+            release.countDown();
+            Assert.assertEquals("a1", first.get(1, TimeUnit.SECONDS));
+            Assert.assertEquals("a1", second.get(1, TimeUnit.SECONDS));
+            Assert.assertEquals("a1", third.get(1, TimeUnit.SECONDS));
+            Assert.assertEquals(1, loads.get());
+            Assert.assertEquals(1, cache.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_ttl() throws InterruptedException {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 10, 50);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", () -> "a" + loads.incrementAndGet());
+        cache.get("a", () -> "a" + loads.incrementAndGet());
+        Assert.assertEquals(1, loads.get());
+        Thread.sleep(80);
+        Assert.assertEquals("a2", cache.get("a", () -> "a" + loads.incrementAndGet()));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.domain.history.ThreadPoolMetricHistoryService;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.entity.MetricHistoryEntity;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.entity.MetricPointEntity;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.valobj.MetricResolutionEnumVO;
+import com.yurito.middleware.dynamic.thread.pool.domain.history.model.valobj.ThreadPoolMetricEnumVO;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolReportEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * @author Yurito
+ * @description 线程池指标历史单元测试
+ * @create 2025/9/7 16:30
+ */
+public class ThreadPoolMetricHistoryTest {
+
+    @Test
+    public void test_downsampling() {
+        ThreadPoolMetricHistoryService service = new ThreadPoolMetricHistoryService(10);
+        long base = 1_757_232_000_000L;
+        // 两分钟内每 5 秒上报一次，活跃线程数 0..23
+        for (int i = 0; i < 24; i++) {
+            Assert.assertTrue(service.record(newEntity(i), base + i * 5_000L));
+        }
+        // 重复的心跳不记录
+        Assert.assertFalse(service.record(newEntity(100), base + 23 * 5_000L));
+
+        List<MetricPointEntity> tenSeconds = query(service, MetricResolutionEnumVO.TEN_SECONDS, base, base + 120_000L);
+        Assert.assertEquals(12, tenSeconds.size());
+        Assert.assertEquals(new MetricPointEntity(base, 0, 1, 0.5, 2), tenSeconds.get(0));
+
+        List<MetricPointEntity> oneMinute = query(service, MetricResolutionEnumVO.ONE_MINUTE, base, base + 120_000L);
+        Assert.assertEquals(2, oneMinute.size());
+        Assert.assertEquals(new MetricPointEntity(base + 60_000L, 12, 23, 17.5, 12), oneMinute.get(1));
+    }
+
+    @Test
+    public void test_fixedRetention() {
+        ThreadPoolMetricHistoryService service = new ThreadPoolMetricHistoryService(10);
+        long base = 1_757_232_000_000L;
+        // 写满两小时，10 秒精度只保留最近一小时
+        for (int i = 0; i < 720; i++) {
+            service.record(newEntity(i), base + i * 10_000L);
+        }
+        long end = base + 719 * 10_000L;
+        List<MetricPointEntity> tenSeconds = query(service, MetricResolutionEnumVO.TEN_SECONDS, base, end);
+        Assert.assertEquals(MetricResolutionEnumVO.TEN_SECONDS.getCapacity(), tenSeconds.size());
+        Assert.assertEquals(end - 359 * 10_000L, tenSeconds.get(0).getTime());
+        Assert.assertEquals(120, query(service, MetricResolutionEnumVO.ONE_MINUTE, base, end).size());
+
+        // 长时间未上报的序列被清理
+        Assert.assertEquals(0, service.evictExpired(end + 1000));
+        Assert.assertEquals(1, service.evictExpired(end + MetricResolutionEnumVO.TEN_MINUTES.getRetentionMillis() + 1));
+        Assert.assertEquals(0, service.seriesCount());
+    }
+
+    @Test
+    public void test_record_report() {
+        ThreadPoolMetricHistoryService service = new ThreadPoolMetricHistoryService(10);
+        long base = 1_757_232_000_000L;
+        // 尚无序列时，未变化的线程池无从补记
+        Assert.assertEquals(0, service.record(newReport(base)));
+        Assert.assertEquals(0, service.seriesCount());
+
+        ThreadPoolReportEntity changed = newReport(base + 5_000L);
+        changed.getChangedThreadPools().add(newEntity(4));
+        Assert.assertEquals(1, service.record(changed));
+        // 数据未变化的上报沿用上次采样的数据，每次上报都有记录
+        Assert.assertEquals(1, service.record(newReport(base + 10_000L)));
+        Assert.assertEquals(1, service.record(newReport(base + 15_000L)));
+        // 兜底轮询读到同一次心跳不重复记录
+        Assert.assertFalse(service.record(newEntity(4), base + 15_000L));
+        Assert.assertEquals(0, service.record(newReport(base + 15_000L)));
+
+        List<MetricPointEntity> tenSeconds = query(service, MetricResolutionEnumVO.TEN_SECONDS, base, base + 20_000L);
+        Assert.assertEquals(2, tenSeconds.size());
+        Assert.assertEquals(new MetricPointEntity(base, 4, 4, 4, 1), tenSeconds.get(0));
+        Assert.assertEquals(new MetricPointEntity(base + 10_000L, 4, 4, 4, 2), tenSeconds.get(1));
+    }
+
+    @Test
+    public void test_maxSeries() {
+        ThreadPoolMetricHistoryService service = new ThreadPoolMetricHistoryService(1);
+        long base = 1_757_232_000_000L;
+        ThreadPoolConfigEntity entity = newEntity(1);
+        entity.setCompletedTaskCount(3_000_000_123L);
+        Assert.assertTrue(service.record(entity, base));
+        // 达到上限后新序列不再记录
+        ThreadPoolConfigEntity other = newEntity(1);
+        other.setInstanceId("2@test");
+        Assert.assertFalse(service.record(other, base));
+        Assert.assertFalse(service.record(other, base + 5_000L));
+        Assert.assertEquals(1, service.seriesCount());
+
+        // 超过 2^24 的累计值按 float 保存，只有很小的相对误差
+        List<MetricHistoryEntity> histories = service.query("test-app", "threadPoolExecutor01", null, ThreadPoolMetricEnumVO.COMPLETED_TASK_COUNT,
+                MetricResolutionEnumVO.TEN_SECONDS, base, base);
+        MetricPointEntity point = histories.get(0).getPoints().get(0);
+        Assert.assertEquals(3_000_000_123L, point.getMax(), 3_000_000_123L * 1e-7);
+        Assert.assertEquals(3_000_000_123L, point.getAvg(), 3_000_000_123L * 1e-7);
+    }
+
+    private static List<MetricPointEntity> query(ThreadPoolMetricHistoryService service, MetricResolutionEnumVO resolution, long start, long end) {
+        List<MetricHistoryEntity> histories = service.query("test-app", "threadPoolExecutor01", null, ThreadPoolMetricEnumVO.ACTIVE_COUNT, resolution, start, end);
+        Assert.assertEquals(1, histories.size());
+        return histories.get(0).getPoints();
+    }
+
+    private static ThreadPoolConfigEntity newEntity(int activeCount) {
+        ThreadPoolConfigEntity entity = new ThreadPoolConfigEntity("test-app", "threadPoolExecutor01");
+        entity.setInstanceId("1@test");
+        entity.setActiveCount(activeCount);
+        return entity;
+    }
+
+    private static ThreadPoolReportEntity newReport(long reportTime) {
+        ThreadPoolReportEntity report = new ThreadPoolReportEntity("test-app", "1@test", reportTime);
+        report.getThreadPoolNames().add("threadPoolExecutor01");
+        return report;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.yurito.middleware.dynamic.thread.pool.benchmark;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+
+/**
+ * @author Yurito
+ * @description 基准测试数据
+ * @create 2025/9/7 11:45
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static ThreadPoolConfigEntity newEntity() {
+        ThreadPoolConfigEntity entity = new ThreadPoolConfigEntity("dynamic-thread-pool-test-app", "threadPoolExecutor01");
+        entity.setInstanceId("12345@app-host-01");
+        entity.setCorePoolSize(20);
+        entity.setMaximumPoolSize(50);
+        entity.setActiveCount(12);
+        entity.setPoolSize(20);
+        entity.setQueueType("ResizableCapacityArrayBlockingQueue");
+        entity.setQueueSize(312);
+        entity.setRemainingCapacity(4688);
+        entity.setQueueCapacity(5000);
+        entity.setRejectPolicy("CallerRunsPolicy");
+        entity.setCompletedTaskCount(18_734_211L);
+        entity.setRejectedTaskCount(37);
+        entity.setQueueWaitTimeP50(180);
+        entity.setQueueWaitTimeP90(2_300);
+        entity.setQueueWaitTimeP99(41_000);
+        entity.setQueueWaitTimeMax(120_000);
+        entity.setExecuteTimeP50(900);
+        entity.setExecuteTimeP90(4_100);
+        entity.setExecuteTimeP99(25_000);
+        entity.setExecuteTimeMax(300_000);
+        return entity;
+    }
+
+}
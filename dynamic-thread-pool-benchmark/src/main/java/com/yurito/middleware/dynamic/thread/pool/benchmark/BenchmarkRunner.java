@@ -0,0 +1,31 @@
+package com.yurito.middleware.dynamic.thread.pool.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * @author Yurito
+ * @description 基准测试入口
+ * <p>
+ * 参数与 JMH 命令行一致，例如 java -jar benchmarks.jar QueueBenchmark -f 1；
+ * 未指定 -rf/-rff 时结果以 JSON 写入 jmh-result.json，便于不同版本之间对比。
+ * @create 2025/9/7 12:00
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            builder.result("jmh-result.json");
+        }
+        new Runner(builder.build()).run();
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.yurito.middleware.dynamic.thread.pool.benchmark;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.redis.ThreadPoolConfigEntityCodec;
+import io.netty.buffer.ByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 线程池配置实体编解码基准：紧凑二进制格式与 JSON 对比
+ * @create 2025/9/7 11:40
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"binary", "json"})
+    private String codecType;
+
+    private ThreadPoolConfigEntityCodec codec;
+
+    private ThreadPoolConfigEntity entity;
+
+    private ByteBuf encoded;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        codec = new ThreadPoolConfigEntityCodec("binary".equals(codecType));
+        entity = BenchmarkData.newEntity();
+        encoded = codec.getValueEncoder().encode(entity);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoded.release();
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(entity);
+        int size = buf.readableBytes();
+        buf.release();
+        return size;
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return codec.getValueDecoder().decode(encoded.duplicate(), null);
+    }
+
+    /**
+     * 一次上报写入加一次管理端读取
+     */
+    @Benchmark
+    public Object roundTrip() throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(entity);
+        try {
+            return codec.getValueDecoder().decode(buf, null);
+        } finally {
+            buf.release();
+        }
+    }
+
+}
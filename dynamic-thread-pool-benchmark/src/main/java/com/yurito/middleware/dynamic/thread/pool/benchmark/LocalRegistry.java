@@ -0,0 +1,54 @@
+package com.yurito.middleware.dynamic.thread.pool.benchmark;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.IRegistry;
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.redis.ThreadPoolConfigEntityCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Yurito
+ * @description 本地注册中心，替代 Redis 用于基准测试
+ * <p>
+ * 与 RedisRegistry 使用相同的编解码器，把编码后的字节存放在内存中，只计入编码与存储开销，不含网络往返。
+ * @create 2025/9/7 11:20
+ */
+public class LocalRegistry implements IRegistry {
+
+    private final ThreadPoolConfigEntityCodec codec;
+
+    private final Map<String, byte[]> store = new ConcurrentHashMap<>();
+
+    public LocalRegistry(boolean binary) {
+        this.codec = new ThreadPoolConfigEntityCodec(binary);
+    }
+
+    @Override
+    public void reportThreadPool(List<ThreadPoolConfigEntity> threadPoolEntities) {
+        for (ThreadPoolConfigEntity threadPoolEntity : threadPoolEntities) {
+            put("THREAD_POOL_CONFIG_HASH_KEY_" + threadPoolEntity.getAppName() + "_" + threadPoolEntity.getInstanceId() + "_" + threadPoolEntity.getThreadPoolName(), threadPoolEntity);
+        }
+    }
+
+    @Override
+    public void reportThreadPoolConfigParameter(ThreadPoolConfigEntity threadPoolConfigEntity) {
+        put("THREAD_POOL_CONFIG_PARAMETER_LIST_KEY_" + threadPoolConfigEntity.getAppName() + "_" + threadPoolConfigEntity.getThreadPoolName(), threadPoolConfigEntity);
+    }
+
+    private void put(String key, ThreadPoolConfigEntity threadPoolConfigEntity) {
+        try {
+            ByteBuf buf = codec.getValueEncoder().encode(threadPoolConfigEntity);
+            store.put(key, ByteBufUtil.getBytes(buf));
+            buf.release();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.yurito.middleware.dynamic.thread.pool.benchmark;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizablePriorityBlockingQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 阻塞队列吞吐量基准：可调整容量的数组队列与 JDK 队列对比
+ * <p>
+ * 生产者 offer、消费者 poll 同时进行，使用非阻塞方法避免迭代结束时线程挂起。
+ * @create 2025/9/7 10:10
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+    private static final Integer VALUE = 1;
+
+    @Param({"ResizableCapacityArrayBlockingQueue", "ResizablePriorityBlockingQueue", "LinkedBlockingQueue", "ArrayBlockingQueue"})
+    private String queueType;
+
+    @Param({"1024"})
+    private int capacity;
+
+    private BlockingQueue<Integer> queue;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        switch (queueType) {
+            case "LinkedBlockingQueue":
+                queue = new LinkedBlockingQueue<>(capacity);
+                break;
+            case "ArrayBlockingQueue":
+                queue = new ArrayBlockingQueue<>(capacity);
+                break;
+            case "ResizablePriorityBlockingQueue":
+                queue = new ResizablePriorityBlockingQueue<>(capacity, Integer::longValue);
+                break;
+            default:
+                queue = new ResizableCapacityArrayBlockingQueue<>(capacity);
+                break;
+        }
+    }
+
+    @Benchmark
+    @Group("offerPoll")
+    @GroupThreads(2)
+    public boolean offer() {
+        return queue.offer(VALUE);
+    }
+
+    @Benchmark
+    @Group("offerPoll")
+    @GroupThreads(2)
+    public Integer poll() {
+        return queue.poll();
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.yurito.middleware.dynamic.thread.pool.benchmark;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.RejectedExecutionHandlerDecorator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 拒绝策略装饰器开销基准
+ * <p>
+ * 线程池唯一的工作线程被阻塞、队列已满，每次提交都会触发拒绝策略（DiscardPolicy），
+ * 对比是否使用 {@link RejectedExecutionHandlerDecorator} 包装时的提交吞吐量。
+ * @create 2025/9/7 10:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectionBenchmark {
+
+    private static final Runnable TASK = () -> {
+    };
+
+    @Param({"false", "true"})
+    private boolean decorated;
+
+    private ThreadPoolExecutor executor;
+
+    private CountDownLatch release;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        RejectedExecutionHandler handler = new ThreadPoolExecutor.DiscardPolicy();
+        if (decorated) {
+            handler = new RejectedExecutionHandlerDecorator(handler, "benchmarkRejection");
+        }
+        executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1), handler);
+        release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(TASK);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void rejectedExecute() {
+        executor.execute(TASK);
+    }
+
+}
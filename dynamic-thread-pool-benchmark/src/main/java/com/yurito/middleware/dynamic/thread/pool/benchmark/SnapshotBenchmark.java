@@ -0,0 +1,127 @@
+package com.yurito.middleware.dynamic.thread.pool.benchmark;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.DynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.IRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author Yurito
+ * @description 线程池统计快照与上报基准
+ * <p>
+ * 每个线程池的工作线程持续执行自我重新提交的短任务，模拟高负载下的线程池；
+ * 对比 {@link DynamicThreadPoolExecutor}（无锁计数）与 JDK ThreadPoolExecutor（需获取 mainLock）的采集耗时，
+ * 以及一个上报周期（采集 + 本地注册中心编码写入）的耗时。
+ * @create 2025/9/7 11:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    private static final String APP_NAME = "benchmark-app";
+
+    @Param({"1", "32"})
+    private int poolCount;
+
+    @Param({"dynamic", "jdk"})
+    private String executorType;
+
+    @Param({"binary", "json"})
+    private String codec;
+
+    private final Map<String, ThreadPoolExecutor> threadPoolExecutorMap = new LinkedHashMap<>();
+
+    private DynamicThreadPoolService dynamicThreadPoolService;
+
+    private IRegistry registry;
+
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        running = true;
+        for (int i = 0; i < poolCount; i++) {
+            ThreadPoolExecutor executor = "jdk".equals(executorType)
+                    ? new ThreadPoolExecutor(4, 8, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(1000))
+                    : new DynamicThreadPoolExecutor(4, 8, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(1000));
+            for (int t = 0; t < 8; t++) {
+                executor.execute(new BusyTask(executor));
+            }
+            threadPoolExecutorMap.put("threadPoolExecutor" + i, executor);
+        }
+        dynamicThreadPoolService = new DynamicThreadPoolService(APP_NAME, "1@benchmark", threadPoolExecutorMap);
+        registry = new LocalRegistry("binary".equals(codec));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        for (ThreadPoolExecutor executor : threadPoolExecutorMap.values()) {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Benchmark
+    public List<ThreadPoolConfigEntity> querySnapshot() {
+        dynamicThreadPoolService.invalidateSnapshot();
+        return dynamicThreadPoolService.queryThreadPoolList();
+    }
+
+    @Benchmark
+    public List<ThreadPoolConfigEntity> queryCachedSnapshot() {
+        return dynamicThreadPoolService.queryThreadPoolList();
+    }
+
+    @Benchmark
+    public List<ThreadPoolConfigEntity> reportCycle() {
+        dynamicThreadPoolService.invalidateSnapshot();
+        List<ThreadPoolConfigEntity> threadPoolConfigEntities = dynamicThreadPoolService.queryThreadPoolList();
+        registry.reportThreadPoolBatch(threadPoolConfigEntities);
+        return threadPoolConfigEntities;
+    }
+
+    private class BusyTask implements Runnable {
+
+        private final ThreadPoolExecutor executor;
+
+        private BusyTask(ThreadPoolExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void run() {
+            LockSupport.parkNanos(50_000);
+            if (running && !executor.isShutdown()) {
+                executor.execute(this);
+            }
+        }
+
+    }
+
+}
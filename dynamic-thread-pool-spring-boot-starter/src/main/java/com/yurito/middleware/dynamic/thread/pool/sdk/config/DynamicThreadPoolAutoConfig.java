@@ -2,29 +2,49 @@ package com.yurito.middleware.dynamic.thread.pool.sdk.config;
 
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.DynamicThreadPoolService;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.IDynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.StuckTaskDetector;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.ThreadPoolAdaptiveReporter;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.ThreadPoolAutoTuner;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.ThreadPoolConfigRestorer;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.ThreadPoolConfigSnapshotStore;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.CoDelController;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.RejectedExecutionHandlerDecorator;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResourceSamplingThreadFactory;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.SpillRejectedExecutionHandler;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackRequestEntity;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.valobj.RegistryEnumVO;
+import com.yurito.middleware.dynamic.thread.pool.sdk.metrics.DynamicThreadPoolMeterBinder;
 import com.yurito.middleware.dynamic.thread.pool.sdk.registry.IRegistry;
 import com.yurito.middleware.dynamic.thread.pool.sdk.registry.redis.RedisRegistry;
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.redis.ThreadPoolConfigEntityCodec;
+import com.yurito.middleware.dynamic.thread.pool.sdk.trigger.job.StuckTaskDetectJob;
+import com.yurito.middleware.dynamic.thread.pool.sdk.trigger.job.ThreadPoolAutoTuneJob;
 import com.yurito.middleware.dynamic.thread.pool.sdk.trigger.job.ThreadPoolDataReportJob;
 import com.yurito.middleware.dynamic.thread.pool.sdk.trigger.listener.ThreadPoolConfigAdjustListener;
+import com.yurito.middleware.dynamic.thread.pool.sdk.trigger.listener.ThreadPoolHotStackListener;
 import org.apache.commons.lang.StringUtils;
 import org.redisson.Redisson;
 import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
-import org.redisson.codec.JsonJacksonCodec;
 import org.redisson.config.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Yurito
@@ -44,7 +64,10 @@ public class DynamicThreadPoolAutoConfig {
     public RedissonClient redissonClient(DynamicThreadPoolAutoProperties properties) {
         Config config = new Config();
         // 根据需要可以设定编解码器；https://github.com/redisson/redisson/wiki/4.-%E6%95%B0%E6%8D%AE%E5%BA%8F%E5%88%97%E5%8C%96
-        config.setCodec(JsonJacksonCodec.INSTANCE);
+        // 线程池配置实体使用紧凑二进制编码，其余类型与历史数据沿用 JSON
+        config.setCodec(new ThreadPoolConfigEntityCodec(!"json".equalsIgnoreCase(properties.getCodec())));
+        // 首次使用时再建立连接，Redis 不可用时不阻塞应用启动
+        config.setLazyInitialization(true);
 
         config.useSingleServer()
                 .setAddress("redis://" + properties.getHost() + ":" + properties.getPort())
@@ -61,18 +84,18 @@ public class DynamicThreadPoolAutoConfig {
 
         RedissonClient redissonClient = Redisson.create(config);
 
-        logger.info("动态线程池，注册器（redis）链接初始化完成。{} {} {}", properties.getHost(), properties.getPoolSize(), !redissonClient.isShutdown());
+        logger.info("动态线程池，注册器（redis）客户端初始化完成，首次使用时建立连接。{} {} {}", properties.getHost(), properties.getPoolSize(), !redissonClient.isShutdown());
 
         return redissonClient;
     }
 
     @Bean
-    public IRegistry redisRegistry(RedissonClient redissonClient) {
-        return new RedisRegistry(redissonClient);
+    public IRegistry redisRegistry(RedissonClient redissonClient, DynamicThreadPoolAutoProperties properties) {
+        return new RedisRegistry(redissonClient, properties.getFullReportInterval(), properties.getInstanceExpire());
     }
 
     @Bean("dynamicThreadPollService")
-    public DynamicThreadPoolService dynamicThreadPollService(ApplicationContext applicationContext, Map<String, ThreadPoolExecutor> threadPoolExecutorMap, RedissonClient redissonClient) {
+    public DynamicThreadPoolService dynamicThreadPollService(ApplicationContext applicationContext, DynamicThreadPoolAutoProperties properties) {
         // String applicationName = applicationContext.getApplicationName();
         applicationName = applicationContext.getEnvironment().getProperty("spring.application.name");
 
@@ -81,22 +104,89 @@ public class DynamicThreadPoolAutoConfig {
             logger.warn("动态线程池，启动提示。SpringBoot 应用未配置 spring.application.name 无法获取到应用名称！");
         }
 
-        // 获取缓存数据，设置本地线程池配置
-        Set<String> threadPoolKeys = threadPoolExecutorMap.keySet();
-        for (String threadPoolKey : threadPoolKeys) {
-            ThreadPoolConfigEntity threadPoolConfigEntity = redissonClient.<ThreadPoolConfigEntity>getBucket(RegistryEnumVO.THREAD_POOL_CONFIG_PARAMETER_LIST_KEY.getKey() + "_" + applicationName + "_" + threadPoolKey).get();
-            if (null == threadPoolConfigEntity) continue;
-            ThreadPoolExecutor threadPoolExecutor = threadPoolExecutorMap.get(threadPoolKey);
-            threadPoolExecutor.setCorePoolSize(threadPoolConfigEntity.getCorePoolSize());
-            threadPoolExecutor.setMaximumPoolSize(threadPoolConfigEntity.getMaximumPoolSize());
+        // 实例标识，同一应用多实例上报时互不覆盖
+        String instanceId = properties.getInstanceId();
+        if (StringUtils.isBlank(instanceId)) {
+            instanceId = ManagementFactory.getRuntimeMXBean().getName();
         }
 
-        return new DynamicThreadPoolService(applicationName, threadPoolExecutorMap);
+        // ThreadPoolExecutor 及 Spring ThreadPoolTaskExecutor/ThreadPoolTaskScheduler 内部的执行器
+        Map<String, ThreadPoolExecutor> threadPoolExecutorMap = ThreadPoolBeanResolver.resolve(applicationContext);
+        // ForkJoinPool 可以没有，按类型查找而不是注入 Map
+        Map<String, ForkJoinPool> forkJoinPoolMap = applicationContext.getBeansOfType(ForkJoinPool.class);
+        DynamicThreadPoolService dynamicThreadPoolService = new DynamicThreadPoolService(applicationName, instanceId, threadPoolExecutorMap, forkJoinPoolMap);
+
+        for (Map.Entry<String, ThreadPoolExecutor> entry : threadPoolExecutorMap.entrySet()) {
+            ThreadPoolExecutor threadPoolExecutor = entry.getValue();
+            // 未使用拒绝策略装饰器的线程池自动包装，统计拒绝任务数
+            RejectedExecutionHandlerDecorator.decorate(threadPoolExecutor, entry.getKey());
+            // 使用落盘拒绝策略的线程池启动重放，执行上次退出前未执行的任务
+            SpillRejectedExecutionHandler spillHandler = SpillRejectedExecutionHandler.of(threadPoolExecutor);
+            if (null != spillHandler) spillHandler.start(threadPoolExecutor);
+            // 包装线程工厂，记录之后创建的工作线程，上报时采样 CPU 时间与内存分配
+            if (properties.isResourceSampling()) ResourceSamplingThreadFactory.track(threadPoolExecutor, entry.getKey());
+        }
+
+        // 排队时延管理，每个线程池使用独立的统计
+        DynamicThreadPoolAutoProperties.CoDel coDel = properties.getCodel();
+        if (coDel.isEnable()) {
+            for (Map.Entry<String, ThreadPoolExecutor> entry : threadPoolExecutorMap.entrySet()) {
+                if (!(entry.getValue() instanceof DynamicThreadPoolExecutor)) continue;
+                if (!coDel.getThreadPoolNames().isEmpty() && !coDel.getThreadPoolNames().contains(entry.getKey())) continue;
+                ((DynamicThreadPoolExecutor) entry.getValue()).setCoDelController(new CoDelController(coDel.getTarget(), coDel.getInterval(), TimeUnit.MILLISECONDS));
+                logger.info("动态线程池，{} 开启排队时延管理，目标排队耗时 {}ms，统计间隔 {}ms", entry.getKey(), coDel.getTarget(), coDel.getInterval());
+            }
+        }
+
+        // 卡顿任务检测，按线程池设置卡顿阈值
+        DynamicThreadPoolAutoProperties.StuckTask stuckTask = properties.getStuckTask();
+        if (stuckTask.isEnable()) {
+            for (Map.Entry<String, ThreadPoolExecutor> entry : threadPoolExecutorMap.entrySet()) {
+                if (!(entry.getValue() instanceof DynamicThreadPoolExecutor)) continue;
+                long threshold = stuckTask.thresholdOf(entry.getKey());
+                if (threshold <= 0) continue;
+                ((DynamicThreadPoolExecutor) entry.getValue()).setStuckTaskThreshold(threshold, TimeUnit.MILLISECONDS);
+                logger.info("动态线程池，{} 开启卡顿任务检测，卡顿阈值 {}ms", entry.getKey(), threshold);
+            }
+        }
+
+        // 本地配置快照，参数调整生效后写入
+        String configSnapshotFile = properties.getConfigSnapshotFile();
+        if (StringUtils.isBlank(configSnapshotFile)) {
+            configSnapshotFile = System.getProperty("user.home") + "/.dynamic-thread-pool/" + applicationName.replaceAll("[^A-Za-z0-9._-]", "_") + ".json";
+        }
+        dynamicThreadPoolService.setConfigSnapshotStore(new ThreadPoolConfigSnapshotStore(Paths.get(configSnapshotFile)));
+
+        return dynamicThreadPoolService;
+    }
+
+    /**
+     * 启动时先同步按本地快照恢复配置，再在后台从 Redis 批量读取配置参数对齐
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolConfigRestorer threadPoolConfigRestorer(DynamicThreadPoolService dynamicThreadPoolService, IRegistry registry) {
+        ThreadPoolConfigRestorer threadPoolConfigRestorer = new ThreadPoolConfigRestorer(dynamicThreadPoolService, registry,
+                dynamicThreadPoolService.getConfigSnapshotStore(), dynamicThreadPoolService.getThreadPoolNames());
+        threadPoolConfigRestorer.restoreLocal();
+        threadPoolConfigRestorer.reconcileAsync();
+        return threadPoolConfigRestorer;
+    }
+
+    @Bean
+    public ThreadPoolDataReportJob threadPoolDataReportJob(IDynamicThreadPoolService dynamicThreadPoolService, IRegistry registry, DynamicThreadPoolAutoProperties properties) {
+        return new ThreadPoolDataReportJob(dynamicThreadPoolService, registry, new ThreadPoolAdaptiveReporter(properties.getReport()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "dynamic.thread.pool.config.auto-tune", name = "enable", havingValue = "true")
+    public ThreadPoolAutoTuner threadPoolAutoTuner(IDynamicThreadPoolService dynamicThreadPoolService, DynamicThreadPoolAutoProperties properties) {
+        return new ThreadPoolAutoTuner(dynamicThreadPoolService, properties.getAutoTune());
     }
 
     @Bean
-    public ThreadPoolDataReportJob threadPoolDataReportJob(IDynamicThreadPoolService dynamicThreadPoolService, IRegistry registry) {
-        return new ThreadPoolDataReportJob(dynamicThreadPoolService, registry);
+    @ConditionalOnProperty(prefix = "dynamic.thread.pool.config.auto-tune", name = "enable", havingValue = "true")
+    public ThreadPoolAutoTuneJob threadPoolAutoTuneJob(ThreadPoolAutoTuner threadPoolAutoTuner, IDynamicThreadPoolService dynamicThreadPoolService, IRegistry registry) {
+        return new ThreadPoolAutoTuneJob(threadPoolAutoTuner, dynamicThreadPoolService, registry);
     }
 
     @Bean
@@ -105,10 +195,52 @@ public class DynamicThreadPoolAutoConfig {
     }
 
     @Bean(name = "dynamicThreadPoolRedisTopic")
-    public RTopic threadPoolConfigAdjustListener(RedissonClient redissonClient, ThreadPoolConfigAdjustListener threadPoolConfigAdjustListener) {
+    public RTopic threadPoolConfigAdjustListener(RedissonClient redissonClient, ThreadPoolConfigAdjustListener threadPoolConfigAdjustListener, ThreadPoolConfigRestorer threadPoolConfigRestorer) {
         RTopic topic = redissonClient.getTopic(RegistryEnumVO.DYNAMIC_THREAD_POOL_REDIS_TOPIC.getKey() + "_" + applicationName);
-        topic.addListener(ThreadPoolConfigEntity.class, threadPoolConfigAdjustListener);
+        // 订阅需要连接 Redis，放到后台执行，失败时重试
+        threadPoolConfigRestorer.runInBackground("订阅配置变更主题", () -> topic.addListener(ThreadPoolConfigEntity.class, threadPoolConfigAdjustListener));
         return topic;
     }
 
+    @Bean
+    public StuckTaskDetector stuckTaskDetector(DynamicThreadPoolService dynamicThreadPoolService, DynamicThreadPoolAutoProperties properties) {
+        return new StuckTaskDetector(dynamicThreadPoolService.getThreadPoolExecutorMap(), properties.getStuckTask().getMaxStackDepth());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "dynamic.thread.pool.config.stuck-task", name = "enable", havingValue = "true", matchIfMissing = true)
+    public StuckTaskDetectJob stuckTaskDetectJob(StuckTaskDetector stuckTaskDetector) {
+        return new StuckTaskDetectJob(stuckTaskDetector);
+    }
+
+    @Bean
+    public ThreadPoolHotStackListener threadPoolHotStackListener(StuckTaskDetector stuckTaskDetector, IRegistry registry, DynamicThreadPoolService dynamicThreadPoolService) {
+        return new ThreadPoolHotStackListener(stuckTaskDetector, registry, dynamicThreadPoolService.getApplicationName(), dynamicThreadPoolService.getInstanceId());
+    }
+
+    /**
+     * 管理端按需采集热点调用栈，每个实例采集本地线程池后写回 Redis
+     */
+    @Bean(name = "dynamicThreadPoolHotStackTopic")
+    public RTopic threadPoolHotStackTopic(RedissonClient redissonClient, ThreadPoolHotStackListener threadPoolHotStackListener, ThreadPoolConfigRestorer threadPoolConfigRestorer) {
+        RTopic topic = redissonClient.getTopic(RegistryEnumVO.THREAD_POOL_HOT_STACK_TOPIC.getKey() + "_" + applicationName);
+        threadPoolConfigRestorer.runInBackground("订阅热点调用栈采集主题", () -> topic.addListener(HotStackRequestEntity.class, threadPoolHotStackListener));
+        return topic;
+    }
+
+    /**
+     * Micrometer 指标，仅在应用引入 micrometer-core 时生效
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    @ConditionalOnProperty(prefix = "dynamic.thread.pool.config.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class DynamicThreadPoolMetricsConfig {
+
+        @Bean
+        public DynamicThreadPoolMeterBinder dynamicThreadPoolMeterBinder(IDynamicThreadPoolService dynamicThreadPoolService) {
+            return new DynamicThreadPoolMeterBinder(dynamicThreadPoolService);
+        }
+
+    }
+
 }
@@ -2,6 +2,11 @@ package com.yurito.middleware.dynamic.thread.pool.sdk.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author Yurito
  * @description 动态线程池配置
@@ -34,6 +39,26 @@ public class DynamicThreadPoolAutoProperties {
     private int pingInterval = 0;
     /** 设置是否保持长连接，默认为true */
     private boolean keepAlive = true;
+    /** 实例标识，用于区分同一应用的多个实例，默认为 进程号@主机名 */
+    private String instanceId;
+    /** 全量上报间隔（单位：毫秒），其余周期只上报有变化的线程池，默认为600000 */
+    private long fullReportInterval = 600000;
+    /** 实例过期时间（单位：毫秒），心跳超过该时间未刷新的实例在全量上报时被清理，默认为3600000 */
+    private long instanceExpire = 3600000;
+    /** 编解码格式；binary = 紧凑二进制、json = JSON，两种格式的数据均可读取，默认为binary */
+    private String codec = "binary";
+    /** 本地配置快照文件，启动时先按该文件恢复配置，默认为 ${user.home}/.dynamic-thread-pool/{应用名}.json */
+    private String configSnapshotFile;
+    /** 是否采样工作线程 CPU 时间与内存分配，默认为true */
+    private boolean resourceSampling = true;
+    /** 自动调参配置 */
+    private AutoTune autoTune = new AutoTune();
+    /** 上报配置 */
+    private Report report = new Report();
+    /** 排队时延管理配置 */
+    private CoDel codel = new CoDel();
+    /** 卡顿任务检测配置 */
+    private StuckTask stuckTask = new StuckTask();
 
     public boolean isEnable() {
         return enable;
@@ -131,4 +156,454 @@ public class DynamicThreadPoolAutoProperties {
         this.keepAlive = keepAlive;
     }
 
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public long getFullReportInterval() {
+        return fullReportInterval;
+    }
+
+    public void setFullReportInterval(long fullReportInterval) {
+        this.fullReportInterval = fullReportInterval;
+    }
+
+    public long getInstanceExpire() {
+        return instanceExpire;
+    }
+
+    public void setInstanceExpire(long instanceExpire) {
+        this.instanceExpire = instanceExpire;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public String getConfigSnapshotFile() {
+        return configSnapshotFile;
+    }
+
+    public void setConfigSnapshotFile(String configSnapshotFile) {
+        this.configSnapshotFile = configSnapshotFile;
+    }
+
+    public boolean isResourceSampling() {
+        return resourceSampling;
+    }
+
+    public void setResourceSampling(boolean resourceSampling) {
+        this.resourceSampling = resourceSampling;
+    }
+
+    public AutoTune getAutoTune() {
+        return autoTune;
+    }
+
+    public void setAutoTune(AutoTune autoTune) {
+        this.autoTune = autoTune;
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    public void setReport(Report report) {
+        this.report = report;
+    }
+
+    public CoDel getCodel() {
+        return codel;
+    }
+
+    public void setCodel(CoDel codel) {
+        this.codel = codel;
+    }
+
+    public StuckTask getStuckTask() {
+        return stuckTask;
+    }
+
+    public void setStuckTask(StuckTask stuckTask) {
+        this.stuckTask = stuckTask;
+    }
+
+    /**
+     * 自动调参配置；dynamic.thread.pool.config.auto-tune.*
+     */
+    public static class AutoTune {
+
+        /** 状态；true = 开启、false 关闭，默认关闭 */
+        private boolean enable = false;
+        /** 采样间隔（单位：毫秒），默认为5000 */
+        private long interval = 5000;
+        /** 两次调整之间的冷却时间（单位：毫秒），默认为30000 */
+        private long cooldown = 30000;
+        /** 连续多少次采样处于高压状态才扩容，默认为2 */
+        private int scaleUpSamples = 2;
+        /** 连续多少次采样处于空闲状态才缩容，默认为6 */
+        private int scaleDownSamples = 6;
+        /** 队列使用率达到该值视为高压，默认为0.8 */
+        private double scaleUpQueueRatio = 0.8;
+        /** 队列使用率低于该值视为空闲，默认为0.1 */
+        private double scaleDownQueueRatio = 0.1;
+        /** 活跃线程占比低于该值视为空闲，默认为0.3 */
+        private double scaleDownActiveRatio = 0.3;
+        /** 排队耗时 P90 目标值（单位：毫秒），超过视为高压，0 表示不参考排队耗时，默认为0 */
+        private long targetQueueWait = 0;
+        /** 扩容步长，按当前值的比例增加，默认为0.5 */
+        private double scaleUpStep = 0.5;
+        /** 缩容步长，按当前值的比例减少，默认为0.25 */
+        private double scaleDownStep = 0.25;
+        /** 核心线程数下限，默认为1 */
+        private int minCorePoolSize = 1;
+        /** 核心线程数上限，默认为64 */
+        private int maxCorePoolSize = 64;
+        /** 最大线程数下限，默认为1 */
+        private int minMaximumPoolSize = 1;
+        /** 最大线程数上限，默认为256 */
+        private int maxMaximumPoolSize = 256;
+        /** 队列容量下限，0 表示不缩减队列容量，默认为0 */
+        private int minQueueCapacity = 0;
+        /** 队列容量上限，默认为10000 */
+        private int maxQueueCapacity = 10000;
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public void setInterval(long interval) {
+            this.interval = interval;
+        }
+
+        public long getCooldown() {
+            return cooldown;
+        }
+
+        public void setCooldown(long cooldown) {
+            this.cooldown = cooldown;
+        }
+
+        public int getScaleUpSamples() {
+            return scaleUpSamples;
+        }
+
+        public void setScaleUpSamples(int scaleUpSamples) {
+            this.scaleUpSamples = scaleUpSamples;
+        }
+
+        public int getScaleDownSamples() {
+            return scaleDownSamples;
+        }
+
+        public void setScaleDownSamples(int scaleDownSamples) {
+            this.scaleDownSamples = scaleDownSamples;
+        }
+
+        public double getScaleUpQueueRatio() {
+            return scaleUpQueueRatio;
+        }
+
+        public void setScaleUpQueueRatio(double scaleUpQueueRatio) {
+            this.scaleUpQueueRatio = scaleUpQueueRatio;
+        }
+
+        public double getScaleDownQueueRatio() {
+            return scaleDownQueueRatio;
+        }
+
+        public void setScaleDownQueueRatio(double scaleDownQueueRatio) {
+            this.scaleDownQueueRatio = scaleDownQueueRatio;
+        }
+
+        public double getScaleDownActiveRatio() {
+            return scaleDownActiveRatio;
+        }
+
+        public void setScaleDownActiveRatio(double scaleDownActiveRatio) {
+            this.scaleDownActiveRatio = scaleDownActiveRatio;
+        }
+
+        public long getTargetQueueWait() {
+            return targetQueueWait;
+        }
+
+        public void setTargetQueueWait(long targetQueueWait) {
+            this.targetQueueWait = targetQueueWait;
+        }
+
+        public double getScaleUpStep() {
+            return scaleUpStep;
+        }
+
+        public void setScaleUpStep(double scaleUpStep) {
+            this.scaleUpStep = scaleUpStep;
+        }
+
+        public double getScaleDownStep() {
+            return scaleDownStep;
+        }
+
+        public void setScaleDownStep(double scaleDownStep) {
+            this.scaleDownStep = scaleDownStep;
+        }
+
+        public int getMinCorePoolSize() {
+            return minCorePoolSize;
+        }
+
+        public void setMinCorePoolSize(int minCorePoolSize) {
+            this.minCorePoolSize = minCorePoolSize;
+        }
+
+        public int getMaxCorePoolSize() {
+            return maxCorePoolSize;
+        }
+
+        public void setMaxCorePoolSize(int maxCorePoolSize) {
+            this.maxCorePoolSize = maxCorePoolSize;
+        }
+
+        public int getMinMaximumPoolSize() {
+            return minMaximumPoolSize;
+        }
+
+        public void setMinMaximumPoolSize(int minMaximumPoolSize) {
+            this.minMaximumPoolSize = minMaximumPoolSize;
+        }
+
+        public int getMaxMaximumPoolSize() {
+            return maxMaximumPoolSize;
+        }
+
+        public void setMaxMaximumPoolSize(int maxMaximumPoolSize) {
+            this.maxMaximumPoolSize = maxMaximumPoolSize;
+        }
+
+        public int getMinQueueCapacity() {
+            return minQueueCapacity;
+        }
+
+        public void setMinQueueCapacity(int minQueueCapacity) {
+            this.minQueueCapacity = minQueueCapacity;
+        }
+
+        public int getMaxQueueCapacity() {
+            return maxQueueCapacity;
+        }
+
+        public void setMaxQueueCapacity(int maxQueueCapacity) {
+            this.maxQueueCapacity = maxQueueCapacity;
+        }
+
+    }
+
+    /**
+     * 自适应上报配置；dynamic.thread.pool.config.report.*
+     */
+    public static class Report {
+
+        /** 本地采样间隔（单位：毫秒），默认为1000 */
+        private long sampleInterval = 1000;
+        /** 两次上报的最小间隔（单位：毫秒），突发变化时限流，默认为1000 */
+        private long minInterval = 1000;
+        /** 有任务执行或排队时的常规上报间隔（单位：毫秒），默认为20000 */
+        private long interval = 20000;
+        /** 全部线程池空闲时的心跳上报间隔（单位：毫秒），需小于管理端心跳超时时间，默认为60000 */
+        private long idleInterval = 60000;
+        /** 活跃线程数、池中线程数、队列任务数、CPU 占用相对上次上报的变化比例超过该值时立即上报，默认为0.2 */
+        private double changeThreshold = 0.2;
+        /** 立即上报要求的最小绝对变化量，避免小数值抖动频繁上报，默认为2 */
+        private int changeMinDelta = 2;
+        /** 活跃线程占比或队列使用率达到该值视为饱和，进入或离开饱和时立即上报，默认为0.8 */
+        private double saturationThreshold = 0.8;
+
+        public long getSampleInterval() {
+            return sampleInterval;
+        }
+
+        public void setSampleInterval(long sampleInterval) {
+            this.sampleInterval = sampleInterval;
+        }
+
+        public long getMinInterval() {
+            return minInterval;
+        }
+
+        public void setMinInterval(long minInterval) {
+            this.minInterval = minInterval;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public void setInterval(long interval) {
+            this.interval = interval;
+        }
+
+        public long getIdleInterval() {
+            return idleInterval;
+        }
+
+        public void setIdleInterval(long idleInterval) {
+            this.idleInterval = idleInterval;
+        }
+
+        public double getChangeThreshold() {
+            return changeThreshold;
+        }
+
+        public void setChangeThreshold(double changeThreshold) {
+            this.changeThreshold = changeThreshold;
+        }
+
+        public int getChangeMinDelta() {
+            return changeMinDelta;
+        }
+
+        public void setChangeMinDelta(int changeMinDelta) {
+            this.changeMinDelta = changeMinDelta;
+        }
+
+        public double getSaturationThreshold() {
+            return saturationThreshold;
+        }
+
+        public void setSaturationThreshold(double saturationThreshold) {
+            this.saturationThreshold = saturationThreshold;
+        }
+
+    }
+
+    /**
+     * 排队时延管理配置；dynamic.thread.pool.config.codel.*，仅对 DynamicThreadPoolExecutor 生效
+     */
+    public static class CoDel {
+
+        /** 状态；true = 开启、false 关闭，默认关闭 */
+        private boolean enable = false;
+        /** 目标排队耗时（单位：毫秒），间隔内最小排队耗时超过该值视为持续过载，默认为5 */
+        private long target = 5;
+        /** 统计间隔（单位：毫秒），默认为100 */
+        private long interval = 100;
+        /** 开启的线程池名称，为空时对全部 DynamicThreadPoolExecutor 开启 */
+        private List<String> threadPoolNames = new ArrayList<>();
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public long getTarget() {
+            return target;
+        }
+
+        public void setTarget(long target) {
+            this.target = target;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public void setInterval(long interval) {
+            this.interval = interval;
+        }
+
+        public List<String> getThreadPoolNames() {
+            return threadPoolNames;
+        }
+
+        public void setThreadPoolNames(List<String> threadPoolNames) {
+            this.threadPoolNames = threadPoolNames;
+        }
+
+    }
+
+    /**
+     * 卡顿任务检测配置；dynamic.thread.pool.config.stuck-task.*，仅对 DynamicThreadPoolExecutor 生效
+     */
+    public static class StuckTask {
+
+        /** 状态；true = 开启、false 关闭，默认开启 */
+        private boolean enable = true;
+        /** 卡顿阈值（单位：毫秒），任务执行时间超过该值视为卡顿，0 表示不判定，默认为60000 */
+        private long threshold = 60000;
+        /** 按线程池单独设置的卡顿阈值（单位：毫秒），线程池名称 -> 阈值，未列出的线程池使用 threshold */
+        private Map<String, Long> thresholds = new HashMap<>();
+        /** 检测间隔（单位：毫秒），默认为5000 */
+        private long interval = 5000;
+        /** 采集调用栈的最大深度，默认为32 */
+        private int maxStackDepth = 32;
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public long getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(long threshold) {
+            this.threshold = threshold;
+        }
+
+        public Map<String, Long> getThresholds() {
+            return thresholds;
+        }
+
+        public void setThresholds(Map<String, Long> thresholds) {
+            this.thresholds = thresholds;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public void setInterval(long interval) {
+            this.interval = interval;
+        }
+
+        public int getMaxStackDepth() {
+            return maxStackDepth;
+        }
+
+        public void setMaxStackDepth(int maxStackDepth) {
+            this.maxStackDepth = maxStackDepth;
+        }
+
+        /**
+         * @return 线程池的卡顿阈值（单位：毫秒）
+         */
+        public long thresholdOf(String threadPoolName) {
+            Long value = thresholds.get(threadPoolName);
+            return null == value ? threshold : value;
+        }
+
+    }
+
 }
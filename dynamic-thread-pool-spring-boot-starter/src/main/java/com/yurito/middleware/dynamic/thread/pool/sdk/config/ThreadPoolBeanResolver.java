@@ -0,0 +1,60 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * @author Yurito
+ * @description 查找容器中需要纳入管理的线程池
+ * <p>
+ * 除 ThreadPoolExecutor（含 ScheduledThreadPoolExecutor）Bean 外，Spring 的 ThreadPoolTaskExecutor（@Async 等使用）
+ * 与 ThreadPoolTaskScheduler（@Scheduled 等使用）会取出内部的执行器，以 Bean 名称注册。
+ * 同一个执行器只注册一次；尚未初始化的包装 Bean 跳过。
+ * @create 2025/9/10 14:30
+ */
+class ThreadPoolBeanResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadPoolBeanResolver.class);
+
+    private ThreadPoolBeanResolver() {
+    }
+
+    static Map<String, ThreadPoolExecutor> resolve(ListableBeanFactory beanFactory) {
+        Map<String, ThreadPoolExecutor> threadPoolExecutorMap = new LinkedHashMap<>(beanFactory.getBeansOfType(ThreadPoolExecutor.class));
+        Set<ThreadPoolExecutor> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+        registered.addAll(threadPoolExecutorMap.values());
+
+        for (Map.Entry<String, ThreadPoolTaskExecutor> entry : beanFactory.getBeansOfType(ThreadPoolTaskExecutor.class).entrySet()) {
+            try {
+                register(threadPoolExecutorMap, registered, entry.getKey(), entry.getValue().getThreadPoolExecutor());
+            } catch (IllegalStateException e) {
+                logger.warn("动态线程池，ThreadPoolTaskExecutor {} 尚未初始化，不纳入管理", entry.getKey());
+            }
+        }
+        for (Map.Entry<String, ThreadPoolTaskScheduler> entry : beanFactory.getBeansOfType(ThreadPoolTaskScheduler.class).entrySet()) {
+            try {
+                register(threadPoolExecutorMap, registered, entry.getKey(), entry.getValue().getScheduledThreadPoolExecutor());
+            } catch (IllegalStateException e) {
+                logger.warn("动态线程池，ThreadPoolTaskScheduler {} 尚未初始化，不纳入管理", entry.getKey());
+            }
+        }
+        return threadPoolExecutorMap;
+    }
+
+    private static void register(Map<String, ThreadPoolExecutor> threadPoolExecutorMap, Set<ThreadPoolExecutor> registered, String beanName, ThreadPoolExecutor threadPoolExecutor) {
+        if (!registered.add(threadPoolExecutor)) return;
+        threadPoolExecutorMap.put(beanName, threadPoolExecutor);
+        logger.info("动态线程池，纳入管理 {}（{}）", beanName, threadPoolExecutor.getClass().getSimpleName());
+    }
+
+}
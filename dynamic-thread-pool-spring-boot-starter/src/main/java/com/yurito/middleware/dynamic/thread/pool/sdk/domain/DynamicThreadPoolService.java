@@ -1,23 +1,46 @@
 package com.yurito.middleware.dynamic.thread.pool.sdk.domain;
 
 import com.alibaba.fastjson.JSON;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.BatchingExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicScheduledThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.RejectedExecutionHandlerDecorator;
-import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityLinkedBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.RejectionRateCounter;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResourceSamplingThreadFactory;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.SpillRejectedExecutionHandler;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.VirtualThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.WeightedFairBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.TenantQueueEntity;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.valobj.PoolTypeEnumVO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * @author Yurito
  * @description 动态线程池服务
+ * <p>
+ * 受管线程池包括 ThreadPoolExecutor 与 ForkJoinPool 两类，以 poolType 区分。ForkJoinPool 上报并行度、运行中线程数、
+ * 活跃线程数、窃取任务数、排队任务数与外部提交数，运行时只能调整并行度（JDK 19+ 提供 setParallelism，低版本忽略调整）。
+ * ScheduledThreadPoolExecutor 作为单独的类型上报，队列任务数即延迟队列中等待触发的任务数。
+ * <p>
+ * 查询返回的统计快照由多个调用方共享：列表为只读列表，其中的实体不应修改，需要修改时先复制一份或自行创建新实体。
  * @create 2025/9/1 16:26
  */
 public class DynamicThreadPoolService implements IDynamicThreadPoolService{
@@ -26,82 +49,196 @@ public class DynamicThreadPoolService implements IDynamicThreadPoolService{
 
     private final String applicationName;
 
+    private final String instanceId;
+
     private final Map<String, ThreadPoolExecutor> threadPoolExecutorMap;
 
+    private final Map<String, ForkJoinPool> forkJoinPoolMap;
+
+    /** ForkJoinPool#setParallelism，JDK 19+ 才有，通过反射调用以兼容 JDK 8 编译 */
+    private static final Method SET_PARALLELISM = findSetParallelism();
+
+    /** 快照最短采集间隔（单位：毫秒） */
+    private static final long SNAPSHOT_INTERVAL_MILLIS = 500;
+
+    /** 最近一次采集的快照，参数调整后置空 */
+    private volatile Snapshot snapshot;
+
+    /** 采集分位值时复用的数组 */
+    private final long[] percentiles = new long[4];
+
+    /** 本地配置快照，参数调整生效后写入；为空时不写 */
+    private volatile ThreadPoolConfigSnapshotStore configSnapshotStore;
+
     public DynamicThreadPoolService(String applicationName, Map<String, ThreadPoolExecutor> threadPoolExecutorMap) {
+        this(applicationName, ManagementFactory.getRuntimeMXBean().getName(), threadPoolExecutorMap);
+    }
+
+    public DynamicThreadPoolService(String applicationName, String instanceId, Map<String, ThreadPoolExecutor> threadPoolExecutorMap) {
+        this(applicationName, instanceId, threadPoolExecutorMap, Collections.emptyMap());
+    }
+
+    public DynamicThreadPoolService(String applicationName, String instanceId, Map<String, ThreadPoolExecutor> threadPoolExecutorMap, Map<String, ForkJoinPool> forkJoinPoolMap) {
         this.applicationName = applicationName;
+        this.instanceId = instanceId;
         this.threadPoolExecutorMap = threadPoolExecutorMap;
+        this.forkJoinPoolMap = forkJoinPoolMap;
     }
 
     @Override
     public List<ThreadPoolConfigEntity> queryThreadPoolList() {
-        Set<String> threadPoolBeanNames = threadPoolExecutorMap.keySet();
-        List<ThreadPoolConfigEntity> threadPoolVOS = new ArrayList<>(threadPoolBeanNames.size());
-        for (String beanName : threadPoolBeanNames) {
-            ThreadPoolExecutor threadPoolExecutor = threadPoolExecutorMap.get(beanName);
+        return currentSnapshot().threadPoolConfigEntities;
+    }
+
+    @Override
+    public ThreadPoolConfigEntity queryThreadPoolConfigByName(String threadPoolName) {
+        ThreadPoolConfigEntity threadPoolConfigVO = currentSnapshot().threadPoolConfigEntityMap.get(threadPoolName);
+        if (null == threadPoolConfigVO) return new ThreadPoolConfigEntity(applicationName, threadPoolName);
+
+        if (logger.isDebugEnabled()) {
+            logger.info("动态线程池，配置查询 应用名:{} 线程名:{} 池化配置:{}", applicationName, threadPoolName, JSON.toJSONString(threadPoolConfigVO));
+        }
+
+        return threadPoolConfigVO;
+    }
+
+    /**
+     * 获取全部线程池的统计快照，距上次采集不足 {@link #SNAPSHOT_INTERVAL_MILLIS} 时直接复用，
+     * 上报任务、自动调参等多个调用方在同一时刻看到的是同一份一致的数据；快照创建后不可修改
+     */
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (null != current && System.currentTimeMillis() - current.createTime < SNAPSHOT_INTERVAL_MILLIS) return current;
+        synchronized (this) {
+            current = snapshot;
+            if (null != current && System.currentTimeMillis() - current.createTime < SNAPSHOT_INTERVAL_MILLIS) return current;
+            current = takeSnapshot();
+            snapshot = current;
+            return current;
+        }
+    }
+
+    /**
+     * 使当前快照失效，下次查询时重新采集；参数调整后调用，测试与基准也用它跳过采集间隔
+     */
+    public void invalidateSnapshot() {
+        snapshot = null;
+    }
+
+    private Snapshot takeSnapshot() {
+        int poolCount = threadPoolExecutorMap.size() + forkJoinPoolMap.size();
+        List<ThreadPoolConfigEntity> threadPoolVOS = new ArrayList<>(poolCount);
+        Map<String, ThreadPoolConfigEntity> threadPoolVOMap = new HashMap<>(poolCount * 2);
+        for (Map.Entry<String, ThreadPoolExecutor> entry : threadPoolExecutorMap.entrySet()) {
+            String beanName = entry.getKey();
+            ThreadPoolExecutor threadPoolExecutor = entry.getValue();
             ThreadPoolConfigEntity threadPoolConfigVO = new ThreadPoolConfigEntity(applicationName, beanName);
+            threadPoolConfigVO.setInstanceId(instanceId);
+            threadPoolConfigVO.setPoolType(threadPoolExecutor instanceof ScheduledThreadPoolExecutor
+                    ? PoolTypeEnumVO.SCHEDULED_THREAD_POOL_EXECUTOR.getCode() : PoolTypeEnumVO.THREAD_POOL_EXECUTOR.getCode());
             threadPoolConfigVO.setCorePoolSize(threadPoolExecutor.getCorePoolSize());
             threadPoolConfigVO.setMaximumPoolSize(threadPoolExecutor.getMaximumPoolSize());
-            threadPoolConfigVO.setActiveCount(threadPoolExecutor.getActiveCount());
-            threadPoolConfigVO.setPoolSize(threadPoolExecutor.getPoolSize());
-            threadPoolConfigVO.setQueueType(threadPoolExecutor.getQueue().getClass().getSimpleName());
-            threadPoolConfigVO.setQueueSize(threadPoolExecutor.getQueue().size());
-            threadPoolConfigVO.setRemainingCapacity(threadPoolExecutor.getQueue().remainingCapacity());
+            // 活跃线程数、池中线程数、已完成任务数优先读取无锁计数
+            fillCounters(threadPoolConfigVO, threadPoolExecutor);
+            BlockingQueue<Runnable> queue = threadPoolExecutor.getQueue();
+            threadPoolConfigVO.setQueueType(queue.getClass().getSimpleName());
+            threadPoolConfigVO.setQueueSize(queue.size());
+            threadPoolConfigVO.setRemainingCapacity(queue.remainingCapacity());
             
             // 设置队列容量（如果队列支持动态调整）
-            if (threadPoolExecutor.getQueue() instanceof ResizableCapacityLinkedBlockingQueue) {
-                ResizableCapacityLinkedBlockingQueue<?> resizableQueue = 
-                    (ResizableCapacityLinkedBlockingQueue<?>) threadPoolExecutor.getQueue();
-                threadPoolConfigVO.setQueueCapacity(resizableQueue.getCapacity());
+            if (queue instanceof ResizableBlockingQueue) {
+                threadPoolConfigVO.setQueueCapacity(((ResizableBlockingQueue<?>) queue).getCapacity());
+            }
+            // 加权公平队列各租户的权重、容量、任务数与队首等待时长
+            if (queue instanceof WeightedFairBlockingQueue) {
+                threadPoolConfigVO.setTenantQueues(((WeightedFairBlockingQueue<?>) queue).tenantQueues());
             }
             
             // 获取拒绝策略名称
             threadPoolConfigVO.setRejectPolicy(getRejectPolicyName(threadPoolExecutor));
-            threadPoolConfigVO.setCompletedTaskCount(threadPoolExecutor.getCompletedTaskCount());
-            // 获取拒绝任务数
-            long rejectedTaskCount = getRejectedTaskCount(beanName, threadPoolExecutor);
-            threadPoolConfigVO.setRejectedTaskCount(rejectedTaskCount);
-            logger.debug("线程池 {} 当前拒绝任务数: {}", beanName, rejectedTaskCount);
+            // 拒绝任务数及最近 1/10/60 秒的拒绝数
+            fillRejection(threadPoolConfigVO, threadPoolExecutor);
+            // 排队时延管理丢弃的任务数
+            if (threadPoolExecutor instanceof DynamicThreadPoolExecutor) {
+                threadPoolConfigVO.setShedTaskCount(((DynamicThreadPoolExecutor) threadPoolExecutor).getShedTaskCount());
+                threadPoolConfigVO.setExpiredTaskCount(((DynamicThreadPoolExecutor) threadPoolExecutor).getExpiredTaskCount());
+            }
+            // 排队耗时、执行耗时分位值
+            fillLatency(threadPoolConfigVO, threadPoolExecutor);
+            // 落盘待重放任务
+            fillSpill(threadPoolConfigVO, threadPoolExecutor);
+            // 攒批执行器的批大小、填充率与刷出延迟
+            fillBatch(threadPoolConfigVO, threadPoolExecutor);
+            // 工作线程 CPU 占用与内存分配速率
+            fillResource(threadPoolConfigVO, threadPoolExecutor);
+            // 卡顿任务数与最长执行时间
+            fillStuck(threadPoolConfigVO, threadPoolExecutor);
             threadPoolVOS.add(threadPoolConfigVO);
+            threadPoolVOMap.put(beanName, threadPoolConfigVO);
         }
-        return threadPoolVOS;
+        for (Map.Entry<String, ForkJoinPool> entry : forkJoinPoolMap.entrySet()) {
+            ThreadPoolConfigEntity threadPoolConfigVO = forkJoinPoolConfig(entry.getKey(), entry.getValue());
+            threadPoolVOS.add(threadPoolConfigVO);
+            threadPoolVOMap.put(entry.getKey(), threadPoolConfigVO);
+        }
+        return new Snapshot(System.currentTimeMillis(), Collections.unmodifiableList(threadPoolVOS), Collections.unmodifiableMap(threadPoolVOMap));
     }
 
-    @Override
-    public ThreadPoolConfigEntity queryThreadPoolConfigByName(String threadPoolName) {
-        ThreadPoolExecutor threadPoolExecutor = threadPoolExecutorMap.get(threadPoolName);
-        if (null == threadPoolExecutor) return new ThreadPoolConfigEntity(applicationName, threadPoolName);
+    /**
+     * 采集 ForkJoinPool 数据，核心线程数、最大线程数按并行度填写，队列任务数为工作线程队列与外部提交之和；
+     * 所有读取方法均不加锁
+     *
+     * @param beanName     线程池名称
+     * @param forkJoinPool 分治任务池
+     * @return 线程池配置数据
+     */
+    private ThreadPoolConfigEntity forkJoinPoolConfig(String beanName, ForkJoinPool forkJoinPool) {
+        ThreadPoolConfigEntity threadPoolConfigVO = new ThreadPoolConfigEntity(applicationName, beanName);
+        threadPoolConfigVO.setInstanceId(instanceId);
+        threadPoolConfigVO.setPoolType(PoolTypeEnumVO.FORK_JOIN_POOL.getCode());
+        int parallelism = forkJoinPool.getParallelism();
+        threadPoolConfigVO.setParallelism(parallelism);
+        threadPoolConfigVO.setCorePoolSize(parallelism);
+        threadPoolConfigVO.setMaximumPoolSize(parallelism);
+        threadPoolConfigVO.setActiveCount(forkJoinPool.getActiveThreadCount());
+        threadPoolConfigVO.setPoolSize(forkJoinPool.getPoolSize());
+        threadPoolConfigVO.setRunningThreadCount(forkJoinPool.getRunningThreadCount());
+        threadPoolConfigVO.setStealCount(forkJoinPool.getStealCount());
+        long queuedTaskCount = forkJoinPool.getQueuedTaskCount();
+        long queuedSubmissionCount = forkJoinPool.getQueuedSubmissionCount();
+        threadPoolConfigVO.setQueuedTaskCount(queuedTaskCount);
+        threadPoolConfigVO.setQueuedSubmissionCount(queuedSubmissionCount);
+        threadPoolConfigVO.setQueueType("WorkStealingQueue");
+        threadPoolConfigVO.setQueueSize((int) Math.min(Integer.MAX_VALUE, queuedTaskCount + queuedSubmissionCount));
+        threadPoolConfigVO.setRemainingCapacity(Integer.MAX_VALUE);
+        return threadPoolConfigVO;
+    }
 
-        // 线程池配置数据
-        ThreadPoolConfigEntity threadPoolConfigVO = new ThreadPoolConfigEntity(applicationName, threadPoolName);
-        threadPoolConfigVO.setCorePoolSize(threadPoolExecutor.getCorePoolSize());
-        threadPoolConfigVO.setMaximumPoolSize(threadPoolExecutor.getMaximumPoolSize());
+    /**
+     * 填充活跃线程数、池中线程数、已完成任务数；{@link DynamicThreadPoolExecutor} 读取无锁计数，
+     * 其余线程池只能调用 ThreadPoolExecutor 自身的方法（需获取 mainLock）
+     *
+     * @param threadPoolConfigVO 线程池配置数据
+     * @param threadPoolExecutor 线程池执行器
+     */
+    private void fillCounters(ThreadPoolConfigEntity threadPoolConfigVO, ThreadPoolExecutor threadPoolExecutor) {
+        if (threadPoolExecutor instanceof DynamicThreadPoolExecutor) {
+            DynamicThreadPoolExecutor dynamicThreadPoolExecutor = (DynamicThreadPoolExecutor) threadPoolExecutor;
+            threadPoolConfigVO.setActiveCount((int) dynamicThreadPoolExecutor.getActiveTaskCount());
+            threadPoolConfigVO.setPoolSize((int) dynamicThreadPoolExecutor.getLiveWorkerCount());
+            threadPoolConfigVO.setCompletedTaskCount(dynamicThreadPoolExecutor.getCompletedTasks());
+            return;
+        }
+        if (threadPoolExecutor instanceof DynamicScheduledThreadPoolExecutor) {
+            // 定时任务线程池的工作线程数固定为核心线程数，只有已完成数需要计数
+            threadPoolConfigVO.setActiveCount(threadPoolExecutor.getActiveCount());
+            threadPoolConfigVO.setPoolSize(threadPoolExecutor.getPoolSize());
+            threadPoolConfigVO.setCompletedTaskCount(((DynamicScheduledThreadPoolExecutor) threadPoolExecutor).getCompletedTasks());
+            return;
+        }
         threadPoolConfigVO.setActiveCount(threadPoolExecutor.getActiveCount());
         threadPoolConfigVO.setPoolSize(threadPoolExecutor.getPoolSize());
-        threadPoolConfigVO.setQueueType(threadPoolExecutor.getQueue().getClass().getSimpleName());
-        threadPoolConfigVO.setQueueSize(threadPoolExecutor.getQueue().size());
-        threadPoolConfigVO.setRemainingCapacity(threadPoolExecutor.getQueue().remainingCapacity());
-        
-        // 设置队列容量（如果队列支持动态调整）
-        if (threadPoolExecutor.getQueue() instanceof ResizableCapacityLinkedBlockingQueue) {
-            ResizableCapacityLinkedBlockingQueue<?> resizableQueue = 
-                (ResizableCapacityLinkedBlockingQueue<?>) threadPoolExecutor.getQueue();
-            threadPoolConfigVO.setQueueCapacity(resizableQueue.getCapacity());
-        }
-        
-        // 获取拒绝策略名称
-        threadPoolConfigVO.setRejectPolicy(getRejectPolicyName(threadPoolExecutor));
         threadPoolConfigVO.setCompletedTaskCount(threadPoolExecutor.getCompletedTaskCount());
-        // 获取拒绝任务数
-        long rejectedTaskCount = getRejectedTaskCount(threadPoolName, threadPoolExecutor);
-        threadPoolConfigVO.setRejectedTaskCount(rejectedTaskCount);
-        logger.debug("线程池 {} 当前拒绝任务数: {}", threadPoolName, rejectedTaskCount);
-
-        if (logger.isDebugEnabled()) {
-            logger.info("动态线程池，配置查询 应用名:{} 线程名:{} 池化配置:{}", applicationName, threadPoolName, JSON.toJSONString(threadPoolConfigVO));
-        }
-
-        return threadPoolConfigVO;
     }
     
     /**
@@ -120,44 +257,182 @@ public class DynamicThreadPoolService implements IDynamicThreadPoolService{
     }
     
     /**
-     * 获取线程池的拒绝任务数
-     * 
-     * @param threadPoolName 线程池名称
+     * 填充拒绝任务数，仅使用 {@link RejectedExecutionHandlerDecorator} 的线程池具备统计，受管线程池在启动时已自动包装
+     *
+     * @param threadPoolConfigVO 线程池配置数据
      * @param threadPoolExecutor 线程池执行器
-     * @return 拒绝任务数
      */
-    private long getRejectedTaskCount(String threadPoolName, ThreadPoolExecutor threadPoolExecutor) {
-        // 如果使用了我们的装饰器，获取装饰器中的计数
-        if (threadPoolExecutor.getRejectedExecutionHandler() instanceof RejectedExecutionHandlerDecorator) {
-            return RejectedExecutionHandlerDecorator.getRejectedCount(threadPoolName);
+    private void fillRejection(ThreadPoolConfigEntity threadPoolConfigVO, ThreadPoolExecutor threadPoolExecutor) {
+        if (!(threadPoolExecutor.getRejectedExecutionHandler() instanceof RejectedExecutionHandlerDecorator)) return;
+        RejectionRateCounter rejectionCounter = ((RejectedExecutionHandlerDecorator) threadPoolExecutor.getRejectedExecutionHandler()).getRejectionCounter();
+        long now = System.currentTimeMillis();
+        threadPoolConfigVO.setRejectedTaskCount(rejectionCounter.getTotal());
+        threadPoolConfigVO.setRejectedCount1s(rejectionCounter.count(1, now));
+        threadPoolConfigVO.setRejectedCount10s(rejectionCounter.count(10, now));
+        threadPoolConfigVO.setRejectedCount60s(rejectionCounter.count(60, now));
+        threadPoolConfigVO.setLastRejectTime(rejectionCounter.getLastRejectTime());
+    }
+
+    /**
+     * 填充排队耗时、执行耗时的分位值，仅 {@link DynamicThreadPoolExecutor} 具备耗时统计；
+     * {@link DynamicScheduledThreadPoolExecutor} 填充延迟触发时间、执行耗时与超时次数
+     *
+     * @param threadPoolConfigVO 线程池配置数据
+     * @param threadPoolExecutor 线程池执行器
+     */
+    private void fillLatency(ThreadPoolConfigEntity threadPoolConfigVO, ThreadPoolExecutor threadPoolExecutor) {
+        if (threadPoolExecutor instanceof DynamicScheduledThreadPoolExecutor) {
+            fillScheduledLatency(threadPoolConfigVO, (DynamicScheduledThreadPoolExecutor) threadPoolExecutor);
+            return;
+        }
+        if (!(threadPoolExecutor instanceof DynamicThreadPoolExecutor)) return;
+        DynamicThreadPoolExecutor dynamicThreadPoolExecutor = (DynamicThreadPoolExecutor) threadPoolExecutor;
+
+        // 仅在持有快照锁时调用，复用同一个数组
+        long[] percentiles = this.percentiles;
+        dynamicThreadPoolExecutor.getQueueWaitRecorder().percentiles(percentiles);
+        threadPoolConfigVO.setQueueWaitTimeP50(percentiles[0]);
+        threadPoolConfigVO.setQueueWaitTimeP90(percentiles[1]);
+        threadPoolConfigVO.setQueueWaitTimeP99(percentiles[2]);
+        threadPoolConfigVO.setQueueWaitTimeMax(percentiles[3]);
+
+        dynamicThreadPoolExecutor.getExecuteTimeRecorder().percentiles(percentiles);
+        threadPoolConfigVO.setExecuteTimeP50(percentiles[0]);
+        threadPoolConfigVO.setExecuteTimeP90(percentiles[1]);
+        threadPoolConfigVO.setExecuteTimeP99(percentiles[2]);
+        threadPoolConfigVO.setExecuteTimeMax(percentiles[3]);
+    }
+
+    private void fillScheduledLatency(ThreadPoolConfigEntity threadPoolConfigVO, DynamicScheduledThreadPoolExecutor scheduledThreadPoolExecutor) {
+        long[] percentiles = this.percentiles;
+        scheduledThreadPoolExecutor.getLateTimeRecorder().percentiles(percentiles);
+        threadPoolConfigVO.setLateTimeP50(percentiles[0]);
+        threadPoolConfigVO.setLateTimeP90(percentiles[1]);
+        threadPoolConfigVO.setLateTimeP99(percentiles[2]);
+        threadPoolConfigVO.setLateTimeMax(percentiles[3]);
+
+        scheduledThreadPoolExecutor.getExecuteTimeRecorder().percentiles(percentiles);
+        threadPoolConfigVO.setExecuteTimeP50(percentiles[0]);
+        threadPoolConfigVO.setExecuteTimeP90(percentiles[1]);
+        threadPoolConfigVO.setExecuteTimeP99(percentiles[2]);
+        threadPoolConfigVO.setExecuteTimeMax(percentiles[3]);
+
+        threadPoolConfigVO.setOverrunCount(scheduledThreadPoolExecutor.getOverrunCount());
+    }
+
+    /**
+     * 填充落盘待重放的任务数、占用字节数与重放滞后时间，仅使用 {@link SpillRejectedExecutionHandler} 的线程池具备
+     *
+     * @param threadPoolConfigVO 线程池配置数据
+     * @param threadPoolExecutor 线程池执行器
+     */
+    private void fillSpill(ThreadPoolConfigEntity threadPoolConfigVO, ThreadPoolExecutor threadPoolExecutor) {
+        SpillRejectedExecutionHandler spillHandler = SpillRejectedExecutionHandler.of(threadPoolExecutor);
+        if (null == spillHandler) return;
+        threadPoolConfigVO.setSpillTaskCount(spillHandler.getSpillTaskCount());
+        threadPoolConfigVO.setSpillBytes(spillHandler.getSpillBytes());
+        threadPoolConfigVO.setSpillReplayLag(spillHandler.getReplayLag());
+    }
+
+    /**
+     * 填充攒批执行器的批大小、攒批时长、刷出批次数、平均填充率与刷出延迟，仅绑定了 {@link BatchingExecutor} 的线程池具备
+     *
+     * @param threadPoolConfigVO 线程池配置数据
+     * @param threadPoolExecutor 线程池执行器
+     */
+    private void fillBatch(ThreadPoolConfigEntity threadPoolConfigVO, ThreadPoolExecutor threadPoolExecutor) {
+        BatchingExecutor<?, ?> batchingExecutor = BatchingExecutor.of(threadPoolExecutor);
+        if (null == batchingExecutor) return;
+        threadPoolConfigVO.setBatchSize(batchingExecutor.getBatchSize());
+        threadPoolConfigVO.setBatchLingerTime(batchingExecutor.getLingerMillis());
+        threadPoolConfigVO.setBatchFlushCount(batchingExecutor.getFlushCount());
+        threadPoolConfigVO.setBatchFillRatio(batchingExecutor.getFillRatio());
+        long[] percentiles = this.percentiles;
+        batchingExecutor.getFlushLatencyRecorder().percentiles(percentiles);
+        threadPoolConfigVO.setBatchFlushLatencyP50(percentiles[0]);
+        threadPoolConfigVO.setBatchFlushLatencyP99(percentiles[2]);
+    }
+
+    /**
+     * 填充工作线程的 CPU 占用与内存分配速率，仅包装了 {@link ResourceSamplingThreadFactory} 的线程池具备；
+     * 采样间隔不足 1 秒时沿用上一次的结果
+     *
+     * @param threadPoolConfigVO 线程池配置数据
+     * @param threadPoolExecutor 线程池执行器
+     */
+    private void fillResource(ThreadPoolConfigEntity threadPoolConfigVO, ThreadPoolExecutor threadPoolExecutor) {
+        ResourceSamplingThreadFactory samplingThreadFactory = ResourceSamplingThreadFactory.of(threadPoolExecutor);
+        if (null == samplingThreadFactory) return;
+        samplingThreadFactory.sample(System.nanoTime());
+        threadPoolConfigVO.setCpuMilliCores(samplingThreadFactory.getCpuMilliCores());
+        threadPoolConfigVO.setAllocationRate(samplingThreadFactory.getAllocationRate());
+        threadPoolConfigVO.setSampledThreadCount(samplingThreadFactory.getSampledThreadCount());
+    }
+
+    /**
+     * 填充卡顿阈值、卡顿任务数与正在执行任务的最长执行时间，仅 {@link DynamicThreadPoolExecutor} 记录了每个工作线程的任务开始时间
+     *
+     * @param threadPoolConfigVO 线程池配置数据
+     * @param threadPoolExecutor 线程池执行器
+     */
+    private void fillStuck(ThreadPoolConfigEntity threadPoolConfigVO, ThreadPoolExecutor threadPoolExecutor) {
+        if (!(threadPoolExecutor instanceof DynamicThreadPoolExecutor)) return;
+        DynamicThreadPoolExecutor dynamicThreadPoolExecutor = (DynamicThreadPoolExecutor) threadPoolExecutor;
+        long threshold = dynamicThreadPoolExecutor.getStuckTaskThresholdNanos();
+        long now = System.nanoTime();
+        long longestRunningNanos = 0;
+        int stuckTaskCount = 0;
+        for (DynamicThreadPoolExecutor.Worker worker : dynamicThreadPoolExecutor.getWorkers()) {
+            if (null == worker.getTask()) continue;
+            long runningNanos = now - worker.getStartNanos();
+            longestRunningNanos = Math.max(longestRunningNanos, runningNanos);
+            if (threshold > 0 && runningNanos >= threshold) stuckTaskCount++;
         }
-        // 如果没有使用装饰器，返回默认值0
-        logger.debug("线程池 {} 未使用拒绝任务计数装饰器，返回默认值0", threadPoolName);
-        return 0;
+        threadPoolConfigVO.setStuckTaskThreshold(dynamicThreadPoolExecutor.getStuckTaskThreshold());
+        threadPoolConfigVO.setStuckTaskCount(stuckTaskCount);
+        threadPoolConfigVO.setLongestRunningTime(TimeUnit.NANOSECONDS.toMillis(longestRunningNanos));
     }
 
     @Override
     public void updateThreadPoolConfig(ThreadPoolConfigEntity threadPoolConfigEntity) {
         if (null == threadPoolConfigEntity || !applicationName.equals(threadPoolConfigEntity.getAppName())) return;
+        ForkJoinPool forkJoinPool = forkJoinPoolMap.get(threadPoolConfigEntity.getThreadPoolName());
+        if (null != forkJoinPool) {
+            updateForkJoinPoolConfig(threadPoolConfigEntity, forkJoinPool);
+            return;
+        }
         ThreadPoolExecutor threadPoolExecutor = threadPoolExecutorMap.get(threadPoolConfigEntity.getThreadPoolName());
         if (null == threadPoolExecutor) return;
 
+        boolean applied = false;
         try {
-            // 设置参数
-            if (threadPoolConfigEntity.getCorePoolSize() > 0) {
-                threadPoolExecutor.setCorePoolSize(threadPoolConfigEntity.getCorePoolSize());
-            }
-            
-            if (threadPoolConfigEntity.getMaximumPoolSize() > 0) {
-                threadPoolExecutor.setMaximumPoolSize(threadPoolConfigEntity.getMaximumPoolSize());
+            // 设置参数，未指定（<=0）的沿用当前值
+            int corePoolSize = threadPoolConfigEntity.getCorePoolSize() > 0 ? threadPoolConfigEntity.getCorePoolSize() : threadPoolExecutor.getCorePoolSize();
+            int maximumPoolSize = threadPoolConfigEntity.getMaximumPoolSize() > 0 ? threadPoolConfigEntity.getMaximumPoolSize() : threadPoolExecutor.getMaximumPoolSize();
+            if (threadPoolExecutor instanceof VirtualThreadPoolExecutor) {
+                // 虚拟线程池核心线程数与最大线程数相等，以最大线程数作为并发上限
+                ((VirtualThreadPoolExecutor) threadPoolExecutor).setConcurrencyLimit(maximumPoolSize);
+            } else if (threadPoolExecutor instanceof ScheduledThreadPoolExecutor) {
+                // 定时任务线程池的工作线程数固定为核心线程数，最大线程数不起作用
+                threadPoolExecutor.setCorePoolSize(corePoolSize);
+            } else if (corePoolSize > maximumPoolSize) {
+                logger.warn("动态线程池 {} 参数调整忽略，核心线程数 {} 大于最大线程数 {}", threadPoolConfigEntity.getThreadPoolName(), corePoolSize, maximumPoolSize);
+                return;
+            } else if (corePoolSize > threadPoolExecutor.getMaximumPoolSize()) {
+                // 新核心线程数超过当前最大线程数时需先调大最大线程数，否则 setCorePoolSize 会抛出异常
+                threadPoolExecutor.setMaximumPoolSize(maximumPoolSize);
+                threadPoolExecutor.setCorePoolSize(corePoolSize);
+            } else {
+                threadPoolExecutor.setCorePoolSize(corePoolSize);
+                threadPoolExecutor.setMaximumPoolSize(maximumPoolSize);
             }
             
             // 如果队列支持动态调整容量，尝试调整队列容量
             BlockingQueue<Runnable> queue = threadPoolExecutor.getQueue();
-            if (queue instanceof ResizableCapacityLinkedBlockingQueue && 
+            if (queue instanceof ResizableBlockingQueue && 
                 threadPoolConfigEntity.getQueueCapacity() > 0) {
-                ResizableCapacityLinkedBlockingQueue<Runnable> resizableQueue = 
-                    (ResizableCapacityLinkedBlockingQueue<Runnable>) queue;
+                ResizableBlockingQueue<Runnable> resizableQueue = 
+                    (ResizableBlockingQueue<Runnable>) queue;
                 try {
                     resizableQueue.setCapacity(threadPoolConfigEntity.getQueueCapacity());
                     logger.info("动态线程池 {} 队列容量已调整为: {}", 
@@ -167,8 +442,143 @@ public class DynamicThreadPoolService implements IDynamicThreadPoolService{
                         threadPoolConfigEntity.getThreadPoolName(), threadPoolConfigEntity.getQueueCapacity(), e);
                 }
             }
+            if (queue instanceof WeightedFairBlockingQueue && null != threadPoolConfigEntity.getTenantQueues()) {
+                updateTenantQueues(threadPoolConfigEntity, (WeightedFairBlockingQueue<Runnable>) queue);
+            }
+            BatchingExecutor<?, ?> batchingExecutor = BatchingExecutor.of(threadPoolExecutor);
+            if (null != batchingExecutor) {
+                updateBatchingExecutor(threadPoolConfigEntity, batchingExecutor);
+            }
+            applied = true;
         } catch (Exception e) {
             logger.error("动态线程池 {} 参数调整失败", threadPoolConfigEntity.getThreadPoolName(), e);
+        } finally {
+            // 参数变化后下一次查询重新采集
+            invalidateSnapshot();
+        }
+        if (applied) {
+            saveConfigSnapshot();
+        }
+    }
+
+    /**
+     * 调整加权公平队列各租户的权重与子队列容量，未列出的租户保持不变
+     */
+    private void updateTenantQueues(ThreadPoolConfigEntity threadPoolConfigEntity, WeightedFairBlockingQueue<Runnable> queue) {
+        for (TenantQueueEntity tenantQueue : threadPoolConfigEntity.getTenantQueues()) {
+            if (null == tenantQueue || null == tenantQueue.getTenant()) continue;
+            try {
+                queue.configureTenant(tenantQueue.getTenant(), tenantQueue.getWeight(), tenantQueue.getCapacity());
+                logger.info("动态线程池 {} 租户 {} 已调整，权重: {} 容量: {}", threadPoolConfigEntity.getThreadPoolName(),
+                        tenantQueue.getTenant(), tenantQueue.getWeight(), tenantQueue.getCapacity());
+            } catch (IllegalArgumentException e) {
+                logger.error("动态线程池 {} 租户 {} 调整失败，权重: {} 容量: {}", threadPoolConfigEntity.getThreadPoolName(),
+                        tenantQueue.getTenant(), tenantQueue.getWeight(), tenantQueue.getCapacity(), e);
+            }
         }
     }
+
+    /**
+     * 调整攒批执行器的批大小与攒批时长，未指定（<=0）的沿用当前值
+     */
+    private void updateBatchingExecutor(ThreadPoolConfigEntity threadPoolConfigEntity, BatchingExecutor<?, ?> batchingExecutor) {
+        int batchSize = threadPoolConfigEntity.getBatchSize();
+        long batchLingerTime = threadPoolConfigEntity.getBatchLingerTime();
+        if (batchSize <= 0 && batchLingerTime <= 0) return;
+        try {
+            if (batchSize > 0) batchingExecutor.setBatchSize(batchSize);
+            if (batchLingerTime > 0) batchingExecutor.setLingerTime(batchLingerTime, TimeUnit.MILLISECONDS);
+            logger.info("动态线程池 {} 攒批参数已调整，批大小: {} 攒批时长: {}ms", threadPoolConfigEntity.getThreadPoolName(),
+                    batchingExecutor.getBatchSize(), batchingExecutor.getLingerMillis());
+        } catch (IllegalArgumentException e) {
+            logger.error("动态线程池 {} 攒批参数调整失败，批大小: {} 攒批时长: {}ms", threadPoolConfigEntity.getThreadPoolName(), batchSize, batchLingerTime, e);
+        }
+    }
+
+    /**
+     * 调整 ForkJoinPool 并行度，未指定并行度时取最大线程数（管理端按线程池统一编辑核心/最大线程数）
+     */
+    private void updateForkJoinPoolConfig(ThreadPoolConfigEntity threadPoolConfigEntity, ForkJoinPool forkJoinPool) {
+        int parallelism = threadPoolConfigEntity.getParallelism() > 0 ? threadPoolConfigEntity.getParallelism() : threadPoolConfigEntity.getMaximumPoolSize();
+        if (parallelism <= 0 || parallelism == forkJoinPool.getParallelism()) return;
+        if (null == SET_PARALLELISM) {
+            logger.warn("动态线程池 {} 并行度调整忽略，当前 JDK 不支持 ForkJoinPool#setParallelism（需 JDK 19+）", threadPoolConfigEntity.getThreadPoolName());
+            return;
+        }
+        try {
+            SET_PARALLELISM.invoke(forkJoinPool, parallelism);
+            logger.info("动态线程池 {} 并行度已调整为: {}", threadPoolConfigEntity.getThreadPoolName(), parallelism);
+        } catch (Exception e) {
+            logger.error("动态线程池 {} 并行度调整失败，新并行度: {}", threadPoolConfigEntity.getThreadPoolName(), parallelism, e);
+            return;
+        } finally {
+            invalidateSnapshot();
+        }
+        saveConfigSnapshot();
+    }
+
+    private static Method findSetParallelism() {
+        try {
+            return ForkJoinPool.class.getMethod("setParallelism", int.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return 全部受管线程池名称
+     */
+    public Set<String> getThreadPoolNames() {
+        Set<String> threadPoolNames = new LinkedHashSet<>(threadPoolExecutorMap.keySet());
+        threadPoolNames.addAll(forkJoinPoolMap.keySet());
+        return threadPoolNames;
+    }
+
+    /**
+     * 将全部线程池当前配置写入本地快照
+     */
+    public void saveConfigSnapshot() {
+        ThreadPoolConfigSnapshotStore store = configSnapshotStore;
+        if (null == store) return;
+        store.save(queryThreadPoolList());
+    }
+
+    public ThreadPoolConfigSnapshotStore getConfigSnapshotStore() {
+        return configSnapshotStore;
+    }
+
+    public void setConfigSnapshotStore(ThreadPoolConfigSnapshotStore configSnapshotStore) {
+        this.configSnapshotStore = configSnapshotStore;
+    }
+
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public Map<String, ThreadPoolExecutor> getThreadPoolExecutorMap() {
+        return threadPoolExecutorMap;
+    }
+
+    /**
+     * 全部线程池在同一时刻的统计数据，只读
+     */
+    private static class Snapshot {
+
+        private final long createTime;
+
+        private final List<ThreadPoolConfigEntity> threadPoolConfigEntities;
+
+        private final Map<String, ThreadPoolConfigEntity> threadPoolConfigEntityMap;
+
+        private Snapshot(long createTime, List<ThreadPoolConfigEntity> threadPoolConfigEntities, Map<String, ThreadPoolConfigEntity> threadPoolConfigEntityMap) {
+            this.createTime = createTime;
+            this.threadPoolConfigEntities = threadPoolConfigEntities;
+            this.threadPoolConfigEntityMap = threadPoolConfigEntityMap;
+        }
+
+    }
 }
\ No newline at end of file
@@ -11,8 +11,14 @@ import java.util.List;
  */
 public interface IDynamicThreadPoolService {
 
+    /**
+     * @return 全部线程池的统计快照，只读列表；实体由多个调用方共享，不应修改
+     */
     List<ThreadPoolConfigEntity> queryThreadPoolList();
 
+    /**
+     * @return 线程池的统计快照，由多个调用方共享，不应修改；线程池不存在时返回只有应用名与线程池名称的新实体
+     */
     ThreadPoolConfigEntity queryThreadPoolConfigByName(String threadPoolName);
 
     void updateThreadPoolConfig(ThreadPoolConfigEntity threadPoolConfigEntity);
@@ -0,0 +1,224 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 卡顿任务检测，找出执行时间超过卡顿阈值的任务并采集工作线程调用栈
+ * <p>
+ * 1. 只读取 {@link DynamicThreadPoolExecutor.Worker} 中记录的开始时间，不在执行路径上加锁；普通 ThreadPoolExecutor 无法得知哪些线程在执行任务，不参与检测；
+ * 2. 定时检测时只为新出现的卡顿任务采集一次调用栈并记录告警日志，同一个任务不重复告警；
+ * 3. 管理端按需查询热点调用栈时，采集线程池中正在执行任务的线程（最多 {@link #MAX_SAMPLED_THREADS} 个，执行时间长的优先），按栈顶帧归并；
+ * 4. 调用栈通过 ThreadMXBean 一次批量读取，采集期间任务已结束或换了任务的线程不计入。
+ * @create 2025/9/14 11:00
+ */
+public class StuckTaskDetector {
+
+    private final Logger logger = LoggerFactory.getLogger(StuckTaskDetector.class);
+
+    /** 单次采集的最大线程数 */
+    public static final int MAX_SAMPLED_THREADS = 64;
+
+    /** 每个热点调用栈保留的线程名称数 */
+    private static final int MAX_THREAD_NAMES = 10;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final Map<String, ThreadPoolExecutor> threadPoolExecutorMap;
+
+    /** 调用栈最大深度 */
+    private final int maxStackDepth;
+
+    /** 已告警的工作线程 -> 任务开始时间，只在 detect 中读写，由 detect 的锁保护 */
+    private final Map<DynamicThreadPoolExecutor.Worker, Long> reported = new HashMap<>();
+
+    public StuckTaskDetector(Map<String, ThreadPoolExecutor> threadPoolExecutorMap, int maxStackDepth) {
+        if (maxStackDepth <= 0) throw new IllegalArgumentException("maxStackDepth: " + maxStackDepth);
+        this.threadPoolExecutorMap = threadPoolExecutorMap;
+        this.maxStackDepth = maxStackDepth;
+    }
+
+    /**
+     * 检测全部设置了卡顿阈值的线程池，为新出现的卡顿任务记录告警日志
+     *
+     * @return 新出现的卡顿任务数
+     */
+    public synchronized int detect() {
+        // 任务已结束或换了任务的线程不再记录
+        for (Iterator<Map.Entry<DynamicThreadPoolExecutor.Worker, Long>> iterator = reported.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<DynamicThreadPoolExecutor.Worker, Long> entry = iterator.next();
+            if (null == entry.getKey().getTask() || entry.getKey().getStartNanos() != entry.getValue()) iterator.remove();
+        }
+
+        int detected = 0;
+        for (Map.Entry<String, ThreadPoolExecutor> entry : threadPoolExecutorMap.entrySet()) {
+            if (!(entry.getValue() instanceof DynamicThreadPoolExecutor)) continue;
+            DynamicThreadPoolExecutor threadPoolExecutor = (DynamicThreadPoolExecutor) entry.getValue();
+            long threshold = threadPoolExecutor.getStuckTaskThresholdNanos();
+            if (threshold <= 0) continue;
+
+            long now = System.nanoTime();
+            List<RunningTask> stuckTasks = new ArrayList<>();
+            for (RunningTask runningTask : runningTasks(threadPoolExecutor, now, Integer.MAX_VALUE)) {
+                if (runningTask.runningNanos < threshold) break;
+                Long startNanos = reported.get(runningTask.worker);
+                if (null != startNanos && startNanos == runningTask.startNanos) continue;
+                stuckTasks.add(runningTask);
+                if (stuckTasks.size() >= MAX_SAMPLED_THREADS) break;
+            }
+            if (stuckTasks.isEmpty()) continue;
+
+            StackTraceElement[][] stackTraces = stackTraces(stuckTasks);
+            for (int i = 0; i < stuckTasks.size(); i++) {
+                RunningTask stuckTask = stuckTasks.get(i);
+                reported.put(stuckTask.worker, stuckTask.startNanos);
+                detected++;
+                logger.warn("动态线程池 {} 任务执行超过卡顿阈值 {}ms 未结束，线程: {} 任务: {} 已执行: {}ms 调用栈:{}",
+                        entry.getKey(), threadPoolExecutor.getStuckTaskThreshold(), stuckTask.worker.getThread().getName(),
+                        stuckTask.task, TimeUnit.NANOSECONDS.toMillis(stuckTask.runningNanos), format(stackTraces[i]));
+            }
+        }
+        return detected;
+    }
+
+    /**
+     * 采集线程池中正在执行任务的线程的调用栈，按栈顶帧归并
+     *
+     * @param threadPoolName 线程池名称
+     * @return 按线程数、最长执行时间降序排列的热点调用栈；不是受管线程池时返回 null，不是 {@link DynamicThreadPoolExecutor} 时返回空列表
+     */
+    public List<HotStackEntity> hotStacks(String threadPoolName) {
+        ThreadPoolExecutor threadPoolExecutor = threadPoolExecutorMap.get(threadPoolName);
+        if (null == threadPoolExecutor) return null;
+        if (!(threadPoolExecutor instanceof DynamicThreadPoolExecutor)) return Collections.emptyList();
+        DynamicThreadPoolExecutor dynamicThreadPoolExecutor = (DynamicThreadPoolExecutor) threadPoolExecutor;
+        long threshold = dynamicThreadPoolExecutor.getStuckTaskThresholdNanos();
+
+        List<RunningTask> runningTasks = runningTasks(dynamicThreadPoolExecutor, System.nanoTime(), MAX_SAMPLED_THREADS);
+        StackTraceElement[][] stackTraces = stackTraces(runningTasks);
+        Map<String, HotStackEntity> hotStacks = new LinkedHashMap<>();
+        for (int i = 0; i < runningTasks.size(); i++) {
+            RunningTask runningTask = runningTasks.get(i);
+            StackTraceElement[] stackTrace = stackTraces[i];
+            // 采集期间任务已结束或换了任务，调用栈不属于原任务
+            if (null == stackTrace || runningTask.task != runningTask.worker.getTask() || runningTask.startNanos != runningTask.worker.getStartNanos()) continue;
+
+            String topFrame = stackTrace.length == 0 ? "(无栈帧)" : stackTrace[0].toString();
+            HotStackEntity hotStack = hotStacks.get(topFrame);
+            if (null == hotStack) {
+                // 按执行时间降序遍历，第一个线程即执行时间最长的线程
+                hotStack = new HotStackEntity(topFrame);
+                hotStack.setMaxRunningTime(TimeUnit.NANOSECONDS.toMillis(runningTask.runningNanos));
+                for (StackTraceElement frame : stackTrace) {
+                    hotStack.getStackTrace().add(frame.toString());
+                }
+                hotStacks.put(topFrame, hotStack);
+            }
+            hotStack.setThreadCount(hotStack.getThreadCount() + 1);
+            if (threshold > 0 && runningTask.runningNanos >= threshold) {
+                hotStack.setStuckCount(hotStack.getStuckCount() + 1);
+            }
+            if (hotStack.getThreadNames().size() < MAX_THREAD_NAMES) {
+                hotStack.getThreadNames().add(runningTask.worker.getThread().getName());
+            }
+        }
+
+        List<HotStackEntity> result = new ArrayList<>(hotStacks.values());
+        result.sort(Comparator.comparingInt(HotStackEntity::getThreadCount).reversed()
+                .thenComparing(Comparator.comparingLong(HotStackEntity::getMaxRunningTime).reversed()));
+        return result;
+    }
+
+    /**
+     * 取出正在执行任务的线程，按执行时间降序排列
+     *
+     * @param limit 最多返回的数量
+     */
+    private static List<RunningTask> runningTasks(DynamicThreadPoolExecutor threadPoolExecutor, long now, int limit) {
+        List<RunningTask> runningTasks = new ArrayList<>();
+        for (DynamicThreadPoolExecutor.Worker worker : threadPoolExecutor.getWorkers()) {
+            // 先读任务再读开始时间，与写入顺序相反，读到的开始时间不早于该任务
+            Runnable task = worker.getTask();
+            if (null == task) continue;
+            long startNanos = worker.getStartNanos();
+            runningTasks.add(new RunningTask(worker, task, startNanos, now - startNanos));
+        }
+        runningTasks.sort(Comparator.comparingLong((RunningTask runningTask) -> runningTask.runningNanos).reversed());
+        return runningTasks.size() > limit ? runningTasks.subList(0, limit) : runningTasks;
+    }
+
+    /**
+     * 批量读取调用栈；ThreadMXBean 不返回虚拟线程的信息，改用 Thread#getStackTrace
+     *
+     * @return 与 runningTasks 一一对应，线程已退出时为 null
+     */
+    private StackTraceElement[][] stackTraces(List<RunningTask> runningTasks) {
+        long[] ids = new long[runningTasks.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = runningTasks.get(i).worker.getThread().getId();
+        }
+        ThreadInfo[] threadInfos = THREAD_MX_BEAN.getThreadInfo(ids, maxStackDepth);
+        StackTraceElement[][] stackTraces = new StackTraceElement[ids.length][];
+        for (int i = 0; i < ids.length; i++) {
+            if (null != threadInfos[i]) {
+                stackTraces[i] = threadInfos[i].getStackTrace();
+                continue;
+            }
+            Thread thread = runningTasks.get(i).worker.getThread();
+            if (!thread.isAlive()) continue;
+            StackTraceElement[] stackTrace = thread.getStackTrace();
+            stackTraces[i] = stackTrace.length > maxStackDepth ? Arrays.copyOf(stackTrace, maxStackDepth) : stackTrace;
+        }
+        return stackTraces;
+    }
+
+    private static String format(StackTraceElement[] stackTrace) {
+        if (null == stackTrace) return " 线程已退出";
+        StringBuilder builder = new StringBuilder();
+        for (StackTraceElement frame : stackTrace) {
+            builder.append("\n\tat ").append(frame);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 一个正在执行的任务，读取时刻的快照
+     */
+    private static final class RunningTask {
+
+        private final DynamicThreadPoolExecutor.Worker worker;
+
+        private final Runnable task;
+
+        private final long startNanos;
+
+        private final long runningNanos;
+
+        private RunningTask(DynamicThreadPoolExecutor.Worker worker, Runnable task, long startNanos, long runningNanos) {
+            this.worker = worker;
+            this.task = task;
+            this.startNanos = startNanos;
+            this.runningNanos = runningNanos;
+        }
+
+    }
+
+}
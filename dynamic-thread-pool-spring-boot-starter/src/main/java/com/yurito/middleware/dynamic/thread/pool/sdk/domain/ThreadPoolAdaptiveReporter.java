@@ -0,0 +1,115 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.config.DynamicThreadPoolAutoProperties;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @author Yurito
+ * @description 线程池数据自适应上报策略
+ * <p>
+ * 按采样间隔在本地采样，以下情况立即上报：配置参数变化、拒绝任务数或卡顿任务数增加、进入或离开饱和状态、
+ * 活跃线程数/池中线程数/队列任务数相对上次上报的变化超过阈值。其余时间按周期上报：
+ * 有任务在执行或排队时使用常规间隔，全部线程池空闲时退避为心跳间隔。任意两次上报之间至少间隔最小间隔，突发变化不会放大上报频率。
+ * @create 2025/9/8 16:10
+ */
+public class ThreadPoolAdaptiveReporter {
+
+    private final DynamicThreadPoolAutoProperties.Report properties;
+
+    /** 上次上报的线程池数据，仅由调度线程访问 */
+    private final Map<String, ThreadPoolConfigEntity> lastReported = new HashMap<>();
+
+    private long lastReportTime = Long.MIN_VALUE;
+
+    public ThreadPoolAdaptiveReporter(DynamicThreadPoolAutoProperties.Report properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 判断本次采样是否需要上报
+     *
+     * @param threadPoolConfigEntities 本次采样的线程池数据
+     * @param now                      当前时间（单位：毫秒）
+     * @return 上报原因，不需要上报时返回 null
+     */
+    public synchronized String decide(List<ThreadPoolConfigEntity> threadPoolConfigEntities, long now) {
+        if (lastReportTime == Long.MIN_VALUE) return "首次上报";
+        long elapsed = now - lastReportTime;
+        if (elapsed < properties.getMinInterval()) return null;
+
+        boolean idle = true;
+        for (ThreadPoolConfigEntity current : threadPoolConfigEntities) {
+            if (current.getActiveCount() > 0 || current.getQueueSize() > 0) idle = false;
+            ThreadPoolConfigEntity last = lastReported.get(current.getThreadPoolName());
+            if (null == last) return "新增线程池 " + current.getThreadPoolName();
+            String reason = changeReason(last, current);
+            if (null != reason) return current.getThreadPoolName() + " " + reason;
+        }
+
+        if (elapsed >= (idle ? properties.getIdleInterval() : properties.getInterval())) {
+            return idle ? "空闲心跳" : "周期上报";
+        }
+        return null;
+    }
+
+    /**
+     * 记录已上报的数据，作为下次比较的基准
+     */
+    public synchronized void reported(List<ThreadPoolConfigEntity> threadPoolConfigEntities, long now) {
+        lastReported.clear();
+        for (ThreadPoolConfigEntity threadPoolConfigEntity : threadPoolConfigEntities) {
+            lastReported.put(threadPoolConfigEntity.getThreadPoolName(), threadPoolConfigEntity);
+        }
+        lastReportTime = now;
+    }
+
+    private String changeReason(ThreadPoolConfigEntity last, ThreadPoolConfigEntity current) {
+        if (last.getCorePoolSize() != current.getCorePoolSize()
+                || last.getMaximumPoolSize() != current.getMaximumPoolSize()
+                || last.getQueueCapacity() != current.getQueueCapacity()
+                || last.getBatchSize() != current.getBatchSize()
+                || last.getBatchLingerTime() != current.getBatchLingerTime()
+                || !Objects.equals(last.getRejectPolicy(), current.getRejectPolicy())) {
+            return "配置变化";
+        }
+        if (current.getRejectedTaskCount() > last.getRejectedTaskCount()) return "拒绝任务增加";
+        if (current.getShedTaskCount() > last.getShedTaskCount()
+                || current.getExpiredTaskCount() > last.getExpiredTaskCount()) return "丢弃任务增加";
+        if (current.getStuckTaskCount() > last.getStuckTaskCount()) return "卡顿任务增加";
+        if ((last.getSpillTaskCount() > 0) != (current.getSpillTaskCount() > 0)) return current.getSpillTaskCount() > 0 ? "开始落盘" : "落盘重放完成";
+        if (saturated(last) != saturated(current)) return saturated(current) ? "进入饱和" : "离开饱和";
+        if (changed(last.getActiveCount(), current.getActiveCount())
+                || changed(last.getPoolSize(), current.getPoolSize())
+                || changed(last.getQueueSize(), current.getQueueSize())
+                // CPU 占用按 0.1 核为单位比较，忽略空闲线程池的微小波动
+                || changed(last.getCpuMilliCores() / 100, current.getCpuMilliCores() / 100)) {
+            return "指标变化";
+        }
+        return null;
+    }
+
+    /**
+     * 活跃线程占比或队列使用率达到饱和阈值
+     */
+    private boolean saturated(ThreadPoolConfigEntity threadPoolConfigEntity) {
+        int maximumPoolSize = threadPoolConfigEntity.getMaximumPoolSize();
+        long queueCapacity = (long) threadPoolConfigEntity.getQueueSize() + threadPoolConfigEntity.getRemainingCapacity();
+        double activeRatio = maximumPoolSize > 0 ? (double) threadPoolConfigEntity.getActiveCount() / maximumPoolSize : 0;
+        double queueRatio = queueCapacity > 0 ? (double) threadPoolConfigEntity.getQueueSize() / queueCapacity : 0;
+        return activeRatio >= properties.getSaturationThreshold() || queueRatio >= properties.getSaturationThreshold();
+    }
+
+    /**
+     * 变化量同时超过绝对阈值与相对阈值
+     */
+    private boolean changed(long last, long current) {
+        long delta = Math.abs(current - last);
+        return delta >= properties.getChangeMinDelta() && delta >= properties.getChangeThreshold() * Math.max(last, 1);
+    }
+
+}
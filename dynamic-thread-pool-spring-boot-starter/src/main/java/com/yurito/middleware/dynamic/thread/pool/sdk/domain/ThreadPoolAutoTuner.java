@@ -0,0 +1,181 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.config.DynamicThreadPoolAutoProperties;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.AutoTuneDecisionEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.valobj.PoolTypeEnumVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 线程池自动调参
+ * <p>
+ * 周期性采样队列使用率、活跃线程占比、拒绝任务增量与排队耗时，在配置的上下限内调整核心线程数、最大线程数与队列容量。
+ * 扩容/缩容需连续多次采样满足条件（迟滞），且两次调整之间需间隔冷却时间，避免来回震荡。
+ * 调整统一走 {@link IDynamicThreadPoolService#updateThreadPoolConfig(ThreadPoolConfigEntity)}，与管理端手动调整一致；
+ * 每次调整生成一条 {@link AutoTuneDecisionEntity}，由调度任务上报注册中心供管理端查看。
+ * @create 2025/9/4 10:15
+ */
+public class ThreadPoolAutoTuner {
+
+    private final Logger logger = LoggerFactory.getLogger(ThreadPoolAutoTuner.class);
+
+    private final IDynamicThreadPoolService dynamicThreadPoolService;
+
+    private final DynamicThreadPoolAutoProperties.AutoTune properties;
+
+    /** 各线程池的采样状态，仅由调度线程访问 */
+    private final Map<String, TuneState> tuneStates = new HashMap<>();
+
+    public ThreadPoolAutoTuner(IDynamicThreadPoolService dynamicThreadPoolService, DynamicThreadPoolAutoProperties.AutoTune properties) {
+        this.dynamicThreadPoolService = dynamicThreadPoolService;
+        this.properties = properties;
+    }
+
+    /**
+     * 执行一轮采样与调整
+     *
+     * @return 本轮的调整决策
+     */
+    public List<AutoTuneDecisionEntity> tune() {
+        return tune(System.currentTimeMillis());
+    }
+
+    /**
+     * 以给定时间执行一轮采样与调整，冷却时间按该时间计算
+     *
+     * @param now 当前时间（单位：毫秒）
+     * @return 本轮的调整决策
+     */
+    public synchronized List<AutoTuneDecisionEntity> tune(long now) {
+        List<AutoTuneDecisionEntity> decisions = new ArrayList<>();
+        for (ThreadPoolConfigEntity current : dynamicThreadPoolService.queryThreadPoolList()) {
+            // 调参规则基于有界队列与核心/最大线程数，ForkJoinPool、定时任务线程池不参与
+            if (PoolTypeEnumVO.FORK_JOIN_POOL.getCode().equals(current.getPoolType())
+                    || PoolTypeEnumVO.SCHEDULED_THREAD_POOL_EXECUTOR.getCode().equals(current.getPoolType())) continue;
+            TuneState state = tuneStates.computeIfAbsent(current.getThreadPoolName(), name -> new TuneState(current.getRejectedTaskCount()));
+            AutoTuneDecisionEntity decision = decide(current, state, now);
+            if (null == decision) continue;
+
+            ThreadPoolConfigEntity target = new ThreadPoolConfigEntity(current.getAppName(), current.getThreadPoolName());
+            target.setCorePoolSize(decision.getNewCorePoolSize());
+            target.setMaximumPoolSize(decision.getNewMaximumPoolSize());
+            if (decision.getNewQueueCapacity() != decision.getOldQueueCapacity()) {
+                target.setQueueCapacity(decision.getNewQueueCapacity());
+            }
+            dynamicThreadPoolService.updateThreadPoolConfig(target);
+            state.lastAdjustTime = now;
+            state.pressureSamples = 0;
+            state.idleSamples = 0;
+            decisions.add(decision);
+        }
+        return decisions;
+    }
+
+    private AutoTuneDecisionEntity decide(ThreadPoolConfigEntity current, TuneState state, long now) {
+        int queueSize = current.getQueueSize();
+        // 无界队列的剩余容量为 Integer.MAX_VALUE，相加会溢出为负数
+        long queueCapacity = (long) queueSize + current.getRemainingCapacity();
+        double queueRatio = queueCapacity > 0 ? (double) queueSize / queueCapacity : 0;
+        double activeRatio = current.getMaximumPoolSize() > 0 ? (double) current.getActiveCount() / current.getMaximumPoolSize() : 0;
+        long rejectedDelta = Math.max(0, current.getRejectedTaskCount() - state.lastRejectedTaskCount);
+        state.lastRejectedTaskCount = current.getRejectedTaskCount();
+        long queueWaitMillis = TimeUnit.MICROSECONDS.toMillis(current.getQueueWaitTimeP90());
+        long targetQueueWait = properties.getTargetQueueWait();
+
+        boolean pressure = rejectedDelta > 0
+                || queueRatio >= properties.getScaleUpQueueRatio()
+                || (targetQueueWait > 0 && queueWaitMillis > targetQueueWait);
+        boolean idle = rejectedDelta == 0
+                && queueRatio <= properties.getScaleDownQueueRatio()
+                && activeRatio <= properties.getScaleDownActiveRatio()
+                && (targetQueueWait <= 0 || queueWaitMillis <= targetQueueWait / 2);
+
+        state.pressureSamples = pressure ? state.pressureSamples + 1 : 0;
+        state.idleSamples = idle ? state.idleSamples + 1 : 0;
+
+        if (now - state.lastAdjustTime < properties.getCooldown()) return null;
+
+        int corePoolSize = current.getCorePoolSize();
+        int maximumPoolSize = current.getMaximumPoolSize();
+        int resizableQueueCapacity = current.getQueueCapacity();
+        int newCorePoolSize = corePoolSize;
+        int newMaximumPoolSize = maximumPoolSize;
+        int newQueueCapacity = resizableQueueCapacity;
+        String reason;
+
+        if (state.pressureSamples >= properties.getScaleUpSamples()) {
+            double step = 1 + properties.getScaleUpStep();
+            // 扩容只增不减，超出上限的手动配置保持不变
+            newMaximumPoolSize = Math.max(maximumPoolSize, clamp(grow(maximumPoolSize, step), properties.getMinMaximumPoolSize(), properties.getMaxMaximumPoolSize()));
+            newCorePoolSize = Math.max(corePoolSize, Math.min(newMaximumPoolSize, clamp(grow(corePoolSize, step), properties.getMinCorePoolSize(), properties.getMaxCorePoolSize())));
+            // 线程数已到上限且仍有拒绝或队列积压，再扩大队列（仅支持动态容量的队列）
+            if (newMaximumPoolSize == maximumPoolSize && resizableQueueCapacity > 0 && (rejectedDelta > 0 || queueRatio >= properties.getScaleUpQueueRatio())) {
+                newQueueCapacity = Math.max(resizableQueueCapacity, Math.min(grow(resizableQueueCapacity, step), properties.getMaxQueueCapacity()));
+            }
+            reason = String.format("扩容 队列使用率:%.2f 拒绝增量:%d 排队耗时P90:%dms", queueRatio, rejectedDelta, queueWaitMillis);
+        } else if (state.idleSamples >= properties.getScaleDownSamples()) {
+            double step = 1 - properties.getScaleDownStep();
+            // 缩容只减不增，低于下限的手动配置保持不变
+            newCorePoolSize = Math.min(corePoolSize, Math.max((int) (corePoolSize * step), properties.getMinCorePoolSize()));
+            newMaximumPoolSize = Math.min(maximumPoolSize, Math.max(newCorePoolSize, Math.max((int) (maximumPoolSize * step), properties.getMinMaximumPoolSize())));
+            if (resizableQueueCapacity > 0 && properties.getMinQueueCapacity() > 0) {
+                newQueueCapacity = Math.min(resizableQueueCapacity, Math.max((int) (resizableQueueCapacity * step), properties.getMinQueueCapacity()));
+            }
+            reason = String.format("缩容 队列使用率:%.2f 活跃线程占比:%.2f", queueRatio, activeRatio);
+        } else {
+            return null;
+        }
+
+        if (newCorePoolSize == corePoolSize && newMaximumPoolSize == maximumPoolSize && newQueueCapacity == resizableQueueCapacity) return null;
+
+        logger.info("动态线程池，自动调参。线程池名称:{} {} 核心线程数:{}->{} 最大线程数:{}->{} 队列容量:{}->{}",
+                current.getThreadPoolName(), reason, corePoolSize, newCorePoolSize, maximumPoolSize, newMaximumPoolSize, resizableQueueCapacity, newQueueCapacity);
+
+        AutoTuneDecisionEntity decision = new AutoTuneDecisionEntity();
+        decision.setAppName(current.getAppName());
+        decision.setInstanceId(current.getInstanceId());
+        decision.setThreadPoolName(current.getThreadPoolName());
+        decision.setOldCorePoolSize(corePoolSize);
+        decision.setNewCorePoolSize(newCorePoolSize);
+        decision.setOldMaximumPoolSize(maximumPoolSize);
+        decision.setNewMaximumPoolSize(newMaximumPoolSize);
+        decision.setOldQueueCapacity(resizableQueueCapacity);
+        decision.setNewQueueCapacity(newQueueCapacity);
+        decision.setReason(reason);
+        decision.setDecideTime(now);
+        return decision;
+    }
+
+    private static int grow(int value, double step) {
+        return Math.max(value + 1, (int) Math.ceil(value * step));
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static class TuneState {
+
+        private long lastRejectedTaskCount;
+
+        private int pressureSamples;
+
+        private int idleSamples;
+
+        private long lastAdjustTime;
+
+        private TuneState(long lastRejectedTaskCount) {
+            this.lastRejectedTaskCount = lastRejectedTaskCount;
+        }
+
+    }
+
+}
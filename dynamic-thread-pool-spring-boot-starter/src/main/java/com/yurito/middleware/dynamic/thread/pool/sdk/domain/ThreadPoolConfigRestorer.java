@@ -0,0 +1,138 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.IRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 线程池配置启动恢复
+ * <p>
+ * 启动时先同步应用本地快照中的配置（只读本地文件），再在后台线程中通过注册中心一次批量读取全部线程池的配置参数并与当前配置对齐，
+ * 应用启动耗时不再受 Redis 延迟与可用性影响。后台任务失败时按 1 秒起、最长 60 秒的退避间隔重试，直到成功或应用关闭。
+ * @create 2025/9/9 10:40
+ */
+public class ThreadPoolConfigRestorer {
+
+    private final Logger logger = LoggerFactory.getLogger(ThreadPoolConfigRestorer.class);
+
+    private static final long MIN_RETRY_DELAY_MILLIS = 1000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 60000;
+
+    private final DynamicThreadPoolService dynamicThreadPoolService;
+
+    private final IRegistry registry;
+
+    private final ThreadPoolConfigSnapshotStore configSnapshotStore;
+
+    private final Collection<String> threadPoolNames;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dynamic-thread-pool-restorer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ThreadPoolConfigRestorer(DynamicThreadPoolService dynamicThreadPoolService, IRegistry registry,
+                                    ThreadPoolConfigSnapshotStore configSnapshotStore, Collection<String> threadPoolNames) {
+        this.dynamicThreadPoolService = dynamicThreadPoolService;
+        this.registry = registry;
+        this.configSnapshotStore = configSnapshotStore;
+        this.threadPoolNames = threadPoolNames;
+    }
+
+    /**
+     * 同步应用本地快照
+     *
+     * @return 恢复的线程池数量
+     */
+    public int restoreLocal() {
+        int restored = 0;
+        for (ThreadPoolConfigEntity threadPoolConfigEntity : configSnapshotStore.load().values()) {
+            if (!threadPoolNames.contains(threadPoolConfigEntity.getThreadPoolName())) continue;
+            threadPoolConfigEntity.setAppName(dynamicThreadPoolService.getApplicationName());
+            if (!sameConfig(threadPoolConfigEntity)) {
+                dynamicThreadPoolService.updateThreadPoolConfig(threadPoolConfigEntity);
+            }
+            restored++;
+        }
+        logger.info("动态线程池，按本地快照恢复线程池配置 {} 个 {}", restored, configSnapshotStore.getFile());
+        return restored;
+    }
+
+    /**
+     * 后台从注册中心批量读取配置参数并对齐，完成后写入本地快照
+     */
+    public void reconcileAsync() {
+        runInBackground("注册中心配置对齐", () -> {
+            Map<String, ThreadPoolConfigEntity> remote = registry.queryThreadPoolConfigParameters(dynamicThreadPoolService.getApplicationName(), threadPoolNames);
+            int adjusted = 0;
+            for (ThreadPoolConfigEntity threadPoolConfigEntity : remote.values()) {
+                if (null == threadPoolConfigEntity || sameConfig(threadPoolConfigEntity)) continue;
+                dynamicThreadPoolService.updateThreadPoolConfig(threadPoolConfigEntity);
+                adjusted++;
+            }
+            dynamicThreadPoolService.saveConfigSnapshot();
+            logger.info("动态线程池，注册中心配置对齐完成，读取 {} 个，调整 {} 个", remote.size(), adjusted);
+        });
+    }
+
+    /**
+     * 在后台线程执行依赖注册中心的启动任务，失败时退避重试
+     *
+     * @param name 任务名称，用于日志
+     * @param task 任务
+     */
+    public void runInBackground(String name, Runnable task) {
+        executor.execute(new RetryingTask(name, task));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 核心线程数、最大线程数、队列容量、攒批参数均与当前一致（队列容量、攒批参数未指定时不比较）
+     */
+    private boolean sameConfig(ThreadPoolConfigEntity target) {
+        ThreadPoolConfigEntity current = dynamicThreadPoolService.queryThreadPoolConfigByName(target.getThreadPoolName());
+        return current.getCorePoolSize() == target.getCorePoolSize()
+                && current.getMaximumPoolSize() == target.getMaximumPoolSize()
+                && (target.getQueueCapacity() <= 0 || current.getQueueCapacity() == target.getQueueCapacity())
+                && (target.getBatchSize() <= 0 || current.getBatchSize() == target.getBatchSize())
+                && (target.getBatchLingerTime() <= 0 || current.getBatchLingerTime() == target.getBatchLingerTime());
+    }
+
+    private class RetryingTask implements Runnable {
+
+        private final String name;
+        private final Runnable task;
+        private long delayMillis = MIN_RETRY_DELAY_MILLIS;
+
+        private RetryingTask(String name, Runnable task) {
+            this.name = name;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } catch (Exception e) {
+                if (executor.isShutdown()) return;
+                logger.warn("动态线程池，{}失败，{} 毫秒后重试：{}", name, delayMillis, e.getMessage());
+                executor.schedule(this, delayMillis, TimeUnit.MILLISECONDS);
+                delayMillis = Math.min(delayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+
+    }
+
+}
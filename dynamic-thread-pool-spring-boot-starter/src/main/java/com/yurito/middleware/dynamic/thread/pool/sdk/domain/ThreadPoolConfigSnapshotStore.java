@@ -0,0 +1,111 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain;
+
+import com.alibaba.fastjson.JSON;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.TenantQueueEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Yurito
+ * @description 线程池配置本地快照
+ * <p>
+ * 每次参数调整生效后，把全部线程池当前的核心线程数、最大线程数、队列容量、租户权重与容量及攒批参数写入本地文件；
+ * 应用启动时先按本地文件恢复配置，不依赖 Redis 是否可用。写入先落临时文件再原子替换，进程中途退出也不会留下半个文件。
+ * @create 2025/9/9 10:10
+ */
+public class ThreadPoolConfigSnapshotStore {
+
+    private final Logger logger = LoggerFactory.getLogger(ThreadPoolConfigSnapshotStore.class);
+
+    private final Path file;
+
+    public ThreadPoolConfigSnapshotStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * 读取本地快照
+     *
+     * @return 线程池名称 -> 配置，文件不存在或损坏时返回空
+     */
+    public synchronized Map<String, ThreadPoolConfigEntity> load() {
+        if (!Files.isRegularFile(file)) return Collections.emptyMap();
+        try {
+            String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            List<ThreadPoolConfigEntity> threadPoolConfigEntities = JSON.parseArray(json, ThreadPoolConfigEntity.class);
+            Map<String, ThreadPoolConfigEntity> result = new LinkedHashMap<>();
+            if (null == threadPoolConfigEntities) return result;
+            for (ThreadPoolConfigEntity threadPoolConfigEntity : threadPoolConfigEntities) {
+                result.put(threadPoolConfigEntity.getThreadPoolName(), threadPoolConfigEntity);
+            }
+            return result;
+        } catch (Exception e) {
+            logger.warn("动态线程池，读取本地配置快照失败，忽略 {}", file, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * 写入本地快照，只保留配置参数
+     */
+    public synchronized void save(Collection<ThreadPoolConfigEntity> threadPoolConfigEntities) {
+        List<ThreadPoolConfigEntity> configs = new ArrayList<>(threadPoolConfigEntities.size());
+        for (ThreadPoolConfigEntity threadPoolConfigEntity : threadPoolConfigEntities) {
+            ThreadPoolConfigEntity config = new ThreadPoolConfigEntity(threadPoolConfigEntity.getAppName(), threadPoolConfigEntity.getThreadPoolName());
+            config.setCorePoolSize(threadPoolConfigEntity.getCorePoolSize());
+            config.setMaximumPoolSize(threadPoolConfigEntity.getMaximumPoolSize());
+            config.setQueueCapacity(threadPoolConfigEntity.getQueueCapacity());
+            config.setTenantQueues(tenantConfigs(threadPoolConfigEntity.getTenantQueues()));
+            config.setBatchSize(threadPoolConfigEntity.getBatchSize());
+            config.setBatchLingerTime(threadPoolConfigEntity.getBatchLingerTime());
+            configs.add(config);
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (null != parent) Files.createDirectories(parent);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, JSON.toJSONString(configs).getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("动态线程池，写入本地配置快照失败 {}", file, e);
+        }
+    }
+
+    /**
+     * 租户子队列只保留单独配置过的租户及其权重与容量
+     */
+    private static List<TenantQueueEntity> tenantConfigs(List<TenantQueueEntity> tenantQueues) {
+        if (null == tenantQueues) return null;
+        List<TenantQueueEntity> tenantConfigs = new ArrayList<>();
+        for (TenantQueueEntity tenantQueue : tenantQueues) {
+            if (!tenantQueue.isConfigured()) continue;
+            TenantQueueEntity tenantConfig = new TenantQueueEntity(tenantQueue.getTenant(), tenantQueue.getWeight(), tenantQueue.getCapacity());
+            tenantConfig.setConfigured(true);
+            tenantConfigs.add(tenantConfig);
+        }
+        return tenantConfigs.isEmpty() ? null : tenantConfigs;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.List;
+
+/**
+ * @author Yurito
+ * @description 批处理函数，{@link BatchingExecutor} 每次刷出一批数据时在线程池中调用一次
+ * @create 2025/9/13 10:10
+ */
+@FunctionalInterface
+public interface BatchHandler<K, T> {
+
+    /**
+     * 处理一批数据
+     *
+     * @param key   批次键
+     * @param items 按提交顺序排列的数据，不为空
+     */
+    void handle(K key, List<T> items) throws Exception;
+
+}
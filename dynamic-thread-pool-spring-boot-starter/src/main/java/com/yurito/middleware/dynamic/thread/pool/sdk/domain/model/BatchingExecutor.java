@@ -0,0 +1,274 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author Yurito
+ * @description 攒批执行器：提交的数据按批次键合并，攒满批大小或超过攒批时长后，作为一个任务提交到受管线程池，调用一次 {@link BatchHandler}
+ * <p>
+ * 1. 达到批大小时由提交线程直接刷出，攒批时长由后台线程 dynamic-thread-pool-batch-linger 检查；
+ * 2. 批大小与攒批时长可以在管理端随核心/最大线程数一起调整，新值对尚未刷出的批次立即生效；
+ * 3. 每个线程池只能绑定一个攒批执行器，数据上报时通过 {@link #of(ThreadPoolExecutor)} 查找，上报批大小、攒批时长、平均填充率与刷出延迟；
+ * 4. 线程池拒绝刷出任务时整批丢弃，提交线程刷出时向调用方抛出 RejectedExecutionException；批处理函数抛出的异常只记录日志。
+ * @create 2025/9/13 10:20
+ */
+public class BatchingExecutor<K, T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingExecutor.class);
+
+    /** 批大小上限 */
+    public static final int MAXIMUM_BATCH_SIZE = 100_000;
+
+    /** 线程池 -> 攒批执行器 */
+    private static final Map<ThreadPoolExecutor, BatchingExecutor<?, ?>> BATCHING_EXECUTOR_MAP = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor threadPoolExecutor;
+
+    private final BatchHandler<K, T> handler;
+
+    private final ConcurrentHashMap<K, Batch<T>> batches = new ConcurrentHashMap<>();
+
+    private volatile int batchSize;
+
+    private volatile long lingerNanos;
+
+    private volatile boolean shutdown;
+
+    private final Thread lingerThread;
+
+    private final LongAdder flushCounter = new LongAdder();
+
+    private final LongAdder itemCounter = new LongAdder();
+
+    /** 每次刷出的填充率（百分比）之和 */
+    private final LongAdder fillPercentSum = new LongAdder();
+
+    /** 刷出延迟：批次中第一条数据提交到批处理函数开始执行 */
+    private final LatencyRecorder flushLatencyRecorder = new LatencyRecorder();
+
+    /**
+     * @param threadPoolExecutor 执行批处理的线程池
+     * @param batchSize          批大小
+     * @param lingerTime         攒批时长，批次中第一条数据提交后最多等待的时间
+     * @param unit               时间单位
+     * @param handler            批处理函数
+     */
+    public BatchingExecutor(ThreadPoolExecutor threadPoolExecutor, int batchSize, long lingerTime, TimeUnit unit, BatchHandler<K, T> handler) {
+        if (null == threadPoolExecutor || null == handler) throw new NullPointerException();
+        checkBatchSize(batchSize);
+        checkLingerTime(lingerTime);
+        this.threadPoolExecutor = threadPoolExecutor;
+        this.handler = handler;
+        this.batchSize = batchSize;
+        this.lingerNanos = unit.toNanos(lingerTime);
+        this.lingerThread = new Thread(this::lingerLoop, "dynamic-thread-pool-batch-linger");
+        this.lingerThread.setDaemon(true);
+        if (null != BATCHING_EXECUTOR_MAP.putIfAbsent(threadPoolExecutor, this)) {
+            throw new IllegalStateException("thread pool already has a batching executor");
+        }
+        this.lingerThread.start();
+    }
+
+    /**
+     * 取出线程池绑定的攒批执行器
+     *
+     * @return 未绑定时返回 null
+     */
+    public static BatchingExecutor<?, ?> of(ThreadPoolExecutor threadPoolExecutor) {
+        return BATCHING_EXECUTOR_MAP.get(threadPoolExecutor);
+    }
+
+    /**
+     * 提交一条数据，攒满批大小时由当前线程刷出
+     *
+     * @param key  批次键，相同键的数据合并为一批
+     * @param item 数据
+     * @throws RejectedExecutionException 执行器已关闭，或线程池拒绝了当前线程刷出的批次
+     */
+    public void submit(K key, T item) {
+        if (null == key || null == item) throw new NullPointerException();
+        for (;;) {
+            if (shutdown) throw new RejectedExecutionException("batching executor has been shut down");
+            Batch<T> batch = batches.computeIfAbsent(key, k -> new Batch<>(System.nanoTime()));
+            boolean full;
+            synchronized (batch) {
+                // 批次已被其他线程刷出，重新取一个
+                if (batch.closed) continue;
+                batch.items.add(item);
+                full = batch.items.size() >= batchSize;
+            }
+            // 关闭与提交并发时，关闭线程可能已经检查过该批次，由提交线程自行刷出
+            if (full || shutdown) flush(key, batch);
+            return;
+        }
+    }
+
+    /**
+     * 立即刷出全部尚未刷出的批次，线程池拒绝的批次整批丢弃
+     */
+    public void flush() {
+        for (Map.Entry<K, Batch<T>> entry : batches.entrySet()) {
+            flushQuietly(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 关闭执行器并刷出剩余批次，不关闭线程池
+     */
+    public void shutdown() {
+        shutdown = true;
+        BATCHING_EXECUTOR_MAP.remove(threadPoolExecutor, this);
+        LockSupport.unpark(lingerThread);
+        flush();
+    }
+
+    private void flush(K key, Batch<T> batch) {
+        synchronized (batch) {
+            if (batch.closed) return;
+            batch.closed = true;
+        }
+        batches.remove(key, batch);
+        try {
+            threadPoolExecutor.execute(() -> handle(key, batch));
+        } catch (RejectedExecutionException e) {
+            logger.error("动态线程池攒批任务被拒绝，批次键: {} 丢弃数据条数: {}", key, batch.items.size());
+            throw e;
+        }
+    }
+
+    private void flushQuietly(K key, Batch<T> batch) {
+        try {
+            flush(key, batch);
+        } catch (RejectedExecutionException ignore) {
+            // 已在 flush 中记录
+        }
+    }
+
+    private void handle(K key, Batch<T> batch) {
+        long now = System.nanoTime();
+        int size = batch.items.size();
+        flushLatencyRecorder.record(now, now - batch.createNanos);
+        flushCounter.increment();
+        itemCounter.add(size);
+        // 缩小批大小后已攒的批次可能超出，填充率按 100% 计
+        fillPercentSum.add(Math.min(100, size * 100L / batchSize));
+        try {
+            handler.handle(key, batch.items);
+        } catch (Exception e) {
+            logger.error("动态线程池批处理失败，批次键: {} 数据条数: {}", key, size, e);
+        }
+    }
+
+    /**
+     * 检查攒批时长，按最早到期的批次决定等待时间；调小攒批时长时会被唤醒重新计算
+     */
+    private void lingerLoop() {
+        while (!shutdown) {
+            if (threadPoolExecutor.isShutdown()) {
+                logger.info("动态线程池已关闭，攒批执行器随之关闭");
+                shutdown();
+                return;
+            }
+            long now = System.nanoTime();
+            long linger = lingerNanos;
+            long waitNanos = linger;
+            for (Map.Entry<K, Batch<T>> entry : batches.entrySet()) {
+                long remaining = entry.getValue().createNanos + linger - now;
+                if (remaining <= 0) {
+                    flushQuietly(entry.getKey(), entry.getValue());
+                } else if (remaining < waitNanos) {
+                    waitNanos = remaining;
+                }
+            }
+            LockSupport.parkNanos(this, waitNanos);
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        checkBatchSize(batchSize);
+        this.batchSize = batchSize;
+    }
+
+    public long getLingerMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lingerNanos);
+    }
+
+    public void setLingerTime(long lingerTime, TimeUnit unit) {
+        checkLingerTime(lingerTime);
+        this.lingerNanos = unit.toNanos(lingerTime);
+        LockSupport.unpark(lingerThread);
+    }
+
+    /**
+     * @return 累计刷出批次数
+     */
+    public long getFlushCount() {
+        return flushCounter.sum();
+    }
+
+    /**
+     * @return 累计刷出数据条数
+     */
+    public long getItemCount() {
+        return itemCounter.sum();
+    }
+
+    /**
+     * @return 平均填充率（百分比），没有刷出过时为 0
+     */
+    public int getFillRatio() {
+        long flushCount = flushCounter.sum();
+        return flushCount == 0 ? 0 : (int) (fillPercentSum.sum() / flushCount);
+    }
+
+    public LatencyRecorder getFlushLatencyRecorder() {
+        return flushLatencyRecorder;
+    }
+
+    public ThreadPoolExecutor getThreadPoolExecutor() {
+        return threadPoolExecutor;
+    }
+
+    private static void checkBatchSize(int batchSize) {
+        if (batchSize <= 0 || batchSize > MAXIMUM_BATCH_SIZE) {
+            throw new IllegalArgumentException("batchSize: " + batchSize);
+        }
+    }
+
+    private static void checkLingerTime(long lingerTime) {
+        if (lingerTime <= 0) throw new IllegalArgumentException("lingerTime: " + lingerTime);
+    }
+
+    /**
+     * 一个批次，数据列表由批次自身加锁保护，刷出后不再修改
+     */
+    private static final class Batch<T> {
+
+        private final long createNanos;
+
+        private final List<T> items = new ArrayList<>();
+
+        private boolean closed;
+
+        private Batch(long createNanos) {
+            this.createNanos = createNanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Yurito
+ * @description 参照 CoDel（Controlled Delay）的排队时延控制，判断出队的任务是否应当丢弃
+ * <p>
+ * 按固定间隔统计出队任务的最小排队耗时：
+ * 1. 某个间隔内最小排队耗时仍超过目标值，说明积压不是瞬时突发而是持续过载，下一个间隔进入过载状态；
+ * 2. 过载状态下，排队耗时超过 2 倍目标值的任务在开始执行前丢弃，让线程优先处理仍有意义的新任务；
+ * 3. 间隔内没有任务出队或最小排队耗时回落到目标值以内时，退出过载状态。
+ * <p>
+ * 只在工作线程取出任务时调用，统计使用 CAS 更新，不加锁；间隔切换与最小值更新之间的竞争只会让统计偏差一个任务。
+ * @create 2025/9/11 15:10
+ */
+public class CoDelController {
+
+    private final long targetNanos;
+
+    private final long intervalNanos;
+
+    /** 过载时丢弃任务的排队耗时阈值，为目标值的 2 倍 */
+    private final long sloughNanos;
+
+    private final AtomicLong intervalEndNanos;
+
+    private final AtomicLong minSojournNanos = new AtomicLong(Long.MAX_VALUE);
+
+    private volatile boolean overloaded;
+
+    /**
+     * @param target   目标排队耗时
+     * @param interval 统计间隔，一般取目标值的 20 倍左右
+     * @param unit     时间单位
+     */
+    public CoDelController(long target, long interval, TimeUnit unit) {
+        if (target <= 0 || interval <= 0) throw new IllegalArgumentException("target and interval must be positive");
+        this.targetNanos = unit.toNanos(target);
+        this.intervalNanos = unit.toNanos(interval);
+        this.sloughNanos = targetNanos * 2;
+        this.intervalEndNanos = new AtomicLong(System.nanoTime() + intervalNanos);
+    }
+
+    /**
+     * 记录一个出队任务的排队耗时，并判断是否应当丢弃
+     *
+     * @param nowNanos     出队时间 System.nanoTime()
+     * @param sojournNanos 排队耗时
+     * @return true 表示应当丢弃
+     */
+    public boolean shouldShed(long nowNanos, long sojournNanos) {
+        long intervalEnd = intervalEndNanos.get();
+        if (nowNanos - intervalEnd >= 0 && intervalEndNanos.compareAndSet(intervalEnd, nowNanos + intervalNanos)) {
+            long minSojourn = minSojournNanos.getAndSet(Long.MAX_VALUE);
+            // 间隔内没有任务出队时 minSojourn 为 Long.MAX_VALUE，视为未过载
+            overloaded = minSojourn != Long.MAX_VALUE && minSojourn > targetNanos;
+        }
+        long minSojourn;
+        while (sojournNanos < (minSojourn = minSojournNanos.get())) {
+            if (minSojournNanos.compareAndSet(minSojourn, sojournNanos)) break;
+        }
+        return overloaded && sojournNanos > sloughNanos;
+    }
+
+    /**
+     * @return 是否处于过载状态
+     */
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    public long getTargetNanos() {
+        return targetNanos;
+    }
+
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+}
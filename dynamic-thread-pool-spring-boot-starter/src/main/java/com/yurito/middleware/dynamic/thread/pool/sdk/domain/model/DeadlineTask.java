@@ -0,0 +1,18 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+/**
+ * @author Yurito
+ * @description 带截止时间的任务，配合 {@link ResizablePriorityBlockingQueue#deadlineOrdered(int)} 使用
+ * <p>
+ * 截止时间越早越先执行，截止时间相同的任务按提交顺序执行；未实现该接口的任务排在所有带截止时间的任务之后。
+ * 通过 submit 提交的 Callable 同样可以实现该接口。
+ * @create 2025/9/9 14:05
+ */
+public interface DeadlineTask {
+
+    /**
+     * @return 截止时间（System.currentTimeMillis() 时间戳，单位：毫秒）
+     */
+    long getDeadline();
+
+}
@@ -0,0 +1,168 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Yurito
+ * @description 可观测的定时任务线程池，记录任务的延迟触发时间、执行耗时与周期任务超时次数
+ * <p>
+ * 通过 decorateTask 把每个定时任务包装为 {@link InstrumentedScheduledTask}：
+ * 1. 延迟触发时间：任务实际开始执行时距计划触发时间已过去的时长，反映工作线程不足或前序任务占用导致的触发滞后；
+ * 2. 执行耗时：单次执行的耗时，周期任务每次执行都会记录；
+ * 3. 超时次数：固定频率（scheduleAtFixedRate）任务执行结束时下一次触发时间已经过去，即本次执行超过了周期。
+ * <p>
+ * 统计只在任务执行路径上累加，读取时不获取线程池内部的锁。
+ * @create 2025/9/10 14:10
+ */
+public class DynamicScheduledThreadPoolExecutor extends ScheduledThreadPoolExecutor {
+
+    private final LatencyRecorder lateTimeRecorder = new LatencyRecorder();
+
+    private final LatencyRecorder executeTimeRecorder = new LatencyRecorder();
+
+    private final LongAdder overrunCounter = new LongAdder();
+
+    private final LongAdder completedTaskCounter = new LongAdder();
+
+    public DynamicScheduledThreadPoolExecutor(int corePoolSize) {
+        super(corePoolSize);
+    }
+
+    public DynamicScheduledThreadPoolExecutor(int corePoolSize, ThreadFactory threadFactory) {
+        super(corePoolSize, threadFactory);
+    }
+
+    public DynamicScheduledThreadPoolExecutor(int corePoolSize, RejectedExecutionHandler handler) {
+        super(corePoolSize, handler);
+    }
+
+    public DynamicScheduledThreadPoolExecutor(int corePoolSize, ThreadFactory threadFactory, RejectedExecutionHandler handler) {
+        super(corePoolSize, threadFactory, handler);
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+        return new InstrumentedScheduledTask<>(task);
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task) {
+        return new InstrumentedScheduledTask<>(task);
+    }
+
+    /**
+     * @return 延迟触发时间统计
+     */
+    public LatencyRecorder getLateTimeRecorder() {
+        return lateTimeRecorder;
+    }
+
+    /**
+     * @return 单次执行耗时统计
+     */
+    public LatencyRecorder getExecuteTimeRecorder() {
+        return executeTimeRecorder;
+    }
+
+    /**
+     * @return 固定频率任务执行超过周期的次数
+     */
+    public long getOverrunCount() {
+        return overrunCounter.sum();
+    }
+
+    /**
+     * @return 已执行的次数（周期任务每次执行计一次），不获取 mainLock
+     */
+    public long getCompletedTasks() {
+        return completedTaskCounter.sum();
+    }
+
+    /**
+     * 定时任务包装，比较、取消、延迟等操作均委托给原任务，队列按原任务的触发时间排序；
+     * 周期任务重新入队时放回的是包装后的任务，每次执行都会被统计
+     */
+    private class InstrumentedScheduledTask<V> implements RunnableScheduledFuture<V> {
+
+        private final RunnableScheduledFuture<V> delegate;
+
+        private InstrumentedScheduledTask(RunnableScheduledFuture<V> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            // 到期后 getDelay 为负值，其绝对值即为触发滞后的时长
+            lateTimeRecorder.record(startNanos, Math.max(0, -delegate.getDelay(TimeUnit.NANOSECONDS)));
+            try {
+                delegate.run();
+            } finally {
+                long now = System.nanoTime();
+                executeTimeRecorder.record(now, now - startNanos);
+                completedTaskCounter.increment();
+                // 固定频率任务执行结束时下一次触发时间已过，说明本次执行超过了周期
+                if (delegate.isPeriodic() && !delegate.isDone() && delegate.getDelay(TimeUnit.NANOSECONDS) < 0) {
+                    overrunCounter.increment();
+                }
+            }
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return delegate.isPeriodic();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return delegate.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) return 0;
+            return delegate.compareTo(other instanceof InstrumentedScheduledTask ? ((InstrumentedScheduledTask<?>) other).delegate : other);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = delegate.cancel(mayInterruptIfRunning);
+            // 队列中存放的是包装后的任务，原任务按自身移除会找不到
+            if (cancelled && getRemoveOnCancelPolicy()) {
+                remove(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return delegate.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return delegate.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return delegate.get();
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.get(timeout, unit);
+        }
+
+    }
+
+}
@@ -0,0 +1,398 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Yurito
+ * @description 可观测的动态线程池，记录每个任务的排队耗时与执行耗时
+ * <p>
+ * 提交的任务会被包装为 {@link InstrumentedTask}，在 beforeExecute/afterExecute 中分别记录排队耗时和执行耗时，
+ * 统计结果通过 {@link #getQueueWaitRecorder()}、{@link #getExecuteTimeRecorder()} 获取。
+ * 拒绝策略、{@link #remove(Runnable)}、{@link #purge()}、{@link #shutdownNow()} 面向的都是原始任务；
+ * 只有 {@link #getQueue()} 返回的队列中存放的是包装后的任务，可通过 {@link InstrumentedTask#getDelegate()} 取出原始任务。
+ * <p>
+ * 活跃任务数、已完成任务数、存活工作线程数使用 {@link LongAdder} 在执行路径上累加，
+ * 读取时不需要获取线程池内部的 mainLock，不会与高负载下的任务提交、线程增减互相阻塞。
+ * <p>
+ * 通过 submit 提交的 {@link PriorityTask}、{@link DeadlineTask}、{@link TenantTask} 包装为 FutureTask 后仍保留优先级、截止时间与租户，
+ * 可配合 {@link ResizablePriorityBlockingQueue}、{@link WeightedFairBlockingQueue} 使用。
+ * <p>
+ * 设置 {@link CoDelController} 后开启排队时延管理：任务开始执行前，已过截止时间的 {@link DeadlineTask} 与持续过载时排队过久的任务被丢弃，
+ * 不再占用工作线程；通过 submit 提交的任务会被取消。丢弃的任务不计入已完成任务数，也不记录执行耗时，分别通过 {@link #getShedTaskCount()}、{@link #getExpiredTaskCount()} 获取。
+ * <p>
+ * 每个工作线程对应一个 {@link Worker}，在 beforeExecute/afterExecute 中记录正在执行的任务与开始时间，只写入本线程的 volatile 字段；
+ * 通过 {@link #getWorkers()} 可以找出执行时间超过卡顿阈值的任务，再按需采集这些线程的调用栈。
+ * @create 2025/9/3 11:20
+ */
+public class DynamicThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final LatencyRecorder queueWaitRecorder = new LatencyRecorder();
+
+    private final LatencyRecorder executeTimeRecorder = new LatencyRecorder();
+
+    private final LongAdder activeTaskCounter = new LongAdder();
+
+    private final LongAdder completedTaskCounter = new LongAdder();
+
+    private final LongAdder liveWorkerCounter = new LongAdder();
+
+    private final LongAdder shedTaskCounter = new LongAdder();
+
+    private final LongAdder expiredTaskCounter = new LongAdder();
+
+    /** 排队时延控制，为 null 时不丢弃任务 */
+    private volatile CoDelController coDelController;
+
+    /** 工作线程 -> 执行状态，工作线程退出时移除 */
+    private final Map<Thread, Worker> workers = new ConcurrentHashMap<>();
+
+    /** 当前工作线程的执行状态，beforeExecute/afterExecute 中不需要查找 workers */
+    private final ThreadLocal<Worker> currentWorker = new ThreadLocal<>();
+
+    /** 任务执行时间超过该值视为卡顿（单位：纳秒），0 表示不判定 */
+    private volatile long stuckTaskThresholdNanos;
+
+    public DynamicThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue) {
+        this(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, Executors.defaultThreadFactory(), new AbortPolicy());
+    }
+
+    public DynamicThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue, RejectedExecutionHandler handler) {
+        this(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, Executors.defaultThreadFactory(), handler);
+    }
+
+    public DynamicThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory, RejectedExecutionHandler handler) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler);
+        super.setThreadFactory(new WorkerCountingThreadFactory(threadFactory));
+        super.setRejectedExecutionHandler(new UnwrappingRejectedExecutionHandler(handler));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (null == command) throw new NullPointerException();
+        super.execute(command instanceof InstrumentedTask ? command : new InstrumentedTask(command));
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return OrderedFutureTask.isOrdered(runnable) ? new OrderedFutureTask<>(runnable, value) : super.newTaskFor(runnable, value);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return OrderedFutureTask.isOrdered(callable) ? new OrderedFutureTask<>(callable) : super.newTaskFor(callable);
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        long now = System.nanoTime();
+        if (r instanceof InstrumentedTask) {
+            InstrumentedTask task = (InstrumentedTask) r;
+            long sojourn = now - task.getSubmitNanos();
+            task.setStartNanos(now);
+            queueWaitRecorder.record(now, sojourn);
+            CoDelController coDelController = this.coDelController;
+            if (null != coDelController) {
+                shed(task, coDelController, now, sojourn);
+            }
+        }
+        super.beforeExecute(t, r);
+        activeTaskCounter.increment();
+        Worker worker = currentWorker.get();
+        if (null != worker) {
+            worker.start(r instanceof InstrumentedTask ? ((InstrumentedTask) r).getDelegate() : r, now);
+        }
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        Worker worker = currentWorker.get();
+        if (null != worker) {
+            worker.finish();
+        }
+        activeTaskCounter.decrement();
+        super.afterExecute(r, t);
+        // 丢弃的任务已在 beforeExecute 中计入丢弃数，不算作完成
+        if (r instanceof InstrumentedTask && ((InstrumentedTask) r).isShed()) return;
+        completedTaskCounter.increment();
+        if (r instanceof InstrumentedTask) {
+            long now = System.nanoTime();
+            executeTimeRecorder.record(now, now - ((InstrumentedTask) r).getStartNanos());
+        }
+    }
+
+    /**
+     * 判断任务是否丢弃：已过截止时间的任务直接丢弃，其余任务由排队时延控制判断
+     */
+    private void shed(InstrumentedTask task, CoDelController coDelController, long now, long sojourn) {
+        // 截止时间为 Long.MAX_VALUE 表示未指定
+        long deadline = ResizablePriorityBlockingQueue.deadlineOf(task.getDelegate());
+        if (deadline != Long.MAX_VALUE && deadline < System.currentTimeMillis()) {
+            task.setShed(true);
+            expiredTaskCounter.increment();
+            return;
+        }
+        if (coDelController.shouldShed(now, sojourn)) {
+            task.setShed(true);
+            shedTaskCounter.increment();
+        }
+    }
+
+    @Override
+    public boolean remove(Runnable task) {
+        // 队列中存放的是包装后的任务，需按原始任务查找
+        for (Runnable queued : getQueue()) {
+            if (queued instanceof InstrumentedTask && ((InstrumentedTask) queued).getDelegate() == task) {
+                return super.remove(queued);
+            }
+        }
+        return super.remove(task);
+    }
+
+    /**
+     * 队列中的 Future 被包装后不再是 Future，父类的 purge 识别不到已取消的任务，需先按原始任务清理
+     */
+    @Override
+    public void purge() {
+        for (Iterator<Runnable> iterator = getQueue().iterator(); iterator.hasNext(); ) {
+            Runnable queued = iterator.next();
+            Runnable task = queued instanceof InstrumentedTask ? ((InstrumentedTask) queued).getDelegate() : queued;
+            if (task instanceof Future && ((Future<?>) task).isCancelled()) {
+                iterator.remove();
+            }
+        }
+        super.purge();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> tasks = super.shutdownNow();
+        List<Runnable> unwrapped = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            unwrapped.add(task instanceof InstrumentedTask ? ((InstrumentedTask) task).getDelegate() : task);
+        }
+        return unwrapped;
+    }
+
+    @Override
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        super.setThreadFactory(new WorkerCountingThreadFactory(threadFactory));
+    }
+
+    @Override
+    public void setRejectedExecutionHandler(RejectedExecutionHandler handler) {
+        if (null == handler) throw new NullPointerException();
+        SpillRejectedExecutionHandler previous = SpillRejectedExecutionHandler.unwrap(getRejectedExecutionHandler());
+        super.setRejectedExecutionHandler(new UnwrappingRejectedExecutionHandler(handler));
+        // 被替换的落盘拒绝策略不再使用，停止重放并关闭日志；只是被装饰器包装时仍是同一个
+        if (null != previous && previous != SpillRejectedExecutionHandler.unwrap(handler)) previous.close();
+    }
+
+    /**
+     * @return 构造时或 setRejectedExecutionHandler 传入的拒绝策略，不含还原原始任务的包装
+     */
+    @Override
+    public RejectedExecutionHandler getRejectedExecutionHandler() {
+        return ((UnwrappingRejectedExecutionHandler) super.getRejectedExecutionHandler()).delegate;
+    }
+
+    /**
+     * @return 构造时或 setThreadFactory 传入的线程工厂，不含存活线程计数的包装
+     */
+    public ThreadFactory getOriginalThreadFactory() {
+        return ((WorkerCountingThreadFactory) getThreadFactory()).delegate;
+    }
+
+    /**
+     * @return 正在执行的任务数，不获取 mainLock
+     */
+    public long getActiveTaskCount() {
+        return activeTaskCounter.sum();
+    }
+
+    /**
+     * @return 已执行完成的任务数（含抛出异常的任务，不含排队时延管理丢弃的任务），不获取 mainLock
+     */
+    public long getCompletedTasks() {
+        return completedTaskCounter.sum();
+    }
+
+    /**
+     * @return 存活的工作线程数，不获取 mainLock
+     */
+    public long getLiveWorkerCount() {
+        return liveWorkerCounter.sum();
+    }
+
+    /**
+     * @return 持续过载时因排队过久被丢弃的任务数
+     */
+    public long getShedTaskCount() {
+        return shedTaskCounter.sum();
+    }
+
+    /**
+     * @return 开始执行前已过截止时间被丢弃的任务数
+     */
+    public long getExpiredTaskCount() {
+        return expiredTaskCounter.sum();
+    }
+
+    public CoDelController getCoDelController() {
+        return coDelController;
+    }
+
+    /**
+     * @param coDelController 排队时延控制，为 null 时关闭
+     */
+    public void setCoDelController(CoDelController coDelController) {
+        this.coDelController = coDelController;
+    }
+
+    /**
+     * @return 存活工作线程的执行状态，只读视图，遍历时不加锁
+     */
+    public Collection<Worker> getWorkers() {
+        return Collections.unmodifiableCollection(workers.values());
+    }
+
+    /**
+     * @return 卡顿阈值（单位：毫秒），0 表示不判定
+     */
+    public long getStuckTaskThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(stuckTaskThresholdNanos);
+    }
+
+    public long getStuckTaskThresholdNanos() {
+        return stuckTaskThresholdNanos;
+    }
+
+    /**
+     * @param stuckTaskThreshold 任务执行时间超过该值视为卡顿，0 表示不判定
+     * @param unit               时间单位
+     */
+    public void setStuckTaskThreshold(long stuckTaskThreshold, TimeUnit unit) {
+        if (stuckTaskThreshold < 0) throw new IllegalArgumentException("stuckTaskThreshold: " + stuckTaskThreshold);
+        this.stuckTaskThresholdNanos = unit.toNanos(stuckTaskThreshold);
+    }
+
+    public LatencyRecorder getQueueWaitRecorder() {
+        return queueWaitRecorder;
+    }
+
+    public LatencyRecorder getExecuteTimeRecorder() {
+        return executeTimeRecorder;
+    }
+
+    /**
+     * 包装线程工厂，在工作线程的整个生命周期内计入存活线程数；
+     * ThreadPoolExecutor 创建工作线程时通过 getThreadFactory() 获取工厂，因此 getThreadFactory() 返回的是包装后的工厂
+     */
+    /**
+     * 把包装后的任务还原为原始任务再交给拒绝策略，拒绝策略中的 instanceof 判断与调用方提交的任务一致
+     */
+    private static class UnwrappingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+        private final RejectedExecutionHandler delegate;
+
+        private UnwrappingRejectedExecutionHandler(RejectedExecutionHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            delegate.rejectedExecution(r instanceof InstrumentedTask ? ((InstrumentedTask) r).getDelegate() : r, executor);
+        }
+
+    }
+
+    private class WorkerCountingThreadFactory implements ThreadFactory {
+
+        private final ThreadFactory delegate;
+
+        private WorkerCountingThreadFactory(ThreadFactory delegate) {
+            if (null == delegate) throw new NullPointerException();
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Thread newThread(Runnable worker) {
+            return delegate.newThread(() -> {
+                liveWorkerCounter.increment();
+                Worker state = new Worker(Thread.currentThread());
+                workers.put(state.thread, state);
+                currentWorker.set(state);
+                try {
+                    worker.run();
+                } finally {
+                    currentWorker.remove();
+                    workers.remove(state.thread, state);
+                    liveWorkerCounter.decrement();
+                }
+            });
+        }
+
+    }
+
+    /**
+     * 工作线程的执行状态，由工作线程自身写入，其他线程只读
+     */
+    public static final class Worker {
+
+        private final Thread thread;
+
+        /** 开始执行时间 System.nanoTime()，在 task 之前写入 */
+        private volatile long startNanos;
+
+        /** 正在执行的原始任务，空闲时为 null */
+        private volatile Runnable task;
+
+        private Worker(Thread thread) {
+            this.thread = thread;
+        }
+
+        private void start(Runnable task, long startNanos) {
+            this.startNanos = startNanos;
+            this.task = task;
+        }
+
+        private void finish() {
+            this.task = null;
+        }
+
+        public Thread getThread() {
+            return thread;
+        }
+
+        /**
+         * @return 正在执行的任务，空闲时为 null
+         */
+        public Runnable getTask() {
+            return task;
+        }
+
+        /**
+         * @return 当前（或最近一次）任务的开始执行时间 System.nanoTime()，需先通过 {@link #getTask()} 确认正在执行
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+    }
+
+}
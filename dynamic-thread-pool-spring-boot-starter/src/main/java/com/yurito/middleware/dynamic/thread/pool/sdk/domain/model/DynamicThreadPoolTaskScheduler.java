@@ -0,0 +1,24 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * @author Yurito
+ * @description 使用 {@link DynamicScheduledThreadPoolExecutor} 的 Spring 任务调度器
+ * <p>
+ * 替换 ThreadPoolTaskScheduler 后，@Scheduled 任务及通过 TaskScheduler 提交的任务会统计延迟触发时间、执行耗时与超时次数；
+ * 普通 ThreadPoolTaskScheduler 同样会被纳入管理，但只能上报线程数与延迟队列中的任务数。
+ * @create 2025/9/10 14:40
+ */
+public class DynamicThreadPoolTaskScheduler extends ThreadPoolTaskScheduler {
+
+    @Override
+    protected ScheduledExecutorService createExecutor(int poolSize, ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+        return new DynamicScheduledThreadPoolExecutor(poolSize, threadFactory, rejectedExecutionHandler);
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.concurrent.Future;
+
+/**
+ * @author Yurito
+ * @description 带计时信息的任务包装，记录提交时间与开始执行时间；被排队时延控制丢弃的任务不再执行
+ * @create 2025/9/3 11:05
+ */
+public class InstrumentedTask implements Runnable {
+
+    private final Runnable delegate;
+
+    /** 提交时间 System.nanoTime() */
+    private final long submitNanos;
+
+    /** 开始执行时间 System.nanoTime()，由执行线程写入、同一线程读取 */
+    private long startNanos;
+
+    /** 开始执行前被判定丢弃，由执行线程写入、同一线程读取 */
+    private boolean shed;
+
+    public InstrumentedTask(Runnable delegate) {
+        this.delegate = delegate;
+        this.submitNanos = System.nanoTime();
+    }
+
+    @Override
+    public void run() {
+        if (!shed) {
+            delegate.run();
+            return;
+        }
+        // 通过 submit 提交的任务取消 Future，调用方 get() 时得到 CancellationException
+        if (delegate instanceof Future) {
+            ((Future<?>) delegate).cancel(false);
+        }
+    }
+
+    public Runnable getDelegate() {
+        return delegate;
+    }
+
+    public long getSubmitNanos() {
+        return submitNanos;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    void setStartNanos(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public boolean isShed() {
+        return shed;
+    }
+
+    void setShed(boolean shed) {
+        this.shed = shed;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Yurito
+ * @description 滑动窗口耗时记录器
+ * <p>
+ * 内部使用两个 {@link LatencyHistogram} 按时间窗口轮换，统计结果覆盖当前窗口与上一个窗口，
+ * 反映的是最近一段时间的耗时分布，而不是应用启动以来的累计值。
+ * @create 2025/9/3 10:40
+ */
+public class LatencyRecorder {
+
+    /** 默认窗口长度 60 秒 */
+    public static final long DEFAULT_WINDOW_MILLIS = 60_000;
+
+    private final long windowNanos;
+
+    private final LatencyHistogram[] histograms = {new LatencyHistogram(), new LatencyHistogram()};
+
+    /** 每个直方图当前所属的窗口序号 */
+    private final AtomicLong[] windowIds = {new AtomicLong(Long.MIN_VALUE), new AtomicLong(Long.MIN_VALUE)};
+
+    public LatencyRecorder() {
+        this(DEFAULT_WINDOW_MILLIS);
+    }
+
+    public LatencyRecorder(long windowMillis) {
+        if (windowMillis <= 0) throw new IllegalArgumentException("windowMillis must be positive");
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nowNanos       当前时间 System.nanoTime()，由调用方传入以复用同一次取时
+     * @param durationNanos  耗时（纳秒）
+     */
+    public void record(long nowNanos, long durationNanos) {
+        long windowId = Math.floorDiv(nowNanos, windowNanos);
+        int slot = (int) (windowId & 1);
+        AtomicLong slotWindowId = windowIds[slot];
+        long current = slotWindowId.get();
+        if (current != windowId && slotWindowId.compareAndSet(current, windowId)) {
+            histograms[slot].reset();
+        }
+        histograms[slot].record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    }
+
+    /** 汇总两个窗口时复用的计数数组 */
+    private final long[] mergedCounts = LatencyHistogram.newCounts();
+
+    /**
+     * 计算最近两个窗口内的分位值
+     *
+     * @return 依次为 p50、p90、p99、max（单位：微秒）
+     */
+    public long[] percentiles() {
+        long[] result = new long[4];
+        percentiles(result);
+        return result;
+    }
+
+    /**
+     * 计算最近两个窗口内的分位值，写入调用方提供的数组，周期性采集时避免重复分配
+     *
+     * @param result 长度不小于 4，依次写入 p50、p90、p99、max（单位：微秒）
+     */
+    public synchronized void percentiles(long[] result) {
+        long windowId = Math.floorDiv(System.nanoTime(), windowNanos);
+        long[] counts = mergedCounts;
+        Arrays.fill(counts, 0);
+        long max = 0;
+        for (int slot = 0; slot < histograms.length; slot++) {
+            long slotWindowId = windowIds[slot].get();
+            if (slotWindowId != windowId && slotWindowId != windowId - 1) continue;
+            histograms[slot].addTo(counts);
+            max = Math.max(max, histograms[slot].getMax());
+        }
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        result[0] = LatencyHistogram.valueAtQuantile(counts, total, 0.50, max);
+        result[1] = LatencyHistogram.valueAtQuantile(counts, total, 0.90, max);
+        result[2] = LatencyHistogram.valueAtQuantile(counts, total, 0.99, max);
+        result[3] = total > 0 ? max : 0;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * @author Yurito
+ * @description 保留原始任务优先级、截止时间与租户的 FutureTask
+ * <p>
+ * 通过 submit 提交时任务会被包装为 FutureTask，由 {@link DynamicThreadPoolExecutor#newTaskFor} 创建本类，
+ * 优先级队列据此仍能按原始任务的优先级、截止时间排序，加权公平队列仍能按原始任务的租户划分子队列。
+ * @create 2025/9/9 14:50
+ */
+class OrderedFutureTask<V> extends FutureTask<V> implements PriorityTask, DeadlineTask, TenantTask {
+
+    private final int priority;
+
+    private final long deadline;
+
+    private final String tenant;
+
+    OrderedFutureTask(Callable<V> callable) {
+        super(callable);
+        this.priority = (int) ResizablePriorityBlockingQueue.priorityOf(callable);
+        this.deadline = ResizablePriorityBlockingQueue.deadlineOf(callable);
+        this.tenant = WeightedFairBlockingQueue.tenantOf(callable);
+    }
+
+    OrderedFutureTask(Runnable runnable, V result) {
+        super(runnable, result);
+        this.priority = (int) ResizablePriorityBlockingQueue.priorityOf(runnable);
+        this.deadline = ResizablePriorityBlockingQueue.deadlineOf(runnable);
+        this.tenant = WeightedFairBlockingQueue.tenantOf(runnable);
+    }
+
+    static boolean isOrdered(Object task) {
+        return task instanceof PriorityTask || task instanceof DeadlineTask || task instanceof TenantTask;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    @Override
+    public long getDeadline() {
+        return deadline;
+    }
+
+    @Override
+    public String getTenant() {
+        return tenant;
+    }
+
+}
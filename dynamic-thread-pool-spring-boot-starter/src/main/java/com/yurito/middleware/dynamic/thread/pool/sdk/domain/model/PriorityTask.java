@@ -0,0 +1,21 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+/**
+ * @author Yurito
+ * @description 带优先级的任务，配合 {@link ResizablePriorityBlockingQueue#priorityOrdered(int)} 使用
+ * <p>
+ * 数值越小越先执行，优先级相同的任务按提交顺序执行；未实现该接口的任务按 {@link #NORM_PRIORITY} 处理。
+ * 通过 submit 提交的 Callable 同样可以实现该接口。
+ * @create 2025/9/9 14:05
+ */
+public interface PriorityTask {
+
+    int HIGH_PRIORITY = -10;
+
+    int NORM_PRIORITY = 0;
+
+    int LOW_PRIORITY = 10;
+
+    int getPriority();
+
+}
@@ -0,0 +1,95 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * @author Yurito
+ * @description 拒绝策略装饰器，统计线程池拒绝任务数后再执行原始拒绝策略
+ * <p>
+ * 每个装饰器持有独立的 {@link RejectionRateCounter}，拒绝路径上只做分段累加，不打印日志；
+ * 未使用装饰器的受管线程池在启动时通过 {@link #decorate(ThreadPoolExecutor, String)} 自动包装。
+ * @create 2025/9/2 15:10
+ */
+public class RejectedExecutionHandlerDecorator implements RejectedExecutionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RejectedExecutionHandlerDecorator.class);
+
+    /** 线程池名称 -> 拒绝计数，仅供 {@link #getRejectedCount(String)} 兼容使用 */
+    private static final Map<String, RejectionRateCounter> REJECTED_COUNTER_MAP = new ConcurrentHashMap<>();
+
+    private final RejectedExecutionHandler delegate;
+
+    private final String threadPoolName;
+
+    private final RejectionRateCounter rejectionCounter;
+
+    public RejectedExecutionHandlerDecorator(RejectedExecutionHandler delegate, String threadPoolName) {
+        this.delegate = delegate;
+        this.threadPoolName = threadPoolName;
+        this.rejectionCounter = new RejectionRateCounter();
+        REJECTED_COUNTER_MAP.put(threadPoolName, rejectionCounter);
+    }
+
+    /**
+     * 为线程池包装拒绝策略装饰器，已经包装过时直接返回
+     *
+     * @param threadPoolExecutor 线程池
+     * @param threadPoolName     线程池名称
+     * @return 线程池使用的装饰器
+     */
+    public static RejectedExecutionHandlerDecorator decorate(ThreadPoolExecutor threadPoolExecutor, String threadPoolName) {
+        RejectedExecutionHandler handler = threadPoolExecutor.getRejectedExecutionHandler();
+        if (handler instanceof RejectedExecutionHandlerDecorator) return (RejectedExecutionHandlerDecorator) handler;
+        RejectedExecutionHandlerDecorator decorator = new RejectedExecutionHandlerDecorator(handler, threadPoolName);
+        threadPoolExecutor.setRejectedExecutionHandler(decorator);
+        logger.info("动态线程池，{} 拒绝策略 {} 包装拒绝任务计数", threadPoolName, decorator.getName());
+        return decorator;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        // 增加拒绝任务计数，落盘重放线程被拒绝时任务仍在日志中，不计数
+        SpillRejectedExecutionHandler spillHandler = SpillRejectedExecutionHandler.unwrap(delegate);
+        if (null == spillHandler || !spillHandler.isReplayThread()) {
+            rejectionCounter.record(System.currentTimeMillis());
+        }
+
+        // 执行原始拒绝策略
+        delegate.rejectedExecution(r, executor);
+    }
+
+    /**
+     * 原始拒绝策略名称
+     */
+    public String getName() {
+        return delegate.getClass().getSimpleName();
+    }
+
+    public RejectedExecutionHandler getDelegate() {
+        return delegate;
+    }
+
+    public String getThreadPoolName() {
+        return threadPoolName;
+    }
+
+    public RejectionRateCounter getRejectionCounter() {
+        return rejectionCounter;
+    }
+
+    /**
+     * @deprecated 按名称全局查找，同名的装饰器只能查到最后创建的一个，改用 {@link #getRejectionCounter()}
+     */
+    @Deprecated
+    public static long getRejectedCount(String threadPoolName) {
+        RejectionRateCounter counter = REJECTED_COUNTER_MAP.get(threadPoolName);
+        return null == counter ? 0 : counter.getTotal();
+    }
+
+}
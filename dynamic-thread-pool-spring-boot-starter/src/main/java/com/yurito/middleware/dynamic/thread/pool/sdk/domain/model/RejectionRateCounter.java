@@ -0,0 +1,92 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Yurito
+ * @description 拒绝次数计数器，统计累计拒绝数、最近 1/10/60 秒内的拒绝数以及最近一次拒绝时间
+ * <p>
+ * 按秒分桶，每个桶使用 {@link LongAdder} 累加，大量线程同时被拒绝时不会争用同一个计数；
+ * 桶按秒序号轮换，进入新的一秒时由第一个线程清零。窗口统计只累加已结束的整秒，最多滞后 1 秒，但数值不会在秒内抖动。
+ * @create 2025/9/12 09:30
+ */
+public class RejectionRateCounter {
+
+    /** 最长统计窗口（单位：秒） */
+    public static final int MAX_WINDOW_SECONDS = 60;
+
+    /** 多一个桶给正在累加的当前秒 */
+    private static final int BUCKETS = MAX_WINDOW_SECONDS + 1;
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    /** 每个桶当前所属的秒序号 */
+    private final AtomicLong[] seconds = new AtomicLong[BUCKETS];
+
+    private volatile long lastRejectTime;
+
+    public RejectionRateCounter() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+            seconds[i] = new AtomicLong(Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * 记录一次拒绝
+     *
+     * @param nowMillis 当前时间 System.currentTimeMillis()
+     */
+    public void record(long nowMillis) {
+        total.increment();
+        long second = nowMillis / 1000;
+        int slot = (int) (second % BUCKETS);
+        AtomicLong slotSecond = seconds[slot];
+        long current = slotSecond.get();
+        if (current != second && slotSecond.compareAndSet(current, second)) {
+            counts[slot].reset();
+        }
+        counts[slot].increment();
+        // 同一毫秒内只写一次，避免拒绝风暴时所有线程反复写同一个变量
+        if (lastRejectTime != nowMillis) {
+            lastRejectTime = nowMillis;
+        }
+    }
+
+    /**
+     * @return 累计拒绝数
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * 最近若干个整秒内的拒绝数，不含当前尚未结束的一秒
+     *
+     * @param windowSeconds 窗口长度（单位：秒），不超过 {@link #MAX_WINDOW_SECONDS}
+     * @param nowMillis     当前时间 System.currentTimeMillis()
+     */
+    public long count(int windowSeconds, long nowMillis) {
+        if (windowSeconds <= 0 || windowSeconds > MAX_WINDOW_SECONDS) throw new IllegalArgumentException("windowSeconds: " + windowSeconds);
+        long currentSecond = nowMillis / 1000;
+        long sum = 0;
+        for (long second = currentSecond - windowSeconds; second < currentSecond; second++) {
+            int slot = (int) (second % BUCKETS);
+            if (seconds[slot].get() == second) {
+                sum += counts[slot].sum();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @return 最近一次拒绝时间（System.currentTimeMillis() 时间戳），没有拒绝时为 0
+     */
+    public long getLastRejectTime() {
+        return lastRejectTime;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * @author Yurito
+ * @description 可动态调整容量的有界阻塞队列
+ * <p>
+ * 线程池使用实现该接口的队列时，管理端可查看并在运行时调整队列容量。缩容不会丢弃已入队的任务，只是在任务消费到新容量以下之前拒绝入队。
+ * @create 2025/9/9 14:00
+ */
+public interface ResizableBlockingQueue<E> extends BlockingQueue<E> {
+
+    int getCapacity();
+
+    /**
+     * 调整队列容量，已入队的任务不会丢失
+     *
+     * @param newCapacity 新容量
+     */
+    void setCapacity(int newCapacity);
+
+}
@@ -0,0 +1,547 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author Yurito
+ * @description 可动态调整容量的数组有界阻塞队列（多生产者多消费者）
+ * <p>
+ * 基于环形数组与槽位序号实现无锁入队/出队：生产者、消费者各自通过 CAS 推进 tail/head，入队不分配任何节点对象。
+ * 锁只在两种情况下使用：队列为空/已满时挂起与唤醒等待线程，以及切换数组。
+ * <p>
+ * 数组按需分配，与逻辑容量分开：
+ * 1. 初始数组长度不超过 {@link #INITIAL_RING_LENGTH}，数组写满而逻辑容量仍有剩余时，链接一个更长的数组并关闭旧数组，
+ *    生产者转向新数组，消费者先取完旧数组再转向新数组，保证先进先出；
+ * 2. 单个数组长度不超过 {@link #MAXIMUM_RING_LENGTH}，逻辑容量更大时继续链接同样长度的数组，占用的内存随实际积压的任务数增长；
+ * 3. 扩容只修改逻辑容量；缩容不会丢弃已有任务，只是在任务消费到新容量以下之前拒绝入队，
+ *    若当前数组长度超过新容量所需，同时换成按新容量分配的数组，旧数组取空后即可回收。
+ * <p>
+ * remove(Object) 通过把槽位标记为已删除实现，被删除的槽位在消费者经过时跳过，在此之前仍计入 size()。
+ * @create 2025/9/5 09:40
+ */
+public class ResizableCapacityArrayBlockingQueue<E> extends AbstractQueue<E> implements ResizableBlockingQueue<E> {
+
+    /** 最大容量 */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** 初始数组长度上限 */
+    static final int INITIAL_RING_LENGTH = 16;
+
+    /** 单个数组长度上限 */
+    static final int MAXIMUM_RING_LENGTH = 1 << 16;
+
+    /** tail 上的关闭标记，数组被关闭后生产者不再写入 */
+    private static final long CLOSED = 1L << 62;
+
+    /** 已被 remove(Object) 删除的槽位标记 */
+    private static final Object REMOVED = new Object();
+
+    /** 数组已关闭且取空 */
+    private static final Object EXHAUSTED = new Object();
+
+    /** 生产者写入的数组 */
+    private volatile Ring producerRing;
+
+    /** 消费者读取的数组，扩容过程中可能落后于 producerRing */
+    private final AtomicReference<Ring> consumerRing;
+
+    /** 逻辑容量 */
+    private volatile int capacity;
+
+    /** 仅用于挂起/唤醒等待线程以及扩容 */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    public ResizableCapacityArrayBlockingQueue(int capacity) {
+        checkCapacity(capacity);
+        this.capacity = capacity;
+        this.producerRing = new Ring(Math.min(tableSizeFor(capacity), INITIAL_RING_LENGTH));
+        this.consumerRing = new AtomicReference<>(producerRing);
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 调整队列容量，已入队的任务不会丢失
+     *
+     * @param newCapacity 新容量
+     */
+    @Override
+    public void setCapacity(int newCapacity) {
+        checkCapacity(newCapacity);
+        lock.lock();
+        try {
+            int oldCapacity = capacity;
+            capacity = newCapacity;
+            Ring ring = producerRing;
+            int ringLength = Math.min(tableSizeFor(newCapacity), MAXIMUM_RING_LENGTH);
+            if (ring.length() > ringLength) {
+                // 缩容后数组过长，换成按新容量分配的数组
+                switchRing(ring, new Ring(Math.min(ringLength, INITIAL_RING_LENGTH)));
+            }
+            if (newCapacity > oldCapacity) {
+                notFull.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (null == e) throw new NullPointerException();
+        for (;;) {
+            Ring ring = producerRing;
+            Ring oldest = consumerRing.get();
+            // 旧数组中尚未消费的任务同样占用容量
+            long limit = capacity;
+            if (oldest != ring) {
+                limit -= backlogBefore(oldest, ring);
+            }
+            int result = ring.offer(e, (int) Math.min(limit, ring.length()));
+            if (result == Ring.OK) {
+                signalNotEmpty();
+                return true;
+            }
+            if (result == Ring.FULL) {
+                if (limit <= ring.length()) return false;
+                // 数组已写满但逻辑容量仍有剩余，链接更长的数组
+                grow(ring);
+            }
+            // 数组已关闭或已扩展，转向新数组重试
+        }
+    }
+
+    @Override
+    public E poll() {
+        for (;;) {
+            Ring ring = consumerRing.get();
+            Object element = ring.poll();
+            if (element == EXHAUSTED) {
+                consumerRing.compareAndSet(ring, ring.next);
+                continue;
+            }
+            if (null == element) return null;
+            signalNotFull();
+            @SuppressWarnings("unchecked")
+            E e = (E) element;
+            return e;
+        }
+    }
+
+    @Override
+    public E peek() {
+        for (Ring ring = consumerRing.get(); ring != null; ring = ring.next) {
+            long head = ring.head.get();
+            long tail = ring.tail.get() & ~CLOSED;
+            for (long position = head; position < tail; position++) {
+                Object element = ring.elements.get(ring.index(position));
+                if (null != element && element != REMOVED) {
+                    @SuppressWarnings("unchecked")
+                    E e = (E) element;
+                    return e;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        // 已删除的槽位不算作任务
+        return null == peek();
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (null == e) throw new NullPointerException();
+        while (!offer(e)) {
+            waitingProducers.incrementAndGet();
+            try {
+                lock.lockInterruptibly();
+                try {
+                    if (offer(e)) return;
+                    notFull.await();
+                } finally {
+                    lock.unlock();
+                }
+            } finally {
+                waitingProducers.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (null == e) throw new NullPointerException();
+        long nanos = unit.toNanos(timeout);
+        while (!offer(e)) {
+            if (nanos <= 0) return false;
+            waitingProducers.incrementAndGet();
+            try {
+                lock.lockInterruptibly();
+                try {
+                    if (offer(e)) return true;
+                    nanos = notFull.awaitNanos(nanos);
+                } finally {
+                    lock.unlock();
+                }
+            } finally {
+                waitingProducers.decrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        for (;;) {
+            E e = poll();
+            if (null != e) return e;
+            waitingConsumers.incrementAndGet();
+            try {
+                lock.lockInterruptibly();
+                try {
+                    e = poll();
+                    if (null != e) return e;
+                    notEmpty.await();
+                } finally {
+                    lock.unlock();
+                }
+            } finally {
+                waitingConsumers.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        for (;;) {
+            E e = poll();
+            if (null != e) return e;
+            if (nanos <= 0) return null;
+            waitingConsumers.incrementAndGet();
+            try {
+                lock.lockInterruptibly();
+                try {
+                    e = poll();
+                    if (null != e) return e;
+                    nanos = notEmpty.awaitNanos(nanos);
+                } finally {
+                    lock.unlock();
+                }
+            } finally {
+                waitingConsumers.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        long size = 0;
+        for (Ring ring = consumerRing.get(); ring != null; ring = ring.next) {
+            size += ring.size();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (null == o) return false;
+        for (Ring ring = consumerRing.get(); ring != null; ring = ring.next) {
+            long head = ring.head.get();
+            long tail = ring.tail.get() & ~CLOSED;
+            for (long position = head; position < tail; position++) {
+                int index = ring.index(position);
+                Object element = ring.elements.get(index);
+                if (null != element && element != REMOVED && o.equals(element) && ring.elements.compareAndSet(index, element, REMOVED)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (null == o) return false;
+        for (Object element : snapshot()) {
+            if (o.equals(element)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        while (null != poll()) {
+            // 逐个取出即可
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (null == c) throw new NullPointerException();
+        if (c == this) throw new IllegalArgumentException();
+        int n = 0;
+        E e;
+        while (n < maxElements && null != (e = poll())) {
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * 弱一致性迭代器，基于迭代开始时的快照
+     */
+    @Override
+    public Iterator<E> iterator() {
+        final List<E> snapshot = snapshot();
+        return new Iterator<E>() {
+            private int cursor;
+            private E lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.size();
+            }
+
+            @Override
+            public E next() {
+                if (cursor >= snapshot.size()) throw new NoSuchElementException();
+                lastReturned = snapshot.get(cursor++);
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+                if (null == lastReturned) throw new IllegalStateException();
+                ResizableCapacityArrayBlockingQueue.this.remove(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+
+    private List<E> snapshot() {
+        List<E> snapshot = new ArrayList<>();
+        for (Ring ring = consumerRing.get(); ring != null; ring = ring.next) {
+            long head = ring.head.get();
+            long tail = ring.tail.get() & ~CLOSED;
+            for (long position = head; position < tail; position++) {
+                Object element = ring.elements.get(ring.index(position));
+                if (null != element && element != REMOVED) {
+                    @SuppressWarnings("unchecked")
+                    E e = (E) element;
+                    snapshot.add(e);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 数组写满时链接一个更长的数组，长度翻倍，不超过逻辑容量所需与 {@link #MAXIMUM_RING_LENGTH}
+     */
+    private void grow(Ring ring) {
+        lock.lock();
+        try {
+            // 其他生产者已扩展或消费者已腾出槽位
+            if (producerRing != ring || ring.size() < ring.length()) return;
+            int ringLength = Math.min(tableSizeFor(capacity), MAXIMUM_RING_LENGTH);
+            switchRing(ring, new Ring(Math.max(ring.length(), Math.min(ring.length() << 1, ringLength))));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 生产者转向新数组，调用方持有锁
+     */
+    private void switchRing(Ring ring, Ring next) {
+        // 先链接新数组再关闭旧数组，看到关闭标记的生产者/消费者总能找到新数组
+        ring.next = next;
+        producerRing = next;
+        ring.close();
+    }
+
+    /**
+     * 统计 from 到 to（不含）之间已关闭数组中尚未消费的任务数
+     */
+    private static long backlogBefore(Ring from, Ring to) {
+        long backlog = 0;
+        for (Ring ring = from; ring != null && ring != to; ring = ring.next) {
+            backlog += ring.size();
+        }
+        return backlog;
+    }
+
+    private void signalNotEmpty() {
+        if (waitingConsumers.get() == 0) return;
+        lock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalNotFull() {
+        if (waitingProducers.get() == 0) return;
+        lock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAXIMUM_CAPACITY + ": " + capacity);
+        }
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(capacity - 1);
+        return n < 0 ? 1 : (n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : n + 1);
+    }
+
+    /**
+     * 环形数组，槽位序号用于区分“可写”“可读”状态（Vyukov 有界队列算法）
+     */
+    private static final class Ring {
+
+        static final int OK = 0;
+        static final int FULL = 1;
+        static final int CLOSED_RETRY = 2;
+
+        final AtomicReferenceArray<Object> elements;
+
+        final AtomicLongArray sequences;
+
+        final int mask;
+
+        final AtomicLong head = new PaddedAtomicLong();
+
+        final AtomicLong tail = new PaddedAtomicLong();
+
+        volatile Ring next;
+
+        Ring(int length) {
+            this.elements = new AtomicReferenceArray<>(length);
+            this.sequences = new AtomicLongArray(length);
+            this.mask = length - 1;
+            for (int i = 0; i < length; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        int length() {
+            return mask + 1;
+        }
+
+        int index(long position) {
+            return (int) position & mask;
+        }
+
+        long size() {
+            // 先读 head 再读 tail，保证结果非负
+            long head = this.head.get();
+            long tail = this.tail.get() & ~CLOSED;
+            return Math.max(0, tail - head);
+        }
+
+        void close() {
+            for (;;) {
+                long tail = this.tail.get();
+                if ((tail & CLOSED) != 0 || this.tail.compareAndSet(tail, tail | CLOSED)) return;
+            }
+        }
+
+        int offer(Object e, int limit) {
+            for (;;) {
+                long tail = this.tail.get();
+                if ((tail & CLOSED) != 0) return CLOSED_RETRY;
+                if (tail - head.get() >= limit) return FULL;
+                int index = index(tail);
+                long difference = sequences.get(index) - tail;
+                if (difference == 0) {
+                    if (this.tail.compareAndSet(tail, tail + 1)) {
+                        elements.lazySet(index, e);
+                        // volatile 写，保证随后读取等待者数量时不会与发布重排序
+                        sequences.set(index, tail + 1);
+                        return OK;
+                    }
+                } else if (difference < 0) {
+                    // 上一轮的消费者已推进 head 但尚未释放槽位，短暂让出
+                    Thread.yield();
+                }
+            }
+        }
+
+        Object poll() {
+            for (;;) {
+                long head = this.head.get();
+                int index = index(head);
+                long difference = sequences.get(index) - (head + 1);
+                if (difference == 0) {
+                    if (this.head.compareAndSet(head, head + 1)) {
+                        Object element = elements.getAndSet(index, null);
+                        sequences.set(index, head + mask + 1);
+                        if (element == REMOVED) continue;
+                        return element;
+                    }
+                } else if (difference < 0) {
+                    long tail = this.tail.get();
+                    if ((tail & CLOSED) != 0 && head == (tail & ~CLOSED)) return EXHAUSTED;
+                    // 队列为空，或生产者已占位尚未发布（发布后会唤醒等待的消费者）
+                    return null;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * 填充缓存行，避免 head、tail 之间的伪共享
+     */
+    @SuppressWarnings("unused")
+    private static final class PaddedAtomicLong extends AtomicLong {
+        long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+}
@@ -0,0 +1,465 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * @author Yurito
+ * @description 可动态调整容量的有界优先级阻塞队列
+ * <p>
+ * 入队时通过排序键函数计算一次 long 类型的排序键，与入队序号一起存放在小顶堆的并行数组中，堆调整只比较基本类型，
+ * 键相同的任务按入队顺序出队（稳定排序）。入队、出队均为 O(log n)，由一把锁保护，队列空/满时分别挂起消费者与生产者。
+ * <p>
+ * 线程池中常用两种排序方式：
+ * 1. {@link #priorityOrdered(int)}：按 {@link PriorityTask#getPriority()} 排序，延迟敏感的请求可以越过共用线程池的批量后台任务；
+ * 2. {@link #deadlineOrdered(int)}：按 {@link DeadlineTask#getDeadline()} 排序，截止时间最早的任务先执行。
+ * <p>
+ * 缩容不会丢弃已有任务，只是在任务消费到新容量以下之前拒绝入队。迭代顺序不保证为出队顺序。
+ * @create 2025/9/9 14:20
+ */
+public class ResizablePriorityBlockingQueue<E> extends AbstractQueue<E> implements ResizableBlockingQueue<E> {
+
+    /** 最大容量 */
+    public static final int MAXIMUM_CAPACITY = ResizableCapacityArrayBlockingQueue.MAXIMUM_CAPACITY;
+
+    private static final int INITIAL_ARRAY_LENGTH = 16;
+
+    private final ToLongFunction<? super E> keyFunction;
+
+    /** 堆数组，elements[i] 的排序键为 keys[i]，入队序号为 sequences[i] */
+    private Object[] elements;
+
+    private long[] keys;
+
+    private long[] sequences;
+
+    private int size;
+
+    /** 入队序号，键相同时先入队的先出队 */
+    private long nextSequence;
+
+    private volatile int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * @param capacity    容量
+     * @param keyFunction 排序键函数，键越小越先出队
+     */
+    public ResizablePriorityBlockingQueue(int capacity, ToLongFunction<? super E> keyFunction) {
+        checkCapacity(capacity);
+        if (null == keyFunction) throw new NullPointerException();
+        this.capacity = capacity;
+        this.keyFunction = keyFunction;
+        int length = Math.min(capacity, INITIAL_ARRAY_LENGTH);
+        this.elements = new Object[length];
+        this.keys = new long[length];
+        this.sequences = new long[length];
+    }
+
+    /**
+     * 按任务优先级排序的工作队列，优先级数值越小越先执行
+     */
+    public static ResizablePriorityBlockingQueue<Runnable> priorityOrdered(int capacity) {
+        return new ResizablePriorityBlockingQueue<>(capacity, ResizablePriorityBlockingQueue::priorityOf);
+    }
+
+    /**
+     * 按任务截止时间排序的工作队列，截止时间越早越先执行
+     */
+    public static ResizablePriorityBlockingQueue<Runnable> deadlineOrdered(int capacity) {
+        return new ResizablePriorityBlockingQueue<>(capacity, ResizablePriorityBlockingQueue::deadlineOf);
+    }
+
+    /**
+     * 任务优先级，包装任务按原始任务读取，未指定时为 {@link PriorityTask#NORM_PRIORITY}
+     */
+    public static long priorityOf(Object task) {
+        Object unwrapped = unwrap(task);
+        return unwrapped instanceof PriorityTask ? ((PriorityTask) unwrapped).getPriority() : PriorityTask.NORM_PRIORITY;
+    }
+
+    /**
+     * 任务截止时间，包装任务按原始任务读取，未指定时为 Long.MAX_VALUE
+     */
+    public static long deadlineOf(Object task) {
+        Object unwrapped = unwrap(task);
+        return unwrapped instanceof DeadlineTask ? ((DeadlineTask) unwrapped).getDeadline() : Long.MAX_VALUE;
+    }
+
+    private static Object unwrap(Object task) {
+        return task instanceof InstrumentedTask ? ((InstrumentedTask) task).getDelegate() : task;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void setCapacity(int newCapacity) {
+        checkCapacity(newCapacity);
+        lock.lock();
+        try {
+            int oldCapacity = capacity;
+            capacity = newCapacity;
+            if (newCapacity > oldCapacity) {
+                notFull.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (null == e) throw new NullPointerException();
+        // 在锁外计算排序键，缩短持锁时间
+        long key = keyFunction.applyAsLong(e);
+        lock.lock();
+        try {
+            if (size >= capacity) return false;
+            enqueue(e, key);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (null == e) throw new NullPointerException();
+        long key = keyFunction.applyAsLong(e);
+        lock.lockInterruptibly();
+        try {
+            while (size >= capacity) {
+                notFull.await();
+            }
+            enqueue(e, key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (null == e) throw new NullPointerException();
+        long key = keyFunction.applyAsLong(e);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size >= capacity) {
+                if (nanos <= 0) return false;
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(e, key);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll() {
+        lock.lock();
+        try {
+            return size == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        lock.lock();
+        try {
+            return (E) elements[0];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return Math.max(0, capacity - size);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (null == o) return false;
+        lock.lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (o.equals(elements[i])) {
+                    removeAt(i);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (null == o) return false;
+        lock.lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (o.equals(elements[i])) return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(elements, 0, size, null);
+            size = 0;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (null == c) throw new NullPointerException();
+        if (c == this) throw new IllegalArgumentException();
+        lock.lock();
+        try {
+            int n = 0;
+            while (n < maxElements && size > 0) {
+                c.add(dequeue());
+                n++;
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        lock.lock();
+        try {
+            return Arrays.copyOf(elements, size);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 弱一致性迭代器，基于迭代开始时的快照，顺序为堆数组顺序
+     */
+    @Override
+    public Iterator<E> iterator() {
+        final List<E> snapshot = snapshot();
+        return new Iterator<E>() {
+            private int cursor;
+            private E lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.size();
+            }
+
+            @Override
+            public E next() {
+                if (cursor >= snapshot.size()) throw new NoSuchElementException();
+                lastReturned = snapshot.get(cursor++);
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+                if (null == lastReturned) throw new IllegalStateException();
+                removeEq(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> snapshot() {
+        lock.lock();
+        try {
+            List<E> snapshot = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                snapshot.add((E) elements[i]);
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 按引用删除，供迭代器使用
+     */
+    private void removeEq(Object o) {
+        lock.lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (o == elements[i]) {
+                    removeAt(i);
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(E e, long key) {
+        if (size >= elements.length) grow();
+        siftUp(size++, e, key, nextSequence++);
+        notEmpty.signal();
+    }
+
+    @SuppressWarnings("unchecked")
+    private E dequeue() {
+        E result = (E) elements[0];
+        removeAt(0);
+        return result;
+    }
+
+    private void removeAt(int i) {
+        int last = --size;
+        Object moved = elements[last];
+        long movedKey = keys[last];
+        long movedSequence = sequences[last];
+        elements[last] = null;
+        if (i != last) {
+            siftDown(i, moved, movedKey, movedSequence);
+            if (elements[i] == moved) {
+                siftUp(i, moved, movedKey, movedSequence);
+            }
+        }
+        notFull.signal();
+    }
+
+    private void siftUp(int k, Object e, long key, long sequence) {
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (!less(key, sequence, keys[parent], sequences[parent])) break;
+            move(parent, k);
+            k = parent;
+        }
+        set(k, e, key, sequence);
+    }
+
+    private void siftDown(int k, Object e, long key, long sequence) {
+        int half = size >>> 1;
+        while (k < half) {
+            int child = (k << 1) + 1;
+            int right = child + 1;
+            if (right < size && less(keys[right], sequences[right], keys[child], sequences[child])) {
+                child = right;
+            }
+            if (!less(keys[child], sequences[child], key, sequence)) break;
+            move(child, k);
+            k = child;
+        }
+        set(k, e, key, sequence);
+    }
+
+    private static boolean less(long key, long sequence, long otherKey, long otherSequence) {
+        return key < otherKey || (key == otherKey && sequence < otherSequence);
+    }
+
+    private void move(int from, int to) {
+        elements[to] = elements[from];
+        keys[to] = keys[from];
+        sequences[to] = sequences[from];
+    }
+
+    private void set(int k, Object e, long key, long sequence) {
+        elements[k] = e;
+        keys[k] = key;
+        sequences[k] = sequence;
+    }
+
+    private void grow() {
+        int oldLength = elements.length;
+        // 数组按需增长，容量调大时不预先分配
+        int newLength = (int) Math.min((long) MAXIMUM_CAPACITY, oldLength + Math.max(oldLength >> 1, 1));
+        elements = Arrays.copyOf(elements, newLength);
+        keys = Arrays.copyOf(keys, newLength);
+        sequences = Arrays.copyOf(sequences, newLength);
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAXIMUM_CAPACITY + ": " + capacity);
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 记录线程池创建的工作线程，通过 com.sun.management.ThreadMXBean 采样这些线程的 CPU 时间与内存分配量，换算为 CPU 占用核数与分配速率
+ * <p>
+ * 1. 包装线程池原有的线程工厂，只记录包装之后创建的线程，包装前已启动的工作线程不计入，直到被回收替换；
+ * 2. 每次采样只调用一次批量接口读取线程 CPU 时间与已分配字节数，线程数超过 {@link #MAX_SAMPLED_THREADS} 时只采样其中一部分并按比例推算；
+ * 3. 两次采样间隔不足 1 秒时沿用上一次的结果，频繁查询不会放大开销；
+ * 4. JVM 不支持线程 CPU 时间或分配量统计时对应结果为 0；虚拟线程不支持统计，虚拟线程池不包装。
+ * @create 2025/9/13 16:10
+ */
+public class ResourceSamplingThreadFactory implements ThreadFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceSamplingThreadFactory.class);
+
+    /** 每个线程池单次采样的最大线程数 */
+    public static final int MAX_SAMPLED_THREADS = 256;
+
+    private static final long MIN_SAMPLE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** 不支持 com.sun.management.ThreadMXBean 时为 null */
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    private static final boolean CPU_TIME_SUPPORTED = null != THREAD_MX_BEAN && THREAD_MX_BEAN.isThreadCpuTimeSupported();
+
+    private static final boolean ALLOCATED_MEMORY_SUPPORTED = null != THREAD_MX_BEAN && THREAD_MX_BEAN.isThreadAllocatedMemorySupported();
+
+    private final ThreadFactory delegate;
+
+    /** 线程 ID -> 存活的工作线程 */
+    private final Map<Long, Thread> threads = new ConcurrentHashMap<>();
+
+    /** 以下字段只在 sample 中读写，由 sample 的锁保护 */
+    private Map<Long, long[]> lastValues = new HashMap<>();
+
+    private long lastSampleNanos;
+
+    private volatile long cpuMilliCores;
+
+    private volatile long allocationRate;
+
+    private volatile int sampledThreadCount;
+
+    public ResourceSamplingThreadFactory(ThreadFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 为线程池包装线程工厂，已经包装过或为虚拟线程池时直接返回
+     *
+     * @param threadPoolExecutor 线程池
+     * @param threadPoolName     线程池名称
+     * @return 线程池使用的采样线程工厂，不支持采样时返回 null
+     */
+    public static ResourceSamplingThreadFactory track(ThreadPoolExecutor threadPoolExecutor, String threadPoolName) {
+        ThreadFactory threadFactory = originalThreadFactory(threadPoolExecutor);
+        if (threadFactory instanceof ResourceSamplingThreadFactory) return (ResourceSamplingThreadFactory) threadFactory;
+        if (null == THREAD_MX_BEAN) return null;
+        if (threadPoolExecutor instanceof VirtualThreadPoolExecutor && ((VirtualThreadPoolExecutor) threadPoolExecutor).isVirtual()) return null;
+        ResourceSamplingThreadFactory samplingThreadFactory = new ResourceSamplingThreadFactory(threadFactory);
+        threadPoolExecutor.setThreadFactory(samplingThreadFactory);
+        logger.info("动态线程池，{} 开启工作线程 CPU 时间与内存分配采样", threadPoolName);
+        return samplingThreadFactory;
+    }
+
+    /**
+     * 取出线程池使用的采样线程工厂
+     *
+     * @return 未包装时返回 null
+     */
+    public static ResourceSamplingThreadFactory of(ThreadPoolExecutor threadPoolExecutor) {
+        ThreadFactory threadFactory = originalThreadFactory(threadPoolExecutor);
+        return threadFactory instanceof ResourceSamplingThreadFactory ? (ResourceSamplingThreadFactory) threadFactory : null;
+    }
+
+    /**
+     * {@link DynamicThreadPoolExecutor} 的 getThreadFactory() 返回存活线程计数的包装，取其内部的线程工厂，避免重复包装
+     */
+    private static ThreadFactory originalThreadFactory(ThreadPoolExecutor threadPoolExecutor) {
+        return threadPoolExecutor instanceof DynamicThreadPoolExecutor
+                ? ((DynamicThreadPoolExecutor) threadPoolExecutor).getOriginalThreadFactory() : threadPoolExecutor.getThreadFactory();
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread thread = delegate.newThread(r);
+        if (null != thread) {
+            threads.put(thread.getId(), thread);
+        }
+        return thread;
+    }
+
+    /**
+     * 采样工作线程的 CPU 时间与已分配字节数，与上一次采样的差值除以间隔得到速率
+     *
+     * @param nowNanos 当前时间 System.nanoTime()
+     */
+    public synchronized void sample(long nowNanos) {
+        if (null == THREAD_MX_BEAN) return;
+        if (lastSampleNanos != 0 && nowNanos - lastSampleNanos < MIN_SAMPLE_INTERVAL_NANOS) return;
+
+        long[] ids = new long[Math.min(threads.size(), MAX_SAMPLED_THREADS)];
+        int sampled = 0;
+        int alive = 0;
+        for (Iterator<Thread> iterator = threads.values().iterator(); iterator.hasNext(); ) {
+            Thread thread = iterator.next();
+            if (!thread.isAlive()) {
+                iterator.remove();
+                continue;
+            }
+            alive++;
+            if (sampled < ids.length) ids[sampled++] = thread.getId();
+        }
+        if (sampled < ids.length) ids = Arrays.copyOf(ids, sampled);
+
+        long[] cpuTimes = CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getThreadCpuTime(ids) : null;
+        long[] allocatedBytes = ALLOCATED_MEMORY_SUPPORTED ? THREAD_MX_BEAN.getThreadAllocatedBytes(ids) : null;
+        long cpuDelta = 0;
+        long allocatedDelta = 0;
+        Map<Long, long[]> values = new HashMap<>(sampled * 2);
+        for (int i = 0; i < sampled; i++) {
+            // 线程已退出或统计被关闭时为 -1
+            long cpuTime = null == cpuTimes ? -1 : cpuTimes[i];
+            long allocated = null == allocatedBytes ? -1 : allocatedBytes[i];
+            long[] last = lastValues.get(ids[i]);
+            // 新线程从 0 开始计算，覆盖创建后到第一次采样之间的消耗
+            if (cpuTime >= 0) cpuDelta += cpuTime - (null == last || last[0] < 0 ? 0 : last[0]);
+            if (allocated >= 0) allocatedDelta += allocated - (null == last || last[1] < 0 ? 0 : last[1]);
+            values.put(ids[i], new long[]{cpuTime, allocated});
+        }
+        lastValues = values;
+
+        if (lastSampleNanos != 0) {
+            long elapsedNanos = nowNanos - lastSampleNanos;
+            // 只采样了部分线程时按存活线程数推算
+            double scale = sampled == 0 ? 1 : (double) alive / sampled;
+            cpuMilliCores = Math.round(cpuDelta * 1000.0 / elapsedNanos * scale);
+            allocationRate = Math.round(allocatedDelta * 1_000_000_000.0 / elapsedNanos * scale);
+        }
+        lastSampleNanos = nowNanos;
+        sampledThreadCount = sampled;
+    }
+
+    /**
+     * @return 最近一次采样间隔内的 CPU 占用（千分之一核，1000 表示占满 1 个核）
+     */
+    public long getCpuMilliCores() {
+        return cpuMilliCores;
+    }
+
+    /**
+     * @return 最近一次采样间隔内的内存分配速率（字节/秒）
+     */
+    public long getAllocationRate() {
+        return allocationRate;
+    }
+
+    /**
+     * @return 最近一次参与采样的线程数
+     */
+    public int getSampledThreadCount() {
+        return sampledThreadCount;
+    }
+
+    public ThreadFactory getDelegate() {
+        return delegate;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        try {
+            java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            if (threadMXBean instanceof com.sun.management.ThreadMXBean) return (com.sun.management.ThreadMXBean) threadMXBean;
+        } catch (LinkageError e) {
+            // 非 HotSpot 系列 JVM 可能没有 com.sun.management
+        }
+        logger.warn("动态线程池，当前 JVM 不支持 com.sun.management.ThreadMXBean，不采样工作线程 CPU 时间与内存分配");
+        return null;
+    }
+
+}
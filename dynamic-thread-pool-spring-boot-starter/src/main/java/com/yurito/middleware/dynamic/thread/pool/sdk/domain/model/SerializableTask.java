@@ -0,0 +1,14 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import java.io.Serializable;
+
+/**
+ * @author Yurito
+ * @description 可序列化的任务，队列已满被拒绝时可由 {@link SpillRejectedExecutionHandler} 写入本地磁盘，稍后重新提交执行
+ * <p>
+ * 任务通过 Java 序列化落盘，实现类及其字段都必须可序列化，并且在重启后的应用中仍能反序列化。
+ * 只有通过 execute 提交的任务会落盘，submit 返回的 Future 无法跨进程保留。
+ * @create 2025/9/11 09:30
+ */
+public interface SerializableTask extends Runnable, Serializable {
+}
@@ -0,0 +1,344 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Yurito
+ * @description 落盘拒绝策略：被拒绝的 {@link SerializableTask} 写入本地 {@link TaskSpillLog}，由后台线程在线程池有空闲容量时按落盘顺序重新提交
+ * <p>
+ * 其余任务、日志已满或序列化失败时交给兜底拒绝策略处理。重放线程在线程池第一次拒绝任务时启动，
+ * 受管线程池在应用启动时也会启动，以便重放上次退出前未执行的任务；线程池关闭后重放线程退出并关闭日志，未重放的任务保留在日志中。
+ * 可以再用 {@link RejectedExecutionHandlerDecorator} 包装以统计拒绝次数，重放线程自身被拒绝时不计数。
+ * <p>
+ * 1. 重放是至少一次：先提交到线程池再从日志中移除，两步之间进程退出时，任务在下次启动后会再执行一次，任务需要能容忍重复执行；
+ * 2. 日志文件可能被篡改，反序列化只接受白名单中的类：{@link SerializableTask} 的实现类、{@link #BUILTIN_ALLOWED_CLASSES} 中的 JDK 基础类型，
+ * 以及构造时传入的类名前缀（任务字段引用的业务类型、其余 JDK 类型如 "java.util.TreeMap" 需要显式加入），其余类型及动态代理一律拒绝，该任务记录日志后丢弃。
+ * @create 2025/9/11 10:20
+ */
+public class SpillRejectedExecutionHandler implements RejectedExecutionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpillRejectedExecutionHandler.class);
+
+    /** 线程池队列已满时重放线程的等待时间（单位：毫秒） */
+    private static final long REPLAY_BACKOFF_MILLIS = 10;
+
+    /** 日志为空时重放线程检查线程池是否关闭的间隔（单位：毫秒） */
+    private static final long IDLE_WAIT_MILLIS = 1000;
+
+    /**
+     * 反序列化时默认允许的 JDK 类，按类名精确匹配：字符串、包装类型、大数、常用集合、日期与 UUID。
+     * java.time 下的日期时间类型统一通过 java.time.Ser 序列化
+     */
+    public static final Set<String> BUILTIN_ALLOWED_CLASSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "java.lang.String", "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Short",
+            "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double", "java.lang.Number", "java.lang.Enum",
+            "java.math.BigInteger", "java.math.BigDecimal",
+            "java.util.ArrayList", "java.util.LinkedList", "java.util.HashMap", "java.util.LinkedHashMap",
+            "java.util.HashSet", "java.util.LinkedHashSet", "java.util.Date", "java.util.UUID", "java.time.Ser")));
+
+    private final TaskSpillLog spillLog;
+
+    private final RejectedExecutionHandler fallback;
+
+    /** 反序列化时额外允许的类名前缀 */
+    private final List<String> allowedClassPrefixes;
+
+    private final AtomicReference<Thread> replayer = new AtomicReference<>();
+
+    private volatile boolean closed;
+
+    private final LongAdder spilledCounter = new LongAdder();
+
+    private final LongAdder replayedCounter = new LongAdder();
+
+    public SpillRejectedExecutionHandler(TaskSpillLog spillLog, RejectedExecutionHandler fallback) {
+        this(spillLog, fallback, Collections.emptyList());
+    }
+
+    /**
+     * @param spillLog             落盘日志
+     * @param fallback             兜底拒绝策略
+     * @param allowedClassPrefixes 反序列化时额外允许的类名前缀，如任务字段引用的业务类型所在的包 "com.example.order."，也可以是完整类名
+     */
+    public SpillRejectedExecutionHandler(TaskSpillLog spillLog, RejectedExecutionHandler fallback, Collection<String> allowedClassPrefixes) {
+        this.spillLog = spillLog;
+        this.fallback = fallback;
+        this.allowedClassPrefixes = new ArrayList<>(allowedClassPrefixes);
+    }
+
+    /**
+     * @param file     日志文件
+     * @param maxBytes 日志文件大小上限
+     * @param fallback 兜底拒绝策略
+     */
+    public SpillRejectedExecutionHandler(Path file, int maxBytes, RejectedExecutionHandler fallback) throws IOException {
+        this(new TaskSpillLog(file, maxBytes), fallback);
+    }
+
+    /**
+     * @param file                 日志文件
+     * @param maxBytes             日志文件大小上限
+     * @param fallback             兜底拒绝策略
+     * @param allowedClassPrefixes 反序列化时额外允许的类名前缀
+     */
+    public SpillRejectedExecutionHandler(Path file, int maxBytes, RejectedExecutionHandler fallback, Collection<String> allowedClassPrefixes) throws IOException {
+        this(new TaskSpillLog(file, maxBytes), fallback, allowedClassPrefixes);
+    }
+
+    /**
+     * 取出线程池使用的落盘拒绝策略（含被 {@link RejectedExecutionHandlerDecorator} 包装的情况）
+     *
+     * @return 未使用时返回 null
+     */
+    public static SpillRejectedExecutionHandler of(ThreadPoolExecutor threadPoolExecutor) {
+        return unwrap(threadPoolExecutor.getRejectedExecutionHandler());
+    }
+
+    /**
+     * 取出拒绝策略本身或被 {@link RejectedExecutionHandlerDecorator} 包装的落盘拒绝策略
+     *
+     * @return 不是落盘拒绝策略时返回 null
+     */
+    public static SpillRejectedExecutionHandler unwrap(RejectedExecutionHandler handler) {
+        if (handler instanceof RejectedExecutionHandlerDecorator) {
+            handler = ((RejectedExecutionHandlerDecorator) handler).getDelegate();
+        }
+        return handler instanceof SpillRejectedExecutionHandler ? (SpillRejectedExecutionHandler) handler : null;
+    }
+
+    /**
+     * @return 当前线程是否为重放线程，重放时被拒绝的任务仍在日志中，不应计入拒绝次数
+     */
+    public boolean isReplayThread() {
+        return Thread.currentThread() == replayer.get();
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        // 重放时被拒绝，任务仍在日志头部，等待下次重放
+        if (isReplayThread()) throw new RejectedExecutionException("spill replay rejected");
+        // 线程池已关闭或拒绝策略已关闭时不再落盘
+        if (closed || executor.isShutdown()) {
+            fallback.rejectedExecution(r, executor);
+            return;
+        }
+
+        start(executor);
+        // DynamicThreadPoolExecutor 交给拒绝策略的已是原始任务
+        if (r instanceof SerializableTask) {
+            try {
+                if (spillLog.append(serialize(r), System.currentTimeMillis())) {
+                    spilledCounter.increment();
+                    synchronized (spillLog) {
+                        spillLog.notifyAll();
+                    }
+                    return;
+                }
+                logger.warn("动态线程池，落盘任务日志 {} 已满，交给兜底拒绝策略", spillLog.getFile());
+            } catch (IOException e) {
+                logger.error("动态线程池，任务 {} 序列化失败，交给兜底拒绝策略", r.getClass().getName(), e);
+            }
+        }
+        fallback.rejectedExecution(r, executor);
+    }
+
+    /**
+     * 启动重放线程，重复调用无副作用
+     *
+     * @param executor 重新提交任务的线程池
+     */
+    public void start(ThreadPoolExecutor executor) {
+        if (closed || null != replayer.get()) return;
+        Thread thread = new Thread(() -> replay(executor), "dynamic-thread-pool-spill-replayer");
+        thread.setDaemon(true);
+        if (replayer.compareAndSet(null, thread)) {
+            thread.start();
+        }
+    }
+
+    private void replay(ThreadPoolExecutor executor) {
+        try {
+            while (!closed && !executor.isShutdown()) {
+                byte[] payload = spillLog.peek();
+                if (null == payload) {
+                    synchronized (spillLog) {
+                        if (spillLog.isEmpty()) spillLog.wait(IDLE_WAIT_MILLIS);
+                    }
+                    continue;
+                }
+                Runnable task;
+                try {
+                    task = deserialize(payload);
+                } catch (Exception e) {
+                    logger.error("动态线程池，落盘任务反序列化失败，丢弃", e);
+                    spillLog.remove();
+                    continue;
+                }
+                // 队列仍满时不提交，避免重复触发拒绝计数
+                if (executor.getQueue().remainingCapacity() == 0 && executor.getPoolSize() >= executor.getMaximumPoolSize()) {
+                    TimeUnit.MILLISECONDS.sleep(REPLAY_BACKOFF_MILLIS);
+                    continue;
+                }
+                try {
+                    // 先提交再移除，两步之间进程退出时任务会再重放一次；先计数再移除，待重放任务数归零时重放数已经可见
+                    executor.execute(task);
+                    replayedCounter.increment();
+                    spillLog.remove();
+                } catch (RejectedExecutionException e) {
+                    TimeUnit.MILLISECONDS.sleep(REPLAY_BACKOFF_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            replayer.set(null);
+            if (executor.isShutdown()) close();
+        }
+    }
+
+    /**
+     * 停止重放并关闭日志，未重放的任务保留在日志中；线程池关闭后由重放线程调用，
+     * {@link DynamicThreadPoolExecutor} 替换拒绝策略时也会调用。关闭后被拒绝的任务交给兜底拒绝策略
+     */
+    public void close() {
+        if (closed) return;
+        closed = true;
+        synchronized (spillLog) {
+            spillLog.notifyAll();
+        }
+        try {
+            spillLog.close();
+        } catch (IOException e) {
+            logger.error("动态线程池，落盘任务日志 {} 关闭失败", spillLog.getFile(), e);
+        }
+    }
+
+    private static byte[] serialize(Runnable task) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(task);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Runnable deserialize(byte[] payload) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new AllowListObjectInputStream(new ByteArrayInputStream(payload), allowedClassPrefixes)) {
+            Object task = in.readObject();
+            if (!(task instanceof SerializableTask)) throw new IOException("not a SerializableTask: " + task.getClass().getName());
+            return (Runnable) task;
+        }
+    }
+
+    /**
+     * 只解析白名单中的类，在加载类之前按名称过滤，不在白名单中的类不会被初始化
+     */
+    private static final class AllowListObjectInputStream extends ObjectInputStream {
+
+        private final List<String> allowedClassPrefixes;
+
+        private AllowListObjectInputStream(ByteArrayInputStream in, List<String> allowedClassPrefixes) throws IOException {
+            super(in);
+            this.allowedClassPrefixes = allowedClassPrefixes;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            // 数组按元素类型判断，基本类型数组直接放行
+            String elementName = name;
+            if (elementName.startsWith("[")) {
+                elementName = elementName.substring(elementName.lastIndexOf('[') + 1);
+                if (elementName.length() == 1) return super.resolveClass(desc);
+                elementName = elementName.substring(1, elementName.length() - 1);
+            }
+            if (BUILTIN_ALLOWED_CLASSES.contains(elementName) || allowed(elementName)) {
+                return super.resolveClass(desc);
+            }
+            // 其余类只接受任务实现类，super.resolveClass 加载时不执行静态初始化
+            Class<?> clazz = super.resolveClass(desc);
+            if (SerializableTask.class.isAssignableFrom(clazz)) return clazz;
+            throw new InvalidClassException(name, "not allowed in spill log");
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws InvalidClassException {
+            throw new InvalidClassException("proxy class not allowed in spill log: " + Arrays.toString(interfaces));
+        }
+
+        private boolean allowed(String className) {
+            for (String prefix : allowedClassPrefixes) {
+                if (className.startsWith(prefix)) return true;
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * @return 待重放的任务数
+     */
+    public int getSpillTaskCount() {
+        return spillLog.size();
+    }
+
+    /**
+     * @return 待重放任务占用的字节数
+     */
+    public long getSpillBytes() {
+        return spillLog.usedBytes();
+    }
+
+    /**
+     * @return 重放滞后时间，即最早一个待重放任务落盘至今的时长（单位：毫秒），没有待重放任务时为 0
+     */
+    public long getReplayLag() {
+        long oldestTime = spillLog.oldestTime();
+        return 0 == oldestTime ? 0 : Math.max(0, System.currentTimeMillis() - oldestTime);
+    }
+
+    /**
+     * @return 累计落盘任务数
+     */
+    public long getSpilledCount() {
+        return spilledCounter.sum();
+    }
+
+    /**
+     * @return 累计重放任务数
+     */
+    public long getReplayedCount() {
+        return replayedCounter.sum();
+    }
+
+    public TaskSpillLog getSpillLog() {
+        return spillLog;
+    }
+
+    public RejectedExecutionHandler getFallback() {
+        return fallback;
+    }
+
+}
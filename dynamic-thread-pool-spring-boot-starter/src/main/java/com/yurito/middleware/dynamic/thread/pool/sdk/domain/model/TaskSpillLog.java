@@ -0,0 +1,230 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author Yurito
+ * @description 基于内存映射文件的有界追加日志，保存被拒绝的任务
+ * <p>
+ * 文件布局：头部 24 字节依次为魔数、记录数、读位置、写位置；其后为记录区，每条记录为 长度(int) + 落盘时间(long) + 内容。
+ * 追加写在写位置之后，消费从读位置开始，先进先出。记录区写满时先把未消费的记录整体前移回收已消费的空间，仍然放不下则拒绝写入。
+ * 头部与记录都写在映射内存中，进程异常退出后由操作系统落盘，重启后从读位置继续消费；不保证操作系统崩溃时不丢失。
+ * @create 2025/9/11 09:40
+ */
+public class TaskSpillLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSpillLog.class);
+
+    private static final int MAGIC = 0x44545053;
+
+    private static final int COUNT_OFFSET = 4;
+    private static final int READ_OFFSET = 8;
+    private static final int WRITE_OFFSET = 16;
+    private static final int HEADER_BYTES = 24;
+
+    /** 记录头：长度(int) + 落盘时间(long) */
+    private static final int RECORD_HEADER_BYTES = 12;
+
+    private static final int COMPACT_CHUNK_BYTES = 8192;
+
+    private final Path file;
+
+    private final int maxBytes;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private int count;
+
+    private int readPosition;
+
+    private int writePosition;
+
+    private boolean closed;
+
+    /**
+     * @param file     日志文件，不存在时创建
+     * @param maxBytes 文件大小上限（含 24 字节头部），同时也是映射内存的大小
+     */
+    public TaskSpillLog(Path file, int maxBytes) throws IOException {
+        if (maxBytes <= HEADER_BYTES + RECORD_HEADER_BYTES) throw new IllegalArgumentException("maxBytes too small: " + maxBytes);
+        this.file = file;
+        this.maxBytes = maxBytes;
+        Path parent = file.toAbsolutePath().getParent();
+        if (null != parent) Files.createDirectories(parent);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, maxBytes);
+        recover();
+    }
+
+    /**
+     * 读取头部，头部无效或与文件大小不符时清空日志
+     */
+    private void recover() {
+        int magic = buffer.getInt(0);
+        long read = buffer.getLong(READ_OFFSET);
+        long write = buffer.getLong(WRITE_OFFSET);
+        int recordCount = buffer.getInt(COUNT_OFFSET);
+        if (magic == MAGIC && read >= HEADER_BYTES && read <= write && write <= maxBytes && recordCount >= 0) {
+            readPosition = (int) read;
+            writePosition = (int) write;
+            count = recordCount;
+            if (count > 0) {
+                logger.info("动态线程池，落盘任务日志 {} 恢复待重放任务 {} 个", file, count);
+            }
+            return;
+        }
+        if (magic != 0) {
+            logger.warn("动态线程池，落盘任务日志 {} 头部无效，清空", file);
+        }
+        buffer.putInt(0, MAGIC);
+        reset();
+    }
+
+    /**
+     * 追加一条记录
+     *
+     * @param payload   任务序列化后的内容
+     * @param timeMillis 落盘时间
+     * @return 日志已满或已关闭时返回 false
+     */
+    public synchronized boolean append(byte[] payload, long timeMillis) {
+        if (closed) return false;
+        int recordBytes = RECORD_HEADER_BYTES + payload.length;
+        if (writePosition + recordBytes > maxBytes) {
+            compact();
+            if (writePosition + recordBytes > maxBytes) return false;
+        }
+        buffer.putInt(writePosition, payload.length);
+        buffer.putLong(writePosition + 4, timeMillis);
+        ByteBuffer view = buffer.duplicate();
+        view.position(writePosition + RECORD_HEADER_BYTES);
+        view.put(payload);
+        // 先写记录再推进写位置，中途退出时只会丢失这一条未完成的记录
+        writePosition += recordBytes;
+        buffer.putLong(WRITE_OFFSET, writePosition);
+        buffer.putInt(COUNT_OFFSET, ++count);
+        return true;
+    }
+
+    /**
+     * @return 最早的一条记录的内容，日志为空或已关闭时返回 null；读取后需调用 {@link #remove()} 才会出队
+     */
+    public synchronized byte[] peek() {
+        if (closed || count == 0) return null;
+        int length = buffer.getInt(readPosition);
+        if (length < 0 || readPosition + RECORD_HEADER_BYTES + length > writePosition) {
+            logger.error("动态线程池，落盘任务日志 {} 记录损坏（位置 {}，长度 {}），丢弃剩余 {} 个任务", file, readPosition, length, count);
+            reset();
+            return null;
+        }
+        byte[] payload = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(readPosition + RECORD_HEADER_BYTES);
+        view.get(payload);
+        return payload;
+    }
+
+    /**
+     * 移除最早的一条记录
+     */
+    public synchronized void remove() {
+        if (closed || count == 0) return;
+        int length = buffer.getInt(readPosition);
+        if (--count == 0) {
+            // 取空后回到起点，避免写位置一直后移
+            reset();
+            return;
+        }
+        readPosition += RECORD_HEADER_BYTES + length;
+        buffer.putLong(READ_OFFSET, readPosition);
+        buffer.putInt(COUNT_OFFSET, count);
+    }
+
+    /**
+     * @return 待重放的记录数
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return 未消费记录占用的字节数
+     */
+    public synchronized long usedBytes() {
+        return writePosition - readPosition;
+    }
+
+    /**
+     * @return 最早一条记录的落盘时间，日志为空时返回 0
+     */
+    public synchronized long oldestTime() {
+        return count == 0 ? 0 : buffer.getLong(readPosition + 4);
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 刷盘并关闭文件，映射内存在回收时释放；关闭后不再读写，重复调用无副作用
+     */
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * 把未消费的记录前移到记录区起点，按块从前往后复制，目标位置在源位置之前，重叠也不会覆盖未复制的数据。
+     * 前移过程中进程退出可能留下损坏的记录，恢复后读取时校验长度，损坏时丢弃
+     */
+    private void compact() {
+        if (readPosition == HEADER_BYTES) return;
+        int used = writePosition - readPosition;
+        byte[] chunk = new byte[Math.min(COMPACT_CHUNK_BYTES, Math.max(used, 1))];
+        ByteBuffer source = buffer.duplicate();
+        ByteBuffer target = buffer.duplicate();
+        source.position(readPosition);
+        target.position(HEADER_BYTES);
+        for (int copied = 0; copied < used; copied += chunk.length) {
+            int length = Math.min(chunk.length, used - copied);
+            source.get(chunk, 0, length);
+            target.put(chunk, 0, length);
+        }
+        // 先写读位置再写写位置：两次写入之间退出时，记录数不变，只会读到前移后的有效记录
+        readPosition = HEADER_BYTES;
+        writePosition = HEADER_BYTES + used;
+        buffer.putLong(READ_OFFSET, readPosition);
+        buffer.putLong(WRITE_OFFSET, writePosition);
+    }
+
+    private void reset() {
+        count = 0;
+        readPosition = HEADER_BYTES;
+        writePosition = HEADER_BYTES;
+        buffer.putInt(COUNT_OFFSET, 0);
+        buffer.putLong(READ_OFFSET, readPosition);
+        buffer.putLong(WRITE_OFFSET, writePosition);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+/**
+ * @author Yurito
+ * @description 带租户（或任务类别）标识的任务，配合 {@link WeightedFairBlockingQueue} 使用
+ * <p>
+ * 同一租户的任务进入同一个子队列，按提交顺序执行；未实现该接口的任务归入 {@link WeightedFairBlockingQueue#DEFAULT_TENANT}。
+ * 通过 submit 提交的 Callable 同样可以实现该接口。
+ * @create 2025/9/12 13:50
+ */
+public interface TenantTask {
+
+    /**
+     * @return 租户标识，为 null 时归入默认租户
+     */
+    String getTenant();
+
+}
@@ -0,0 +1,125 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Yurito
+ * @description 虚拟线程执行的动态线程池
+ * <p>
+ * JDK 21+ 上工作线程由虚拟线程承担，阻塞型任务挂起时不占用平台线程；并发上限即核心线程数与最大线程数（两者始终相等），
+ * 可通过 {@link #setConcurrencyLimit(int)} 或管理端调整最大线程数动态修改。空闲的虚拟线程超过存活时间后回收。
+ * 低于 JDK 21 时退化为按 threadNamePrefix 命名的平台线程，行为与 {@link DynamicThreadPoolExecutor} 一致，排队耗时、执行耗时等指标照常统计。
+ * 为兼容 JDK 8 编译，虚拟线程工厂通过反射创建。
+ * <p>
+ * 与 JDK 的 newVirtualThreadPerTaskExecutor（每个任务一个虚拟线程、用信号量限制并发）不同，这里的虚拟线程按线程池方式复用：
+ * 工作线程数即并发上限，超出的任务进入队列，队列容量、拒绝策略、排队耗时统计与管理端调参都沿用 {@link DynamicThreadPoolExecutor}。
+ * 复用的代价是 ThreadLocal 会在同一工作线程的任务之间保留，任务不应依赖每次执行都是新线程。
+ * @create 2025/9/6 10:05
+ */
+public class VirtualThreadPoolExecutor extends DynamicThreadPoolExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPoolExecutor.class);
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final boolean virtual;
+
+    public VirtualThreadPoolExecutor(String threadNamePrefix, int concurrencyLimit, BlockingQueue<Runnable> workQueue) {
+        this(threadNamePrefix, concurrencyLimit, workQueue, new AbortPolicy());
+    }
+
+    public VirtualThreadPoolExecutor(String threadNamePrefix, int concurrencyLimit, BlockingQueue<Runnable> workQueue, RejectedExecutionHandler handler) {
+        this(threadNamePrefix, concurrencyLimit, workQueue, handler, virtualThreadFactory(threadNamePrefix));
+    }
+
+    private VirtualThreadPoolExecutor(String threadNamePrefix, int concurrencyLimit, BlockingQueue<Runnable> workQueue, RejectedExecutionHandler handler, ThreadFactory virtualThreadFactory) {
+        super(concurrencyLimit, concurrencyLimit, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, workQueue,
+                null != virtualThreadFactory ? virtualThreadFactory : new PlatformThreadFactory(threadNamePrefix), handler);
+        this.virtual = null != virtualThreadFactory;
+        allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 调整并发上限，核心线程数与最大线程数同步修改
+     *
+     * @param concurrencyLimit 并发上限
+     */
+    public synchronized void setConcurrencyLimit(int concurrencyLimit) {
+        if (concurrencyLimit <= 0) throw new IllegalArgumentException("concurrencyLimit: " + concurrencyLimit);
+        // 核心线程数不能大于最大线程数，按调整方向决定先后顺序
+        if (concurrencyLimit > getMaximumPoolSize()) {
+            super.setMaximumPoolSize(concurrencyLimit);
+            super.setCorePoolSize(concurrencyLimit);
+        } else {
+            super.setCorePoolSize(concurrencyLimit);
+            super.setMaximumPoolSize(concurrencyLimit);
+        }
+    }
+
+    public int getConcurrencyLimit() {
+        return getMaximumPoolSize();
+    }
+
+    @Override
+    public void setCorePoolSize(int corePoolSize) {
+        setConcurrencyLimit(corePoolSize);
+    }
+
+    @Override
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        setConcurrencyLimit(maximumPoolSize);
+    }
+
+    /**
+     * @return 是否运行在虚拟线程上
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * 通过反射获取 Thread.ofVirtual().name(prefix, 0).factory()，不支持虚拟线程时返回 null
+     */
+    static ThreadFactory virtualThreadFactory(String threadNamePrefix) {
+        try {
+            Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = ofVirtual.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            return (ThreadFactory) ofVirtual.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("动态线程池，当前 JDK {} 不支持虚拟线程，{} 使用平台线程执行", System.getProperty("java.version"), threadNamePrefix);
+            return null;
+        }
+    }
+
+    /**
+     * 不支持虚拟线程时使用的平台线程工厂，与虚拟线程一样按 前缀 + 从 0 开始的序号 命名
+     */
+    private static final class PlatformThreadFactory implements ThreadFactory {
+
+        private final String threadNamePrefix;
+
+        private final AtomicLong threadNumber = new AtomicLong();
+
+        private PlatformThreadFactory(String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.getAndIncrement());
+            if (thread.isDaemon()) thread.setDaemon(false);
+            if (thread.getPriority() != Thread.NORM_PRIORITY) thread.setPriority(Thread.NORM_PRIORITY);
+            return thread;
+        }
+
+    }
+
+}
@@ -0,0 +1,635 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.TenantQueueEntity;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * @author Yurito
+ * @description 按租户加权公平调度的有界阻塞队列
+ * <p>
+ * 任务按租户标识进入各自的子队列，每个子队列有独立的容量上限，一个租户写满自己的子队列后只会拒绝它自己的任务。
+ * 出队按赤字轮询（Deficit Round Robin）在有任务的子队列之间轮转，每个任务计 1，权重即每轮可连续出队的任务数，
+ * 各租户在持续积压时获得与权重成比例的线程份额；子队列内部先进先出。
+ * <p>
+ * 总容量、各租户的权重与容量均可在运行时调整，缩容不会丢弃已有任务。未单独配置且已取空的子队列会被回收，避免租户数量无限增长。
+ * 入队、出队为 O(1)，由一把锁保护；迭代顺序不保证为出队顺序。
+ * @create 2025/9/12 14:30
+ */
+public class WeightedFairBlockingQueue<E> extends AbstractQueue<E> implements ResizableBlockingQueue<E> {
+
+    /** 未指定租户的任务归入的租户 */
+    public static final String DEFAULT_TENANT = "default";
+
+    /** 最大容量 */
+    public static final int MAXIMUM_CAPACITY = ResizableCapacityArrayBlockingQueue.MAXIMUM_CAPACITY;
+
+    /** 权重上限，避免单个租户一轮占用过久 */
+    public static final int MAXIMUM_WEIGHT = 1000;
+
+    private static final int DEFAULT_WEIGHT = 1;
+
+    private static final int INITIAL_LANE_LENGTH = 16;
+
+    private final Function<? super E, String> tenantFunction;
+
+    /** 租户 -> 子队列 */
+    private final Map<String, Lane> lanes = new HashMap<>();
+
+    /** 有任务的子队列，按轮询顺序排列，队首为当前轮到的子队列 */
+    private final ArrayDeque<Lane> activeLanes = new ArrayDeque<>();
+
+    private int size;
+
+    private volatile int capacity;
+
+    /** 未单独配置的租户使用的子队列容量 */
+    private volatile int defaultTenantCapacity;
+
+    /** 在 put/offer(timeout) 中等待的生产者数，出队时据此决定是否唤醒 */
+    private int waitingProducers;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * @param capacity              总容量
+     * @param defaultTenantCapacity 未单独配置的租户的子队列容量
+     * @param tenantFunction        租户标识函数，返回 null 时归入 {@link #DEFAULT_TENANT}
+     */
+    public WeightedFairBlockingQueue(int capacity, int defaultTenantCapacity, Function<? super E, String> tenantFunction) {
+        checkCapacity(capacity);
+        checkCapacity(defaultTenantCapacity);
+        if (null == tenantFunction) throw new NullPointerException();
+        this.capacity = capacity;
+        this.defaultTenantCapacity = defaultTenantCapacity;
+        this.tenantFunction = tenantFunction;
+    }
+
+    /**
+     * 按 {@link TenantTask#getTenant()} 划分子队列的工作队列
+     */
+    public static WeightedFairBlockingQueue<Runnable> tenantOrdered(int capacity, int defaultTenantCapacity) {
+        return new WeightedFairBlockingQueue<>(capacity, defaultTenantCapacity, WeightedFairBlockingQueue::tenantOf);
+    }
+
+    /**
+     * 任务租户，包装任务按原始任务读取，未指定时为 null
+     */
+    public static String tenantOf(Object task) {
+        Object unwrapped = task instanceof InstrumentedTask ? ((InstrumentedTask) task).getDelegate() : task;
+        return unwrapped instanceof TenantTask ? ((TenantTask) unwrapped).getTenant() : null;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void setCapacity(int newCapacity) {
+        checkCapacity(newCapacity);
+        lock.lock();
+        try {
+            int oldCapacity = capacity;
+            capacity = newCapacity;
+            if (newCapacity > oldCapacity) {
+                signalNotFull();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getDefaultTenantCapacity() {
+        return defaultTenantCapacity;
+    }
+
+    /**
+     * 调整未单独配置的租户的子队列容量，已单独配置的租户不受影响
+     */
+    public void setDefaultTenantCapacity(int newCapacity) {
+        checkCapacity(newCapacity);
+        lock.lock();
+        try {
+            defaultTenantCapacity = newCapacity;
+            for (Lane lane : lanes.values()) {
+                if (!lane.capacityConfigured) lane.capacity = newCapacity;
+            }
+            signalNotFull();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 调整租户的权重与子队列容量，配置后子队列取空也不会被回收
+     *
+     * @param tenant   租户标识
+     * @param weight   权重，<=0 时沿用当前值
+     * @param capacity 子队列容量，<=0 时沿用当前值
+     */
+    public void configureTenant(String tenant, int weight, int capacity) {
+        if (weight > MAXIMUM_WEIGHT) throw new IllegalArgumentException("weight: " + weight);
+        if (capacity > MAXIMUM_CAPACITY) throw new IllegalArgumentException("capacity: " + capacity);
+        lock.lock();
+        try {
+            Lane lane = lane(null == tenant ? DEFAULT_TENANT : tenant);
+            if (weight > 0) {
+                lane.weight = weight;
+                lane.weightConfigured = true;
+            }
+            if (capacity > 0) {
+                lane.capacity = capacity;
+                lane.capacityConfigured = true;
+                signalNotFull();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 各租户子队列的配置与状态，包括已单独配置但当前没有任务的租户
+     */
+    public List<TenantQueueEntity> tenantQueues() {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            List<TenantQueueEntity> tenantQueues = new ArrayList<>(lanes.size());
+            for (Lane lane : lanes.values()) {
+                TenantQueueEntity tenantQueue = new TenantQueueEntity(lane.tenant, lane.weight, lane.capacity);
+                tenantQueue.setQueueSize(lane.count);
+                tenantQueue.setConfigured(lane.weightConfigured || lane.capacityConfigured);
+                tenantQueue.setWaitTime(lane.count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(now - lane.times[lane.head]));
+                tenantQueues.add(tenantQueue);
+            }
+            return tenantQueues;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (null == e) throw new NullPointerException();
+        // 在锁外计算租户，缩短持锁时间
+        String tenant = tenantKey(e);
+        lock.lock();
+        try {
+            Lane lane = lane(tenant);
+            if (size >= capacity || lane.count >= lane.capacity) {
+                recycle(lane);
+                return false;
+            }
+            enqueue(lane, e);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (null == e) throw new NullPointerException();
+        String tenant = tenantKey(e);
+        lock.lockInterruptibly();
+        try {
+            Lane lane = lane(tenant);
+            while (size >= capacity || lane.count >= lane.capacity) {
+                waitingProducers++;
+                try {
+                    notFull.await();
+                } finally {
+                    waitingProducers--;
+                }
+                // 等待期间子队列可能被回收
+                lane = lane(tenant);
+            }
+            enqueue(lane, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (null == e) throw new NullPointerException();
+        String tenant = tenantKey(e);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Lane lane = lane(tenant);
+            while (size >= capacity || lane.count >= lane.capacity) {
+                if (nanos <= 0) {
+                    recycle(lane);
+                    return false;
+                }
+                waitingProducers++;
+                try {
+                    nanos = notFull.awaitNanos(nanos);
+                } finally {
+                    waitingProducers--;
+                }
+                lane = lane(tenant);
+            }
+            enqueue(lane, e);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll() {
+        lock.lock();
+        try {
+            return size == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        lock.lock();
+        try {
+            Lane lane = activeLanes.peekFirst();
+            return null == lane ? null : (E) lane.elements[lane.head];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return Math.max(0, capacity - size);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (null == o) return false;
+        lock.lock();
+        try {
+            for (Lane lane : activeLanes) {
+                if (lane.remove(o, false)) {
+                    removed(lane);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (null == o) return false;
+        lock.lock();
+        try {
+            for (Lane lane : activeLanes) {
+                for (int i = 0; i < lane.count; i++) {
+                    if (o.equals(lane.elements[lane.index(i)])) return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            while (size > 0) {
+                dequeue();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (null == c) throw new NullPointerException();
+        if (c == this) throw new IllegalArgumentException();
+        lock.lock();
+        try {
+            int n = 0;
+            while (n < maxElements && size > 0) {
+                c.add(dequeue());
+                n++;
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot().toArray();
+    }
+
+    /**
+     * 弱一致性迭代器，基于迭代开始时的快照，按子队列依次排列
+     */
+    @Override
+    public Iterator<E> iterator() {
+        final List<E> snapshot = snapshot();
+        return new Iterator<E>() {
+            private int cursor;
+            private E lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.size();
+            }
+
+            @Override
+            public E next() {
+                if (cursor >= snapshot.size()) throw new NoSuchElementException();
+                lastReturned = snapshot.get(cursor++);
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+                if (null == lastReturned) throw new IllegalStateException();
+                removeEq(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> snapshot() {
+        lock.lock();
+        try {
+            List<E> snapshot = new ArrayList<>(size);
+            for (Lane lane : activeLanes) {
+                for (int i = 0; i < lane.count; i++) {
+                    snapshot.add((E) lane.elements[lane.index(i)]);
+                }
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 按引用删除，供迭代器使用
+     */
+    private void removeEq(Object o) {
+        lock.lock();
+        try {
+            for (Lane lane : activeLanes) {
+                if (lane.remove(o, true)) {
+                    removed(lane);
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String tenantKey(E e) {
+        String tenant = tenantFunction.apply(e);
+        return null == tenant ? DEFAULT_TENANT : tenant;
+    }
+
+    private Lane lane(String tenant) {
+        Lane lane = lanes.get(tenant);
+        if (null == lane) {
+            lane = new Lane(tenant, DEFAULT_WEIGHT, defaultTenantCapacity);
+            lanes.put(tenant, lane);
+        }
+        return lane;
+    }
+
+    private void enqueue(Lane lane, E e) {
+        lane.add(e, System.nanoTime());
+        size++;
+        if (!lane.active) {
+            lane.active = true;
+            activeLanes.addLast(lane);
+        }
+        notEmpty.signal();
+    }
+
+    @SuppressWarnings("unchecked")
+    private E dequeue() {
+        Lane lane = activeLanes.peekFirst();
+        // 轮到该子队列时补足本轮额度
+        if (lane.deficit <= 0) lane.deficit = lane.weight;
+        E e = (E) lane.poll();
+        lane.deficit--;
+        size--;
+        if (lane.count == 0) {
+            activeLanes.pollFirst();
+            deactivate(lane);
+        } else if (lane.deficit <= 0) {
+            // 本轮额度用完，轮到下一个子队列
+            activeLanes.pollFirst();
+            activeLanes.addLast(lane);
+        }
+        signalNotFull();
+        return e;
+    }
+
+    /**
+     * 子队列中任意位置的任务被删除后维护轮询顺序
+     */
+    private void removed(Lane lane) {
+        size--;
+        if (lane.count == 0) {
+            activeLanes.remove(lane);
+            deactivate(lane);
+        }
+        signalNotFull();
+    }
+
+    private void deactivate(Lane lane) {
+        lane.active = false;
+        // 取空后清零剩余额度，不能攒到下一轮
+        lane.deficit = 0;
+        recycle(lane);
+    }
+
+    /**
+     * 回收未单独配置且没有任务的子队列
+     */
+    private void recycle(Lane lane) {
+        if (lane.count == 0 && !lane.weightConfigured && !lane.capacityConfigured) {
+            lanes.remove(lane.tenant);
+        }
+    }
+
+    private void signalNotFull() {
+        // 生产者可能等待的是不同租户的子队列，需全部唤醒后各自重新检查
+        if (waitingProducers > 0) notFull.signalAll();
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+    }
+
+    /**
+     * 单个租户的子队列，环形数组存放任务及其入队时间，由外层的锁保护
+     */
+    private static final class Lane {
+
+        private final String tenant;
+
+        private int weight;
+
+        private int capacity;
+
+        private boolean weightConfigured;
+
+        private boolean capacityConfigured;
+
+        /** 是否在轮询队列中 */
+        private boolean active;
+
+        /** 本轮剩余可出队的任务数 */
+        private int deficit;
+
+        private Object[] elements = new Object[INITIAL_LANE_LENGTH];
+
+        /** 入队时间 System.nanoTime() */
+        private long[] times = new long[INITIAL_LANE_LENGTH];
+
+        private int head;
+
+        private int count;
+
+        private Lane(String tenant, int weight, int capacity) {
+            this.tenant = tenant;
+            this.weight = weight;
+            this.capacity = capacity;
+        }
+
+        private int index(int i) {
+            return (head + i) & (elements.length - 1);
+        }
+
+        private void add(Object e, long time) {
+            if (count == elements.length) grow();
+            int tail = index(count);
+            elements[tail] = e;
+            times[tail] = time;
+            count++;
+        }
+
+        private Object poll() {
+            Object e = elements[head];
+            elements[head] = null;
+            head = (head + 1) & (elements.length - 1);
+            count--;
+            return e;
+        }
+
+        private boolean remove(Object o, boolean identity) {
+            for (int i = 0; i < count; i++) {
+                Object e = elements[index(i)];
+                if (identity ? o == e : o.equals(e)) {
+                    // 后面的任务依次前移，保持先进先出
+                    for (int j = i; j < count - 1; j++) {
+                        elements[index(j)] = elements[index(j + 1)];
+                        times[index(j)] = times[index(j + 1)];
+                    }
+                    elements[index(count - 1)] = null;
+                    count--;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void grow() {
+            int length = elements.length;
+            Object[] newElements = new Object[length << 1];
+            long[] newTimes = new long[length << 1];
+            for (int i = 0; i < count; i++) {
+                newElements[i] = elements[index(i)];
+                newTimes[i] = times[index(i)];
+            }
+            elements = newElements;
+            times = newTimes;
+            head = 0;
+        }
+
+    }
+
+}
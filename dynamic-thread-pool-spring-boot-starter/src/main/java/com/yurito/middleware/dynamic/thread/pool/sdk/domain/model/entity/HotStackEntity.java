@@ -0,0 +1,98 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Yurito
+ * @description 热点调用栈：按栈顶帧归并的一组正在执行任务的工作线程
+ * @create 2025/9/14 10:40
+ */
+public class HotStackEntity {
+
+    /**
+     * 栈顶帧，如 java.net.SocketInputStream.socketRead0(Native Method)
+     */
+    private String topFrame;
+
+    /**
+     * 停在该栈顶帧的线程数
+     */
+    private int threadCount;
+
+    /**
+     * 其中执行时间超过卡顿阈值的线程数
+     */
+    private int stuckCount;
+
+    /**
+     * 其中最长的任务执行时间（单位：毫秒）
+     */
+    private long maxRunningTime;
+
+    /**
+     * 线程名称，最多保留 {@code 10} 个
+     */
+    private List<String> threadNames = new ArrayList<>();
+
+    /**
+     * 执行时间最长的线程的调用栈，自栈顶向下
+     */
+    private List<String> stackTrace = new ArrayList<>();
+
+    public HotStackEntity() {
+    }
+
+    public HotStackEntity(String topFrame) {
+        this.topFrame = topFrame;
+    }
+
+    public String getTopFrame() {
+        return topFrame;
+    }
+
+    public void setTopFrame(String topFrame) {
+        this.topFrame = topFrame;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    public int getStuckCount() {
+        return stuckCount;
+    }
+
+    public void setStuckCount(int stuckCount) {
+        this.stuckCount = stuckCount;
+    }
+
+    public long getMaxRunningTime() {
+        return maxRunningTime;
+    }
+
+    public void setMaxRunningTime(long maxRunningTime) {
+        this.maxRunningTime = maxRunningTime;
+    }
+
+    public List<String> getThreadNames() {
+        return threadNames;
+    }
+
+    public void setThreadNames(List<String> threadNames) {
+        this.threadNames = threadNames;
+    }
+
+    public List<String> getStackTrace() {
+        return stackTrace;
+    }
+
+    public void setStackTrace(List<String> stackTrace) {
+        this.stackTrace = stackTrace;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity;
+
+/**
+ * @author Yurito
+ * @description 加权公平队列中单个租户子队列的配置与状态
+ * @create 2025/9/12 14:10
+ */
+public class TenantQueueEntity {
+
+    /**
+     * 租户（或任务类别）标识
+     */
+    private String tenant;
+
+    /**
+     * 权重，每轮最多连续出队的任务数；调整时 <=0 表示沿用当前值
+     */
+    private int weight;
+
+    /**
+     * 子队列容量；调整时 <=0 表示沿用当前值
+     */
+    private int capacity;
+
+    /**
+     * 子队列中的任务数
+     */
+    private int queueSize;
+
+    /**
+     * 队首任务已等待的时长（单位：微秒）
+     */
+    private long waitTime;
+
+    /**
+     * 是否单独配置过权重或容量，未配置的租户取空后子队列被回收，也不写入本地配置快照
+     */
+    private boolean configured;
+
+    public TenantQueueEntity() {
+    }
+
+    public TenantQueueEntity(String tenant, int weight, int capacity) {
+        this.tenant = tenant;
+        this.weight = weight;
+        this.capacity = capacity;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public long getWaitTime() {
+        return waitTime;
+    }
+
+    public void setWaitTime(long waitTime) {
+        this.waitTime = waitTime;
+    }
+
+    public boolean isConfigured() {
+        return configured;
+    }
+
+    public void setConfigured(boolean configured) {
+        this.configured = configured;
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity;
 
+import java.util.List;
+
 /**
  * @author Yurito
  * @description 线程池配置实体对象
@@ -72,6 +74,216 @@ public class ThreadPoolConfigEntity {
      */
     private long rejectedTaskCount;
 
+    /**
+     * 排队耗时 P50（单位：微秒）
+     */
+    private long queueWaitTimeP50;
+
+    /**
+     * 排队耗时 P90（单位：微秒）
+     */
+    private long queueWaitTimeP90;
+
+    /**
+     * 排队耗时 P99（单位：微秒）
+     */
+    private long queueWaitTimeP99;
+
+    /**
+     * 排队耗时最大值（单位：微秒）
+     */
+    private long queueWaitTimeMax;
+
+    /**
+     * 执行耗时 P50（单位：微秒）
+     */
+    private long executeTimeP50;
+
+    /**
+     * 执行耗时 P90（单位：微秒）
+     */
+    private long executeTimeP90;
+
+    /**
+     * 执行耗时 P99（单位：微秒）
+     */
+    private long executeTimeP99;
+
+    /**
+     * 执行耗时最大值（单位：微秒）
+     */
+    private long executeTimeMax;
+
+    /**
+     * 实例标识（默认为 进程号@主机名）
+     */
+    private String instanceId;
+
+    /**
+     * 线程池类型（ThreadPoolExecutor / ForkJoinPool），为空时视为 ThreadPoolExecutor
+     */
+    private String poolType;
+
+    /**
+     * 并行度（仅 ForkJoinPool）
+     */
+    private int parallelism;
+
+    /**
+     * 未阻塞等待的工作线程数（仅 ForkJoinPool）
+     */
+    private int runningThreadCount;
+
+    /**
+     * 工作线程从其他队列窃取的任务数（仅 ForkJoinPool）
+     */
+    private long stealCount;
+
+    /**
+     * 工作线程队列中的任务数（仅 ForkJoinPool）
+     */
+    private long queuedTaskCount;
+
+    /**
+     * 外部提交尚未执行的任务数（仅 ForkJoinPool）
+     */
+    private long queuedSubmissionCount;
+
+    /**
+     * 定时任务延迟触发时间 P50（单位：微秒，仅 DynamicScheduledThreadPoolExecutor）
+     */
+    private long lateTimeP50;
+
+    /**
+     * 定时任务延迟触发时间 P90（单位：微秒，仅 DynamicScheduledThreadPoolExecutor）
+     */
+    private long lateTimeP90;
+
+    /**
+     * 定时任务延迟触发时间 P99（单位：微秒，仅 DynamicScheduledThreadPoolExecutor）
+     */
+    private long lateTimeP99;
+
+    /**
+     * 定时任务延迟触发时间最大值（单位：微秒，仅 DynamicScheduledThreadPoolExecutor）
+     */
+    private long lateTimeMax;
+
+    /**
+     * 固定频率任务执行超过周期的次数（仅 DynamicScheduledThreadPoolExecutor）
+     */
+    private long overrunCount;
+
+    /**
+     * 落盘待重放任务数
+     */
+    private long spillTaskCount;
+
+    /**
+     * 落盘待重放任务占用字节数
+     */
+    private long spillBytes;
+
+    /**
+     * 落盘重放滞后时间（单位：毫秒），最早一个待重放任务落盘至今的时长
+     */
+    private long spillReplayLag;
+
+    /**
+     * 持续过载时因排队过久被丢弃的任务数
+     */
+    private long shedTaskCount;
+
+    /**
+     * 开始执行前已过截止时间被丢弃的任务数
+     */
+    private long expiredTaskCount;
+
+    /**
+     * 最近 1 秒内的拒绝任务数
+     */
+    private long rejectedCount1s;
+
+    /**
+     * 最近 10 秒内的拒绝任务数
+     */
+    private long rejectedCount10s;
+
+    /**
+     * 最近 60 秒内的拒绝任务数
+     */
+    private long rejectedCount60s;
+
+    /**
+     * 最近一次拒绝任务的时间（毫秒时间戳），没有拒绝时为 0
+     */
+    private long lastRejectTime;
+
+    /**
+     * 加权公平队列各租户子队列的配置与状态，调整时只读取租户、权重与容量
+     */
+    private List<TenantQueueEntity> tenantQueues;
+
+    /**
+     * 攒批执行器批大小
+     */
+    private int batchSize;
+
+    /**
+     * 攒批时长（单位：毫秒）
+     */
+    private long batchLingerTime;
+
+    /**
+     * 攒批执行器累计刷出批次数
+     */
+    private long batchFlushCount;
+
+    /**
+     * 攒批执行器平均填充率（百分比）
+     */
+    private int batchFillRatio;
+
+    /**
+     * 刷出延迟 P50（单位：微秒），批次中第一条数据提交到批处理开始执行
+     */
+    private long batchFlushLatencyP50;
+
+    /**
+     * 刷出延迟 P99（单位：微秒）
+     */
+    private long batchFlushLatencyP99;
+
+    /**
+     * 工作线程 CPU 占用（千分之一核，1000 表示占满 1 个核）
+     */
+    private long cpuMilliCores;
+
+    /**
+     * 工作线程内存分配速率（字节/秒）
+     */
+    private long allocationRate;
+
+    /**
+     * 参与 CPU 与内存分配采样的工作线程数
+     */
+    private int sampledThreadCount;
+
+    /**
+     * 卡顿阈值（单位：毫秒），任务执行时间超过该值视为卡顿，0 表示不判定
+     */
+    private long stuckTaskThreshold;
+
+    /**
+     * 执行时间超过卡顿阈值、仍未结束的任务数
+     */
+    private int stuckTaskCount;
+
+    /**
+     * 正在执行的任务中最长的已执行时间（单位：毫秒）
+     */
+    private long longestRunningTime;
+
     public ThreadPoolConfigEntity() {
     }
 
@@ -84,10 +296,18 @@ public class ThreadPoolConfigEntity {
         return appName;
     }
 
+    public void setAppName(String appName) {
+        this.appName = appName;
+    }
+
     public String getThreadPoolName() {
         return threadPoolName;
     }
 
+    public void setThreadPoolName(String threadPoolName) {
+        this.threadPoolName = threadPoolName;
+    }
+
     public int getCorePoolSize() {
         return corePoolSize;
     }
@@ -175,4 +395,341 @@ public class ThreadPoolConfigEntity {
     public void setRejectedTaskCount(long rejectedTaskCount) {
         this.rejectedTaskCount = rejectedTaskCount;
     }
-}
\ No newline at end of file
+
+    public long getQueueWaitTimeP50() {
+        return queueWaitTimeP50;
+    }
+
+    public void setQueueWaitTimeP50(long queueWaitTimeP50) {
+        this.queueWaitTimeP50 = queueWaitTimeP50;
+    }
+
+    public long getQueueWaitTimeP90() {
+        return queueWaitTimeP90;
+    }
+
+    public void setQueueWaitTimeP90(long queueWaitTimeP90) {
+        this.queueWaitTimeP90 = queueWaitTimeP90;
+    }
+
+    public long getQueueWaitTimeP99() {
+        return queueWaitTimeP99;
+    }
+
+    public void setQueueWaitTimeP99(long queueWaitTimeP99) {
+        this.queueWaitTimeP99 = queueWaitTimeP99;
+    }
+
+    public long getQueueWaitTimeMax() {
+        return queueWaitTimeMax;
+    }
+
+    public void setQueueWaitTimeMax(long queueWaitTimeMax) {
+        this.queueWaitTimeMax = queueWaitTimeMax;
+    }
+
+    public long getExecuteTimeP50() {
+        return executeTimeP50;
+    }
+
+    public void setExecuteTimeP50(long executeTimeP50) {
+        this.executeTimeP50 = executeTimeP50;
+    }
+
+    public long getExecuteTimeP90() {
+        return executeTimeP90;
+    }
+
+    public void setExecuteTimeP90(long executeTimeP90) {
+        this.executeTimeP90 = executeTimeP90;
+    }
+
+    public long getExecuteTimeP99() {
+        return executeTimeP99;
+    }
+
+    public void setExecuteTimeP99(long executeTimeP99) {
+        this.executeTimeP99 = executeTimeP99;
+    }
+
+    public long getExecuteTimeMax() {
+        return executeTimeMax;
+    }
+
+    public void setExecuteTimeMax(long executeTimeMax) {
+        this.executeTimeMax = executeTimeMax;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public String getPoolType() {
+        return poolType;
+    }
+
+    public void setPoolType(String poolType) {
+        this.poolType = poolType;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getRunningThreadCount() {
+        return runningThreadCount;
+    }
+
+    public void setRunningThreadCount(int runningThreadCount) {
+        this.runningThreadCount = runningThreadCount;
+    }
+
+    public long getStealCount() {
+        return stealCount;
+    }
+
+    public void setStealCount(long stealCount) {
+        this.stealCount = stealCount;
+    }
+
+    public long getQueuedTaskCount() {
+        return queuedTaskCount;
+    }
+
+    public void setQueuedTaskCount(long queuedTaskCount) {
+        this.queuedTaskCount = queuedTaskCount;
+    }
+
+    public long getQueuedSubmissionCount() {
+        return queuedSubmissionCount;
+    }
+
+    public void setQueuedSubmissionCount(long queuedSubmissionCount) {
+        this.queuedSubmissionCount = queuedSubmissionCount;
+    }
+
+    public long getLateTimeP50() {
+        return lateTimeP50;
+    }
+
+    public void setLateTimeP50(long lateTimeP50) {
+        this.lateTimeP50 = lateTimeP50;
+    }
+
+    public long getLateTimeP90() {
+        return lateTimeP90;
+    }
+
+    public void setLateTimeP90(long lateTimeP90) {
+        this.lateTimeP90 = lateTimeP90;
+    }
+
+    public long getLateTimeP99() {
+        return lateTimeP99;
+    }
+
+    public void setLateTimeP99(long lateTimeP99) {
+        this.lateTimeP99 = lateTimeP99;
+    }
+
+    public long getLateTimeMax() {
+        return lateTimeMax;
+    }
+
+    public void setLateTimeMax(long lateTimeMax) {
+        this.lateTimeMax = lateTimeMax;
+    }
+
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    public void setOverrunCount(long overrunCount) {
+        this.overrunCount = overrunCount;
+    }
+
+    public long getSpillTaskCount() {
+        return spillTaskCount;
+    }
+
+    public void setSpillTaskCount(long spillTaskCount) {
+        this.spillTaskCount = spillTaskCount;
+    }
+
+    public long getSpillBytes() {
+        return spillBytes;
+    }
+
+    public void setSpillBytes(long spillBytes) {
+        this.spillBytes = spillBytes;
+    }
+
+    public long getSpillReplayLag() {
+        return spillReplayLag;
+    }
+
+    public void setSpillReplayLag(long spillReplayLag) {
+        this.spillReplayLag = spillReplayLag;
+    }
+
+    public long getShedTaskCount() {
+        return shedTaskCount;
+    }
+
+    public void setShedTaskCount(long shedTaskCount) {
+        this.shedTaskCount = shedTaskCount;
+    }
+
+    public long getExpiredTaskCount() {
+        return expiredTaskCount;
+    }
+
+    public void setExpiredTaskCount(long expiredTaskCount) {
+        this.expiredTaskCount = expiredTaskCount;
+    }
+
+    public long getRejectedCount1s() {
+        return rejectedCount1s;
+    }
+
+    public void setRejectedCount1s(long rejectedCount1s) {
+        this.rejectedCount1s = rejectedCount1s;
+    }
+
+    public long getRejectedCount10s() {
+        return rejectedCount10s;
+    }
+
+    public void setRejectedCount10s(long rejectedCount10s) {
+        this.rejectedCount10s = rejectedCount10s;
+    }
+
+    public long getRejectedCount60s() {
+        return rejectedCount60s;
+    }
+
+    public void setRejectedCount60s(long rejectedCount60s) {
+        this.rejectedCount60s = rejectedCount60s;
+    }
+
+    public long getLastRejectTime() {
+        return lastRejectTime;
+    }
+
+    public void setLastRejectTime(long lastRejectTime) {
+        this.lastRejectTime = lastRejectTime;
+    }
+
+    public List<TenantQueueEntity> getTenantQueues() {
+        return tenantQueues;
+    }
+
+    public void setTenantQueues(List<TenantQueueEntity> tenantQueues) {
+        this.tenantQueues = tenantQueues;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchLingerTime() {
+        return batchLingerTime;
+    }
+
+    public void setBatchLingerTime(long batchLingerTime) {
+        this.batchLingerTime = batchLingerTime;
+    }
+
+    public long getBatchFlushCount() {
+        return batchFlushCount;
+    }
+
+    public void setBatchFlushCount(long batchFlushCount) {
+        this.batchFlushCount = batchFlushCount;
+    }
+
+    public int getBatchFillRatio() {
+        return batchFillRatio;
+    }
+
+    public void setBatchFillRatio(int batchFillRatio) {
+        this.batchFillRatio = batchFillRatio;
+    }
+
+    public long getBatchFlushLatencyP50() {
+        return batchFlushLatencyP50;
+    }
+
+    public void setBatchFlushLatencyP50(long batchFlushLatencyP50) {
+        this.batchFlushLatencyP50 = batchFlushLatencyP50;
+    }
+
+    public long getBatchFlushLatencyP99() {
+        return batchFlushLatencyP99;
+    }
+
+    public void setBatchFlushLatencyP99(long batchFlushLatencyP99) {
+        this.batchFlushLatencyP99 = batchFlushLatencyP99;
+    }
+
+    public long getCpuMilliCores() {
+        return cpuMilliCores;
+    }
+
+    public void setCpuMilliCores(long cpuMilliCores) {
+        this.cpuMilliCores = cpuMilliCores;
+    }
+
+    public long getAllocationRate() {
+        return allocationRate;
+    }
+
+    public void setAllocationRate(long allocationRate) {
+        this.allocationRate = allocationRate;
+    }
+
+    public int getSampledThreadCount() {
+        return sampledThreadCount;
+    }
+
+    public void setSampledThreadCount(int sampledThreadCount) {
+        this.sampledThreadCount = sampledThreadCount;
+    }
+
+    public long getStuckTaskThreshold() {
+        return stuckTaskThreshold;
+    }
+
+    public void setStuckTaskThreshold(long stuckTaskThreshold) {
+        this.stuckTaskThreshold = stuckTaskThreshold;
+    }
+
+    public int getStuckTaskCount() {
+        return stuckTaskCount;
+    }
+
+    public void setStuckTaskCount(int stuckTaskCount) {
+        this.stuckTaskCount = stuckTaskCount;
+    }
+
+    public long getLongestRunningTime() {
+        return longestRunningTime;
+    }
+
+    public void setLongestRunningTime(long longestRunningTime) {
+        this.longestRunningTime = longestRunningTime;
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Yurito
+ * @description 一次线程池数据上报的通知，发布到 THREAD_POOL_REPORT_DATA_TOPIC，管理端据此记录指标历史
+ * @create 2025/9/7 16:20
+ */
+public class ThreadPoolReportEntity {
+
+    /**
+     * 应用名称
+     */
+    private String appName;
+
+    /**
+     * 实例标识
+     */
+    private String instanceId;
+
+    /**
+     * 上报时间（单位：毫秒），与写入心跳哈希的时间相同
+     */
+    private long reportTime;
+
+    /**
+     * 本次上报的全部线程池名称
+     */
+    private List<String> threadPoolNames = new ArrayList<>();
+
+    /**
+     * 与上次上报相比有变化的线程池数据，其余线程池与上次上报相同
+     */
+    private List<ThreadPoolConfigEntity> changedThreadPools = new ArrayList<>();
+
+    public ThreadPoolReportEntity() {
+    }
+
+    public ThreadPoolReportEntity(String appName, String instanceId, long reportTime) {
+        this.appName = appName;
+        this.instanceId = instanceId;
+        this.reportTime = reportTime;
+    }
+
+    public String getAppName() {
+        return appName;
+    }
+
+    public void setAppName(String appName) {
+        this.appName = appName;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public long getReportTime() {
+        return reportTime;
+    }
+
+    public void setReportTime(long reportTime) {
+        this.reportTime = reportTime;
+    }
+
+    public List<String> getThreadPoolNames() {
+        return threadPoolNames;
+    }
+
+    public void setThreadPoolNames(List<String> threadPoolNames) {
+        this.threadPoolNames = threadPoolNames;
+    }
+
+    public List<ThreadPoolConfigEntity> getChangedThreadPools() {
+        return changedThreadPools;
+    }
+
+    public void setChangedThreadPools(List<ThreadPoolConfigEntity> changedThreadPools) {
+        this.changedThreadPools = changedThreadPools;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.valobj;
+
+/**
+ * @author Yurito
+ * @description 受管线程池类型枚举值
+ * @create 2025/9/10 09:30
+ */
+public enum PoolTypeEnumVO {
+    THREAD_POOL_EXECUTOR("ThreadPoolExecutor", "线程池执行器，可调整核心线程数、最大线程数、队列容量"),
+    SCHEDULED_THREAD_POOL_EXECUTOR("ScheduledThreadPoolExecutor", "定时任务线程池，可调整核心线程数，队列为按触发时间排序的延迟队列"),
+    FORK_JOIN_POOL("ForkJoinPool", "分治任务池，可调整并行度（JDK 19+）");
+
+    private final String code;
+    private final String desc;
+
+    PoolTypeEnumVO(String code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+}
@@ -6,9 +6,16 @@ package com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.valobj;
  * @create 2025/9/1 17:20
  */
 public enum RegistryEnumVO {
-    THREAD_POOL_CONFIG_LIST_KEY("THREAD_POOL_CONFIG_LIST_KEY", "池化配置列表"),
+    THREAD_POOL_CONFIG_HASH_KEY("THREAD_POOL_CONFIG_HASH_KEY", "池化配置，按应用分组的哈希，字段为 实例_线程池"),
+    THREAD_POOL_HEARTBEAT_KEY("THREAD_POOL_HEARTBEAT_KEY", "实例心跳，按应用分组的哈希，字段为实例，值为上报时间"),
+    THREAD_POOL_APP_SET_KEY("THREAD_POOL_APP_SET_KEY", "已注册的应用集合"),
     THREAD_POOL_CONFIG_PARAMETER_LIST_KEY("THREAD_POOL_CONFIG_PARAMETER_LIST_KEY", "池化配置参数"),
-    DYNAMIC_THREAD_POOL_REDIS_TOPIC("DYNAMIC_THREAD_POOL_REDIS_TOPIC", "动态线程池监听主题配置");
+    DYNAMIC_THREAD_POOL_REDIS_TOPIC("DYNAMIC_THREAD_POOL_REDIS_TOPIC", "动态线程池监听主题配置"),
+    THREAD_POOL_REPORT_TOPIC("THREAD_POOL_REPORT_TOPIC", "线程池数据变化通知主题，消息为应用名，供管理端失效缓存"),
+    THREAD_POOL_REPORT_DATA_TOPIC("THREAD_POOL_REPORT_DATA_TOPIC", "线程池数据上报主题，消息为一次上报的时间、线程池名称与有变化的线程池数据，供管理端记录指标历史"),
+    THREAD_POOL_HOT_STACK_TOPIC("THREAD_POOL_HOT_STACK_TOPIC", "热点调用栈采集请求主题，按应用区分，消息为请求标识与线程池名称"),
+    THREAD_POOL_HOT_STACK_KEY("THREAD_POOL_HOT_STACK_KEY", "热点调用栈采集结果，按应用、线程池与请求标识分组的哈希，字段为实例；回复计数以 _REPLIED 结尾"),
+    THREAD_POOL_AUTO_TUNE_DECISION_KEY("THREAD_POOL_AUTO_TUNE_DECISION_KEY", "自动调参决策记录，按应用分组的列表，最新的在前");
 
     private final String key;
     private final String desc;
@@ -0,0 +1,130 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.metrics;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.IDynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.valobj.PoolTypeEnumVO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * @author Yurito
+ * @description 动态线程池 Micrometer 指标
+ * <p>
+ * 为每个线程池注册线程数、队列、任务数与耗时分位值等指标，标签为 app（应用名）与 name（线程池名称）。
+ * 指标值在采集时从 {@link IDynamicThreadPoolService} 的统计快照中读取，同一次抓取内的多个指标共用一份快照，不会阻塞线程池；
+ * 查询不到线程池时指标值为 NaN。
+ * 应用引入 spring-boot-starter-actuator 后由 Spring Boot 自动绑定到 MeterRegistry，可通过 Prometheus 等直接抓取。
+ * @create 2025/9/8 14:00
+ */
+public class DynamicThreadPoolMeterBinder implements MeterBinder {
+
+    private static final String PREFIX = "dynamic.thread.pool.";
+
+    private final IDynamicThreadPoolService dynamicThreadPoolService;
+
+    public DynamicThreadPoolMeterBinder(IDynamicThreadPoolService dynamicThreadPoolService) {
+        this.dynamicThreadPoolService = dynamicThreadPoolService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ThreadPoolConfigEntity threadPoolConfigEntity : dynamicThreadPoolService.queryThreadPoolList()) {
+            String threadPoolName = threadPoolConfigEntity.getThreadPoolName();
+            Tags tags = Tags.of(Tag.of("app", threadPoolConfigEntity.getAppName()), Tag.of("name", threadPoolName));
+
+            gauge(registry, "core.size", "核心线程数", tags, threadPoolName, ThreadPoolConfigEntity::getCorePoolSize);
+            gauge(registry, "max.size", "最大线程数", tags, threadPoolName, ThreadPoolConfigEntity::getMaximumPoolSize);
+            gauge(registry, "active", "活跃线程数", tags, threadPoolName, ThreadPoolConfigEntity::getActiveCount);
+            gauge(registry, "pool.size", "当前池中线程数", tags, threadPoolName, ThreadPoolConfigEntity::getPoolSize);
+            gauge(registry, "queue.size", "队列中任务数", tags, threadPoolName, ThreadPoolConfigEntity::getQueueSize);
+            gauge(registry, "queue.capacity", "队列容量", tags, threadPoolName, ThreadPoolConfigEntity::getQueueCapacity);
+            gauge(registry, "queue.remaining", "队列剩余容量", tags, threadPoolName, ThreadPoolConfigEntity::getRemainingCapacity);
+
+            FunctionCounter.builder(PREFIX + "tasks.completed", dynamicThreadPoolService, service -> read(service, threadPoolName, ThreadPoolConfigEntity::getCompletedTaskCount))
+                    .description("已完成任务数").tags(tags).register(registry);
+            FunctionCounter.builder(PREFIX + "tasks.rejected", dynamicThreadPoolService, service -> read(service, threadPoolName, ThreadPoolConfigEntity::getRejectedTaskCount))
+                    .description("被拒绝任务数").tags(tags).register(registry);
+            gauge(registry, "tasks.rejected.rate", "窗口内平均每秒拒绝任务数", tags.and("window", "1s"), threadPoolName, ThreadPoolConfigEntity::getRejectedCount1s);
+            gauge(registry, "tasks.rejected.rate", "窗口内平均每秒拒绝任务数", tags.and("window", "10s"), threadPoolName, entity -> entity.getRejectedCount10s() / 10.0);
+            gauge(registry, "tasks.rejected.rate", "窗口内平均每秒拒绝任务数", tags.and("window", "60s"), threadPoolName, entity -> entity.getRejectedCount60s() / 60.0);
+
+            if (PoolTypeEnumVO.FORK_JOIN_POOL.getCode().equals(threadPoolConfigEntity.getPoolType())) {
+                gauge(registry, "parallelism", "并行度", tags, threadPoolName, ThreadPoolConfigEntity::getParallelism);
+                gauge(registry, "running", "未阻塞等待的工作线程数", tags, threadPoolName, ThreadPoolConfigEntity::getRunningThreadCount);
+                gauge(registry, "queue.tasks", "工作线程队列中的任务数", tags, threadPoolName, ThreadPoolConfigEntity::getQueuedTaskCount);
+                gauge(registry, "queue.submissions", "外部提交尚未执行的任务数", tags, threadPoolName, ThreadPoolConfigEntity::getQueuedSubmissionCount);
+                FunctionCounter.builder(PREFIX + "tasks.stolen", dynamicThreadPoolService, service -> read(service, threadPoolName, ThreadPoolConfigEntity::getStealCount))
+                        .description("窃取任务数").tags(tags).register(registry);
+                continue;
+            }
+
+            if (PoolTypeEnumVO.SCHEDULED_THREAD_POOL_EXECUTOR.getCode().equals(threadPoolConfigEntity.getPoolType())) {
+                latency(registry, "schedule.late.time", "延迟触发时间", tags, threadPoolName, "0.5", ThreadPoolConfigEntity::getLateTimeP50);
+                latency(registry, "schedule.late.time", "延迟触发时间", tags, threadPoolName, "0.9", ThreadPoolConfigEntity::getLateTimeP90);
+                latency(registry, "schedule.late.time", "延迟触发时间", tags, threadPoolName, "0.99", ThreadPoolConfigEntity::getLateTimeP99);
+                latency(registry, "schedule.late.time.max", "延迟触发时间最大值", tags, threadPoolName, null, ThreadPoolConfigEntity::getLateTimeMax);
+                FunctionCounter.builder(PREFIX + "tasks.overrun", dynamicThreadPoolService, service -> read(service, threadPoolName, ThreadPoolConfigEntity::getOverrunCount))
+                        .description("固定频率任务执行超过周期的次数").tags(tags).register(registry);
+            }
+
+            FunctionCounter.builder(PREFIX + "tasks.shed", dynamicThreadPoolService, service -> read(service, threadPoolName, ThreadPoolConfigEntity::getShedTaskCount))
+                    .description("持续过载时因排队过久被丢弃的任务数").tags(tags).register(registry);
+            FunctionCounter.builder(PREFIX + "tasks.expired", dynamicThreadPoolService, service -> read(service, threadPoolName, ThreadPoolConfigEntity::getExpiredTaskCount))
+                    .description("开始执行前已过截止时间被丢弃的任务数").tags(tags).register(registry);
+            gauge(registry, "spill.tasks", "落盘待重放任务数", tags, threadPoolName, ThreadPoolConfigEntity::getSpillTaskCount);
+            gauge(registry, "spill.bytes", "落盘待重放任务占用字节数", tags, threadPoolName, ThreadPoolConfigEntity::getSpillBytes);
+            TimeGauge.builder(PREFIX + "spill.replay.lag", dynamicThreadPoolService, TimeUnit.MILLISECONDS, service -> read(service, threadPoolName, ThreadPoolConfigEntity::getSpillReplayLag))
+                    .description("落盘重放滞后时间").tags(tags).register(registry);
+            gauge(registry, "cpu.cores", "工作线程占用的 CPU 核数", tags, threadPoolName, entity -> entity.getCpuMilliCores() / 1000.0);
+            gauge(registry, "allocation.rate", "工作线程每秒分配的字节数", tags, threadPoolName, ThreadPoolConfigEntity::getAllocationRate);
+            gauge(registry, "tasks.stuck", "执行时间超过卡顿阈值的任务数", tags, threadPoolName, ThreadPoolConfigEntity::getStuckTaskCount);
+            TimeGauge.builder(PREFIX + "tasks.running.longest", dynamicThreadPoolService, TimeUnit.MILLISECONDS, service -> read(service, threadPoolName, ThreadPoolConfigEntity::getLongestRunningTime))
+                    .description("正在执行的任务中最长的已执行时间").tags(tags).register(registry);
+            gauge(registry, "batch.size", "攒批执行器批大小", tags, threadPoolName, ThreadPoolConfigEntity::getBatchSize);
+            gauge(registry, "batch.fill.ratio", "攒批执行器平均填充率", tags, threadPoolName, entity -> entity.getBatchFillRatio() / 100.0);
+            FunctionCounter.builder(PREFIX + "batch.flushes", dynamicThreadPoolService, service -> read(service, threadPoolName, ThreadPoolConfigEntity::getBatchFlushCount))
+                    .description("攒批执行器刷出批次数").tags(tags).register(registry);
+            latency(registry, "batch.flush.latency", "攒批刷出延迟", tags, threadPoolName, "0.5", ThreadPoolConfigEntity::getBatchFlushLatencyP50);
+            latency(registry, "batch.flush.latency", "攒批刷出延迟", tags, threadPoolName, "0.99", ThreadPoolConfigEntity::getBatchFlushLatencyP99);
+
+            latency(registry, "queue.wait.time", "排队耗时", tags, threadPoolName, "0.5", ThreadPoolConfigEntity::getQueueWaitTimeP50);
+            latency(registry, "queue.wait.time", "排队耗时", tags, threadPoolName, "0.9", ThreadPoolConfigEntity::getQueueWaitTimeP90);
+            latency(registry, "queue.wait.time", "排队耗时", tags, threadPoolName, "0.99", ThreadPoolConfigEntity::getQueueWaitTimeP99);
+            latency(registry, "queue.wait.time.max", "排队耗时最大值", tags, threadPoolName, null, ThreadPoolConfigEntity::getQueueWaitTimeMax);
+            latency(registry, "execute.time", "执行耗时", tags, threadPoolName, "0.5", ThreadPoolConfigEntity::getExecuteTimeP50);
+            latency(registry, "execute.time", "执行耗时", tags, threadPoolName, "0.9", ThreadPoolConfigEntity::getExecuteTimeP90);
+            latency(registry, "execute.time", "执行耗时", tags, threadPoolName, "0.99", ThreadPoolConfigEntity::getExecuteTimeP99);
+            latency(registry, "execute.time.max", "执行耗时最大值", tags, threadPoolName, null, ThreadPoolConfigEntity::getExecuteTimeMax);
+        }
+    }
+
+    /**
+     * 从统计快照中读取指标，查询不到线程池（返回 null）时输出 NaN，表示没有数据，而不是在采集时抛出空指针
+     */
+    private static double read(IDynamicThreadPoolService service, String threadPoolName, ToDoubleFunction<ThreadPoolConfigEntity> value) {
+        ThreadPoolConfigEntity threadPoolConfigEntity = service.queryThreadPoolConfigByName(threadPoolName);
+        return null == threadPoolConfigEntity ? Double.NaN : value.applyAsDouble(threadPoolConfigEntity);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, Tags tags, String threadPoolName, ToDoubleFunction<ThreadPoolConfigEntity> value) {
+        Gauge.builder(PREFIX + name, dynamicThreadPoolService, service -> read(service, threadPoolName, value))
+                .description(description).tags(tags).register(registry);
+    }
+
+    /**
+     * 耗时为最近 1~2 分钟的分位值（单位：微秒），按 Micrometer 基础时间单位换算后输出
+     */
+    private void latency(MeterRegistry registry, String name, String description, Tags tags, String threadPoolName, String quantile, ToDoubleFunction<ThreadPoolConfigEntity> micros) {
+        TimeGauge.builder(PREFIX + name, dynamicThreadPoolService, TimeUnit.MICROSECONDS, service -> read(service, threadPoolName, micros))
+                .description(description).tags(null == quantile ? tags : tags.and("quantile", quantile)).register(registry);
+    }
+
+}
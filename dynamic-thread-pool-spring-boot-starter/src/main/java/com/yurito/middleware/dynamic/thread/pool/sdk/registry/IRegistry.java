@@ -1,8 +1,14 @@
 package com.yurito.middleware.dynamic.thread.pool.sdk.registry;
 
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.AutoTuneDecisionEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackRequestEntity;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Yurito
@@ -14,4 +20,48 @@ public interface IRegistry {
     void reportThreadPool(List<ThreadPoolConfigEntity> threadPoolEntities);
 
     void reportThreadPoolConfigParameter(ThreadPoolConfigEntity threadPoolConfigEntity);
+
+    /**
+     * 一个上报周期内的线程池列表与配置参数合并上报，支持批量写入的注册中心应在一次往返内完成
+     *
+     * @param threadPoolEntities 线程池数据
+     */
+    default void reportThreadPoolBatch(List<ThreadPoolConfigEntity> threadPoolEntities) {
+        reportThreadPool(threadPoolEntities);
+        for (ThreadPoolConfigEntity threadPoolEntity : threadPoolEntities) {
+            reportThreadPoolConfigParameter(threadPoolEntity);
+        }
+    }
+
+    /**
+     * 批量查询线程池配置参数，支持批量读取的注册中心应在一次往返内完成
+     *
+     * @param appName         应用名称
+     * @param threadPoolNames 线程池名称
+     * @return 线程池名称 -> 配置参数，不存在的线程池不返回
+     */
+    default Map<String, ThreadPoolConfigEntity> queryThreadPoolConfigParameters(String appName, Collection<String> threadPoolNames) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 回复管理端的热点调用栈采集请求，不支持的注册中心忽略
+     *
+     * @param appName    应用名称
+     * @param instanceId 实例标识
+     * @param request    采集请求
+     * @param hotStacks  热点调用栈，本实例没有该线程池时为 null，只计入回复数
+     */
+    default void reportHotStacks(String appName, String instanceId, HotStackRequestEntity request, List<HotStackEntity> hotStacks) {
+    }
+
+    /**
+     * 上报自动调参决策记录，管理端按应用查看最近的调整；不支持的注册中心忽略
+     *
+     * @param appName   应用名称
+     * @param decisions 本轮的调整决策
+     */
+    default void reportAutoTuneDecisions(String appName, List<AutoTuneDecisionEntity> decisions) {
+    }
+
 }
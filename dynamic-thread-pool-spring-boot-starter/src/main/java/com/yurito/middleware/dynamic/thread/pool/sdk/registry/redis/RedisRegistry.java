@@ -1,39 +1,305 @@
 package com.yurito.middleware.dynamic.thread.pool.sdk.registry.redis;
 
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.AutoTuneDecisionEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackRequestEntity;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolReportEntity;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.valobj.RegistryEnumVO;
 import com.yurito.middleware.dynamic.thread.pool.sdk.registry.IRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RAtomicLongAsync;
+import org.redisson.api.RBatch;
 import org.redisson.api.RBucket;
-import org.redisson.api.RList;
+import org.redisson.api.RDequeAsync;
+import org.redisson.api.RMapAsync;
 import org.redisson.api.RedissonClient;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Yurito
  * @description Redis注册中心
+ * <p>
+ * 线程池数据按应用存放在哈希 THREAD_POOL_CONFIG_HASH_KEY_{应用名} 中，字段为 {实例标识}_{线程池名称}。
+ * 每次上报只写入与上次上报相比有变化的字段，并在心跳哈希 THREAD_POOL_HEARTBEAT_KEY_{应用名} 中刷新本实例的上报时间；
+ * 每隔全量上报间隔再完整写入一次，用于 Redis 数据丢失后的自愈，同时续期并登记应用名；
+ * 全量上报时先读取心跳哈希，心跳超过实例过期时间的实例视为已下线，其心跳与线程池字段在同一批次中删除。
+ * 一次上报的全部写命令通过 {@link RBatch} 管道发送，只等待一次网络往返。
+ * 有数据写入的应用会在同一批次中向 THREAD_POOL_REPORT_TOPIC 发布应用名，管理端据此失效缓存；
+ * 每次上报还向 THREAD_POOL_REPORT_DATA_TOPIC 发布 {@link ThreadPoolReportEntity}（上报时间、全部线程池名称与有变化的线程池数据），
+ * 管理端据此记录每一次上报的指标历史。
+ * 管理端请求采集的热点调用栈按请求写入哈希 THREAD_POOL_HOT_STACK_KEY_{应用名}_{线程池名称}_{请求标识}，字段为实例标识，
+ * 每个收到请求的实例（包括没有该线程池的实例）都对 {哈希键}_REPLIED 计数加一，管理端据此提前结束等待，两者短时间后过期。
+ * 自动调参决策记录写入列表 THREAD_POOL_AUTO_TUNE_DECISION_KEY_{应用名}，最新的在前，只保留最近 {@link #MAX_AUTO_TUNE_DECISIONS} 条。
  * @create 2025/9/1 17:02
  */
 public class RedisRegistry implements IRegistry {
 
+    private static final Duration EXPIRE = Duration.ofDays(30);
+
+    /** 热点调用栈只供管理端即时查看，过期时间较短 */
+    private static final Duration HOT_STACK_EXPIRE = Duration.ofMinutes(1);
+
+    /** 每个应用保留的自动调参决策记录数 */
+    public static final int MAX_AUTO_TUNE_DECISIONS = 100;
+
     private final RedissonClient redissonClient;
 
+    /** 全量上报间隔（单位：毫秒） */
+    private final long fullReportInterval;
+
+    /** 实例过期时间（单位：毫秒），心跳超过该时间未刷新的实例视为已下线 */
+    private final long instanceExpire;
+
+    /** 上次上报成功的线程池数据（二进制编码），键为 {应用名}_{实例标识}_{线程池名称}，只保留最近一次上报中的线程池 */
+    private final Map<String, byte[]> lastReported = new HashMap<>();
+
+    /** 比对变化时复用的编码缓冲区 */
+    private final ByteBuf scratch = Unpooled.buffer(256);
+
+    private volatile long lastFullReportTime;
+
     public RedisRegistry(RedissonClient redissonClient) {
+        this(redissonClient, 600000, 3600000);
+    }
+
+    public RedisRegistry(RedissonClient redissonClient, long fullReportInterval, long instanceExpire) {
         this.redissonClient = redissonClient;
+        this.fullReportInterval = fullReportInterval;
+        this.instanceExpire = instanceExpire;
     }
 
     @Override
     public void reportThreadPool(List<ThreadPoolConfigEntity> threadPoolEntities) {
-        RList<ThreadPoolConfigEntity> list = redissonClient.getList(RegistryEnumVO.THREAD_POOL_CONFIG_LIST_KEY.getKey());
-        list.clear();
-        list.addAll(threadPoolEntities);
+        report(threadPoolEntities, false);
     }
 
     @Override
     public void reportThreadPoolConfigParameter(ThreadPoolConfigEntity threadPoolConfigEntity) {
-        String cacheKey = RegistryEnumVO.THREAD_POOL_CONFIG_PARAMETER_LIST_KEY.getKey() + "_" + threadPoolConfigEntity.getAppName() + "_" + threadPoolConfigEntity.getThreadPoolName();
-        RBucket<ThreadPoolConfigEntity> bucket = redissonClient.getBucket(cacheKey);
-        bucket.set(threadPoolConfigEntity, Duration.ofDays(30));
+        RBucket<ThreadPoolConfigEntity> bucket = redissonClient.getBucket(configParameterKey(threadPoolConfigEntity));
+        bucket.set(threadPoolConfigEntity, EXPIRE);
+        redissonClient.getTopic(RegistryEnumVO.THREAD_POOL_REPORT_TOPIC.getKey()).publish(threadPoolConfigEntity.getAppName());
+    }
+
+    @Override
+    public void reportThreadPoolBatch(List<ThreadPoolConfigEntity> threadPoolEntities) {
+        report(threadPoolEntities, true);
+    }
+
+    @Override
+    public Map<String, ThreadPoolConfigEntity> queryThreadPoolConfigParameters(String appName, Collection<String> threadPoolNames) {
+        Map<String, String> keyToName = new LinkedHashMap<>();
+        for (String threadPoolName : threadPoolNames) {
+            keyToName.put(configParameterKey(appName, threadPoolName), threadPoolName);
+        }
+        // 一次 MGET 读取全部线程池的配置参数
+        Map<String, ThreadPoolConfigEntity> values = redissonClient.getBuckets().get(keyToName.keySet().toArray(new String[0]));
+        Map<String, ThreadPoolConfigEntity> result = new HashMap<>();
+        for (Map.Entry<String, ThreadPoolConfigEntity> entry : values.entrySet()) {
+            result.put(keyToName.get(entry.getKey()), entry.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public void reportHotStacks(String appName, String instanceId, HotStackRequestEntity request, List<HotStackEntity> hotStacks) {
+        String key = hotStackKey(appName, request.getThreadPoolName(), request.getRequestId());
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().skipResult());
+        if (null != hotStacks) {
+            RMapAsync<String, List<HotStackEntity>> hotStackMap = batch.getMap(key);
+            hotStackMap.fastPutAsync(instanceId, hotStacks);
+            hotStackMap.expireAsync(HOT_STACK_EXPIRE);
+        }
+        // 先写结果再计数，管理端读到计数时结果已写入
+        RAtomicLongAsync replied = batch.getAtomicLong(hotStackRepliedKey(key));
+        replied.incrementAndGetAsync();
+        replied.expireAsync(HOT_STACK_EXPIRE);
+        batch.execute();
+    }
+
+    @Override
+    public void reportAutoTuneDecisions(String appName, List<AutoTuneDecisionEntity> decisions) {
+        if (null == decisions || decisions.isEmpty()) return;
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().skipResult());
+        String key = autoTuneDecisionKey(appName);
+        RDequeAsync<AutoTuneDecisionEntity> decisionDeque = batch.getDeque(key);
+        for (AutoTuneDecisionEntity decision : decisions) {
+            decisionDeque.addFirstAsync(decision);
+        }
+        batch.<AutoTuneDecisionEntity>getList(key).trimAsync(0, MAX_AUTO_TUNE_DECISIONS - 1);
+        decisionDeque.expireAsync(EXPIRE);
+        batch.execute();
+    }
+
+    /**
+     * 挑出有变化的线程池，与心跳、续期一起放入同一个批次发送
+     *
+     * @param threadPoolEntities     线程池数据
+     * @param reportConfigParameter 是否同时写入有变化线程池的配置参数
+     */
+    private synchronized void report(List<ThreadPoolConfigEntity> threadPoolEntities, boolean reportConfigParameter) {
+        if (null == threadPoolEntities || threadPoolEntities.isEmpty()) return;
+
+        long now = System.currentTimeMillis();
+        boolean fullReport = now - lastFullReportTime >= fullReportInterval;
+
+        // 按应用分组挑出有变化的字段，应用名 -> 实例标识
+        Map<String, String> instances = new LinkedHashMap<>();
+        Map<String, Map<String, ThreadPoolConfigEntity>> changed = new HashMap<>();
+        List<ThreadPoolConfigEntity> changedEntities = new ArrayList<>();
+        Map<String, byte[]> snapshots = new HashMap<>();
+        Set<String> reportedKeys = new HashSet<>();
+        Map<String, ThreadPoolReportEntity> reports = new LinkedHashMap<>();
+        for (ThreadPoolConfigEntity threadPoolEntity : threadPoolEntities) {
+            String appName = threadPoolEntity.getAppName();
+            String field = threadPoolEntity.getInstanceId() + "_" + threadPoolEntity.getThreadPoolName();
+            instances.put(appName, threadPoolEntity.getInstanceId());
+            reportedKeys.add(appName + "_" + field);
+            ThreadPoolReportEntity report = reports.computeIfAbsent(appName, key -> new ThreadPoolReportEntity(key, threadPoolEntity.getInstanceId(), now));
+            report.getThreadPoolNames().add(threadPoolEntity.getThreadPoolName());
+            // 编码到复用的缓冲区后与上次上报的字节比对，只有变化时才拷贝保存
+            scratch.clear();
+            ThreadPoolConfigEntityCodec.encodeEntity(threadPoolEntity, scratch);
+            byte[] previous = lastReported.get(appName + "_" + field);
+            if (!fullReport && sameBytes(scratch, previous)) continue;
+            changed.computeIfAbsent(appName, key -> new HashMap<>()).put(field, threadPoolEntity);
+            changedEntities.add(threadPoolEntity);
+            report.getChangedThreadPools().add(threadPoolEntity);
+            snapshots.put(appName + "_" + field, ByteBufUtil.getBytes(scratch));
+        }
+
+        // 全量上报时找出已下线的实例，应用名 -> 心跳超时的实例
+        Map<String, List<String>> staleInstances = fullReport ? staleInstances(instances, now) : Collections.emptyMap();
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().skipResult());
+        for (Map.Entry<String, String> instance : instances.entrySet()) {
+            String appName = instance.getKey();
+            RMapAsync<String, ThreadPoolConfigEntity> threadPoolMap = batch.getMap(RegistryEnumVO.THREAD_POOL_CONFIG_HASH_KEY.getKey() + "_" + appName);
+            RMapAsync<String, Long> heartbeatMap = batch.getMap(RegistryEnumVO.THREAD_POOL_HEARTBEAT_KEY.getKey() + "_" + appName);
+
+            Map<String, ThreadPoolConfigEntity> changedFields = changed.get(appName);
+            if (null != changedFields) {
+                threadPoolMap.putAllAsync(changedFields);
+            }
+            heartbeatMap.fastPutAsync(instance.getValue(), now);
+
+            if (fullReport) {
+                batch.<String>getSet(RegistryEnumVO.THREAD_POOL_APP_SET_KEY.getKey()).addAsync(appName);
+                threadPoolMap.expireAsync(EXPIRE);
+                heartbeatMap.expireAsync(EXPIRE);
+            }
+            List<String> stale = staleInstances.get(appName);
+            if (null != stale && !stale.isEmpty()) {
+                List<String> staleFields = staleFields(appName, stale);
+                if (!staleFields.isEmpty()) {
+                    threadPoolMap.fastRemoveAsync(staleFields.toArray(new String[0]));
+                }
+                heartbeatMap.fastRemoveAsync(stale.toArray(new String[0]));
+            }
+        }
+        if (reportConfigParameter) {
+            for (ThreadPoolConfigEntity threadPoolEntity : changedEntities) {
+                batch.<ThreadPoolConfigEntity>getBucket(configParameterKey(threadPoolEntity)).setAsync(threadPoolEntity, EXPIRE);
+            }
+        }
+        // 通知放在批次末尾，管理端收到时本批次的写入均已完成
+        for (String appName : changed.keySet()) {
+            batch.getTopic(RegistryEnumVO.THREAD_POOL_REPORT_TOPIC.getKey()).publishAsync(appName);
+        }
+        for (ThreadPoolReportEntity report : reports.values()) {
+            batch.getTopic(RegistryEnumVO.THREAD_POOL_REPORT_DATA_TOPIC.getKey()).publishAsync(report);
+        }
+        batch.execute();
+
+        // 已注销或改名的线程池不再保留上次上报的数据
+        lastReported.keySet().retainAll(reportedKeys);
+        lastReported.putAll(snapshots);
+        if (fullReport) {
+            lastFullReportTime = now;
+        }
+    }
+
+    /**
+     * 读取心跳哈希，找出心跳超过实例过期时间的其他实例
+     *
+     * @param instances 应用名 -> 本实例标识
+     * @return 应用名 -> 已下线的实例标识
+     */
+    private Map<String, List<String>> staleInstances(Map<String, String> instances, long now) {
+        Map<String, List<String>> staleInstances = new HashMap<>();
+        for (Map.Entry<String, String> instance : instances.entrySet()) {
+            Map<String, Long> heartbeats = redissonClient.<String, Long>getMap(RegistryEnumVO.THREAD_POOL_HEARTBEAT_KEY.getKey() + "_" + instance.getKey()).readAllMap();
+            for (Map.Entry<String, Long> heartbeat : heartbeats.entrySet()) {
+                if (heartbeat.getKey().equals(instance.getValue()) || null == heartbeat.getValue() || now - heartbeat.getValue() <= instanceExpire) continue;
+                staleInstances.computeIfAbsent(instance.getKey(), key -> new ArrayList<>()).add(heartbeat.getKey());
+            }
+        }
+        return staleInstances;
+    }
+
+    /**
+     * @return 已下线实例在线程池哈希中的字段，字段为 {实例标识}_{线程池名称}
+     */
+    private List<String> staleFields(String appName, List<String> staleInstances) {
+        List<String> staleFields = new ArrayList<>();
+        for (String field : redissonClient.<String, ThreadPoolConfigEntity>getMap(RegistryEnumVO.THREAD_POOL_CONFIG_HASH_KEY.getKey() + "_" + appName).readAllKeySet()) {
+            for (String staleInstance : staleInstances) {
+                if (field.startsWith(staleInstance + "_")) {
+                    staleFields.add(field);
+                    break;
+                }
+            }
+        }
+        return staleFields;
+    }
+
+    private static boolean sameBytes(ByteBuf buf, byte[] bytes) {
+        if (null == bytes || buf.readableBytes() != bytes.length) return false;
+        for (int i = 0; i < bytes.length; i++) {
+            if (buf.getByte(buf.readerIndex() + i) != bytes[i]) return false;
+        }
+        return true;
+    }
+
+    private static String configParameterKey(ThreadPoolConfigEntity threadPoolConfigEntity) {
+        return configParameterKey(threadPoolConfigEntity.getAppName(), threadPoolConfigEntity.getThreadPoolName());
+    }
+
+    /**
+     * @return 一次热点调用栈采集请求的结果哈希键，管理端按同样的规则读取
+     */
+    public static String hotStackKey(String appName, String threadPoolName, String requestId) {
+        return RegistryEnumVO.THREAD_POOL_HOT_STACK_KEY.getKey() + "_" + appName + "_" + threadPoolName + "_" + requestId;
+    }
+
+    /**
+     * @return 热点调用栈采集请求的回复计数键
+     */
+    public static String hotStackRepliedKey(String hotStackKey) {
+        return hotStackKey + "_REPLIED";
+    }
+
+    /**
+     * @return 自动调参决策记录的列表键，管理端按同样的规则读取
+     */
+    public static String autoTuneDecisionKey(String appName) {
+        return RegistryEnumVO.THREAD_POOL_AUTO_TUNE_DECISION_KEY.getKey() + "_" + appName;
+    }
+
+    private static String configParameterKey(String appName, String threadPoolName) {
+        return RegistryEnumVO.THREAD_POOL_CONFIG_PARAMETER_LIST_KEY.getKey() + "_" + appName + "_" + threadPoolName;
     }
 }
@@ -0,0 +1,32 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.trigger.job;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.StuckTaskDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * @author Yurito
+ * @description 卡顿任务检测任务，新出现的卡顿任务记录告警日志与调用栈
+ * @create 2025/9/14 14:05
+ */
+public class StuckTaskDetectJob {
+
+    private final Logger logger = LoggerFactory.getLogger(StuckTaskDetectJob.class);
+
+    private final StuckTaskDetector stuckTaskDetector;
+
+    public StuckTaskDetectJob(StuckTaskDetector stuckTaskDetector) {
+        this.stuckTaskDetector = stuckTaskDetector;
+    }
+
+    @Scheduled(fixedDelayString = "${dynamic.thread.pool.config.stuck-task.interval:5000}")
+    public void execDetect() {
+        try {
+            stuckTaskDetector.detect();
+        } catch (Exception e) {
+            logger.error("动态线程池，卡顿任务检测异常", e);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.trigger.job;
+
+import com.alibaba.fastjson.JSON;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.IDynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.ThreadPoolAutoTuner;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.AutoTuneDecisionEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.IRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Yurito
+ * @description 线程池自动调参任务，调整后上报最新配置与调整决策记录
+ * @create 2025/9/4 11:02
+ */
+public class ThreadPoolAutoTuneJob {
+
+    private final Logger logger = LoggerFactory.getLogger(ThreadPoolAutoTuneJob.class);
+
+    private final ThreadPoolAutoTuner threadPoolAutoTuner;
+
+    private final IDynamicThreadPoolService dynamicThreadPoolService;
+
+    private final IRegistry registry;
+
+    public ThreadPoolAutoTuneJob(ThreadPoolAutoTuner threadPoolAutoTuner, IDynamicThreadPoolService dynamicThreadPoolService, IRegistry registry) {
+        this.threadPoolAutoTuner = threadPoolAutoTuner;
+        this.dynamicThreadPoolService = dynamicThreadPoolService;
+        this.registry = registry;
+    }
+
+    @Scheduled(fixedDelayString = "${dynamic.thread.pool.config.auto-tune.interval:5000}")
+    public void execAutoTune() {
+        try {
+            List<AutoTuneDecisionEntity> decisions = threadPoolAutoTuner.tune();
+            if (decisions.isEmpty()) return;
+
+            // 调整后上报最新数据，管理端可见；调整过的线程池数据有变化，其配置参数随同一批次写入
+            List<ThreadPoolConfigEntity> threadPoolConfigEntities = dynamicThreadPoolService.queryThreadPoolList();
+            registry.reportThreadPoolBatch(threadPoolConfigEntities);
+            Map<String, List<AutoTuneDecisionEntity>> appDecisions = new LinkedHashMap<>();
+            for (AutoTuneDecisionEntity decision : decisions) {
+                appDecisions.computeIfAbsent(decision.getAppName(), appName -> new ArrayList<>()).add(decision);
+            }
+            for (Map.Entry<String, List<AutoTuneDecisionEntity>> entry : appDecisions.entrySet()) {
+                registry.reportAutoTuneDecisions(entry.getKey(), entry.getValue());
+            }
+            logger.info("动态线程池，自动调参上报线程池配置：{} {}", JSON.toJSONString(decisions), JSON.toJSONString(threadPoolConfigEntities));
+        } catch (Exception e) {
+            logger.error("动态线程池，自动调参异常", e);
+        }
+    }
+
+}
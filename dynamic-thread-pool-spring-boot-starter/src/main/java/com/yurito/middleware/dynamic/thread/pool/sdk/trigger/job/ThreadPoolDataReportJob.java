@@ -1,7 +1,9 @@
 package com.yurito.middleware.dynamic.thread.pool.sdk.trigger.job;
 
 import com.alibaba.fastjson.JSON;
+import com.yurito.middleware.dynamic.thread.pool.sdk.config.DynamicThreadPoolAutoProperties;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.IDynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.ThreadPoolAdaptiveReporter;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
 import com.yurito.middleware.dynamic.thread.pool.sdk.registry.IRegistry;
 import org.slf4j.Logger;
@@ -12,7 +14,7 @@ import java.util.List;
 
 /**
  * @author Yurito
- * @description 线程池数据上报任务
+ * @description 线程池数据上报任务，按采样间隔采样，由 {@link ThreadPoolAdaptiveReporter} 决定是否上报
  * @create 2025/9/1 17:30
  */
 public class ThreadPoolDataReportJob {
@@ -23,20 +25,34 @@ public class ThreadPoolDataReportJob {
 
     private final IRegistry registry;
 
+    private final ThreadPoolAdaptiveReporter adaptiveReporter;
+
     public ThreadPoolDataReportJob(IDynamicThreadPoolService dynamicThreadPoolService, IRegistry registry) {
+        this(dynamicThreadPoolService, registry, new ThreadPoolAdaptiveReporter(new DynamicThreadPoolAutoProperties.Report()));
+    }
+
+    public ThreadPoolDataReportJob(IDynamicThreadPoolService dynamicThreadPoolService, IRegistry registry, ThreadPoolAdaptiveReporter adaptiveReporter) {
         this.dynamicThreadPoolService = dynamicThreadPoolService;
         this.registry = registry;
+        this.adaptiveReporter = adaptiveReporter;
     }
 
-    @Scheduled(cron = "0/20 * * * * ?")
+    @Scheduled(fixedDelayString = "${dynamic.thread.pool.config.report.sample-interval:1000}")
     public void execReportThreadPoolList(){
-        List<ThreadPoolConfigEntity> threadPoolConfigEntities = dynamicThreadPoolService.queryThreadPoolList();
-        registry.reportThreadPool(threadPoolConfigEntities);
-        logger.info("动态线程池，上报线程池信息：{}", JSON.toJSONString(threadPoolConfigEntities));
-
-        for (ThreadPoolConfigEntity threadPoolConfigEntity : threadPoolConfigEntities) {
-            registry.reportThreadPoolConfigParameter(threadPoolConfigEntity);
-            logger.info("动态线程池，上报线程池配置：{}", JSON.toJSONString(threadPoolConfigEntity));
+        try {
+            long now = System.currentTimeMillis();
+            List<ThreadPoolConfigEntity> threadPoolConfigEntities = dynamicThreadPoolService.queryThreadPoolList();
+            String reason = adaptiveReporter.decide(threadPoolConfigEntities, now);
+            if (null == reason) return;
+
+            // 线程池列表与各线程池配置参数合并为一次批量上报
+            registry.reportThreadPoolBatch(threadPoolConfigEntities);
+            adaptiveReporter.reported(threadPoolConfigEntities, now);
+            if (logger.isDebugEnabled()) {
+                logger.debug("动态线程池，上报线程池信息（{}）：{}", reason, JSON.toJSONString(threadPoolConfigEntities));
+            }
+        } catch (Exception e) {
+            logger.error("动态线程池，上报线程池信息异常", e);
         }
     }
 
@@ -32,12 +32,9 @@ public class ThreadPoolConfigAdjustListener implements MessageListener<ThreadPoo
         logger.info("动态线程池，调整线程池配置。线程池名称:{} 核心线程数:{} 最大线程数:{}", threadPoolConfigEntity.getThreadPoolName(), threadPoolConfigEntity.getPoolSize(), threadPoolConfigEntity.getMaximumPoolSize());
         dynamicThreadPoolService.updateThreadPoolConfig(threadPoolConfigEntity);
 
-        // 更新后上报最新数据
+        // 更新后上报最新数据，调整过的线程池配置参数随同一批次写入
         List<ThreadPoolConfigEntity> threadPoolConfigEntities = dynamicThreadPoolService.queryThreadPoolList();
-        registry.reportThreadPool(threadPoolConfigEntities);
-
-        ThreadPoolConfigEntity threadPoolConfigEntityCurrent = dynamicThreadPoolService.queryThreadPoolConfigByName(threadPoolConfigEntity.getThreadPoolName());
-        registry.reportThreadPoolConfigParameter(threadPoolConfigEntityCurrent);
+        registry.reportThreadPoolBatch(threadPoolConfigEntities);
         logger.info("动态线程池，上报线程池配置：{}", JSON.toJSONString(threadPoolConfigEntity));
     }
 }
@@ -0,0 +1,51 @@
+package com.yurito.middleware.dynamic.thread.pool.sdk.trigger.listener;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.StuckTaskDetector;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackRequestEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.IRegistry;
+import org.redisson.api.listener.MessageListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * @author Yurito
+ * @description 热点调用栈采集请求监听，采集本实例指定线程池的调用栈后写回注册中心
+ * @create 2025/9/14 14:20
+ */
+public class ThreadPoolHotStackListener implements MessageListener<HotStackRequestEntity> {
+
+    private final Logger logger = LoggerFactory.getLogger(ThreadPoolHotStackListener.class);
+
+    private final StuckTaskDetector stuckTaskDetector;
+
+    private final IRegistry registry;
+
+    private final String appName;
+
+    private final String instanceId;
+
+    public ThreadPoolHotStackListener(StuckTaskDetector stuckTaskDetector, IRegistry registry, String appName, String instanceId) {
+        this.stuckTaskDetector = stuckTaskDetector;
+        this.registry = registry;
+        this.appName = appName;
+        this.instanceId = instanceId;
+    }
+
+    @Override
+    public void onMessage(CharSequence charSequence, HotStackRequestEntity request) {
+        try {
+            List<HotStackEntity> hotStacks = stuckTaskDetector.hotStacks(request.getThreadPoolName());
+            // 本实例没有该线程池时也回复，只计入回复数，管理端不必等到超时
+            registry.reportHotStacks(appName, instanceId, request, hotStacks);
+            if (null != hotStacks) {
+                logger.info("动态线程池，上报热点调用栈。线程池名称:{} 调用栈数:{}", request.getThreadPoolName(), hotStacks.size());
+            }
+        } catch (Exception e) {
+            logger.error("动态线程池，采集热点调用栈异常。线程池名称:{}", request.getThreadPoolName(), e);
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.DynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.BatchingExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 攒批执行器单元测试
+ * @create 2025/9/13 14:30
+ */
+public class BatchingExecutorTest {
+
+    @Test
+    public void test_flush_by_size_and_linger() throws Exception {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(100));
+        BlockingQueue<List<Integer>> flushed = new LinkedBlockingQueue<>();
+        BatchingExecutor<String, Integer> batcher = new BatchingExecutor<>(executor, 3, 50, TimeUnit.MILLISECONDS,
+                (key, items) -> flushed.add(new ArrayList<>(items)));
+        try {
+            // 攒满批大小立即刷出，不同批次键互不合并
+            batcher.submit("a", 1);
+            batcher.submit("b", 10);
+            batcher.submit("a", 2);
+            batcher.submit("a", 3);
+            Assert.assertEquals(Arrays.asList(1, 2, 3), flushed.poll(1, TimeUnit.SECONDS));
+
+            // 未攒满的批次超过攒批时长后刷出
+            Assert.assertEquals(Collections.singletonList(10), flushed.poll(1, TimeUnit.SECONDS));
+            Assert.assertEquals(2, batcher.getFlushCount());
+            Assert.assertEquals(4, batcher.getItemCount());
+            Assert.assertEquals((100 + 33) / 2, batcher.getFillRatio());
+
+            // 关闭时刷出剩余批次，之后的提交被拒绝
+            batcher.setLingerTime(1, TimeUnit.HOURS);
+            batcher.submit("c", 20);
+            batcher.shutdown();
+            Assert.assertEquals(Collections.singletonList(20), flushed.poll(1, TimeUnit.SECONDS));
+            try {
+                batcher.submit("c", 21);
+                Assert.fail();
+            } catch (RejectedExecutionException expected) {
+            }
+            Assert.assertNull(BatchingExecutor.of(executor));
+        } finally {
+            batcher.shutdown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_report_and_update() throws Exception {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(100));
+        BlockingQueue<List<Integer>> flushed = new LinkedBlockingQueue<>();
+        BatchingExecutor<String, Integer> batcher = new BatchingExecutor<>(executor, 2, 1000, TimeUnit.MILLISECONDS,
+                (key, items) -> flushed.add(new ArrayList<>(items)));
+        try {
+            DynamicThreadPoolService dynamicThreadPoolService = new DynamicThreadPoolService("test-app", "test-instance", Collections.singletonMap("threadPoolExecutor01", executor));
+            ThreadPoolConfigEntity threadPoolConfigEntity = new ThreadPoolConfigEntity("test-app", "threadPoolExecutor01");
+            threadPoolConfigEntity.setCorePoolSize(1);
+            threadPoolConfigEntity.setMaximumPoolSize(1);
+            threadPoolConfigEntity.setBatchSize(4);
+            threadPoolConfigEntity.setBatchLingerTime(200);
+            dynamicThreadPoolService.updateThreadPoolConfig(threadPoolConfigEntity);
+            Assert.assertEquals(4, batcher.getBatchSize());
+            Assert.assertEquals(200, batcher.getLingerMillis());
+
+            for (int i = 1; i <= 4; i++) {
+                batcher.submit("a", i);
+            }
+            Assert.assertEquals(Arrays.asList(1, 2, 3, 4), flushed.poll(1, TimeUnit.SECONDS));
+
+            ThreadPoolConfigEntity reported = dynamicThreadPoolService.queryThreadPoolConfigByName("threadPoolExecutor01");
+            Assert.assertEquals(4, reported.getBatchSize());
+            Assert.assertEquals(200, reported.getBatchLingerTime());
+            Assert.assertEquals(1, reported.getBatchFlushCount());
+            Assert.assertEquals(100, reported.getBatchFillRatio());
+        } finally {
+            batcher.shutdown();
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.CoDelController;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DeadlineTask;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Yurito
+ * @description 排队时延管理单元测试
+ * @create 2025/9/11 16:20
+ */
+public class CoDelControllerTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void test_controller() {
+        CoDelController controller = new CoDelController(5, 100, TimeUnit.MILLISECONDS);
+        long now = System.nanoTime();
+        // 第一个间隔内排队耗时始终超过目标值，但尚未进入过载状态
+        Assert.assertFalse(controller.shouldShed(now, 50 * MS));
+        Assert.assertFalse(controller.shouldShed(now + 50 * MS, 20 * MS));
+
+        // 间隔结束，最小排队耗时 20ms 超过目标值，进入过载状态，超过 2 倍目标值的任务丢弃
+        Assert.assertTrue(controller.shouldShed(now + 101 * MS, 30 * MS));
+        Assert.assertTrue(controller.isOverloaded());
+        Assert.assertFalse(controller.shouldShed(now + 120 * MS, 8 * MS));
+        Assert.assertFalse(controller.shouldShed(now + 150 * MS, 1 * MS));
+
+        // 最小排队耗时回落到目标值以内，退出过载状态
+        Assert.assertFalse(controller.shouldShed(now + 202 * MS, 30 * MS));
+        Assert.assertFalse(controller.isOverloaded());
+    }
+
+    @Test
+    public void test_shed_expired_task() throws Exception {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(10));
+        // 目标值留足余量：唤醒空闲工作线程可能需要数毫秒，首个任务的排队耗时超过目标值会使下一个间隔进入过载
+        executor.setCoDelController(new CoDelController(50, 100, TimeUnit.MILLISECONDS));
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            AtomicInteger executed = new AtomicInteger();
+            long deadline = System.currentTimeMillis() + 50;
+            executor.execute(new ExpiringTask(deadline, executed));
+            Future<?> future = executor.submit(new ExpiringTask(deadline, executed));
+            Future<?> unbounded = executor.submit(executed::incrementAndGet);
+
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (CancellationException expected) {
+            }
+            unbounded.get(10, TimeUnit.SECONDS);
+
+            Assert.assertEquals(1, executed.get());
+            Assert.assertEquals(2, executor.getExpiredTaskCount());
+            Assert.assertEquals(0, executor.getShedTaskCount());
+            // 丢弃的任务不算作完成；get 返回时 afterExecute 可能尚未执行完
+            for (int i = 0; i < 100 && executor.getCompletedTasks() < 2; i++) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            Assert.assertEquals(2, executor.getCompletedTasks());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class ExpiringTask implements Runnable, DeadlineTask {
+
+        private final long deadline;
+
+        private final AtomicInteger executed;
+
+        private ExpiringTask(long deadline, AtomicInteger executed) {
+            this.deadline = deadline;
+            this.executed = executed;
+        }
+
+        @Override
+        public void run() {
+            executed.incrementAndGet();
+        }
+
+        @Override
+        public long getDeadline() {
+            return deadline;
+        }
+
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.DynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicScheduledThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolTaskScheduler;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 定时任务线程池延迟触发、执行耗时、超时统计单元测试
+ * @create 2025/9/10 15:20
+ */
+public class DynamicScheduledThreadPoolExecutorTest {
+
+    @Test
+    public void test_late_and_overrun() throws Exception {
+        DynamicScheduledThreadPoolExecutor executor = new DynamicScheduledThreadPoolExecutor(1);
+        try {
+            // 周期 20ms、每次执行 50ms 的固定频率任务，每次都会超时
+            CountDownLatch runs = new CountDownLatch(3);
+            ScheduledFuture<?> periodic = executor.scheduleAtFixedRate(() -> {
+                sleep(50);
+                runs.countDown();
+            }, 0, 20, TimeUnit.MILLISECONDS);
+            Assert.assertTrue(runs.await(5, TimeUnit.SECONDS));
+            periodic.cancel(false);
+            // 超过周期后下一次执行会延迟触发
+            executor.schedule(() -> sleep(0), 1, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+
+            DynamicThreadPoolService service = new DynamicThreadPoolService("test-app", "1@test", Collections.singletonMap("scheduler01", executor));
+            ThreadPoolConfigEntity entity = service.queryThreadPoolConfigByName("scheduler01");
+            Assert.assertEquals("ScheduledThreadPoolExecutor", entity.getPoolType());
+            Assert.assertTrue(entity.getOverrunCount() >= 2);
+            Assert.assertTrue(entity.getExecuteTimeMax() >= 50_000);
+            Assert.assertTrue(entity.getLateTimeMax() >= 20_000);
+            Assert.assertTrue(entity.getCompletedTaskCount() >= 4);
+
+            // 定时任务线程池只调整核心线程数
+            ThreadPoolConfigEntity update = new ThreadPoolConfigEntity("test-app", "scheduler01");
+            update.setCorePoolSize(3);
+            update.setMaximumPoolSize(2);
+            service.updateThreadPoolConfig(update);
+            Assert.assertEquals(3, executor.getCorePoolSize());
+            Assert.assertEquals(Integer.MAX_VALUE, executor.getMaximumPoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Spring 调度器使用可观测的执行器
+        DynamicThreadPoolTaskScheduler scheduler = new DynamicThreadPoolTaskScheduler();
+        scheduler.initialize();
+        try {
+            ThreadPoolExecutor scheduledThreadPoolExecutor = scheduler.getScheduledThreadPoolExecutor();
+            Assert.assertTrue(scheduledThreadPoolExecutor instanceof DynamicScheduledThreadPoolExecutor);
+            scheduler.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            // 完成数在任务包装的 finally 中累加，get() 返回时可能尚未计入；线程池终止后工作线程均已退出
+            scheduledThreadPoolExecutor.shutdown();
+            Assert.assertTrue(scheduledThreadPoolExecutor.awaitTermination(5, TimeUnit.SECONDS));
+            Assert.assertEquals(1, ((DynamicScheduledThreadPoolExecutor) scheduledThreadPoolExecutor).getCompletedTasks());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 可观测动态线程池单元测试，包装任务后 purge 与拒绝策略仍面向原始任务
+ * @create 2025/9/3 15:40
+ */
+public class DynamicThreadPoolExecutorTest {
+
+    @Test
+    public void test_purge_cancelled() throws Exception {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(10));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> awaitQuietly(release));
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(() -> {
+                }));
+            }
+            Assert.assertEquals(3, executor.getQueue().size());
+            futures.get(0).cancel(false);
+            futures.get(2).cancel(false);
+            executor.purge();
+            Assert.assertEquals(1, executor.getQueue().size());
+            futures.get(1).cancel(false);
+            executor.purge();
+            Assert.assertTrue(executor.getQueue().isEmpty());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_rejected_original_task() throws Exception {
+        List<Runnable> rejected = new ArrayList<>();
+        RejectedExecutionHandler handler = (r, executor) -> rejected.add(r);
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(1), handler);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> awaitQuietly(release));
+            executor.execute(() -> {
+            });
+            Runnable task = () -> {
+            };
+            executor.execute(task);
+            Future<?> future = executor.submit(() -> {
+            });
+            Assert.assertEquals(2, rejected.size());
+            Assert.assertSame(task, rejected.get(0));
+            Assert.assertSame(future, rejected.get(1));
+            Assert.assertSame(handler, executor.getRejectedExecutionHandler());
+
+            // 替换拒绝策略后同样还原原始任务
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+            Assert.assertTrue(executor.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.DiscardPolicy);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
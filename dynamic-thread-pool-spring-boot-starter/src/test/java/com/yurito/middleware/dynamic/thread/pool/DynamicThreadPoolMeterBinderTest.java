@@ -0,0 +1,80 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.DynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.IDynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.metrics.DynamicThreadPoolMeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 动态线程池 Micrometer 指标单元测试
+ * @create 2025/9/8 14:40
+ */
+public class DynamicThreadPoolMeterBinderTest {
+
+    @Test
+    public void test_bindTo() throws InterruptedException {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(2, 4, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(100));
+        Map<String, ThreadPoolExecutor> threadPoolExecutorMap = new HashMap<>();
+        threadPoolExecutorMap.put("threadPoolExecutor01", executor);
+        DynamicThreadPoolService service = new DynamicThreadPoolService("test-app", "1@test", threadPoolExecutorMap);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new DynamicThreadPoolMeterBinder(service).bindTo(registry);
+
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        // 等待快照过期后重新采集
+        Thread.sleep(600);
+
+        Assert.assertEquals(2, registry.get("dynamic.thread.pool.core.size").tag("app", "test-app").tag("name", "threadPoolExecutor01").gauge().value(), 0);
+        Assert.assertEquals(100, registry.get("dynamic.thread.pool.queue.capacity").gauge().value(), 0);
+        Assert.assertEquals(5, registry.get("dynamic.thread.pool.tasks.completed").functionCounter().count(), 0);
+        Assert.assertEquals(3, registry.get("dynamic.thread.pool.execute.time").timeGauges().size());
+    }
+
+    @Test
+    public void test_missingThreadPool() {
+        // 注册后线程池查询不到时，指标输出 NaN 而不是抛出空指针
+        IDynamicThreadPoolService service = new IDynamicThreadPoolService() {
+            @Override
+            public List<ThreadPoolConfigEntity> queryThreadPoolList() {
+                return Collections.singletonList(new ThreadPoolConfigEntity("test-app", "threadPoolExecutor01"));
+            }
+
+            @Override
+            public ThreadPoolConfigEntity queryThreadPoolConfigByName(String threadPoolName) {
+                return null;
+            }
+
+            @Override
+            public void updateThreadPoolConfig(ThreadPoolConfigEntity threadPoolConfigEntity) {
+            }
+        };
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new DynamicThreadPoolMeterBinder(service).bindTo(registry);
+
+        Assert.assertTrue(Double.isNaN(registry.get("dynamic.thread.pool.core.size").gauge().value()));
+        Assert.assertTrue(Double.isNaN(registry.get("dynamic.thread.pool.tasks.completed").functionCounter().count()));
+        Assert.assertTrue(Double.isNaN(registry.get("dynamic.thread.pool.spill.replay.lag").timeGauge().value()));
+        Assert.assertTrue(Double.isNaN(registry.get("dynamic.thread.pool.execute.time.max").timeGauge().value()));
+    }
+
+}
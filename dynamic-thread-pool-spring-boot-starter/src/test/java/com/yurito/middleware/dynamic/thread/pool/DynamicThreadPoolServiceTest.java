@@ -0,0 +1,131 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.DynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 动态线程池服务单元测试
+ * @create 2025/9/6 15:40
+ */
+public class DynamicThreadPoolServiceTest {
+
+    @Test
+    public void test_snapshot() throws InterruptedException {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(2, 4, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(100));
+        Map<String, ThreadPoolExecutor> threadPoolExecutorMap = new HashMap<>();
+        threadPoolExecutorMap.put("threadPoolExecutor01", executor);
+        DynamicThreadPoolService service = new DynamicThreadPoolService("test-app", "1@test", threadPoolExecutorMap);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {
+            });
+        }
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        ThreadPoolConfigEntity running = service.queryThreadPoolConfigByName("threadPoolExecutor01");
+        Assert.assertEquals(2, running.getActiveCount());
+        Assert.assertEquals(2, running.getPoolSize());
+        Assert.assertEquals(10, running.getQueueSize());
+        Assert.assertEquals("1@test", running.getInstanceId());
+        // 采集间隔内复用同一份快照
+        Assert.assertSame(service.queryThreadPoolList().get(0), service.queryThreadPoolList().get(0));
+        // 共享的快照列表只读
+        try {
+            service.queryThreadPoolList().clear();
+            Assert.fail();
+        } catch (UnsupportedOperationException expected) {
+            Assert.assertEquals(1, service.queryThreadPoolList().size());
+        }
+
+        release.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // 参数调整后重新采集
+        ThreadPoolConfigEntity update = new ThreadPoolConfigEntity("test-app", "threadPoolExecutor01");
+        update.setMaximumPoolSize(8);
+        service.updateThreadPoolConfig(update);
+        ThreadPoolConfigEntity finished = service.queryThreadPoolConfigByName("threadPoolExecutor01");
+        Assert.assertEquals(8, finished.getMaximumPoolSize());
+        Assert.assertEquals(0, finished.getActiveCount());
+        Assert.assertEquals(12, finished.getCompletedTaskCount());
+        Assert.assertEquals(executor.getCompletedTaskCount(), finished.getCompletedTaskCount());
+    }
+
+    @Test
+    public void test_fork_join_pool() throws InterruptedException {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        DynamicThreadPoolService service = new DynamicThreadPoolService("test-app", "1@test", Collections.emptyMap(),
+                Collections.singletonMap("forkJoinPool01", forkJoinPool));
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(2);
+            for (int i = 0; i < 5; i++) {
+                forkJoinPool.execute(() -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            ThreadPoolConfigEntity running = service.queryThreadPoolConfigByName("forkJoinPool01");
+            Assert.assertEquals("ForkJoinPool", running.getPoolType());
+            Assert.assertEquals(2, running.getParallelism());
+            Assert.assertEquals(2, running.getMaximumPoolSize());
+            Assert.assertEquals(2, running.getActiveCount());
+            Assert.assertEquals(3, running.getQueueSize());
+            Assert.assertEquals(running.getQueueSize(), running.getQueuedTaskCount() + running.getQueuedSubmissionCount());
+            Assert.assertTrue(service.getThreadPoolNames().contains("forkJoinPool01"));
+            release.countDown();
+
+            // JDK 19+ 可调整并行度，低版本忽略调整
+            ThreadPoolConfigEntity update = new ThreadPoolConfigEntity("test-app", "forkJoinPool01");
+            update.setMaximumPoolSize(4);
+            service.updateThreadPoolConfig(update);
+            int expected = hasSetParallelism() ? 4 : 2;
+            Assert.assertEquals(expected, forkJoinPool.getParallelism());
+            Assert.assertEquals(expected, service.queryThreadPoolConfigByName("forkJoinPool01").getParallelism());
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    private static boolean hasSetParallelism() {
+        try {
+            ForkJoinPool.class.getMethod("setParallelism", int.class);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.LatencyRecorder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 耗时直方图单元测试
+ * @create 2025/9/3 14:30
+ */
+public class LatencyRecorderTest {
+
+    @Test
+    public void test_percentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long now = System.nanoTime();
+        for (int i = 1; i <= 1000; i++) {
+            recorder.record(now, TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        long[] percentiles = recorder.percentiles();
+        // 对数-线性分桶，相对误差不超过 6.25%
+        Assert.assertEquals(500, percentiles[0], 500 * 0.0625);
+        Assert.assertEquals(900, percentiles[1], 900 * 0.0625);
+        Assert.assertEquals(990, percentiles[2], 990 * 0.0625);
+        Assert.assertEquals(1000, percentiles[3]);
+    }
+
+    @Test
+    public void test_empty() {
+        long[] percentiles = new LatencyRecorder().percentiles();
+        Assert.assertArrayEquals(new long[]{0, 0, 0, 0}, percentiles);
+    }
+
+    @Test
+    public void test_dynamicThreadPoolExecutor() throws InterruptedException {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        CountDownLatch latch = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+
+        // 第二个任务需等待第一个任务执行完成，排队耗时至少 50ms
+        Assert.assertTrue(executor.getQueueWaitRecorder().percentiles()[3] >= TimeUnit.MILLISECONDS.toMicros(45));
+        Assert.assertTrue(executor.getExecuteTimeRecorder().percentiles()[0] >= TimeUnit.MILLISECONDS.toMicros(45));
+    }
+
+}
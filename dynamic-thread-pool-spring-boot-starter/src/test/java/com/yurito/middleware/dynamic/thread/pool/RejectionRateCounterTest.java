@@ -0,0 +1,66 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.RejectedExecutionHandlerDecorator;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.RejectionRateCounter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 拒绝次数计数器单元测试
+ * @create 2025/9/12 10:20
+ */
+public class RejectionRateCounterTest {
+
+    @Test
+    public void test_window() {
+        RejectionRateCounter counter = new RejectionRateCounter();
+        long start = 1_700_000_000_000L;
+        for (int i = 0; i < 5; i++) {
+            counter.record(start + 100);
+        }
+        counter.record(start + 5_000);
+        counter.record(start + 30_000);
+        counter.record(start + 30_999);
+
+        // 当前秒尚未结束，不计入窗口
+        Assert.assertEquals(0, counter.count(1, start + 30_500));
+        Assert.assertEquals(2, counter.count(1, start + 31_000));
+        Assert.assertEquals(2, counter.count(10, start + 31_000));
+        Assert.assertEquals(8, counter.count(60, start + 31_000));
+        // 超过 60 秒的桶不再计入，即使尚未被新的一秒覆盖
+        Assert.assertEquals(3, counter.count(60, start + 61_000));
+        Assert.assertEquals(8, counter.getTotal());
+        Assert.assertEquals(start + 30_999, counter.getLastRejectTime());
+
+        // 61 秒后复用同一个桶，先清零再累加
+        counter.record(start + 61_100);
+        Assert.assertEquals(1, counter.count(1, start + 62_000));
+    }
+
+    @Test
+    public void test_decorate() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.DiscardPolicy());
+        try {
+            RejectedExecutionHandlerDecorator decorator = RejectedExecutionHandlerDecorator.decorate(executor, "rejectionRatePool");
+            Assert.assertSame(decorator, executor.getRejectedExecutionHandler());
+            Assert.assertSame(decorator, RejectedExecutionHandlerDecorator.decorate(executor, "rejectionRatePool"));
+            Assert.assertEquals("DiscardPolicy", decorator.getName());
+
+            executor.shutdown();
+            for (int i = 0; i < 3; i++) {
+                executor.execute(() -> {
+                });
+            }
+            Assert.assertEquals(3, decorator.getRejectionCounter().getTotal());
+            Assert.assertTrue(decorator.getRejectionCounter().getLastRejectTime() > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
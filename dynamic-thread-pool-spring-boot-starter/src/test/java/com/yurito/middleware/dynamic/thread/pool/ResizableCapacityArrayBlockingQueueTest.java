@@ -0,0 +1,168 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Yurito
+ * @description 可动态调整容量的数组阻塞队列单元测试
+ * @create 2025/9/5 15:20
+ */
+public class ResizableCapacityArrayBlockingQueueTest {
+
+    @Test
+    public void test_capacity() {
+        ResizableCapacityArrayBlockingQueue<Integer> queue = new ResizableCapacityArrayBlockingQueue<>(3);
+        Assert.assertTrue(queue.offer(1));
+        Assert.assertTrue(queue.offer(2));
+        Assert.assertTrue(queue.offer(3));
+        Assert.assertFalse(queue.offer(4));
+        Assert.assertEquals(0, queue.remainingCapacity());
+
+        // 扩容超过数组长度，旧数组中的任务先出队
+        queue.setCapacity(10);
+        for (int i = 4; i <= 10; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+        Assert.assertFalse(queue.offer(11));
+        Assert.assertEquals(10, queue.size());
+
+        // 缩容不丢任务，消费到新容量以下之前拒绝入队
+        queue.setCapacity(5);
+        Assert.assertFalse(queue.offer(11));
+        for (int i = 1; i <= 6; i++) {
+            Assert.assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        Assert.assertTrue(queue.offer(11));
+        Assert.assertFalse(queue.offer(12));
+
+        List<Integer> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        Assert.assertEquals(5, rest.size());
+        Assert.assertEquals(Integer.valueOf(7), rest.get(0));
+        Assert.assertEquals(Integer.valueOf(11), rest.get(4));
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void test_grow_on_demand() {
+        // 数组按需分配，最大容量的队列不会一次分配 2^30 个槽位
+        ResizableCapacityArrayBlockingQueue<Integer> queue = new ResizableCapacityArrayBlockingQueue<>(ResizableCapacityArrayBlockingQueue.MAXIMUM_CAPACITY);
+        int count = 200_000;
+        for (int i = 0; i < count; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+        Assert.assertEquals(count, queue.size());
+        Assert.assertEquals(ResizableCapacityArrayBlockingQueue.MAXIMUM_CAPACITY - count, queue.remainingCapacity());
+
+        // 缩容后换成短数组，已有任务仍按先进先出取出，消费到新容量以下之前拒绝入队
+        queue.setCapacity(100);
+        Assert.assertFalse(queue.offer(-1));
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        Assert.assertNull(queue.poll());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+        Assert.assertFalse(queue.offer(100));
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void test_remove() {
+        ResizableCapacityArrayBlockingQueue<String> queue = new ResizableCapacityArrayBlockingQueue<>(4);
+        queue.offer("a");
+        queue.offer("b");
+        queue.offer("c");
+        Assert.assertTrue(queue.remove("b"));
+        Assert.assertFalse(queue.remove("b"));
+        Assert.assertEquals("a", queue.poll());
+        Assert.assertEquals("c", queue.poll());
+        Assert.assertNull(queue.poll());
+    }
+
+    @Test
+    public void test_take() throws InterruptedException {
+        ResizableCapacityArrayBlockingQueue<Integer> queue = new ResizableCapacityArrayBlockingQueue<>(1);
+        Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+
+        Thread producer = new Thread(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+                queue.put(1);
+                queue.put(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Assert.assertEquals(Integer.valueOf(1), queue.take());
+        Assert.assertEquals(Integer.valueOf(2), queue.take());
+        producer.join();
+    }
+
+    @Test
+    public void test_concurrent() throws InterruptedException {
+        int producers = 4, consumers = 4, perProducer = 200_000;
+        ResizableCapacityArrayBlockingQueue<Long> queue = new ResizableCapacityArrayBlockingQueue<>(64);
+        ExecutorService executorService = Executors.newFixedThreadPool(producers + consumers + 1);
+        CountDownLatch produced = new CountDownLatch(producers);
+        AtomicLong sum = new AtomicLong();
+        AtomicLong count = new AtomicLong();
+
+        for (int p = 0; p < producers; p++) {
+            executorService.execute(() -> {
+                try {
+                    for (long i = 1; i <= perProducer; i++) {
+                        queue.put(i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                produced.countDown();
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            executorService.execute(() -> {
+                try {
+                    while (count.get() < (long) producers * perProducer) {
+                        Long value = queue.poll(10, TimeUnit.MILLISECONDS);
+                        if (null == value) continue;
+                        sum.addAndGet(value);
+                        count.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        // 生产消费过程中反复调整容量
+        executorService.execute(() -> {
+            int[] capacities = {16, 256, 8, 1024, 32};
+            for (int i = 0; produced.getCount() > 0; i++) {
+                queue.setCapacity(capacities[i % capacities.length]);
+                Thread.yield();
+            }
+        });
+
+        executorService.shutdown();
+        Assert.assertTrue(executorService.awaitTermination(60, TimeUnit.SECONDS));
+        Assert.assertEquals((long) producers * perProducer, count.get());
+        Assert.assertEquals((long) producers * perProducer * (perProducer + 1) / 2, sum.get());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+}
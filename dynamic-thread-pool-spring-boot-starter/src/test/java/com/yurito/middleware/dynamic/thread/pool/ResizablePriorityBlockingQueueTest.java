@@ -0,0 +1,153 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.DynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DeadlineTask;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.PriorityTask;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizablePriorityBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 可动态调整容量的优先级阻塞队列单元测试
+ * @create 2025/9/9 15:10
+ */
+public class ResizablePriorityBlockingQueueTest {
+
+    @Test
+    public void test_order_and_capacity() {
+        ResizablePriorityBlockingQueue<long[]> queue = new ResizablePriorityBlockingQueue<>(3, e -> e[0]);
+        Assert.assertTrue(queue.offer(new long[]{5, 0}));
+        Assert.assertTrue(queue.offer(new long[]{1, 1}));
+        Assert.assertTrue(queue.offer(new long[]{5, 2}));
+        Assert.assertFalse(queue.offer(new long[]{0, 3}));
+
+        // 扩容后可继续入队，数组按需增长
+        queue.setCapacity(1000);
+        for (int i = 0; i < 500; i++) {
+            Assert.assertTrue(queue.offer(new long[]{i % 7, 100 + i}));
+        }
+        Assert.assertEquals(503, queue.size());
+        Assert.assertTrue(queue.remove(queue.peek()));
+
+        // 键相同时按入队顺序出队
+        long[] last = queue.poll();
+        while (!queue.isEmpty()) {
+            long[] next = queue.poll();
+            Assert.assertTrue(last[0] < next[0] || (last[0] == next[0] && last[1] < next[1]));
+            last = next;
+        }
+
+        // 缩容不丢弃已有任务
+        queue.offer(new long[]{1, 0});
+        queue.offer(new long[]{2, 0});
+        queue.setCapacity(1);
+        Assert.assertEquals(2, queue.size());
+        Assert.assertFalse(queue.offer(new long[]{0, 0}));
+        Assert.assertEquals(0, queue.remainingCapacity());
+    }
+
+    @Test
+    public void test_executor() throws Exception {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, ResizablePriorityBlockingQueue.priorityOrdered(100));
+        try {
+            CountDownLatch blocker = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            List<String> executed = Collections.synchronizedList(new ArrayList<>());
+            executor.execute(new Job("bulk-1", PriorityTask.LOW_PRIORITY, executed));
+            executor.execute(() -> executed.add("plain"));
+            Future<?> future = executor.submit(new Job("request", PriorityTask.HIGH_PRIORITY, executed));
+            executor.execute(new Job("bulk-2", PriorityTask.LOW_PRIORITY, executed));
+
+            // 队列容量按统一接口上报与调整
+            DynamicThreadPoolService dynamicThreadPoolService = new DynamicThreadPoolService("test-app", "test-instance", Collections.singletonMap("threadPoolExecutor01", executor));
+            Assert.assertEquals(100, dynamicThreadPoolService.queryThreadPoolConfigByName("threadPoolExecutor01").getQueueCapacity());
+            ThreadPoolConfigEntity threadPoolConfigEntity = new ThreadPoolConfigEntity("test-app", "threadPoolExecutor01");
+            threadPoolConfigEntity.setCorePoolSize(1);
+            threadPoolConfigEntity.setMaximumPoolSize(1);
+            threadPoolConfigEntity.setQueueCapacity(200);
+            dynamicThreadPoolService.updateThreadPoolConfig(threadPoolConfigEntity);
+            Assert.assertEquals(200, ((ResizablePriorityBlockingQueue<?>) executor.getQueue()).getCapacity());
+
+            blocker.countDown();
+            future.get(5, TimeUnit.SECONDS);
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            Assert.assertEquals(Arrays.asList("request", "plain", "bulk-1", "bulk-2"), executed);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 按截止时间排序，未指定截止时间的排在最后
+        ResizablePriorityBlockingQueue<Runnable> queue = ResizablePriorityBlockingQueue.deadlineOrdered(10);
+        Runnable plain = () -> { };
+        Runnable late = new Deadline(2000);
+        Runnable early = new Deadline(1000);
+        queue.offer(plain);
+        queue.offer(late);
+        queue.offer(early);
+        Assert.assertSame(early, queue.poll());
+        Assert.assertSame(late, queue.poll());
+        Assert.assertSame(plain, queue.poll());
+    }
+
+    private static class Job implements Runnable, PriorityTask {
+
+        private final String name;
+        private final int priority;
+        private final List<String> executed;
+
+        private Job(String name, int priority, List<String> executed) {
+            this.name = name;
+            this.priority = priority;
+            this.executed = executed;
+        }
+
+        @Override
+        public void run() {
+            executed.add(name);
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+    }
+
+    private static class Deadline implements Runnable, DeadlineTask {
+
+        private final long deadline;
+
+        private Deadline(long deadline) {
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public long getDeadline() {
+            return deadline;
+        }
+
+    }
+
+}
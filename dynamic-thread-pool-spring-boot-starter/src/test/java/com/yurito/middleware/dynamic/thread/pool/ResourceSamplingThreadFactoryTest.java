@@ -0,0 +1,54 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.DynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResourceSamplingThreadFactory;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 工作线程 CPU 时间与内存分配采样单元测试
+ * @create 2025/9/13 17:20
+ */
+public class ResourceSamplingThreadFactoryTest {
+
+    private static volatile Object sink;
+
+    @Test
+    public void test_sample() throws Exception {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(10));
+        ResourceSamplingThreadFactory samplingThreadFactory = ResourceSamplingThreadFactory.track(executor, "threadPoolExecutor01");
+        Assert.assertNotNull(samplingThreadFactory);
+        Assert.assertSame(samplingThreadFactory, ResourceSamplingThreadFactory.track(executor, "threadPoolExecutor01"));
+        try {
+            DynamicThreadPoolService dynamicThreadPoolService = new DynamicThreadPoolService("test-app", "test-instance", Collections.singletonMap("threadPoolExecutor01", executor));
+            CountDownLatch stop = new CountDownLatch(1);
+            for (int i = 0; i < 2; i++) {
+                executor.execute(() -> {
+                    // 持续占用 CPU 并分配内存
+                    while (stop.getCount() > 0) {
+                        sink = new byte[1024];
+                    }
+                });
+            }
+            samplingThreadFactory.sample(System.nanoTime());
+            TimeUnit.MILLISECONDS.sleep(1200);
+            ThreadPoolConfigEntity reported = dynamicThreadPoolService.queryThreadPoolConfigByName("threadPoolExecutor01");
+            stop.countDown();
+
+            Assert.assertEquals(2, reported.getSampledThreadCount());
+            Assert.assertTrue(reported.getCpuMilliCores() > 200);
+            Assert.assertTrue(reported.getAllocationRate() > 1024 * 1024);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
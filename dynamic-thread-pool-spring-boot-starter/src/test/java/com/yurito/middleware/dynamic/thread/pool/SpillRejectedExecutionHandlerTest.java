@@ -0,0 +1,265 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.RejectedExecutionHandlerDecorator;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.SerializableTask;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.SpillRejectedExecutionHandler;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.TaskSpillLog;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 落盘拒绝策略与落盘日志单元测试
+ * @create 2025/9/11 11:30
+ */
+public class SpillRejectedExecutionHandlerTest {
+
+    private static final List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+
+    private static volatile CountDownLatch done;
+
+    @Test
+    public void test_spill_log() throws Exception {
+        Path file = Files.createTempDirectory("spill").resolve("pool.log");
+        TaskSpillLog spillLog = new TaskSpillLog(file, 24 + 3 * (12 + 8));
+        Assert.assertTrue(spillLog.append(bytes("task-001"), 1000));
+        Assert.assertTrue(spillLog.append(bytes("task-002"), 2000));
+        Assert.assertTrue(spillLog.append(bytes("task-003"), 3000));
+        // 已写满
+        Assert.assertFalse(spillLog.append(bytes("task-004"), 4000));
+        Assert.assertEquals("task-001", text(spillLog.peek()));
+        spillLog.remove();
+        spillLog.close();
+
+        // 重新打开后从读位置继续
+        spillLog = new TaskSpillLog(file, 24 + 3 * (12 + 8));
+        Assert.assertEquals(2, spillLog.size());
+        Assert.assertEquals(2000, spillLog.oldestTime());
+        // 前移回收已消费的空间后可以继续写入
+        Assert.assertTrue(spillLog.append(bytes("task-004"), 4000));
+        Assert.assertEquals(3 * (12 + 8), spillLog.usedBytes());
+        for (String expected : new String[]{"task-002", "task-003", "task-004"}) {
+            Assert.assertEquals(expected, text(spillLog.peek()));
+            spillLog.remove();
+        }
+        Assert.assertNull(spillLog.peek());
+        Assert.assertEquals(0, spillLog.oldestTime());
+        spillLog.close();
+    }
+
+    @Test
+    public void test_spill_and_replay() throws Exception {
+        executed.clear();
+        done = new CountDownLatch(6);
+        Path file = Files.createTempDirectory("spill").resolve("pool.log");
+        SpillRejectedExecutionHandler handler = new SpillRejectedExecutionHandler(file, 64 * 1024, new ThreadPoolExecutor.AbortPolicy());
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(1), handler);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            for (int i = 0; i < 6; i++) {
+                executor.execute(new RecordTask(i));
+            }
+            // 任务 0 进入队列，其余落盘
+            Assert.assertEquals(5, handler.getSpillTaskCount());
+            Assert.assertTrue(handler.getSpillBytes() > 0);
+            // 不可序列化的任务交给兜底拒绝策略
+            try {
+                executor.execute(() -> {
+                });
+                Assert.fail();
+            } catch (RejectedExecutionException expected) {
+            }
+
+            release.countDown();
+            Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), executed);
+            // 提交成功后才出队，最后一个任务可能先于出队执行完
+            for (int i = 0; i < 100 && handler.getSpillTaskCount() > 0; i++) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            Assert.assertEquals(0, handler.getSpillTaskCount());
+            Assert.assertEquals(0, handler.getReplayLag());
+            Assert.assertEquals(5, handler.getReplayedCount());
+            Assert.assertSame(handler, SpillRejectedExecutionHandler.of(executor));
+        } finally {
+            executor.shutdownNow();
+            handler.getSpillLog().close();
+        }
+    }
+
+    @Test
+    public void test_allow_list() throws Exception {
+        // 字段引用的业务类型不在白名单中，重放时丢弃
+        Assert.assertEquals(0, spillAndReplay(Collections.emptyList(), new Payload(7)));
+        Assert.assertEquals(1, spillAndReplay(Collections.singletonList(SpillRejectedExecutionHandlerTest.class.getName() + "$"), new Payload(7)));
+        // 常用 JDK 类型默认允许，其余 JDK 类型需要显式加入
+        Assert.assertEquals(1, spillAndReplay(Collections.emptyList(), new ArrayList<>(Arrays.asList(1, 2L, "3"))));
+        Assert.assertEquals(0, spillAndReplay(Collections.emptyList(), new TreeMap<>(Collections.singletonMap("k", 1))));
+        Assert.assertEquals(1, spillAndReplay(Collections.singletonList("java.util.TreeMap"), new TreeMap<>(Collections.singletonMap("k", 1))));
+    }
+
+    @Test
+    public void test_replay_rejection_not_counted() throws Exception {
+        Path file = Files.createTempDirectory("spill").resolve("pool.log");
+        SpillRejectedExecutionHandler handler = new SpillRejectedExecutionHandler(file, 64 * 1024, new ThreadPoolExecutor.AbortPolicy());
+        RejectedExecutionHandlerDecorator decorator = new RejectedExecutionHandlerDecorator(handler, "test_replay_rejection_not_counted");
+        // 队列有空闲容量但始终拒绝，重放线程会反复被拒绝
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), decorator) {
+            @Override
+            public void execute(Runnable command) {
+                getRejectedExecutionHandler().rejectedExecution(command, this);
+            }
+        };
+        try {
+            executor.execute(new RecordTask(0));
+            Assert.assertEquals(1, handler.getSpillTaskCount());
+            TimeUnit.MILLISECONDS.sleep(200);
+            Assert.assertEquals(1, handler.getSpillTaskCount());
+            Assert.assertEquals(1, decorator.getRejectionCounter().getTotal());
+        } finally {
+            executor.shutdownNow();
+        }
+        // 线程池关闭后重放线程退出并关闭日志
+        for (int i = 0; i < 500 && handler.getSpillLog().append(bytes("task"), 0); i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assert.assertFalse(handler.getSpillLog().append(bytes("task"), 0));
+    }
+
+    @Test
+    public void test_close_on_replace() throws Exception {
+        Path file = Files.createTempDirectory("spill").resolve("pool.log");
+        SpillRejectedExecutionHandler handler = new SpillRejectedExecutionHandler(file, 64 * 1024, new ThreadPoolExecutor.AbortPolicy());
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), handler);
+        try {
+            // 只是包装装饰器时不关闭
+            RejectedExecutionHandlerDecorator.decorate(executor, "test_close_on_replace");
+            Assert.assertTrue(handler.getSpillLog().append(bytes("task"), 0));
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+            Assert.assertFalse(handler.getSpillLog().append(bytes("task"), 0));
+            // 关闭后被拒绝的任务交给兜底拒绝策略
+            try {
+                handler.rejectedExecution(new RecordTask(0), executor);
+                Assert.fail();
+            } catch (RejectedExecutionException expected) {
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 落盘一个带业务字段的任务，等待重放线程处理完
+     *
+     * @return 重放的任务数
+     */
+    private static long spillAndReplay(List<String> allowedClassPrefixes, Serializable payload) throws Exception {
+        Path file = Files.createTempDirectory("spill").resolve("pool.log");
+        SpillRejectedExecutionHandler handler = new SpillRejectedExecutionHandler(file, 64 * 1024, new ThreadPoolExecutor.AbortPolicy(), allowedClassPrefixes);
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(1), handler);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.execute(() -> {
+            });
+            executor.execute(new PayloadTask(payload));
+            // 不在白名单中的任务可能已被重放线程丢弃，按累计落盘数判断
+            Assert.assertEquals(1, handler.getSpilledCount());
+
+            release.countDown();
+            for (int i = 0; i < 500 && handler.getSpillTaskCount() > 0; i++) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            Assert.assertEquals(0, handler.getSpillTaskCount());
+            return handler.getReplayedCount();
+        } finally {
+            executor.shutdownNow();
+            handler.getSpillLog().close();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class RecordTask implements SerializableTask {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int id;
+
+        private RecordTask(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public void run() {
+            executed.add(id);
+            done.countDown();
+        }
+
+    }
+
+    private static class Payload implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int value;
+
+        private Payload(int value) {
+            this.value = value;
+        }
+
+    }
+
+    private static class PayloadTask implements SerializableTask {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Serializable payload;
+
+        private PayloadTask(Serializable payload) {
+            this.payload = payload;
+        }
+
+        @Override
+        public void run() {
+        }
+
+    }
+
+}
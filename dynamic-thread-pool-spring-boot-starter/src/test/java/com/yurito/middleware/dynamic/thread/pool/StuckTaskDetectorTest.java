@@ -0,0 +1,119 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.DynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.StuckTaskDetector;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.HotStackEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 卡顿任务检测与热点调用栈单元测试
+ * @create 2025/9/14 15:10
+ */
+public class StuckTaskDetectorTest {
+
+    @Test
+    public void test_detect_and_report() throws Exception {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(3, 3, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(10));
+        executor.setStuckTaskThreshold(100, TimeUnit.MILLISECONDS);
+        Map<String, ThreadPoolExecutor> threadPoolExecutorMap = Collections.singletonMap("threadPoolExecutor01", executor);
+        StuckTaskDetector detector = new StuckTaskDetector(threadPoolExecutorMap, 16);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch stop = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 2; i++) {
+                executor.execute(() -> {
+                    started.countDown();
+                    awaitQuietly(stop);
+                });
+            }
+            Assert.assertTrue(started.await(1, TimeUnit.SECONDS));
+            // 未超过阈值
+            Assert.assertEquals(0, detector.detect());
+            TimeUnit.MILLISECONDS.sleep(200);
+            Assert.assertEquals(2, detector.detect());
+            // 同一个任务不重复告警
+            Assert.assertEquals(0, detector.detect());
+
+            DynamicThreadPoolService dynamicThreadPoolService = new DynamicThreadPoolService("test-app", "test-instance", threadPoolExecutorMap);
+            ThreadPoolConfigEntity reported = dynamicThreadPoolService.queryThreadPoolConfigByName("threadPoolExecutor01");
+            Assert.assertEquals(100, reported.getStuckTaskThreshold());
+            Assert.assertEquals(2, reported.getStuckTaskCount());
+            Assert.assertTrue(reported.getLongestRunningTime() >= 200);
+        } finally {
+            stop.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_hot_stacks() throws Exception {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(3, 3, 60, TimeUnit.SECONDS, new ResizableCapacityArrayBlockingQueue<>(10));
+        executor.setStuckTaskThreshold(50, TimeUnit.MILLISECONDS);
+        StuckTaskDetector detector = new StuckTaskDetector(Collections.singletonMap("threadPoolExecutor01", executor), 16);
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch stop = new CountDownLatch(1);
+        try {
+            // 两个任务停在 CountDownLatch#await，一个任务停在 Thread#sleep
+            for (int i = 0; i < 2; i++) {
+                executor.execute(() -> {
+                    started.countDown();
+                    awaitQuietly(stop);
+                });
+            }
+            executor.execute(() -> {
+                started.countDown();
+                while (stop.getCount() > 0) {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            Assert.assertTrue(started.await(1, TimeUnit.SECONDS));
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            List<HotStackEntity> hotStacks = detector.hotStacks("threadPoolExecutor01");
+            Assert.assertEquals(2, hotStacks.size());
+            HotStackEntity top = hotStacks.get(0);
+            Assert.assertEquals(2, top.getThreadCount());
+            Assert.assertEquals(2, top.getStuckCount());
+            Assert.assertEquals(2, top.getThreadNames().size());
+            Assert.assertTrue(top.getMaxRunningTime() >= 100);
+            Assert.assertTrue(top.getStackTrace().size() <= 16);
+            Assert.assertTrue(top.getStackTrace().stream().anyMatch(frame -> frame.contains("CountDownLatch.await")));
+            Assert.assertTrue(hotStacks.get(1).getTopFrame().contains("sleep"));
+            Assert.assertEquals(1, hotStacks.get(1).getThreadCount());
+
+            Assert.assertNull(detector.hotStacks("threadPoolExecutor02"));
+        } finally {
+            stop.countDown();
+            executor.shutdownNow();
+        }
+
+        // 任务结束后不再出现在热点调用栈中
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        Assert.assertTrue(detector.hotStacks("threadPoolExecutor01").isEmpty());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.config.DynamicThreadPoolAutoProperties;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.ThreadPoolAdaptiveReporter;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Yurito
+ * @description 线程池数据自适应上报策略单元测试
+ * @create 2025/9/8 16:50
+ */
+public class ThreadPoolAdaptiveReporterTest {
+
+    @Test
+    public void test_decide() {
+        ThreadPoolAdaptiveReporter reporter = new ThreadPoolAdaptiveReporter(new DynamicThreadPoolAutoProperties.Report());
+        long now = 1_000_000L;
+
+        List<ThreadPoolConfigEntity> idle = sample(0, 0, 0);
+        Assert.assertEquals("首次上报", reporter.decide(idle, now));
+        reporter.reported(idle, now);
+
+        // 空闲时退避为心跳间隔
+        Assert.assertNull(reporter.decide(idle, now + 30_000));
+        Assert.assertEquals("空闲心跳", reporter.decide(idle, now + 60_000));
+
+        // 小幅变化不上报，有任务时按常规间隔上报
+        List<ThreadPoolConfigEntity> busy = sample(1, 1, 0);
+        Assert.assertNull(reporter.decide(busy, now + 5_000));
+        Assert.assertEquals("周期上报", reporter.decide(busy, now + 20_000));
+
+        // 进入饱和立即上报，但受最小间隔限流
+        List<ThreadPoolConfigEntity> saturated = sample(9, 10, 0);
+        Assert.assertNull(reporter.decide(saturated, now + 500));
+        Assert.assertEquals("threadPoolExecutor01 进入饱和", reporter.decide(saturated, now + 1_000));
+        reporter.reported(saturated, now + 1_000);
+
+        // 拒绝任务增加立即上报
+        List<ThreadPoolConfigEntity> rejected = sample(9, 10, 0);
+        rejected.get(0).setRejectedTaskCount(1);
+        Assert.assertEquals("threadPoolExecutor01 拒绝任务增加", reporter.decide(rejected, now + 2_000));
+
+        // 队列任务数大幅变化立即上报
+        Assert.assertEquals("threadPoolExecutor01 指标变化", reporter.decide(sample(9, 10, 50), now + 2_000));
+    }
+
+    @Test
+    public void test_unbounded_queue() {
+        ThreadPoolAdaptiveReporter reporter = new ThreadPoolAdaptiveReporter(new DynamicThreadPoolAutoProperties.Report());
+        long now = 1_000_000L;
+        List<ThreadPoolConfigEntity> idle = sample(0, 0, 0);
+        reporter.reported(idle, now);
+
+        // 无界队列的剩余容量为 Integer.MAX_VALUE，积压再多也不算饱和
+        List<ThreadPoolConfigEntity> backlog = sample(0, 0, 0);
+        backlog.get(0).setQueueSize(Integer.MAX_VALUE - 1);
+        backlog.get(0).setRemainingCapacity(Integer.MAX_VALUE);
+        Assert.assertEquals("threadPoolExecutor01 指标变化", reporter.decide(backlog, now + 1_000));
+    }
+
+    private static List<ThreadPoolConfigEntity> sample(int activeCount, int poolSize, int queueSize) {
+        ThreadPoolConfigEntity entity = new ThreadPoolConfigEntity("test-app", "threadPoolExecutor01");
+        entity.setCorePoolSize(10);
+        entity.setMaximumPoolSize(10);
+        entity.setActiveCount(activeCount);
+        entity.setPoolSize(poolSize);
+        entity.setQueueSize(queueSize);
+        entity.setRemainingCapacity(1000 - queueSize);
+        entity.setQueueCapacity(1000);
+        return Collections.singletonList(entity);
+    }
+
+}
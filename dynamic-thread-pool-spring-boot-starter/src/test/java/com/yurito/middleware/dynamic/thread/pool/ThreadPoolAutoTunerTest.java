@@ -0,0 +1,225 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.config.DynamicThreadPoolAutoProperties;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.IDynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.ThreadPoolAutoTuner;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.AutoTuneDecisionEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Yurito
+ * @description 线程池自动调参单元测试，以构造的线程池数据驱动调参决策
+ * @create 2025/9/4 11:30
+ */
+public class ThreadPoolAutoTunerTest {
+
+    @Test
+    public void test_scale_up_after_samples() {
+        DynamicThreadPoolAutoProperties.AutoTune properties = properties();
+        FakeDynamicThreadPoolService service = new FakeDynamicThreadPoolService(pool(2, 4, 100));
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(service, properties);
+        service.pool.setQueueSize(90);
+        service.pool.setRemainingCapacity(10);
+
+        // 第一次采样到压力不调整
+        Assert.assertTrue(tuner.tune(10_000).isEmpty());
+        List<AutoTuneDecisionEntity> decisions = tuner.tune(11_000);
+        Assert.assertEquals(1, decisions.size());
+        AutoTuneDecisionEntity decision = decisions.get(0);
+        Assert.assertEquals("test-app", decision.getAppName());
+        Assert.assertEquals("test-instance", decision.getInstanceId());
+        Assert.assertEquals("threadPoolExecutor01", decision.getThreadPoolName());
+        Assert.assertEquals(2, decision.getOldCorePoolSize());
+        Assert.assertEquals(3, decision.getNewCorePoolSize());
+        Assert.assertEquals(4, decision.getOldMaximumPoolSize());
+        Assert.assertEquals(6, decision.getNewMaximumPoolSize());
+        Assert.assertEquals(11_000, decision.getDecideTime());
+        Assert.assertTrue(decision.getReason().startsWith("扩容"));
+        Assert.assertEquals(3, service.pool.getCorePoolSize());
+        Assert.assertEquals(6, service.pool.getMaximumPoolSize());
+    }
+
+    @Test
+    public void test_cooldown() {
+        DynamicThreadPoolAutoProperties.AutoTune properties = properties();
+        FakeDynamicThreadPoolService service = new FakeDynamicThreadPoolService(pool(2, 4, 100));
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(service, properties);
+        long now = 10_000;
+        tuner.tune(now);
+        for (int i = 1; i <= 2; i++) {
+            service.pool.setRejectedTaskCount(i);
+            tuner.tune(now += 100);
+        }
+        Assert.assertEquals(6, service.pool.getMaximumPoolSize());
+
+        // 调整后重新计数，采样次数满足但仍在冷却时间内
+        service.pool.setRejectedTaskCount(3);
+        Assert.assertTrue(tuner.tune(now + 500).isEmpty());
+        service.pool.setRejectedTaskCount(4);
+        Assert.assertTrue(tuner.tune(now + 900).isEmpty());
+        Assert.assertEquals(6, service.pool.getMaximumPoolSize());
+
+        // 冷却结束后立即调整
+        service.pool.setRejectedTaskCount(5);
+        Assert.assertEquals(1, tuner.tune(now + 1_000).size());
+        Assert.assertEquals(9, service.pool.getMaximumPoolSize());
+    }
+
+    @Test
+    public void test_bounds() {
+        DynamicThreadPoolAutoProperties.AutoTune properties = properties();
+        properties.setMaxCorePoolSize(3);
+        properties.setMaxMaximumPoolSize(5);
+        properties.setMaxQueueCapacity(120);
+        FakeDynamicThreadPoolService service = new FakeDynamicThreadPoolService(pool(2, 4, 100));
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(service, properties);
+        service.pool.setQueueSize(100);
+        service.pool.setRemainingCapacity(0);
+
+        long now = 10_000;
+        for (int round = 0; round < 10; round++) {
+            tuner.tune(now += 1_000);
+        }
+        // 持续有压力也不超过上限
+        Assert.assertEquals(3, service.pool.getCorePoolSize());
+        Assert.assertEquals(5, service.pool.getMaximumPoolSize());
+        Assert.assertEquals(120, service.pool.getQueueCapacity());
+        Assert.assertTrue(tuner.tune(now + 1_000).isEmpty());
+        Assert.assertTrue(tuner.tune(now + 2_000).isEmpty());
+    }
+
+    @Test
+    public void test_queue_grows_only_at_max_threads() {
+        DynamicThreadPoolAutoProperties.AutoTune properties = properties();
+        properties.setMaxMaximumPoolSize(6);
+        FakeDynamicThreadPoolService service = new FakeDynamicThreadPoolService(pool(2, 4, 100));
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(service, properties);
+        service.pool.setQueueSize(100);
+        service.pool.setRemainingCapacity(0);
+
+        // 线程数还能增加时只扩线程
+        tuner.tune(10_000);
+        AutoTuneDecisionEntity first = tuner.tune(11_000).get(0);
+        Assert.assertEquals(6, first.getNewMaximumPoolSize());
+        Assert.assertEquals(100, first.getOldQueueCapacity());
+        Assert.assertEquals(100, first.getNewQueueCapacity());
+        Assert.assertEquals(100, service.pool.getQueueCapacity());
+
+        // 线程数到上限后才扩队列
+        tuner.tune(12_000);
+        AutoTuneDecisionEntity second = tuner.tune(13_000).get(0);
+        Assert.assertEquals(6, second.getOldMaximumPoolSize());
+        Assert.assertEquals(6, second.getNewMaximumPoolSize());
+        Assert.assertEquals(150, second.getNewQueueCapacity());
+        Assert.assertEquals(150, service.pool.getQueueCapacity());
+    }
+
+    @Test
+    public void test_scale_down_when_idle() {
+        DynamicThreadPoolAutoProperties.AutoTune properties = properties();
+        properties.setScaleDownSamples(3);
+        properties.setMinCorePoolSize(7);
+        properties.setMinMaximumPoolSize(14);
+        properties.setMinQueueCapacity(10);
+        FakeDynamicThreadPoolService service = new FakeDynamicThreadPoolService(pool(8, 16, 100));
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(service, properties);
+        service.pool.setQueueSize(0);
+        service.pool.setRemainingCapacity(100);
+        service.pool.setActiveCount(1);
+
+        Assert.assertTrue(tuner.tune(10_000).isEmpty());
+        Assert.assertTrue(tuner.tune(11_000).isEmpty());
+        List<AutoTuneDecisionEntity> decisions = tuner.tune(12_000);
+        Assert.assertEquals(1, decisions.size());
+        Assert.assertTrue(decisions.get(0).getReason().startsWith("缩容"));
+        // 按步长缩小，不低于下限
+        Assert.assertEquals(7, service.pool.getCorePoolSize());
+        Assert.assertEquals(14, service.pool.getMaximumPoolSize());
+        Assert.assertEquals(75, service.pool.getQueueCapacity());
+
+        // 有一次采样不空闲即重新计数
+        service.pool.setActiveCount(14);
+        Assert.assertTrue(tuner.tune(13_000).isEmpty());
+        service.pool.setActiveCount(0);
+        Assert.assertTrue(tuner.tune(14_000).isEmpty());
+        Assert.assertTrue(tuner.tune(15_000).isEmpty());
+        Assert.assertEquals(1, tuner.tune(16_000).size());
+        Assert.assertEquals(7, service.pool.getCorePoolSize());
+        Assert.assertEquals(14, service.pool.getMaximumPoolSize());
+        Assert.assertEquals(56, service.pool.getQueueCapacity());
+    }
+
+    @Test
+    public void test_unbounded_queue() {
+        FakeDynamicThreadPoolService service = new FakeDynamicThreadPoolService(pool(2, 4, 0));
+        ThreadPoolAutoTuner tuner = new ThreadPoolAutoTuner(service, properties());
+        // 无界队列的剩余容量为 Integer.MAX_VALUE，积压不构成队列压力，也不调整队列
+        service.pool.setQueueSize(1000);
+        service.pool.setRemainingCapacity(Integer.MAX_VALUE);
+        service.pool.setActiveCount(4);
+        Assert.assertTrue(tuner.tune(10_000).isEmpty());
+        Assert.assertTrue(tuner.tune(11_000).isEmpty());
+
+        service.pool.setRejectedTaskCount(1);
+        tuner.tune(12_000);
+        service.pool.setRejectedTaskCount(2);
+        AutoTuneDecisionEntity decision = tuner.tune(13_000).get(0);
+        Assert.assertEquals(0, decision.getNewQueueCapacity());
+        Assert.assertEquals(6, service.pool.getMaximumPoolSize());
+    }
+
+    private static DynamicThreadPoolAutoProperties.AutoTune properties() {
+        DynamicThreadPoolAutoProperties.AutoTune properties = new DynamicThreadPoolAutoProperties.AutoTune();
+        properties.setCooldown(1_000);
+        properties.setScaleUpSamples(2);
+        return properties;
+    }
+
+    private static ThreadPoolConfigEntity pool(int corePoolSize, int maximumPoolSize, int queueCapacity) {
+        ThreadPoolConfigEntity pool = new ThreadPoolConfigEntity("test-app", "threadPoolExecutor01");
+        pool.setInstanceId("test-instance");
+        pool.setCorePoolSize(corePoolSize);
+        pool.setMaximumPoolSize(maximumPoolSize);
+        pool.setQueueCapacity(queueCapacity);
+        pool.setRemainingCapacity(queueCapacity);
+        return pool;
+    }
+
+    /**
+     * 只有一个线程池的服务，调整直接写回线程池数据
+     */
+    private static class FakeDynamicThreadPoolService implements IDynamicThreadPoolService {
+
+        private final ThreadPoolConfigEntity pool;
+
+        private FakeDynamicThreadPoolService(ThreadPoolConfigEntity pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public List<ThreadPoolConfigEntity> queryThreadPoolList() {
+            return Collections.singletonList(pool);
+        }
+
+        @Override
+        public ThreadPoolConfigEntity queryThreadPoolConfigByName(String threadPoolName) {
+            return pool;
+        }
+
+        @Override
+        public void updateThreadPoolConfig(ThreadPoolConfigEntity threadPoolConfigEntity) {
+            pool.setCorePoolSize(threadPoolConfigEntity.getCorePoolSize());
+            pool.setMaximumPoolSize(threadPoolConfigEntity.getMaximumPoolSize());
+            if (threadPoolConfigEntity.getQueueCapacity() > 0) {
+                pool.setQueueCapacity(threadPoolConfigEntity.getQueueCapacity());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.alibaba.fastjson.JSON;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.redis.ThreadPoolConfigEntityCodec;
+import io.netty.buffer.ByteBuf;
+import org.junit.Assert;
+import org.junit.Test;
+import org.redisson.codec.JsonJacksonCodec;
+
+import java.util.Arrays;
+
+/**
+ * @author Yurito
+ * @description 线程池配置实体编解码器单元测试
+ * @create 2025/9/5 18:30
+ */
+public class ThreadPoolConfigEntityCodecTest {
+
+    private final ThreadPoolConfigEntityCodec codec = new ThreadPoolConfigEntityCodec();
+
+    @Test
+    public void test_roundTrip() throws Exception {
+        ThreadPoolConfigEntity entity = newEntity();
+        ByteBuf buf = codec.getValueEncoder().encode(entity);
+        ThreadPoolConfigEntity decoded = (ThreadPoolConfigEntity) codec.getValueDecoder().decode(buf, null);
+        buf.release();
+        Assert.assertEquals(JSON.toJSONString(entity), JSON.toJSONString(decoded));
+
+        // 非线程池配置实体走 JSON
+        ByteBuf listBuf = codec.getValueEncoder().encode(Arrays.asList("a", "b"));
+        Assert.assertEquals(Arrays.asList("a", "b"), codec.getValueDecoder().decode(listBuf, null));
+        listBuf.release();
+    }
+
+    @Test
+    public void test_readJson() throws Exception {
+        ThreadPoolConfigEntity entity = newEntity();
+        ByteBuf buf = JsonJacksonCodec.INSTANCE.getValueEncoder().encode(entity);
+        ThreadPoolConfigEntity decoded = (ThreadPoolConfigEntity) codec.getValueDecoder().decode(buf, null);
+        buf.release();
+        Assert.assertEquals(JSON.toJSONString(entity), JSON.toJSONString(decoded));
+    }
+
+    @Test
+    public void test_skipUnknownField() throws Exception {
+        ThreadPoolConfigEntity entity = newEntity();
+        ByteBuf buf = codec.getValueEncoder().encode(entity);
+        // 模拟新版本追加的字段：编号 100 的变长整数、编号 101 的字符串
+        buf.writeBytes(new byte[]{(byte) 0xA0, 0x06, 0x2A, (byte) 0xAA, 0x06, 0x02, 'o', 'k'});
+        ThreadPoolConfigEntity decoded = (ThreadPoolConfigEntity) codec.getValueDecoder().decode(buf, null);
+        buf.release();
+        Assert.assertEquals(JSON.toJSONString(entity), JSON.toJSONString(decoded));
+    }
+
+    @Test
+    public void test_size() throws Exception {
+        // 编解码耗时见 dynamic-thread-pool-benchmark 模块的 CodecBenchmark
+        ThreadPoolConfigEntity entity = newEntity();
+        ByteBuf binary = codec.getValueEncoder().encode(entity);
+        ByteBuf json = JsonJacksonCodec.INSTANCE.getValueEncoder().encode(entity);
+        int binarySize = binary.readableBytes();
+        int jsonSize = json.readableBytes();
+        binary.release();
+        json.release();
+        Assert.assertTrue("binary:" + binarySize + " json:" + jsonSize, binarySize * 3 < jsonSize);
+    }
+
+    private static ThreadPoolConfigEntity newEntity() {
+        ThreadPoolConfigEntity entity = new ThreadPoolConfigEntity("dynamic-thread-pool-test-app", "threadPoolExecutor01");
+        entity.setInstanceId("12345@app-host-01");
+        entity.setCorePoolSize(20);
+        entity.setMaximumPoolSize(50);
+        entity.setActiveCount(12);
+        entity.setPoolSize(20);
+        entity.setQueueType("ResizableCapacityArrayBlockingQueue");
+        entity.setQueueSize(312);
+        entity.setRemainingCapacity(4688);
+        entity.setQueueCapacity(5000);
+        entity.setRejectPolicy("CallerRunsPolicy");
+        entity.setCompletedTaskCount(18_734_211L);
+        entity.setRejectedTaskCount(37);
+        entity.setQueueWaitTimeP50(180);
+        entity.setQueueWaitTimeP90(2_300);
+        entity.setQueueWaitTimeP99(41_000);
+        entity.setQueueWaitTimeMax(120_000);
+        entity.setExecuteTimeP50(900);
+        entity.setExecuteTimeP90(4_100);
+        entity.setExecuteTimeP99(25_000);
+        entity.setExecuteTimeMax(300_000);
+        return entity;
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.DynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.ThreadPoolConfigRestorer;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.ThreadPoolConfigSnapshotStore;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.IRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 线程池配置本地快照恢复与注册中心对齐单元测试
+ * @create 2025/9/9 11:20
+ */
+public class ThreadPoolConfigRestorerTest {
+
+    @Test
+    public void test_restore() throws Exception {
+        Path file = Files.createTempDirectory("dynamic-thread-pool").resolve("test-app.json");
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(2, 4, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(10));
+        try {
+            // 调整生效后写入快照
+            DynamicThreadPoolService dynamicThreadPoolService = newService(threadPoolExecutor, file);
+            ThreadPoolConfigEntity adjusted = new ThreadPoolConfigEntity("test-app", "threadPoolExecutor01");
+            adjusted.setCorePoolSize(3);
+            adjusted.setMaximumPoolSize(6);
+            dynamicThreadPoolService.updateThreadPoolConfig(adjusted);
+            Assert.assertEquals(6, new ThreadPoolConfigSnapshotStore(file).load().get("threadPoolExecutor01").getMaximumPoolSize());
+
+            // 重启：先按本地快照恢复，再由注册中心批量读取的配置覆盖
+            threadPoolExecutor.setCorePoolSize(2);
+            threadPoolExecutor.setMaximumPoolSize(4);
+            ThreadPoolConfigEntity remote = new ThreadPoolConfigEntity("test-app", "threadPoolExecutor01");
+            remote.setCorePoolSize(5);
+            remote.setMaximumPoolSize(8);
+            CountDownLatch queried = new CountDownLatch(1);
+            StubRegistry registry = new StubRegistry(remote, queried);
+
+            dynamicThreadPoolService = newService(threadPoolExecutor, file);
+            ThreadPoolConfigRestorer restorer = new ThreadPoolConfigRestorer(dynamicThreadPoolService, registry,
+                    dynamicThreadPoolService.getConfigSnapshotStore(), Collections.singleton("threadPoolExecutor01"));
+            Assert.assertEquals(1, restorer.restoreLocal());
+            Assert.assertEquals(3, threadPoolExecutor.getCorePoolSize());
+            Assert.assertEquals(6, threadPoolExecutor.getMaximumPoolSize());
+
+            restorer.reconcileAsync();
+            Assert.assertTrue(queried.await(5, TimeUnit.SECONDS));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (threadPoolExecutor.getMaximumPoolSize() != 8 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            restorer.shutdown();
+            Assert.assertEquals(5, threadPoolExecutor.getCorePoolSize());
+            Assert.assertEquals(8, threadPoolExecutor.getMaximumPoolSize());
+            Assert.assertEquals(2, registry.attempts);
+        } finally {
+            threadPoolExecutor.shutdownNow();
+        }
+    }
+
+    private static DynamicThreadPoolService newService(ThreadPoolExecutor threadPoolExecutor, Path file) {
+        Map<String, ThreadPoolExecutor> threadPoolExecutorMap = new HashMap<>();
+        threadPoolExecutorMap.put("threadPoolExecutor01", threadPoolExecutor);
+        DynamicThreadPoolService dynamicThreadPoolService = new DynamicThreadPoolService("test-app", "test-instance", threadPoolExecutorMap);
+        dynamicThreadPoolService.setConfigSnapshotStore(new ThreadPoolConfigSnapshotStore(file));
+        return dynamicThreadPoolService;
+    }
+
+    /**
+     * 首次读取失败，第二次返回配置，验证后台重试
+     */
+    private static class StubRegistry implements IRegistry {
+
+        private final ThreadPoolConfigEntity remote;
+        private final CountDownLatch queried;
+        private volatile int attempts;
+
+        private StubRegistry(ThreadPoolConfigEntity remote, CountDownLatch queried) {
+            this.remote = remote;
+            this.queried = queried;
+        }
+
+        @Override
+        public Map<String, ThreadPoolConfigEntity> queryThreadPoolConfigParameters(String appName, Collection<String> threadPoolNames) {
+            if (++attempts == 1) throw new IllegalStateException("redis unavailable");
+            queried.countDown();
+            return Collections.singletonMap(remote.getThreadPoolName(), remote);
+        }
+
+        @Override
+        public void reportThreadPool(List<ThreadPoolConfigEntity> threadPoolEntities) {
+        }
+
+        @Override
+        public void reportThreadPoolConfigParameter(ThreadPoolConfigEntity threadPoolConfigEntity) {
+        }
+
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.VirtualThreadPoolExecutor;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author Yurito
+ * @description 虚拟线程执行的动态线程池单元测试
+ * @create 2025/9/6 11:10
+ */
+public class VirtualThreadPoolExecutorTest {
+
+    @Test
+    public void test_concurrencyLimit() throws InterruptedException {
+        VirtualThreadPoolExecutor executor = new VirtualThreadPoolExecutor("test-virtual-", 4, new ResizableCapacityArrayBlockingQueue<>(1000));
+        // JDK 21 起虚拟线程正式可用，更低版本退化为平台线程
+        Assert.assertEquals(javaVersion() >= 21, executor.isVirtual());
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(200);
+        for (int i = 0; i < 200; i++) {
+            executor.execute(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+        Assert.assertTrue(peak.get() <= 4);
+
+        // 调大、调小并发上限，核心线程数与最大线程数保持一致
+        executor.setMaximumPoolSize(16);
+        Assert.assertEquals(16, executor.getCorePoolSize());
+        Assert.assertEquals(16, executor.getConcurrencyLimit());
+        executor.setCorePoolSize(2);
+        Assert.assertEquals(2, executor.getMaximumPoolSize());
+        Assert.assertEquals(2, executor.getConcurrencyLimit());
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertTrue(executor.getExecuteTimeRecorder().percentiles()[0] > 0);
+    }
+
+    @Test
+    public void test_threadName() throws InterruptedException {
+        // 虚拟线程与退化后的平台线程都按前缀命名
+        VirtualThreadPoolExecutor executor = new VirtualThreadPoolExecutor("test-named-", 1, new ResizableCapacityArrayBlockingQueue<>(10));
+        AtomicReference<String> name = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            name.set(Thread.currentThread().getName());
+            done.countDown();
+        });
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals("test-named-0", name.get());
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void test_virtualThread() throws InterruptedException {
+        Assume.assumeTrue("虚拟线程需要 JDK 21 及以上", javaVersion() >= 21);
+        VirtualThreadPoolExecutor executor = new VirtualThreadPoolExecutor("test-virtual-", 2, new ResizableCapacityArrayBlockingQueue<>(10));
+        Assert.assertTrue(executor.isVirtual());
+
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            worker.set(Thread.currentThread());
+            done.countDown();
+        });
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(worker.get().getName().startsWith("test-virtual-"));
+        // 虚拟线程总是守护线程，平台线程工厂创建的线程不是
+        Assert.assertTrue(worker.get().isDaemon());
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static int javaVersion() {
+        // 1.8 或 17、21 等
+        String version = System.getProperty("java.specification.version");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.yurito.middleware.dynamic.thread.pool;
+
+import com.alibaba.fastjson.JSON;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.DynamicThreadPoolService;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.TenantTask;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.WeightedFairBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.TenantQueueEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.entity.ThreadPoolConfigEntity;
+import com.yurito.middleware.dynamic.thread.pool.sdk.registry.redis.ThreadPoolConfigEntityCodec;
+import io.netty.buffer.ByteBuf;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yurito
+ * @description 租户加权公平队列单元测试
+ * @create 2025/9/12 16:40
+ */
+public class WeightedFairBlockingQueueTest {
+
+    @Test
+    public void test_weight_and_capacity() {
+        WeightedFairBlockingQueue<String> queue = new WeightedFairBlockingQueue<>(9, 3, e -> e.substring(0, 1));
+        queue.configureTenant("a", 3, 6);
+        for (int i = 1; i <= 6; i++) {
+            Assert.assertTrue(queue.offer("a" + i));
+        }
+        // 未单独配置的租户子队列满了只拒绝该租户
+        Assert.assertTrue(queue.offer("b1"));
+        Assert.assertTrue(queue.offer("b2"));
+        Assert.assertTrue(queue.offer("b3"));
+        Assert.assertFalse(queue.offer("b4"));
+        // 总容量满了所有租户都拒绝
+        Assert.assertFalse(queue.offer("c1"));
+        Assert.assertEquals(9, queue.size());
+
+        // 按权重 3:1 轮转出队
+        List<String> polled = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            polled.add(queue.poll());
+        }
+        Assert.assertEquals(Arrays.asList("a1", "a2", "a3", "b1", "a4", "a5", "a6", "b2", "b3"), polled);
+
+        // 未单独配置的租户取空后回收，已配置的保留
+        List<TenantQueueEntity> tenantQueues = queue.tenantQueues();
+        Assert.assertEquals(1, tenantQueues.size());
+        Assert.assertEquals("a", tenantQueues.get(0).getTenant());
+        Assert.assertTrue(tenantQueues.get(0).isConfigured());
+    }
+
+    @Test
+    public void test_executor() throws Exception {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, WeightedFairBlockingQueue.tenantOrdered(100, 50));
+        try {
+            CountDownLatch blocker = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            // 通过更新参数调整租户权重
+            DynamicThreadPoolService dynamicThreadPoolService = new DynamicThreadPoolService("test-app", "test-instance", Collections.singletonMap("threadPoolExecutor01", executor));
+            ThreadPoolConfigEntity threadPoolConfigEntity = new ThreadPoolConfigEntity("test-app", "threadPoolExecutor01");
+            threadPoolConfigEntity.setCorePoolSize(1);
+            threadPoolConfigEntity.setMaximumPoolSize(1);
+            threadPoolConfigEntity.setTenantQueues(Collections.singletonList(new TenantQueueEntity("vip", 2, 20)));
+            dynamicThreadPoolService.updateThreadPoolConfig(threadPoolConfigEntity);
+
+            List<String> executed = Collections.synchronizedList(new ArrayList<>());
+            for (int i = 1; i <= 3; i++) {
+                executor.execute(new Job("batch", "batch-" + i, executed));
+            }
+            Future<?> future = null;
+            for (int i = 1; i <= 3; i++) {
+                future = executor.submit(new Job("vip", "vip-" + i, executed));
+            }
+
+            ThreadPoolConfigEntity reported = dynamicThreadPoolService.queryThreadPoolConfigByName("threadPoolExecutor01");
+            Assert.assertEquals(2, reported.getTenantQueues().size());
+
+            // 租户子队列随上报数据编解码
+            ThreadPoolConfigEntityCodec codec = new ThreadPoolConfigEntityCodec();
+            ByteBuf buf = codec.getValueEncoder().encode(reported);
+            ThreadPoolConfigEntity decoded = (ThreadPoolConfigEntity) codec.getValueDecoder().decode(buf, null);
+            buf.release();
+            Assert.assertEquals(JSON.toJSONString(reported), JSON.toJSONString(decoded));
+
+            blocker.countDown();
+            future.get(5, TimeUnit.SECONDS);
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            Assert.assertEquals(Arrays.asList("batch-1", "vip-1", "vip-2", "batch-2", "vip-3", "batch-3"), executed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class Job implements Runnable, TenantTask {
+
+        private final String tenant;
+        private final String name;
+        private final List<String> executed;
+
+        private Job(String tenant, String name, List<String> executed) {
+            this.tenant = tenant;
+            this.name = name;
+            this.executed = executed;
+        }
+
+        @Override
+        public void run() {
+            executed.add(name);
+        }
+
+        @Override
+        public String getTenant() {
+            return tenant;
+        }
+
+    }
+
+}
@@ -1,7 +1,10 @@
 package com.yurito.config;
 
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolExecutor;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.DynamicThreadPoolTaskScheduler;
 import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.RejectedExecutionHandlerDecorator;
-import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityLinkedBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.ResizableCapacityArrayBlockingQueue;
+import com.yurito.middleware.dynamic.thread.pool.sdk.domain.model.VirtualThreadPoolExecutor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -39,14 +42,14 @@ public class ThreadPoolConfig {
         }
         
         // 创建可调整容量的队列
-        ResizableCapacityLinkedBlockingQueue<Runnable> queue = 
-            new ResizableCapacityLinkedBlockingQueue<>(properties.getBlockQueueSize());
+        ResizableCapacityArrayBlockingQueue<Runnable> queue = 
+            new ResizableCapacityArrayBlockingQueue<>(properties.getBlockQueueSize());
         
         // 使用装饰器包装拒绝策略，以支持拒绝任务计数
         RejectedExecutionHandler decoratedHandler = new RejectedExecutionHandlerDecorator(handler, "threadPoolExecutor01");
 
-        // 创建线程池
-        return new ThreadPoolExecutor(
+        // 创建线程池（可观测，统计排队耗时与执行耗时）
+        return new DynamicThreadPoolExecutor(
                 properties.getCorePoolSize(),
                 properties.getMaxPoolSize(),
                 properties.getKeepAliveTime(),
@@ -79,14 +82,14 @@ public class ThreadPoolConfig {
         }
         
         // 创建可调整容量的队列
-        ResizableCapacityLinkedBlockingQueue<Runnable> queue = 
-            new ResizableCapacityLinkedBlockingQueue<>(properties.getBlockQueueSize());
+        ResizableCapacityArrayBlockingQueue<Runnable> queue = 
+            new ResizableCapacityArrayBlockingQueue<>(properties.getBlockQueueSize());
         
         // 使用装饰器包装拒绝策略，以支持拒绝任务计数
         RejectedExecutionHandler decoratedHandler = new RejectedExecutionHandlerDecorator(handler, "threadPoolExecutor02");
 
-        // 创建线程池
-        return new ThreadPoolExecutor(
+        // 创建线程池（可观测，统计排队耗时与执行耗时）
+        return new DynamicThreadPoolExecutor(
                 properties.getCorePoolSize(),
                 properties.getMaxPoolSize(),
                 properties.getKeepAliveTime(),
@@ -96,4 +99,24 @@ public class ThreadPoolConfig {
                 decoratedHandler);
     }
 
-}
\ No newline at end of file
+    @Bean("threadPoolExecutor03")
+    public ThreadPoolExecutor threadPoolExecutor03(ThreadPoolConfigProperties properties) {
+        // I/O 密集型任务使用虚拟线程执行（JDK 21+），并发上限取最大线程数，低版本 JDK 自动退化为平台线程
+        ResizableCapacityArrayBlockingQueue<Runnable> queue =
+            new ResizableCapacityArrayBlockingQueue<>(properties.getBlockQueueSize());
+
+        RejectedExecutionHandler decoratedHandler = new RejectedExecutionHandlerDecorator(new ThreadPoolExecutor.AbortPolicy(), "threadPoolExecutor03");
+
+        return new VirtualThreadPoolExecutor("threadPoolExecutor03-", properties.getMaxPoolSize(), queue, decoratedHandler);
+    }
+
+    @Bean("taskScheduler")
+    public DynamicThreadPoolTaskScheduler taskScheduler() {
+        // @Scheduled 任务使用的调度器，纳入管理后上报延迟触发时间、执行耗时与超过周期次数
+        DynamicThreadPoolTaskScheduler scheduler = new DynamicThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("taskScheduler-");
+        return scheduler;
+    }
+
+}